@@ -41,3 +41,49 @@ tasks.named<Test>("test") {
     // Use JUnit Platform for unit tests.
     useJUnitPlatform()
 }
+
+// Microbenchmarks en src/test/java/proyectowallet/benchmark.
+// Uso: ./gradlew benchmark -Pbench=ConversionBenchmark
+tasks.register<JavaExec>("benchmark") {
+    description = "Ejecuta un microbenchmark de proyectowallet.benchmark"
+    group = "verification"
+    classpath = sourceSets["test"].runtimeClasspath
+    mainClass = providers.gradleProperty("bench")
+        .map { "proyectowallet.benchmark.$it" }
+        .orElse("proyectowallet.benchmark.ConversionBenchmark")
+}
+
+// Arranque rápido: AppCDS exige jars en el classpath (no directorios de clases).
+// Uso: ./gradlew cdsArchive && ./gradlew runFast
+val cdsArchiveFile = layout.buildDirectory.file("cds/alke-wallet.jsa")
+val jarClasspath = files(tasks.named("jar"), configurations.runtimeClasspath)
+
+tasks.register<JavaExec>("cdsArchive") {
+    description = "Genera el archivo AppCDS con las clases cargadas al arrancar la aplicación"
+    group = "distribution"
+    classpath = jarClasspath
+    mainClass = application.mainClass
+    args("--fast-start")
+    // Entrada vacía: el menú termina al leer fin de archivo tras la carga inicial
+    standardInput = java.io.ByteArrayInputStream(ByteArray(0))
+    outputs.file(cdsArchiveFile)
+    doFirst {
+        cdsArchiveFile.get().asFile.parentFile.mkdirs()
+        jvmArgs("-XX:ArchiveClassesAtExit=${cdsArchiveFile.get().asFile}")
+    }
+}
+
+tasks.register<JavaExec>("runFast") {
+    description = "Ejecuta la aplicación en modo de arranque rápido, con AppCDS si el archivo existe"
+    group = "application"
+    classpath = jarClasspath
+    mainClass = application.mainClass
+    args("--fast-start")
+    standardInput = System.`in`
+    doFirst {
+        val archive = cdsArchiveFile.get().asFile
+        if (archive.exists()) {
+            jvmArgs("-XX:SharedArchiveFile=$archive")
+        }
+    }
+}
@@ -1,31 +1,144 @@
 package proyectowallet;
 
 import proyectowallet.controller.WalletController;
+import proyectowallet.event.EventBus;
+import proyectowallet.model.Account;
+import proyectowallet.model.Currency;
+import proyectowallet.model.Transaction;
+import proyectowallet.model.User;
+import proyectowallet.persistence.JournalRecord;
+import proyectowallet.persistence.ReplicationFollower;
+import proyectowallet.persistence.ReplicationLeader;
+import proyectowallet.persistence.WalletJournal;
+import proyectowallet.persistence.WalletPersistence;
+import proyectowallet.persistence.WalletState;
 import proyectowallet.service.*;
 import proyectowallet.util.*;
 import proyectowallet.presentation.WalletMenu;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 import java.util.Scanner;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Supplier;
 
 /**
  * Punto de entrada principal de la aplicación Alke Wallet.
  * Configura dependencias, arranca el menú y cierra recursos.
  */
 public class App {
-    private final WalletController controller;
+    /** Propiedad de sistema con el directorio de archivos de tasas a observar. */
+    public static final String RATES_DIR_PROPERTY = "alkewallet.rates.dir";
+    /** Propiedad de sistema con el directorio de datos persistidos (journal y snapshots). */
+    public static final String DATA_DIR_PROPERTY = "alkewallet.data.dir";
+    /** Propiedad de sistema con la cantidad de shards de cuentas (0 o ausente: sin shards). */
+    public static final String SHARDS_PROPERTY = "alkewallet.shards";
+    /** Propiedad de sistema con el puerto donde el líder acepta réplicas (requiere directorio de datos). */
+    public static final String REPLICATION_PORT_PROPERTY = "alkewallet.replication.port";
+    /** Propiedad de sistema con el modo de confirmación de la replicación: {@code async} (por defecto) o {@code sync}. */
+    public static final String REPLICATION_ACK_PROPERTY = "alkewallet.replication.ack";
+    /** Propiedad de sistema con el líder a seguir ({@code host:puerto}); activa el modo réplica. */
+    public static final String REPLICATION_LEADER_PROPERTY = "alkewallet.replication.leader";
+
+    /** Argumento que activa el arranque rápido. */
+    public static final String FAST_START_ARG = "--fast-start";
+
     private final Scanner scanner;
+    private final boolean fastStart;
+    /** Inicialización de servicios y datos; en arranque rápido termina en segundo plano. */
+    private final CompletableFuture<WalletController> initialization = new CompletableFuture<>();
+    private final Supplier<WalletController> controller = initialization::join;
+    /** Bus donde el controlador publica cada cambio; los consumidores se suscriben con {@link #getEventBus()}. */
+    private final EventBus eventBus = new EventBus();
+    /** Modelo de lectura para historial y reportes, alimentado por el bus. */
+    private final ReadModelServiceImpl readModel = new ReadModelServiceImpl(eventBus);
+    private ExchangeRateProvider rateProvider;
+    private RateFileWatcher rateWatcher;
+    private WalletPersistence persistence;
+    private ShardedAccountService shardedAccounts;
+    private ReplicationLeader replicationLeader;
+    private ReplicationFollower replicationFollower;
 
     public App() {
+        this(false);
+    }
+
+    /**
+     * Crea la aplicación.
+     * @param fastStart si es true, los servicios y los datos persistidos se inicializan en un hilo
+     *                  de fondo mientras se muestra el primer menú; la primera operación espera a que terminen
+     */
+    public App(boolean fastStart) {
+        this.scanner = new Scanner(System.in);
+        this.fastStart = fastStart;
+        if (fastStart) {
+            Thread initializer = new Thread(() -> {
+                try {
+                    WalletController wired = createController();
+                    startBackgroundResources(wired);
+                    initialization.complete(wired);
+                } catch (Throwable e) {
+                    initialization.completeExceptionally(e);
+                }
+            }, "wallet-init");
+            initializer.setDaemon(true);
+            initializer.start();
+        } else {
+            initialization.complete(createController());
+        }
+    }
+
+    /**
+     * Crea los servicios y el controlador.
+     */
+    private WalletController createController() {
         // Inyección de dependencias - Principio SOLID: Dependency Injection
-        AccountService accountService = new AccountServiceImpl();
+        AccountServiceImpl accountStore = new AccountServiceImpl();
+        AccountService accountService = accountStore;
+        int shardCount = Integer.getInteger(SHARDS_PROPERTY, 0);
+        if (shardCount > 0) {
+            this.shardedAccounts = new ShardedAccountService(accountStore, shardCount);
+            accountService = shardedAccounts;
+        }
         TransactionService transactionService = new TransactionServiceImpl();
-        CurrencyConverterService currencyConverter = new CurrencyConverterUtil();
+        this.rateProvider = new ExchangeRateProviderImpl();
+        CurrencyConverterService currencyConverter = new CurrencyConverterUtil(rateProvider);
 
-        this.controller = new WalletController(accountService, transactionService, currencyConverter);
-        this.scanner = new Scanner(System.in);
+        PortfolioService portfolioService = new PortfolioServiceImpl(currencyConverter, Currency.USD);
+
+        WalletController wired = new WalletController(accountService, transactionService, currencyConverter, portfolioService);
+        wired.setEventPublisher(eventBus);
+        eventBus.subscribe("read-model", readModel);
+        return wired;
+    }
+
+    public EventBus getEventBus() {
+        return eventBus;
+    }
+
+    public ReadModelService getReadModel() {
+        return readModel;
+    }
+
+    /**
+     * Inicia la recarga de tasas y recupera los datos persistidos, si están configurados.
+     * En modo réplica los datos vienen del líder en lugar del directorio local.
+     */
+    private void startBackgroundResources(WalletController wired) {
+        this.rateWatcher = startRateWatcher();
+        String leaderAddress = System.getProperty(REPLICATION_LEADER_PROPERTY);
+        if (leaderAddress != null && !leaderAddress.isBlank()) {
+            this.replicationFollower = startFollower(wired, leaderAddress.trim());
+        } else {
+            this.persistence = openPersistence(wired);
+        }
     }
 
     public static void main(String[] args) {
-        App app = new App();
+        App app = new App(Arrays.asList(args).contains(FAST_START_ARG));
         app.start();
     }
 
@@ -36,9 +149,201 @@ public class App {
         UIFormatter.printHeader("Bienvenido a Alke Wallet");
         System.out.println("Tu solución segura para gestionar tus activos financieros digitales\n");
 
-        new WalletMenu(controller, scanner).run();
+        if (!fastStart) {
+            startBackgroundResources(controller.get());
+        }
+
+        try {
+            new WalletMenu(controller, scanner).run();
+        } catch (CompletionException e) {
+            // Falló el arranque rápido: el menú no puede seguir sin controlador
+            Throwable cause = e.getCause() != null ? e.getCause() : e;
+            UIFormatter.printError("No se pudo inicializar la aplicación: " + cause);
+        }
 
+        // En arranque rápido se espera a que la inicialización termine, bien o mal, para cerrar
+        // los recursos que alcanzó a abrir
+        initialization.exceptionally(e -> null).join();
+        closeQuietly(replicationFollower);
+        closeQuietly(replicationLeader);
+        closeQuietly(persistence);
+        closeQuietly(rateWatcher);
+        closeQuietly(shardedAccounts);
+        closeQuietly(eventBus);
         scanner.close();
         UIFormatter.printSuccess("Gracias por usar Alke Wallet. ¡Hasta pronto!");
     }
+
+    /**
+     * Inicia la recarga en caliente de tasas si se configuró un directorio.
+     * @return watcher iniciado o null si no está configurado
+     */
+    private RateFileWatcher startRateWatcher() {
+        String ratesDir = System.getProperty(RATES_DIR_PROPERTY);
+        if (ratesDir == null || ratesDir.isBlank()) {
+            return null;
+        }
+        RateFileWatcher watcher = new RateFileWatcher(Path.of(ratesDir), rateProvider);
+        try {
+            watcher.start();
+            if (!fastStart) {
+                UIFormatter.printSuccess("Tasas de cambio cargadas (versión " + rateProvider.getSnapshot().getVersion() + ")");
+            }
+            return watcher;
+        } catch (IOException e) {
+            UIFormatter.printWarning("No se pudo observar el directorio de tasas: " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Recupera el estado persistido y activa el journal si se configuró un directorio de datos.
+     * @return persistencia abierta o null si no está configurada
+     */
+    private WalletPersistence openPersistence(WalletController wired) {
+        String dataDir = System.getProperty(DATA_DIR_PROPERTY);
+        if (dataDir == null || dataDir.isBlank()) {
+            return null;
+        }
+        WalletPersistence persistence = null;
+        try {
+            persistence = WalletPersistence.open(Path.of(dataDir));
+            // Solo snapshot y cola del journal: el historial se carga después, en segundo plano
+            WalletState state = persistence.recover();
+            wired.restoreState(state.getUsers(), state.getAccounts(), List.of());
+            readModel.restore(state.getAccounts(), List.of());
+            wired.setHistoryLoading(loadHistory(persistence, state, wired));
+            wired.setJournal(startLeader(persistence));
+            persistence.startSnapshots();
+            if (!fastStart) {
+                UIFormatter.printSuccess("Datos recuperados: " + state.getUsers().size() + " usuarios, "
+                        + state.getAccounts().size() + " cuentas");
+            }
+            return persistence;
+        } catch (IOException e) {
+            closeQuietly(persistence);
+            UIFormatter.printWarning("No se pudieron cargar los datos persistidos: " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Carga en un hilo de fondo el historial persistido seguido de las transacciones reaplicadas
+     * del journal, y lo entrega al controlador y al modelo de lectura. Recorrer el historial
+     * completo no demora el menú; mientras tanto el controlador hace esperar a las escrituras.
+     * @return carga en curso; se completa también si falla
+     */
+    private CompletableFuture<Void> loadHistory(WalletPersistence persistence, WalletState state,
+                                                WalletController wired) {
+        CompletableFuture<Void> loading = new CompletableFuture<>();
+        Thread loader = new Thread(() -> {
+            try {
+                List<Transaction> history = new ArrayList<>();
+                persistence.readHistory(state, history::add);
+                history.addAll(state.getTransactions());
+                wired.restoreHistory(history);
+                readModel.restore(state.getAccounts(), history);
+            } catch (IOException | RuntimeException e) {
+                UIFormatter.printWarning("No se pudo cargar el historial de transacciones: " + e.getMessage());
+            } finally {
+                loading.complete(null);
+            }
+        }, "wallet-history");
+        loader.setDaemon(true);
+        loader.start();
+        return loading;
+    }
+
+    /**
+     * Inicia el líder de replicación si se configuró un puerto.
+     * @return journal donde el controlador registra las operaciones: el líder, o el journal local
+     */
+    private WalletJournal startLeader(WalletPersistence persistence) {
+        Integer port = Integer.getInteger(REPLICATION_PORT_PROPERTY);
+        if (port == null) {
+            return persistence.getJournal();
+        }
+        ReplicationLeader.AckMode mode = "sync".equalsIgnoreCase(System.getProperty(REPLICATION_ACK_PROPERTY))
+                ? ReplicationLeader.AckMode.SYNC : ReplicationLeader.AckMode.ASYNC;
+        try {
+            this.replicationLeader = new ReplicationLeader(persistence.getJournal(), persistence.getSnapshotStore(), port, mode);
+            if (!fastStart) {
+                UIFormatter.printSuccess("Replicación activa en el puerto " + replicationLeader.getPort()
+                        + " (confirmación " + mode.name().toLowerCase() + ")");
+            }
+            return replicationLeader;
+        } catch (IOException | IllegalArgumentException e) {
+            UIFormatter.printWarning("No se pudo iniciar la replicación: " + e.getMessage());
+            return persistence.getJournal();
+        }
+    }
+
+    /**
+     * Sigue a un líder de replicación. La réplica no abre la persistencia local: al reiniciarse
+     * vuelve a ponerse al día desde el líder.
+     * @return réplica iniciada o null si la dirección no es válida
+     */
+    private ReplicationFollower startFollower(WalletController wired, String leaderAddress) {
+        String dataDir = System.getProperty(DATA_DIR_PROPERTY);
+        if (dataDir != null && !dataDir.isBlank()) {
+            UIFormatter.printWarning("En modo réplica se ignora el directorio de datos local");
+        }
+        int separator = leaderAddress.lastIndexOf(':');
+        try {
+            ReplicationFollower follower = new ReplicationFollower(leaderAddress.substring(0, separator),
+                    Integer.parseInt(leaderAddress.substring(separator + 1)), replicaOf(wired));
+            // Los cambios llegan solo del líder; el menú de la réplica solo consulta
+            wired.setReadOnly(true);
+            follower.start();
+            if (!fastStart) {
+                UIFormatter.printSuccess("Modo réplica: siguiendo al líder en " + leaderAddress);
+            }
+            return follower;
+        } catch (IndexOutOfBoundsException | IllegalArgumentException e) {
+            UIFormatter.printWarning("Dirección de líder inválida (se espera host:puerto): " + leaderAddress);
+            return null;
+        }
+    }
+
+    /**
+     * Estado de la réplica: las operaciones del líder pasan por el controlador y los snapshots
+     * se restauran igual que los datos persistidos.
+     */
+    private ReplicationFollower.Replica replicaOf(WalletController wired) {
+        return new ReplicationFollower.Replica() {
+            @Override
+            public User findUser(String id) {
+                return wired.getUser(id);
+            }
+
+            @Override
+            public Account findAccount(String id) {
+                return wired.findAccount(id);
+            }
+
+            @Override
+            public void install(WalletState snapshot) {
+                wired.restoreState(snapshot.getUsers(), snapshot.getAccounts(), snapshot.getTransactions());
+                readModel.restore(snapshot.getAccounts(), snapshot.getTransactions());
+            }
+
+            @Override
+            public void apply(long sequence, JournalRecord record) throws IOException {
+                if (!wired.applyReplicated(record)) {
+                    throw new IOException("La operación " + sequence + " no se puede aplicar en la réplica");
+                }
+            }
+        };
+    }
+
+    private static void closeQuietly(AutoCloseable resource) {
+        if (resource == null) {
+            return;
+        }
+        try {
+            resource.close();
+        } catch (Exception e) {
+            // Cierre en salida de la aplicación: no hay nada más que hacer
+        }
+    }
 }
@@ -1,10 +1,19 @@
 package proyectowallet.controller;
 
+import proyectowallet.event.BalanceRelay;
+import proyectowallet.event.EventPublisher;
+import proyectowallet.event.WalletEvent;
 import proyectowallet.model.*;
 import proyectowallet.model.Currency;
+import proyectowallet.persistence.JournalRecord;
+import proyectowallet.persistence.WalletJournal;
 import proyectowallet.service.*;
 import proyectowallet.util.*;
+import java.time.Duration;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BooleanSupplier;
 
 /**
  * Orquestador principal de los casos de uso de Alke Wallet.
@@ -14,23 +23,95 @@ import java.util.*;
  * Implementa principios SOLID: Dependency Injection.
  */
 public class WalletController {
+    /** Cantidad máxima de claves de idempotencia recordadas. */
+    private static final int IDEMPOTENCY_CACHE_SIZE = 100_000;
+    /** Tiempo durante el cual un reintento devuelve el resultado original. */
+    private static final Duration IDEMPOTENCY_TTL = Duration.ofHours(24);
+
+    /**
+     * Resultado recordado de una operación con clave de idempotencia.
+     */
+    private record IdempotentOutcome(Transaction.TransactionType type, String accountId, double amount, boolean success) {
+        boolean matches(Transaction.TransactionType type, String accountId, double amount) {
+            return this.type == type && this.accountId.equals(accountId) && this.amount == amount;
+        }
+    }
+
     private final AccountService accountService;
     private final TransactionService transactionService;
     private final CurrencyConverterService currencyConverter;
+    private final PortfolioService portfolioService;
     private final Map<String, User> users;
+    private final PrefixIndex<User> userIndex = new PrefixIndex<>();
+    private final UserRegistrationService registrationService = new UserRegistrationServiceImpl();
+    private final IdempotencyCache<IdempotentOutcome> idempotencyCache;
+    private WalletJournal journal = WalletJournal.DISABLED;
+    /** Volatile: los cambios de saldo se publican desde el hilo que modificó la cuenta. */
+    private volatile EventPublisher events = EventPublisher.DISABLED;
+    private final AtomicLong lastEventSequence = new AtomicLong(-1);
+    /** Carga del historial restaurado; mientras no termine, escrituras y consultas del historial esperan. */
+    private volatile CompletableFuture<?> historyLoading = CompletableFuture.completedFuture(null);
+    /** Lleva los cambios de saldo al bus fuera del lock de la cuenta. */
+    private final BalanceRelay balanceRelay = new BalanceRelay(this::publishBalance);
     private Account currentAccount;
+    /** En una réplica las escrituras llegan solo del líder, por {@link #applyReplicated}. */
+    private volatile boolean readOnly;
 
     // Constructor de la clase WalletController
     public WalletController(AccountService accountService,
                           TransactionService transactionService,
                           CurrencyConverterService currencyConverter) {
+        this(accountService, transactionService, currencyConverter,
+                new PortfolioServiceImpl(currencyConverter, Currency.USD));
+    }
+
+    public WalletController(AccountService accountService,
+                          TransactionService transactionService,
+                          CurrencyConverterService currencyConverter,
+                          PortfolioService portfolioService) {
         this.accountService = accountService;
         this.transactionService = transactionService;
         this.currencyConverter = currencyConverter;
+        this.portfolioService = portfolioService;
+        // El patrimonio sigue los saldos de las cuentas, pase o no la operación por el controlador
+        accountService.addBalanceListener(portfolioService::applyBalance);
+        // Los saldos del modelo de lectura salen de estos eventos, no de sumar los movimientos.
+        // El oyente corre con el lock de la cuenta: solo deja el cambio en el relevo, que lo
+        // publica después sin que un consumidor lento frene a quien escribe
+        accountService.addBalanceListener(change -> {
+            if (events != EventPublisher.DISABLED) {
+                balanceRelay.offer(change);
+            }
+        });
         this.users = new LinkedHashMap<>();
+        this.idempotencyCache = new IdempotencyCache<>(IDEMPOTENCY_CACHE_SIZE, IDEMPOTENCY_TTL);
         this.currentAccount = null;
     }
 
+    /**
+     * Comprueba que la instancia acepte escrituras; si es una réplica, imprime error y devuelve false.
+     */
+    private boolean ensureWritable() {
+        if (readOnly) {
+            UIFormatter.printError(ValidationUtil.formatError("READ_ONLY"));
+            return false;
+        }
+        awaitHistory();
+        return true;
+    }
+
+    /**
+     * Espera a que termine la carga del historial restaurado, si hay una en curso. Así las
+     * transacciones nuevas quedan después de las restauradas y las consultas las ven completas.
+     */
+    private void awaitHistory() {
+        CompletableFuture<?> loading = historyLoading;
+        if (!loading.isDone()) {
+            // Un error de carga ya se informó; las operaciones siguen con lo que haya
+            loading.exceptionally(e -> null).join();
+        }
+    }
+
     /**
      * Comprueba que haya una cuenta actual; si no, imprime error y devuelve false.
      */
@@ -53,6 +134,28 @@ public class WalletController {
         return true;
     }
 
+    /**
+     * Publica un evento y recuerda su posición para {@link #getLastEventSequence()}.
+     * Antes publica los saldos pendientes, así los que dejó la operación salen antes que su evento.
+     */
+    private void publishEvent(WalletEvent.Type type, User user, Account account, Currency currency, double amount,
+                              Currency targetCurrency, double convertedAmount) {
+        balanceRelay.flush();
+        recordSequence(events.publish(type, user, account, currency, amount, targetCurrency, convertedAmount));
+    }
+
+    private long publishBalance(BalanceChange change) {
+        long sequence = events.publishBalance(change);
+        recordSequence(sequence);
+        return sequence;
+    }
+
+    private void recordSequence(long sequence) {
+        if (sequence >= 0) {
+            lastEventSequence.accumulateAndGet(sequence, Math::max);
+        }
+    }
+
     /**
      * Registra la transacción y muestra mensaje de éxito (depósito/retiro).
      */
@@ -67,6 +170,11 @@ public class WalletController {
                 operationLabel
         );
         transactionService.recordTransaction(transaction);
+        journal.append(JournalRecord.transaction(
+                type == Transaction.TransactionType.DEPOSIT ? JournalRecord.Kind.DEPOSIT : JournalRecord.Kind.WITHDRAWAL,
+                transaction));
+        publishEvent(type == Transaction.TransactionType.DEPOSIT ? WalletEvent.Type.DEPOSIT : WalletEvent.Type.WITHDRAWAL,
+                currentAccount.getUser(), currentAccount, transaction.getCurrencyFrom(), amount, null, 0);
         UIFormatter.printSuccess(operationLabel + " de " + UIFormatter.formatMoney(amount, currentAccount.getCurrency()) + " realizado");
     }
 
@@ -74,31 +182,69 @@ public class WalletController {
      * Registra un nuevo usuario en el sistema.
      */
     public boolean registerUser(String firstName, String lastName, String email) {
-        if (!ValidationUtil.isValidName(firstName) || !ValidationUtil.isValidName(lastName)) {
-            UIFormatter.printError(ValidationUtil.formatError("INVALID_NAME"));
+        if (!ensureWritable()) {
             return false;
         }
-
-        if (!ValidationUtil.isValidEmail(email)) {
-            UIFormatter.printError(ValidationUtil.formatError("INVALID_EMAIL"));
+        String error = ValidationUtil.validateUser(firstName, lastName, email);
+        if (error != null) {
+            UIFormatter.printError(ValidationUtil.formatError(error));
             return false;
         }
 
         User user = new User(firstName, lastName, email);
-        users.put(user.getId(), user);
+        addUser(user);
+        journal.append(JournalRecord.userRegistered(user));
+        publishEvent(WalletEvent.Type.USER_REGISTERED, user, null, null, 0, null, 0);
         UIFormatter.printSuccess("Usuario registrado: " + user.getFullName());
         return true;
     }
 
+    /**
+     * Registra un lote de usuarios sin imprimir nada. Valida las filas en paralelo, agrega los
+     * válidos al almacén de usuarios de una vez, los indexa en paralelo y los registra en el
+     * journal con una escritura por bloque.
+     * @param rows filas a registrar
+     * @return un resultado por fila, en el mismo orden, con el usuario creado o la clave del error
+     * @throws IllegalStateException si la instancia es una réplica de solo lectura
+     */
+    public List<UserRegistrationService.Result> registerUsers(List<UserRegistrationService.Registration> rows) {
+        if (readOnly) {
+            throw new IllegalStateException(ValidationUtil.formatError("READ_ONLY"));
+        }
+        List<UserRegistrationService.Result> results = registrationService.validateAll(rows);
+        List<User> registered = new ArrayList<>(results.size());
+        for (UserRegistrationService.Result result : results) {
+            if (result.isRegistered()) {
+                registered.add(result.user());
+            }
+        }
+        List<JournalRecord> records = new ArrayList<>(registered.size());
+        synchronized (this) {
+            for (User user : registered) {
+                users.put(user.getId(), user);
+                records.add(JournalRecord.userRegistered(user));
+            }
+        }
+        registered.parallelStream().forEach(this::indexUser);
+        journal.appendAll(records);
+        for (User user : registered) {
+            publishEvent(WalletEvent.Type.USER_REGISTERED, user, null, null, 0, null, 0);
+        }
+        return results;
+    }
+
     /**
      * Crea una cuenta para un usuario.
      */
     public boolean createAccountForUser(String userId, Currency currency, double initialBalance) {
+        if (!ensureWritable()) {
+            return false;
+        }
         if (!validateAmount(initialBalance)) {
             return false;
         }
 
-        User user = users.get(userId);
+        User user = getUser(userId);
         if (user == null) {
             UIFormatter.printError(ValidationUtil.formatError("ACCOUNT_NOT_FOUND"));
             return false;
@@ -113,7 +259,10 @@ public class WalletController {
 
         try {
             currentAccount = accountService.createAccount(user, currency, initialBalance);
-            UIFormatter.printSuccess("Cuenta creada exitosamente en " + currency.getDescription());
+            journal.append(JournalRecord.accountCreated(currentAccount, initialBalance));
+            publishEvent(WalletEvent.Type.ACCOUNT_CREATED, user, currentAccount, currency, initialBalance, null, 0);
+            UIFormatter.printSuccess("Cuenta #" + accountService.getAccountNumber(currentAccount.getId())
+                    + " creada exitosamente en " + currency.getDescription());
             return true;
         } catch (Exception e) {
             UIFormatter.printError(ValidationUtil.formatError("OPERATION_FAILED"));
@@ -128,20 +277,65 @@ public class WalletController {
         return accountService.getAccountsByUser(userId);
     }
 
+    /**
+     * Busca una cuenta por número corto ("#12" o "12") o por id, sin recorrer usuarios ni cuentas.
+     * @param reference número o id de la cuenta
+     * @return cuenta encontrada, o null si no existe
+     */
+    public Account findAccount(String reference) {
+        if (reference == null || reference.isBlank()) {
+            return null;
+        }
+        String trimmed = reference.trim();
+        String digits = trimmed.startsWith("#") ? trimmed.substring(1) : trimmed;
+        if (!digits.isEmpty() && digits.length() <= 9 && digits.chars().allMatch(c -> c >= '0' && c <= '9')) {
+            return accountService.getAccountByNumber(Integer.parseInt(digits));
+        }
+        return accountService.getAccount(trimmed);
+    }
+
+    /**
+     * Obtiene el número corto de una cuenta (0 si no está registrada).
+     */
+    public int getAccountNumber(Account account) {
+        return account == null ? 0 : accountService.getAccountNumber(account.getId());
+    }
+
+    /**
+     * Obtiene la cantidad total de cuentas.
+     */
+    public int getAccountCount() {
+        return accountService.getAccountCount();
+    }
+
+    /**
+     * Obtiene una página de cuentas en orden de número, sin copiar el resto.
+     * @param offset posición de la primera cuenta (0 es la cuenta #1)
+     * @param limit cantidad máxima de cuentas
+     * @return cuentas de la página
+     */
+    public List<Account> getAccountsPage(int offset, int limit) {
+        return accountService.getAccounts(offset, limit);
+    }
+
     /**
      * Realiza un depósito en la cuenta actual.
      */
     public boolean deposit(double amount) {
+        if (!ensureWritable()) {
+            return false;
+        }
         if (!ensureCurrentAccount() || !validateAmount(amount)) {
             return false;
         }
 
-        if (accountService.deposit(currentAccount.getId(), amount)) {
+        OperationResult result = accountService.tryDeposit(currentAccount.getId(), amount);
+        if (result.isSuccess()) {
             recordAndNotifyTransaction(Transaction.TransactionType.DEPOSIT, amount, "Depósito");
             return true;
         }
 
-        UIFormatter.printError(ValidationUtil.formatError("OPERATION_FAILED"));
+        UIFormatter.printError(ValidationUtil.formatError(result.getErrorKey()));
         return false;
     }
 
@@ -149,43 +343,140 @@ public class WalletController {
      * Realiza un retiro de la cuenta actual.
      */
     public boolean withdraw(double amount) {
-        if (!ensureCurrentAccount() || !validateAmount(amount)) {
+        if (!ensureWritable()) {
             return false;
         }
-
-        if (amount > currentAccount.getBalance()) {
-            UIFormatter.printError(ValidationUtil.formatError("INSUFFICIENT_BALANCE"));
+        if (!ensureCurrentAccount() || !validateAmount(amount)) {
             return false;
         }
 
-        if (accountService.withdraw(currentAccount.getId(), amount)) {
+        // El saldo se verifica dentro del propio retiro: consultarlo antes dejaría una ventana
+        OperationResult result = accountService.tryWithdraw(currentAccount.getId(), amount);
+        if (result.isSuccess()) {
             recordAndNotifyTransaction(Transaction.TransactionType.WITHDRAWAL, amount, "Retiro");
             return true;
         }
 
-        UIFormatter.printError(ValidationUtil.formatError("OPERATION_FAILED"));
+        UIFormatter.printError(ValidationUtil.formatError(result.getErrorKey()));
         return false;
     }
 
     /**
-     * Convierte el saldo de una moneda a otra.
+     * Realiza un depósito con clave de idempotencia.
+     * Un reintento con la misma clave devuelve el resultado original sin volver a depositar.
      */
-    public double convertBalance(Currency targetCurrency) {
-        if (currentAccount == null) {
+    public boolean deposit(double amount, String idempotencyKey) {
+        return executeIdempotent(Transaction.TransactionType.DEPOSIT, amount, idempotencyKey, () -> deposit(amount));
+    }
+
+    /**
+     * Realiza un retiro con clave de idempotencia.
+     * Un reintento con la misma clave devuelve el resultado original sin volver a retirar.
+     */
+    public boolean withdraw(double amount, String idempotencyKey) {
+        return executeIdempotent(Transaction.TransactionType.WITHDRAWAL, amount, idempotencyKey, () -> withdraw(amount));
+    }
+
+    /**
+     * Ejecuta una operación de dinero una sola vez por clave de idempotencia.
+     * Sin clave, la operación se ejecuta directamente sin pasar por la caché.
+     */
+    private boolean executeIdempotent(Transaction.TransactionType type, double amount, String idempotencyKey,
+                                      BooleanSupplier operation) {
+        if (!ensureWritable()) {
+            return false;
+        }
+        if (idempotencyKey == null || idempotencyKey.isBlank()) {
+            return operation.getAsBoolean();
+        }
+        if (!ensureCurrentAccount()) {
+            return false;
+        }
+        String accountId = currentAccount.getId();
+        boolean[] executed = new boolean[1];
+        IdempotentOutcome outcome = idempotencyCache.execute(idempotencyKey, () -> {
+            executed[0] = true;
+            return new IdempotentOutcome(type, accountId, amount, operation.getAsBoolean());
+        });
+        if (executed[0]) {
+            return outcome.success();
+        }
+        if (!outcome.matches(type, accountId, amount)) {
+            UIFormatter.printError("La clave de idempotencia ya fue usada para otra operación");
+            return false;
+        }
+        UIFormatter.printWarning("Operación ya procesada; se devuelve el resultado original");
+        return outcome.success();
+    }
+
+    /**
+     * Transfiere desde la cuenta actual a otra cuenta con la misma moneda principal. Registra
+     * una transacción en cada cuenta, un único registro en el journal y un evento por cuenta,
+     * así la transferencia se recupera al reiniciar y llega a las réplicas y al modelo de lectura.
+     * @param target cuenta destino
+     * @param amount monto en la moneda principal de ambas cuentas
+     * @return true si la transferencia se realizó
+     */
+    public boolean transfer(Account target, double amount) {
+        if (!ensureWritable()) {
+            return false;
+        }
+        if (!ensureCurrentAccount() || !validateAmount(amount)) {
+            return false;
+        }
+        if (target == null) {
             UIFormatter.printError(ValidationUtil.formatError("ACCOUNT_NOT_FOUND"));
-            return 0;
+            return false;
         }
 
-        double convertedAmount = currencyConverter.convert(
-                currentAccount.getBalance(),
-                currentAccount.getCurrency(),
-                targetCurrency
-        );
+        Account source = currentAccount;
+        Currency currency = source.getCurrency();
+        OperationResult result = accountService.tryTransfer(source.getId(), target.getId(), amount);
+        if (!result.isSuccess()) {
+            UIFormatter.printError(ValidationUtil.formatError(result.getErrorKey()));
+            return false;
+        }
 
-        // Aplicar conversión sobre la cuenta: actualizar saldo y moneda
-        double originalAmount = currentAccount.getBalance();
-        Currency originalCurrency = currentAccount.getCurrency();
-        currentAccount.applyConversion(targetCurrency, convertedAmount);
+        Transaction debit = new Transaction(source, Transaction.TransactionType.TRANSFER, amount, currency, currency,
+                amount, "Transferencia a la cuenta #" + accountService.getAccountNumber(target.getId()));
+        Transaction credit = new Transaction(target, Transaction.TransactionType.TRANSFER_IN, amount, currency, currency,
+                amount, "Transferencia de la cuenta #" + accountService.getAccountNumber(source.getId()));
+        transactionService.recordTransaction(debit);
+        transactionService.recordTransaction(credit);
+        journal.append(JournalRecord.transfer(debit, credit));
+        publishEvent(WalletEvent.Type.TRANSFER_SENT, source.getUser(), source, currency, amount, null, 0);
+        publishEvent(WalletEvent.Type.TRANSFER_RECEIVED, target.getUser(), target, currency, amount, null, 0);
+        UIFormatter.printSuccess(debit.getDescription() + " de " + UIFormatter.formatMoney(amount, currency) + " realizada");
+        return true;
+    }
+
+    /**
+     * Convierte todo el saldo principal a otra moneda, que pasa a ser la principal.
+     * La cuenta lee, convierte y aplica el saldo con su lock tomado, así la transacción
+     * registrada corresponde exactamente al saldo movido.
+     * @return monto acreditado en la moneda destino, o -1 si la operación falló
+     */
+    public double convertBalance(Currency targetCurrency) {
+        if (!ensureWritable()) {
+            return -1;
+        }
+        if (!ensureCurrentAccount()) {
+            return -1;
+        }
+        if (targetCurrency == null || targetCurrency == currentAccount.getCurrency()) {
+            UIFormatter.printError(ValidationUtil.formatError("OPERATION_FAILED"));
+            return -1;
+        }
+
+        Conversion conversion = accountService.tryConvertAll(currentAccount.getId(),
+                currencyConverter.getRateSnapshot(), targetCurrency);
+        if (!conversion.isSuccess()) {
+            UIFormatter.printError(ValidationUtil.formatError(conversion.getResult().getErrorKey()));
+            return -1;
+        }
+        double originalAmount = conversion.getAmount();
+        Currency originalCurrency = conversion.getFrom();
+        double convertedAmount = conversion.getConvertedAmount();
 
         Transaction transaction = new Transaction(
             currentAccount,
@@ -194,9 +485,72 @@ public class WalletController {
             originalCurrency,
             targetCurrency,
             convertedAmount,
-            "Conversión de " + originalCurrency + " a " + targetCurrency
+            "Conversión de " + originalCurrency + " a " + targetCurrency,
+            conversion.getRateVersion()
         );
         transactionService.recordTransaction(transaction);
+        journal.append(JournalRecord.transaction(JournalRecord.Kind.CONVERSION, transaction));
+        publishEvent(WalletEvent.Type.CONVERSION, currentAccount.getUser(), currentAccount,
+                originalCurrency, originalAmount, targetCurrency, convertedAmount);
+
+        return convertedAmount;
+    }
+
+    /**
+     * Convierte parte del saldo de la moneda principal a un sub-saldo en otra moneda.
+     * La cuenta conserva su moneda principal.
+     * @return monto acreditado en la moneda destino, o -1 si la operación falló
+     */
+    public double convertPartial(Currency targetCurrency, double amount) {
+        if (!ensureCurrentAccount()) {
+            return -1;
+        }
+        return convertPartial(currentAccount.getCurrency(), targetCurrency, amount);
+    }
+
+    /**
+     * Convierte parte de un sub-saldo de la cuenta a otro sub-saldo.
+     * La cuenta conserva su moneda principal.
+     * @param sourceCurrency moneda del sub-saldo que se descuenta
+     * @param targetCurrency moneda del sub-saldo que se acredita
+     * @return monto acreditado en la moneda destino, o -1 si la operación falló
+     */
+    public double convertPartial(Currency sourceCurrency, Currency targetCurrency, double amount) {
+        if (!ensureWritable()) {
+            return -1;
+        }
+        if (!ensureCurrentAccount() || !validateAmount(amount)) {
+            return -1;
+        }
+
+        if (sourceCurrency == null || targetCurrency == null || targetCurrency == sourceCurrency) {
+            UIFormatter.printError(ValidationUtil.formatError("OPERATION_FAILED"));
+            return -1;
+        }
+
+        RateSnapshot rates = currencyConverter.getRateSnapshot();
+        double convertedAmount = rates.convert(amount, sourceCurrency, targetCurrency);
+        OperationResult result = accountService.tryConvert(currentAccount.getId(), sourceCurrency, targetCurrency,
+                amount, convertedAmount);
+        if (!result.isSuccess()) {
+            UIFormatter.printError(ValidationUtil.formatError(result.getErrorKey()));
+            return -1;
+        }
+
+        Transaction transaction = new Transaction(
+            currentAccount,
+            Transaction.TransactionType.CONVERSION,
+            amount,
+            sourceCurrency,
+            targetCurrency,
+            convertedAmount,
+            "Conversión parcial de " + sourceCurrency + " a " + targetCurrency,
+            rates.getVersion()
+        );
+        transactionService.recordTransaction(transaction);
+        journal.append(JournalRecord.transaction(JournalRecord.Kind.PARTIAL_CONVERSION, transaction));
+        publishEvent(WalletEvent.Type.PARTIAL_CONVERSION, currentAccount.getUser(), currentAccount,
+                sourceCurrency, amount, targetCurrency, convertedAmount);
 
         return convertedAmount;
     }
@@ -228,6 +582,7 @@ public class WalletController {
         if (currentAccount == null) {
             return Collections.emptyList();
         }
+        awaitHistory();
         return transactionService.getTransactionHistory(currentAccount);
     }
 
@@ -235,14 +590,36 @@ public class WalletController {
      * Obtiene el total de depósitos de una cuenta.
      */
     public double getTotalDeposits(Account account) {
-        return account == null ? 0 : transactionService.getTotalDeposits(account);
+        if (account == null) {
+            return 0;
+        }
+        awaitHistory();
+        return transactionService.getTotalDeposits(account);
     }
 
     /**
      * Obtiene el total de retiros de una cuenta.
      */
     public double getTotalWithdrawals(Account account) {
-        return account == null ? 0 : transactionService.getTotalWithdrawals(account);
+        if (account == null) {
+            return 0;
+        }
+        awaitHistory();
+        return transactionService.getTotalWithdrawals(account);
+    }
+
+    /**
+     * Obtiene el patrimonio total de un usuario en la moneda de reporte.
+     */
+    public double getNetWorth(String userId) {
+        return portfolioService.getNetWorth(userId);
+    }
+
+    /**
+     * Obtiene la moneda de reporte del patrimonio.
+     */
+    public Currency getReportingCurrency() {
+        return portfolioService.getReportingCurrency();
     }
 
     /**
@@ -269,14 +646,209 @@ public class WalletController {
     /**
      * Obtiene un usuario por ID.
      */
-    public User getUser(String userId) {
+    public synchronized User getUser(String userId) {
         return users.get(userId);
     }
 
     /**
-     * Obtiene todos los usuarios.
+     * Establece el journal donde se registran las operaciones confirmadas.
+     */
+    public void setJournal(WalletJournal journal) {
+        this.journal = journal == null ? WalletJournal.DISABLED : journal;
+    }
+
+    /**
+     * Obtiene la posición del último evento publicado por el controlador (-1 si no publicó
+     * ninguno). Sirve para leer las escrituras propias en el modelo de lectura con
+     * {@code ReadModelService#awaitSequence}.
+     */
+    public long getLastEventSequence() {
+        return lastEventSequence.get();
+    }
+
+    /**
+     * Establece dónde se publican los eventos de cada cambio confirmado.
+     * Los datos restaurados con {@link #restoreState} no generan eventos.
      */
-    public Collection<User> getAllUsers() {
-        return users.values();
+    public void setEventPublisher(EventPublisher events) {
+        this.events = events == null ? EventPublisher.DISABLED : events;
+    }
+
+    /**
+     * Restaura el estado recuperado desde disco sin volver a registrarlo en el journal.
+     */
+    public synchronized void restoreState(Collection<User> restoredUsers, Collection<Account> restoredAccounts,
+                             List<Transaction> restoredTransactions) {
+        // Registrar las cuentas publica su saldo; el modelo de lectura las carga con su propio restore
+        EventPublisher publisher = events;
+        events = EventPublisher.DISABLED;
+        try {
+            for (User user : restoredUsers) {
+                addUser(user);
+            }
+            for (Account account : restoredAccounts) {
+                accountService.restoreAccount(account);
+            }
+            for (Transaction transaction : restoredTransactions) {
+                transactionService.recordTransaction(transaction);
+            }
+        } finally {
+            events = publisher;
+        }
+    }
+
+    /**
+     * Restaura transacciones anteriores a las operaciones nuevas, sin registrarlas en el journal
+     * ni publicar eventos. No espera a {@link #setHistoryLoading}: es lo que usa esa carga.
+     * @param restoredTransactions transacciones en orden de aplicación
+     */
+    public void restoreHistory(List<Transaction> restoredTransactions) {
+        for (Transaction transaction : restoredTransactions) {
+            transactionService.recordTransaction(transaction);
+        }
+    }
+
+    /**
+     * Indica que el historial restaurado se está cargando en segundo plano. Hasta que la carga
+     * termine (bien o mal), las escrituras y las consultas del historial esperan; los saldos y
+     * las demás consultas responden de inmediato.
+     * @param loading carga en curso
+     */
+    public void setHistoryLoading(CompletableFuture<?> loading) {
+        this.historyLoading = loading == null ? CompletableFuture.completedFuture(null) : loading;
+    }
+
+    /**
+     * Aplica una operación recibida del líder de replicación, sin volver a registrarla en el
+     * journal. Pasa por los mismos servicios que la operación original y publica su evento.
+     * Corre en el hilo de la réplica; toma el lock del controlador, el mismo que protege los
+     * usuarios, así no se intercala con las lecturas del menú ni con una restauración.
+     * @param record registro del líder, con las referencias ya resueltas sobre este estado
+     * @return false si la operación no es aplicable (la réplica ya no coincide con el líder)
+     */
+    public synchronized boolean applyReplicated(JournalRecord record) {
+        switch (record.getKind()) {
+            case USER_REGISTERED -> {
+                addUser(record.getUser());
+                publishEvent(WalletEvent.Type.USER_REGISTERED, record.getUser(), null, null, 0, null, 0);
+                return true;
+            }
+            case ACCOUNT_CREATED -> {
+                Account account = record.getAccount();
+                accountService.restoreAccount(account);
+                publishEvent(WalletEvent.Type.ACCOUNT_CREATED, account.getUser(), account, account.getCurrency(),
+                        record.getInitialBalance(), null, 0);
+                return true;
+            }
+            case TRANSFER -> {
+                return applyReplicatedTransfer(record.getTransaction(), record.getCreditTransaction());
+            }
+            default -> {
+                return applyReplicatedTransaction(record.getKind(), record.getTransaction());
+            }
+        }
+    }
+
+    private boolean applyReplicatedTransfer(Transaction debit, Transaction credit) {
+        Account source = debit.getAccount();
+        Account target = credit.getAccount();
+        if (!accountService.tryTransfer(source.getId(), target.getId(), debit.getAmount()).isSuccess()) {
+            return false;
+        }
+        transactionService.recordTransaction(debit);
+        transactionService.recordTransaction(credit);
+        publishEvent(WalletEvent.Type.TRANSFER_SENT, source.getUser(), source, debit.getCurrencyFrom(),
+                debit.getAmount(), null, 0);
+        publishEvent(WalletEvent.Type.TRANSFER_RECEIVED, target.getUser(), target, credit.getCurrencyTo(),
+                credit.getAmountInTargetCurrency(), null, 0);
+        return true;
+    }
+
+    private boolean applyReplicatedTransaction(JournalRecord.Kind kind, Transaction tx) {
+        Account account = tx.getAccount();
+        WalletEvent.Type type;
+        Currency target = null;
+        double converted = 0;
+        switch (kind) {
+            case DEPOSIT -> {
+                if (!accountService.tryDeposit(account.getId(), tx.getAmount()).isSuccess()) {
+                    return false;
+                }
+                type = WalletEvent.Type.DEPOSIT;
+            }
+            case WITHDRAWAL -> {
+                if (!accountService.tryWithdraw(account.getId(), tx.getAmount()).isSuccess()) {
+                    return false;
+                }
+                type = WalletEvent.Type.WITHDRAWAL;
+            }
+            case CONVERSION -> {
+                accountService.applyConversion(account.getId(), tx.getCurrencyTo(), tx.getAmountInTargetCurrency());
+                type = WalletEvent.Type.CONVERSION;
+                target = tx.getCurrencyTo();
+                converted = tx.getAmountInTargetCurrency();
+            }
+            case PARTIAL_CONVERSION -> {
+                if (!accountService.tryConvert(account.getId(), tx.getCurrencyFrom(), tx.getCurrencyTo(),
+                        tx.getAmount(), tx.getAmountInTargetCurrency()).isSuccess()) {
+                    return false;
+                }
+                type = WalletEvent.Type.PARTIAL_CONVERSION;
+                target = tx.getCurrencyTo();
+                converted = tx.getAmountInTargetCurrency();
+            }
+            default -> {
+                return false;
+            }
+        }
+        transactionService.recordTransaction(tx);
+        publishEvent(type, account.getUser(), account, tx.getCurrencyFrom(), tx.getAmount(), target, converted);
+        return true;
+    }
+
+    private synchronized void addUser(User user) {
+        users.put(user.getId(), user);
+        indexUser(user);
+    }
+
+    private void indexUser(User user) {
+        userIndex.add(user.getId(), user, user.getFullName(), user.getLastName(), user.getEmail());
+    }
+
+    /**
+     * Busca usuarios cuyo nombre completo, apellido o email empieza con el texto indicado,
+     * sin distinguir mayúsculas ni tildes. Usa un índice por prefijo mantenido al registrar usuarios.
+     * @param prefix texto a buscar; vacío devuelve los primeros usuarios en orden alfabético
+     * @param limit cantidad máxima de resultados
+     * @return usuarios encontrados
+     */
+    public List<User> searchUsers(String prefix, int limit) {
+        return userIndex.search(prefix, limit);
+    }
+
+    /**
+     * Indica si hay usuarios registrados, sin copiarlos.
+     */
+    public synchronized boolean hasUsers() {
+        return !users.isEmpty();
+    }
+
+    /**
+     * Obtiene una copia de todos los usuarios, en orden de registro.
+     */
+    public synchronized Collection<User> getAllUsers() {
+        return List.copyOf(users.values());
+    }
+
+    /**
+     * Marca la instancia como réplica de solo lectura: las operaciones que cambian datos se
+     * rechazan con un mensaje y los cambios llegan solo del líder por {@link #applyReplicated}.
+     */
+    public void setReadOnly(boolean readOnly) {
+        this.readOnly = readOnly;
+    }
+
+    public boolean isReadOnly() {
+        return readOnly;
     }
 }
@@ -0,0 +1,115 @@
+package proyectowallet.event;
+
+import proyectowallet.model.BalanceChange;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.ToLongFunction;
+
+/**
+ * Traslada los cambios de saldo al bus de eventos sin publicar con el lock de una cuenta tomado.
+ * <p>
+ * {@link #offer} se llama desde el oyente de saldos, con el lock de la cuenta: solo guarda el
+ * cambio en un mapa ordenado por llegada y nunca espera al bus. Si la cuenta ya tenía un cambio
+ * pendiente, el nuevo lo reemplaza (lleva el estado completo de la cuenta), así lo pendiente
+ * ocupa como máximo un cambio por cuenta aunque el bus esté lleno. La publicación la hace
+ * {@link #flush()}, que llama quien escribió después de soltar los locks, o un drenado en el
+ * {@link Executor} para los cambios que no pasan por quien llama a {@code flush}. Las
+ * publicaciones se serializan, por lo que los estados de una cuenta salen en orden.
+ */
+public class BalanceRelay {
+    private final ToLongFunction<BalanceChange> sink;
+    private final Executor executor;
+    /** Cambios pendientes por cuenta, en orden de llegada; se protege con su propio lock. */
+    private final Map<String, BalanceChange> pending = new LinkedHashMap<>();
+    /** Serializa las publicaciones; nunca se toma dentro del lock de {@code pending}. */
+    private final Object publishLock = new Object();
+    private final AtomicInteger wip = new AtomicInteger();
+
+    public BalanceRelay(ToLongFunction<BalanceChange> sink) {
+        this(sink, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Crea el relevo.
+     * @param sink publica un cambio y devuelve su posición en el bus (o -1 si se descartó)
+     * @param executor donde se drenan los cambios que nadie publicó con {@link #flush()}
+     */
+    public BalanceRelay(ToLongFunction<BalanceChange> sink, Executor executor) {
+        if (sink == null || executor == null) {
+            throw new IllegalArgumentException("Parámetros inválidos para el relevo de saldos");
+        }
+        this.sink = sink;
+        this.executor = executor;
+    }
+
+    /**
+     * Guarda un cambio para publicarlo. No bloquea: se puede llamar con el lock de la cuenta.
+     * @param change estado de la cuenta después del cambio
+     */
+    public void offer(BalanceChange change) {
+        if (change == null) {
+            throw new IllegalArgumentException("Cambio de saldo no puede ser nulo");
+        }
+        synchronized (pending) {
+            pending.put(change.getAccountId(), change);
+        }
+        if (wip.getAndIncrement() == 0) {
+            try {
+                executor.execute(this::drain);
+            } catch (RejectedExecutionException e) {
+                // Sin drenado en segundo plano lo publica el próximo flush
+                wip.set(0);
+            }
+        }
+    }
+
+    /**
+     * Publica todos los cambios pendientes. Puede esperar al bus, así que no debe llamarse con el
+     * lock de una cuenta.
+     * @return posición del último evento publicado, o -1 si no publicó ninguno
+     */
+    public long flush() {
+        long last = -1;
+        synchronized (publishLock) {
+            BalanceChange next;
+            while ((next = take()) != null) {
+                last = Math.max(last, sink.applyAsLong(next));
+            }
+        }
+        return last;
+    }
+
+    /**
+     * Indica si quedan cambios sin publicar.
+     */
+    public boolean hasPending() {
+        synchronized (pending) {
+            return !pending.isEmpty();
+        }
+    }
+
+    private void drain() {
+        int missed = 1;
+        do {
+            flush();
+            missed = wip.addAndGet(-missed);
+        } while (missed != 0);
+    }
+
+    private BalanceChange take() {
+        synchronized (pending) {
+            Iterator<BalanceChange> oldest = pending.values().iterator();
+            if (!oldest.hasNext()) {
+                return null;
+            }
+            BalanceChange next = oldest.next();
+            oldest.remove();
+            return next;
+        }
+    }
+}
@@ -0,0 +1,258 @@
+package proyectowallet.event;
+
+import proyectowallet.model.Account;
+import proyectowallet.model.BalanceChange;
+import proyectowallet.model.Currency;
+import proyectowallet.model.User;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Bus de eventos en un buffer circular preasignado, con varios productores y varios consumidores.
+ * <p>
+ * Los eventos se crean una sola vez al construir el bus y se reutilizan: publicar reclama el
+ * casillero siguiente con un incremento atómico, copia los campos y avanza el cursor con una
+ * escritura ordenada, sin locks ni objetos nuevos. Si varios hilos publican a la vez, cada uno
+ * espera a que el anterior haya avanzado el cursor antes de avanzarlo, así el cursor nunca deja
+ * ver un casillero reclamado y todavía sin escribir. Cada consumidor corre en su propio hilo, lee
+ * todos los eventos disponibles entre su posición y el cursor como un lote y recién entonces
+ * publica su nueva posición. Un productor solo espera si el consumidor más atrasado quedó una
+ * vuelta completa detrás.
+ * <p>
+ * Se puede publicar, suscribirse y cerrar desde cualquier hilo.
+ */
+public class EventBus implements EventPublisher, AutoCloseable {
+    public static final int DEFAULT_CAPACITY = 1 << 16;
+    private static final int SPIN_TRIES = 100;
+    private static final int YIELD_TRIES = 100;
+    private static final long PARK_NANOS = 50_000;
+
+    private final WalletEvent[] ring;
+    private final int mask;
+    /** Último evento publicado; los consumidores lo leen para saber hasta dónde avanzar. */
+    private final AtomicLong cursor = new AtomicLong(-1);
+    private final AtomicLong handlerErrors = new AtomicLong();
+    private volatile Subscriber[] subscribers = new Subscriber[0];
+    private volatile boolean closed;
+    /** Próxima posición a reclamar por un productor. */
+    private final AtomicLong claimed = new AtomicLong();
+    /** Cota inferior conocida de la posición de los consumidores, compartida por los productores. */
+    private volatile long gate = -1;
+
+    public EventBus() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Crea el bus y sus eventos.
+     * @param capacity cantidad de eventos del buffer; se redondea a la potencia de dos siguiente
+     */
+    public EventBus(int capacity) {
+        if (capacity < 2 || capacity > 1 << 30) {
+            throw new IllegalArgumentException("Capacidad inválida para el bus de eventos");
+        }
+        int size = Integer.highestOneBit(capacity - 1) << 1;
+        this.ring = new WalletEvent[size];
+        for (int i = 0; i < size; i++) {
+            ring[i] = new WalletEvent();
+        }
+        this.mask = size - 1;
+    }
+
+    /**
+     * Suscribe un consumidor en un hilo propio. Recibe los eventos publicados desde ahora.
+     * @param name nombre del consumidor (se usa en el nombre del hilo)
+     * @param handler consumidor
+     */
+    public synchronized void subscribe(String name, EventHandler handler) {
+        if (name == null || handler == null) {
+            throw new IllegalArgumentException("Parámetros inválidos para suscribirse");
+        }
+        if (closed) {
+            throw new IllegalStateException("El bus de eventos está cerrado");
+        }
+        Subscriber subscriber = new Subscriber(handler, cursor.get());
+        Subscriber[] current = subscribers;
+        Subscriber[] updated = Arrays.copyOf(current, current.length + 1);
+        updated[current.length] = subscriber;
+        subscribers = updated;
+        Thread thread = new Thread(subscriber, "wallet-events-" + name);
+        thread.setDaemon(true);
+        subscriber.thread = thread;
+        thread.start();
+    }
+
+    @Override
+    public long publish(WalletEvent.Type type, User user, Account account, Currency currency, double amount,
+                        Currency targetCurrency, double convertedAmount) {
+        return publish(type, user, account, currency, amount, targetCurrency, convertedAmount, null);
+    }
+
+    @Override
+    public long publishBalance(BalanceChange change) {
+        if (change == null) {
+            throw new IllegalArgumentException("Cambio de saldo no puede ser nulo");
+        }
+        return publish(WalletEvent.Type.BALANCE_CHANGED, null, null, change.getCurrency(), change.getBalance(),
+                null, 0, change);
+    }
+
+    private long publish(WalletEvent.Type type, User user, Account account, Currency currency, double amount,
+                         Currency targetCurrency, double convertedAmount, BalanceChange balanceChange) {
+        if (closed) {
+            return -1;
+        }
+        // Una vez reclamada, la posición se publica siempre: si no, los productores siguientes
+        // esperarían para siempre a que el cursor llegue a ella
+        long sequence = claimed.getAndIncrement();
+        long wrapPoint = sequence - ring.length;
+        if (wrapPoint > gate) {
+            gate = awaitSubscribers(wrapPoint);
+        }
+        ring[(int) sequence & mask].set(sequence, type, System.currentTimeMillis(), user, account,
+                currency, amount, targetCurrency, convertedAmount, balanceChange);
+        int idle = 0;
+        while (cursor.get() != sequence - 1) {
+            idle = idle(idle);
+        }
+        // Escritura ordenada: los campos del evento quedan visibles antes que el nuevo cursor
+        cursor.lazySet(sequence);
+        return sequence;
+    }
+
+    /**
+     * Espera a que todos los consumidores hayan procesado el evento que se va a sobrescribir.
+     * @return posición del consumidor más atrasado
+     */
+    private long awaitSubscribers(long wrapPoint) {
+        int idle = 0;
+        while (true) {
+            long slowest = cursor.get();
+            for (Subscriber subscriber : subscribers) {
+                slowest = Math.min(slowest, subscriber.sequence.get());
+            }
+            if (slowest >= wrapPoint || closed) {
+                return slowest;
+            }
+            idle = idle(idle);
+        }
+    }
+
+    /**
+     * Espera progresiva: primero gira, luego cede el procesador y al final duerme un momento.
+     */
+    private static int idle(int idle) {
+        if (idle < SPIN_TRIES) {
+            Thread.onSpinWait();
+        } else if (idle < SPIN_TRIES + YIELD_TRIES) {
+            Thread.yield();
+        } else {
+            LockSupport.parkNanos(PARK_NANOS);
+            return idle;
+        }
+        return idle + 1;
+    }
+
+    /**
+     * Obtiene la posición del último evento publicado (-1 si no hubo ninguno).
+     */
+    public long getPublishedSequence() {
+        return cursor.get();
+    }
+
+    /**
+     * Obtiene la cantidad de excepciones lanzadas por los consumidores. Un consumidor que falla
+     * con una excepción sigue con el siguiente evento; uno que falla con un {@link Error} termina
+     * y deja de contar para la espera de los productores.
+     */
+    public long getHandlerErrors() {
+        return handlerErrors.get();
+    }
+
+    public int getCapacity() {
+        return ring.length;
+    }
+
+    /**
+     * Deja de aceptar eventos y espera a que los consumidores procesen los ya publicados.
+     * Si el hilo que cierra es interrumpido, deja de esperar y conserva la interrupción.
+     */
+    @Override
+    public void close() {
+        Subscriber[] current;
+        synchronized (this) {
+            closed = true;
+            current = subscribers;
+        }
+        try {
+            for (Subscriber subscriber : current) {
+                subscriber.thread.join();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private synchronized void remove(Subscriber subscriber) {
+        Subscriber[] current = subscribers;
+        for (int i = 0; i < current.length; i++) {
+            if (current[i] == subscriber) {
+                Subscriber[] updated = new Subscriber[current.length - 1];
+                System.arraycopy(current, 0, updated, 0, i);
+                System.arraycopy(current, i + 1, updated, i, current.length - i - 1);
+                subscribers = updated;
+                return;
+            }
+        }
+    }
+
+    /**
+     * Hilo de un consumidor y su posición en el buffer.
+     */
+    private final class Subscriber implements Runnable {
+        private final EventHandler handler;
+        /** Último evento procesado; el productor no sobrescribe eventos posteriores. */
+        private final AtomicLong sequence;
+        private Thread thread;
+
+        Subscriber(EventHandler handler, long start) {
+            this.handler = handler;
+            this.sequence = new AtomicLong(start);
+        }
+
+        @Override
+        public void run() {
+            try {
+                consume();
+            } finally {
+                // Un consumidor que terminó, por cierre o por un Error, no debe frenar a los productores
+                remove(this);
+            }
+        }
+
+        private void consume() {
+            long next = sequence.get() + 1;
+            int idle = 0;
+            while (true) {
+                long available = cursor.get();
+                if (available >= next) {
+                    for (long s = next; s <= available; s++) {
+                        try {
+                            handler.onEvent(ring[(int) s & mask], s, s == available);
+                        } catch (RuntimeException e) {
+                            handlerErrors.incrementAndGet();
+                        }
+                    }
+                    sequence.lazySet(available);
+                    next = available + 1;
+                    idle = 0;
+                } else if (closed && cursor.get() < next) {
+                    return;
+                } else {
+                    idle = idle(idle);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package proyectowallet.event;
+
+/**
+ * Consumidor de eventos del {@link EventBus}. Cada consumidor corre en su propio hilo y recibe
+ * todos los eventos publicados desde que se suscribió, en orden y de a lotes.
+ */
+@FunctionalInterface
+public interface EventHandler {
+    /**
+     * Procesa un evento.
+     * @param event evento; se reutiliza, no guardar la referencia
+     * @param sequence posición del evento en el bus
+     * @param endOfBatch true si es el último evento disponible por ahora: buen momento para
+     *                   vaciar buffers o confirmar trabajo acumulado
+     */
+    void onEvent(WalletEvent event, long sequence, boolean endOfBatch);
+}
@@ -0,0 +1,49 @@
+package proyectowallet.event;
+
+import proyectowallet.model.Account;
+import proyectowallet.model.BalanceChange;
+import proyectowallet.model.Currency;
+import proyectowallet.model.User;
+
+/**
+ * Destino donde la capa de aplicación publica cada cambio confirmado.
+ */
+public interface EventPublisher {
+    /** Publicador que descarta los eventos; se usa cuando no hay bus configurado. */
+    EventPublisher DISABLED = new EventPublisher() {
+        @Override
+        public long publish(WalletEvent.Type type, User user, Account account, Currency currency, double amount,
+                            Currency targetCurrency, double convertedAmount) {
+            return -1;
+        }
+
+        @Override
+        public long publishBalance(BalanceChange change) {
+            return -1;
+        }
+    };
+
+    /**
+     * Publica un evento. Los campos que no aplican al tipo van en null o 0.
+     * @param type tipo de evento
+     * @param user usuario afectado
+     * @param account cuenta afectada
+     * @param currency moneda del monto
+     * @param amount monto
+     * @param targetCurrency moneda destino de una conversión
+     * @param convertedAmount monto acreditado en la moneda destino
+     * @return posición del evento, o -1 si se descartó
+     */
+    long publish(WalletEvent.Type type, User user, Account account, Currency currency, double amount,
+                 Currency targetCurrency, double convertedAmount);
+
+    /**
+     * Publica el estado de una cuenta después de un cambio de saldo
+     * ({@link WalletEvent.Type#BALANCE_CHANGED}). Nunca se llama con el lock de la cuenta, porque
+     * publicar puede esperar a los consumidores; {@link BalanceRelay} entrega los estados de una
+     * cuenta en el orden en que ocurrieron.
+     * @param change estado de la cuenta
+     * @return posición del evento, o -1 si se descartó
+     */
+    long publishBalance(BalanceChange change);
+}
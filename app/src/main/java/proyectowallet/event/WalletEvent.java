@@ -0,0 +1,144 @@
+package proyectowallet.event;
+
+import proyectowallet.model.Account;
+import proyectowallet.model.BalanceChange;
+import proyectowallet.model.Currency;
+import proyectowallet.model.User;
+
+/**
+ * Evento de dominio publicado en el {@link EventBus}.
+ * Los eventos son casilleros reutilizables del buffer circular: el bus los sobrescribe cuando
+ * da la vuelta, por lo que un consumidor no debe guardar la referencia después de
+ * {@link EventHandler#onEvent}; si necesita los datos, copia los campos.
+ */
+public final class WalletEvent {
+    /**
+     * Tipo de cambio ocurrido.
+     */
+    public enum Type {
+        USER_REGISTERED,
+        ACCOUNT_CREATED,
+        DEPOSIT,
+        WITHDRAWAL,
+        /** Conversión de todo el saldo principal; la moneda destino pasa a ser la principal. */
+        CONVERSION,
+        /** Conversión de parte del saldo principal a un sub-saldo; la moneda principal no cambia. */
+        PARTIAL_CONVERSION,
+        /** Salida de una transferencia; la cuenta es la de origen. */
+        TRANSFER_SENT,
+        /** Entrada de una transferencia; la cuenta es la de destino. */
+        TRANSFER_RECEIVED,
+        /**
+         * Nuevo estado de una cuenta tras cualquier cambio de saldo, incluidos los que no generan
+         * otro evento (la devolución de una transferencia rechazada, el traslado entre nodos).
+         * Lleva el {@link BalanceChange}; no lleva usuario ni cuenta.
+         */
+        BALANCE_CHANGED
+    }
+
+    private long sequence;
+    private Type type;
+    private long timestamp;
+    private User user;
+    private Account account;
+    private Currency currency;
+    private double amount;
+    private Currency targetCurrency;
+    private double convertedAmount;
+    private BalanceChange balanceChange;
+
+    WalletEvent() {
+        // Solo el bus crea eventos
+    }
+
+    void set(long sequence, Type type, long timestamp, User user, Account account,
+             Currency currency, double amount, Currency targetCurrency, double convertedAmount,
+             BalanceChange balanceChange) {
+        this.sequence = sequence;
+        this.type = type;
+        this.timestamp = timestamp;
+        this.user = user;
+        this.account = account;
+        this.currency = currency;
+        this.amount = amount;
+        this.targetCurrency = targetCurrency;
+        this.convertedAmount = convertedAmount;
+        this.balanceChange = balanceChange;
+    }
+
+    /**
+     * Obtiene la posición del evento en el bus (desde 0, sin saltos).
+     */
+    public long getSequence() {
+        return sequence;
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    /**
+     * Obtiene el instante de publicación en milisegundos desde 1970-01-01 UTC.
+     */
+    public long getTimestamp() {
+        return timestamp;
+    }
+
+    public User getUser() {
+        return user;
+    }
+
+    /**
+     * Obtiene la cuenta afectada (null en un registro de usuario).
+     */
+    public Account getAccount() {
+        return account;
+    }
+
+    /**
+     * Obtiene la moneda del monto (null en un registro de usuario).
+     */
+    public Currency getCurrency() {
+        return currency;
+    }
+
+    /**
+     * Obtiene el monto: saldo inicial, monto depositado, retirado o transferido, o monto convertido en origen.
+     */
+    public double getAmount() {
+        return amount;
+    }
+
+    /**
+     * Obtiene la moneda destino de una conversión (null en los demás tipos).
+     */
+    public Currency getTargetCurrency() {
+        return targetCurrency;
+    }
+
+    /**
+     * Obtiene el monto acreditado en la moneda destino de una conversión (0 en los demás tipos).
+     */
+    public double getConvertedAmount() {
+        return convertedAmount;
+    }
+
+    /**
+     * Obtiene el estado de la cuenta en un {@link Type#BALANCE_CHANGED} (null en los demás tipos).
+     * El {@link BalanceChange} es inmutable y, a diferencia del evento, se puede conservar.
+     */
+    public BalanceChange getBalanceChange() {
+        return balanceChange;
+    }
+
+    @Override
+    public String toString() {
+        return "WalletEvent{" +
+                "sequence=" + sequence +
+                ", type=" + type +
+                ", account=" + (account == null ? null : account.getId()) +
+                ", currency=" + currency +
+                ", amount=" + amount +
+                '}';
+    }
+}
@@ -0,0 +1,10 @@
+/**
+ * <b>Eventos de dominio</b>.
+ * <p>
+ * Cada registro de usuario, creación de cuenta, depósito, retiro y conversión confirmados se
+ * publica como un {@link proyectowallet.event.WalletEvent} en un {@link proyectowallet.event.EventBus}:
+ * un buffer circular preasignado con un productor y varios consumidores, cada uno en su propio
+ * hilo. Notificaciones, analítica y cachés reaccionan a los cambios sin frenar las operaciones.
+ */
+
+package proyectowallet.event;
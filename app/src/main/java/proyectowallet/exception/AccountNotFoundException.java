@@ -3,7 +3,7 @@ package proyectowallet.exception;
 /**
  * Excepción lanzada cuando no se encuentra una cuenta solicitada.
  */
-public class AccountNotFoundException extends Exception {
+public class AccountNotFoundException extends WalletException {
     private final String accountId;
 
     public AccountNotFoundException(String accountId) {
@@ -4,12 +4,13 @@ package proyectowallet.exception;
  * Excepción lanzada cuando una operación de retiro excede el saldo disponible.
  * Implementa el patrón de excepciones personalizadas para mejor manejo de errores.
  */
-public class InsufficientBalanceException extends Exception {
+public class InsufficientBalanceException extends WalletException {
     private final double requiredAmount;
     private final double availableBalance;
 
     public InsufficientBalanceException(double requiredAmount, double availableBalance) {
-        super("Saldo insuficiente. Requerido: " + requiredAmount + ", Disponible: " + availableBalance);
+        // El mensaje se arma recién al pedirlo: formatear los montos costaría más que el rechazo
+        super(null);
         this.requiredAmount = requiredAmount;
         this.availableBalance = availableBalance;
     }
@@ -25,4 +26,9 @@ public class InsufficientBalanceException extends Exception {
     public double getShortfall() {
         return requiredAmount - availableBalance;
     }
+
+    @Override
+    public String getMessage() {
+        return "Saldo insuficiente. Requerido: " + requiredAmount + ", Disponible: " + availableBalance;
+    }
 }
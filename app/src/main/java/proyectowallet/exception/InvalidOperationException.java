@@ -3,7 +3,7 @@ package proyectowallet.exception;
 /**
  * Excepción lanzada cuando una operación no es válida o está prohibida.
  */
-public class InvalidOperationException extends Exception {
+public class InvalidOperationException extends WalletException {
     private final String operation;
     private final String reason;
 
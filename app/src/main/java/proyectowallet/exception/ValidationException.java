@@ -3,7 +3,7 @@ package proyectowallet.exception;
 /**
  * Excepción lanzada cuando la validación de datos falla.
  */
-public class ValidationException extends Exception {
+public class ValidationException extends WalletException {
     private final String field;
     private final String value;
 
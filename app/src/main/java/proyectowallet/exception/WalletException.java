@@ -0,0 +1,14 @@
+package proyectowallet.exception;
+
+/**
+ * Base de las excepciones de dominio de la billetera.
+ * Son rechazos esperados (saldo insuficiente, cuenta inexistente, datos inválidos), no fallas
+ * del programa: no capturan la traza de la pila, que sería el costo principal de crearlas con
+ * mucho tráfico de rechazos, ni admiten excepciones suprimidas. Para el camino habitual de las
+ * operaciones de dinero se prefiere {@link proyectowallet.model.OperationResult}.
+ */
+public abstract class WalletException extends Exception {
+    protected WalletException(String message) {
+        super(message, null, false, false);
+    }
+}
@@ -6,12 +6,16 @@ import java.util.UUID;
 /**
  * Entidad que representa una cuenta bancaria/billetera en la plataforma.
  * Implementa principios SOLID: Single Responsibility (gestiona estado de la cuenta).
+ * Una cuenta puede mantener sub-saldos en varias monedas, guardados en un arreglo
+ * indexado por ordinal de {@link Currency}; la moneda principal es la de {@link #getCurrency()}.
  */
 public class Account {
+    private static final int CURRENCY_COUNT = Currency.values().length;
+
     private final String id;
     private final User user;
     private Currency currency;
-    private double balance;
+    private final double[] balances;
     private final LocalDateTime createdAt;
     private LocalDateTime lastModifiedAt;
     private boolean active;
@@ -20,26 +24,112 @@ public class Account {
         this.id = UUID.randomUUID().toString();
         this.user = user;
         this.currency = currency;
-        this.balance = initialBalance;
+        this.balances = new double[CURRENCY_COUNT];
+        if (currency != null) {
+            this.balances[currency.ordinal()] = initialBalance;
+        }
         this.createdAt = LocalDateTime.now();
         this.lastModifiedAt = LocalDateTime.now();
         this.active = true;
     }
 
+    /**
+     * Reconstruye una cuenta existente (por ejemplo, al recuperar el estado persistido).
+     * @param balances sub-saldos indexados por ordinal de {@link Currency}
+     */
+    public Account(String id, User user, Currency currency, double[] balances,
+                   LocalDateTime createdAt, LocalDateTime lastModifiedAt, boolean active) {
+        if (balances == null || balances.length != CURRENCY_COUNT) {
+            throw new IllegalArgumentException("Sub-saldos inválidos");
+        }
+        this.id = id;
+        this.user = user;
+        this.currency = currency;
+        this.balances = balances.clone();
+        this.createdAt = createdAt;
+        this.lastModifiedAt = lastModifiedAt;
+        this.active = active;
+    }
+
     /**
      * Aplica una conversión sobre la cuenta: actualiza moneda y saldo.
+     * El saldo de la moneda principal se traslada completo a la nueva moneda,
+     * que pasa a ser la principal.
      * @param newCurrency moneda destino
      * @param newBalance monto convertido
      */
-    public void applyConversion(Currency newCurrency, double newBalance) {
+    public synchronized void applyConversion(Currency newCurrency, double newBalance) {
         if (newCurrency == null || newBalance < 0) {
             throw new IllegalArgumentException("Parámetros inválidos para conversión");
         }
+        this.balances[currency.ordinal()] = 0;
+        this.balances[newCurrency.ordinal()] += newBalance;
         this.currency = newCurrency;
-        this.balance = newBalance;
         this.lastModifiedAt = LocalDateTime.now();
     }
 
+    /**
+     * Convierte todo el saldo de la moneda principal a otra moneda, que pasa a ser la principal.
+     * Lee el saldo, lo convierte y lo aplica con el lock de la cuenta tomado, así un depósito
+     * concurrente nunca se pierde ni queda fuera de los montos informados.
+     * @param rates snapshot de tasas a usar
+     * @param target nueva moneda principal
+     * @return montos movidos, o el motivo del rechazo
+     */
+    public synchronized Conversion tryConvertAll(RateSnapshot rates, Currency target) {
+        if (rates == null || target == null || target == currency) {
+            return Conversion.rejected(OperationResult.INVALID_OPERATION);
+        }
+        if (!active) {
+            return Conversion.rejected(OperationResult.ACCOUNT_INACTIVE);
+        }
+        Currency from = currency;
+        double amount = balances[from.ordinal()];
+        double convertedAmount = rates.convert(amount, from, target);
+        applyConversion(target, convertedAmount);
+        return new Conversion(from, amount, target, convertedAmount, rates.getVersion());
+    }
+
+    /**
+     * Convierte parte de un sub-saldo a otra moneda dentro de la misma cuenta.
+     * La operación es atómica respecto a esta cuenta y no bloquea otras cuentas.
+     * @param from moneda del sub-saldo origen
+     * @param to moneda del sub-saldo destino
+     * @param amount monto a descontar del origen
+     * @param convertedAmount monto a acreditar en el destino
+     * @return true si la operación fue exitosa
+     */
+    public boolean convert(Currency from, Currency to, double amount, double convertedAmount) {
+        return tryConvert(from, to, amount, convertedAmount).isSuccess();
+    }
+
+    /**
+     * Convierte parte de un sub-saldo a otra moneda, informando el motivo si se rechaza.
+     * @param from moneda del sub-saldo origen
+     * @param to moneda del sub-saldo destino
+     * @param amount monto a descontar del origen
+     * @param convertedAmount monto a acreditar en el destino
+     * @return {@link OperationResult#OK} o el motivo del rechazo
+     */
+    public synchronized OperationResult tryConvert(Currency from, Currency to, double amount, double convertedAmount) {
+        if (!isValidAmount(amount) || !(convertedAmount >= 0) || convertedAmount == Double.POSITIVE_INFINITY) {
+            return OperationResult.INVALID_AMOUNT;
+        }
+        if (!active) {
+            return OperationResult.ACCOUNT_INACTIVE;
+        }
+        if (from == null || to == null || from == to) {
+            return OperationResult.INVALID_OPERATION;
+        }
+        if (amount > balances[from.ordinal()]) {
+            return OperationResult.INSUFFICIENT_FUNDS;
+        }
+        this.balances[from.ordinal()] -= amount;
+        this.balances[to.ordinal()] += convertedAmount;
+        this.lastModifiedAt = LocalDateTime.now();
+        return OperationResult.OK;
+    }
+
     // Getters
     public String getId() {
         return id;
@@ -49,23 +139,69 @@ public class Account {
         return user;
     }
 
-    public Currency getCurrency() {
+    /**
+     * Obtiene la moneda principal de la cuenta.
+     * @return moneda principal
+     */
+    public synchronized Currency getCurrency() {
         return currency;
     }
 
-    public double getBalance() {
-        return balance;
+    /**
+     * Obtiene el saldo en la moneda principal.
+     * @return saldo de la moneda principal
+     */
+    public synchronized double getBalance() {
+        return balances[currency.ordinal()];
+    }
+
+    /**
+     * Obtiene el sub-saldo en una moneda.
+     * @param currency moneda
+     * @return sub-saldo en esa moneda
+     */
+    public synchronized double getBalance(Currency currency) {
+        return balances[currency.ordinal()];
+    }
+
+    /**
+     * Obtiene una copia consistente de todos los sub-saldos.
+     * @return arreglo indexado por ordinal de {@link Currency}
+     */
+    public synchronized double[] getBalances() {
+        return balances.clone();
+    }
+
+    /**
+     * Copia todos los sub-saldos en un arreglo del llamador, sin crear objetos.
+     * @param target arreglo destino de largo al menos {@code Currency.values().length}
+     */
+    public synchronized void copyBalances(double[] target) {
+        System.arraycopy(balances, 0, target, 0, CURRENCY_COUNT);
+    }
+
+    /**
+     * Obtiene el saldo total expresado en la moneda principal.
+     * @param rates snapshot de tasas a usar
+     * @return suma de sub-saldos convertidos a la moneda principal
+     */
+    public synchronized double getTotalBalance(RateSnapshot rates) {
+        double total = 0;
+        for (int i = 0; i < CURRENCY_COUNT; i++) {
+            total += balances[i] * rates.getRate(i, currency.ordinal());
+        }
+        return total;
     }
 
     public LocalDateTime getCreatedAt() {
         return createdAt;
     }
 
-    public LocalDateTime getLastModifiedAt() {
+    public synchronized LocalDateTime getLastModifiedAt() {
         return lastModifiedAt;
     }
 
-    public boolean isActive() {
+    public synchronized boolean isActive() {
         return active;
     }
 
@@ -75,12 +211,47 @@ public class Account {
      * @return true si la operación fue exitosa
      */
     public boolean deposit(double amount) {
-        if (!active || amount <= 0) {
-            return false;
+        return tryDeposit(amount).isSuccess();
+    }
+
+    /**
+     * Deposita dinero en el sub-saldo de una moneda.
+     * @param currency moneda del depósito
+     * @param amount monto a depositar (debe ser positivo)
+     * @return true si la operación fue exitosa
+     */
+    public boolean deposit(Currency currency, double amount) {
+        return tryDeposit(currency, amount).isSuccess();
+    }
+
+    /**
+     * Deposita dinero en la moneda principal, informando el motivo si se rechaza.
+     * @param amount monto a depositar (debe ser positivo)
+     * @return {@link OperationResult#OK} o el motivo del rechazo
+     */
+    public synchronized OperationResult tryDeposit(double amount) {
+        return tryDeposit(currency, amount);
+    }
+
+    /**
+     * Deposita dinero en el sub-saldo de una moneda, informando el motivo si se rechaza.
+     * @param currency moneda del depósito
+     * @param amount monto a depositar (debe ser positivo)
+     * @return {@link OperationResult#OK} o el motivo del rechazo
+     */
+    public synchronized OperationResult tryDeposit(Currency currency, double amount) {
+        if (!isValidAmount(amount)) {
+            return OperationResult.INVALID_AMOUNT;
         }
-        this.balance += amount;
+        if (!active) {
+            return OperationResult.ACCOUNT_INACTIVE;
+        }
+        if (currency == null) {
+            return OperationResult.INVALID_OPERATION;
+        }
+        this.balances[currency.ordinal()] += amount;
         this.lastModifiedAt = LocalDateTime.now();
-        return true;
+        return OperationResult.OK;
     }
 
     /**
@@ -89,15 +260,76 @@ public class Account {
      * @return true si la operación fue exitosa
      */
     public boolean withdraw(double amount) {
-        if (!active || amount <= 0 || amount > this.balance) {
-            return false;
+        return tryWithdraw(amount).isSuccess();
+    }
+
+    /**
+     * Retira dinero del sub-saldo de una moneda.
+     * @param currency moneda del retiro
+     * @param amount monto a retirar (debe ser positivo y no exceder el sub-saldo)
+     * @return true si la operación fue exitosa
+     */
+    public boolean withdraw(Currency currency, double amount) {
+        return tryWithdraw(currency, amount).isSuccess();
+    }
+
+    /**
+     * Retira dinero de la moneda principal, informando el motivo si se rechaza.
+     * @param amount monto a retirar (debe ser positivo y no exceder el saldo)
+     * @return {@link OperationResult#OK} o el motivo del rechazo
+     */
+    public synchronized OperationResult tryWithdraw(double amount) {
+        return tryWithdraw(currency, amount);
+    }
+
+    /**
+     * Retira dinero del sub-saldo de una moneda, informando el motivo si se rechaza.
+     * El saldo se verifica y se descuenta bajo el mismo lock: no hay ventana entre ambos.
+     * @param currency moneda del retiro
+     * @param amount monto a retirar (debe ser positivo y no exceder el sub-saldo)
+     * @return {@link OperationResult#OK} o el motivo del rechazo
+     */
+    public synchronized OperationResult tryWithdraw(Currency currency, double amount) {
+        if (!isValidAmount(amount)) {
+            return OperationResult.INVALID_AMOUNT;
+        }
+        if (!active) {
+            return OperationResult.ACCOUNT_INACTIVE;
+        }
+        if (currency == null) {
+            return OperationResult.INVALID_OPERATION;
         }
-        this.balance -= amount;
+        if (amount > this.balances[currency.ordinal()]) {
+            return OperationResult.INSUFFICIENT_FUNDS;
+        }
+        this.balances[currency.ordinal()] -= amount;
         this.lastModifiedAt = LocalDateTime.now();
-        return true;
+        return OperationResult.OK;
+    }
+
+    /**
+     * Devuelve a un sub-saldo un monto que se había descontado, por ejemplo la reserva de una
+     * transferencia que el destino rechazó. No verifica si la cuenta está activa: el dinero ya
+     * era de la cuenta y no puede quedar sin dueño.
+     * @param currency moneda del sub-saldo del que salió el monto
+     * @param amount monto a devolver (debe ser positivo)
+     */
+    public synchronized void refund(Currency currency, double amount) {
+        if (currency == null || !isValidAmount(amount)) {
+            throw new IllegalArgumentException("Parámetros inválidos para devolver un monto");
+        }
+        this.balances[currency.ordinal()] += amount;
+        this.lastModifiedAt = LocalDateTime.now();
+    }
+
+    /**
+     * Un monto válido es positivo y finito (NaN no lo es).
+     */
+    private static boolean isValidAmount(double amount) {
+        return amount > 0 && amount != Double.POSITIVE_INFINITY;
     }
 
-    public void deactivate() {
+    public synchronized void deactivate() {
         this.active = false;
         this.lastModifiedAt = LocalDateTime.now();
     }
@@ -108,7 +340,7 @@ public class Account {
                 "id='" + id + '\'' +
                 ", user=" + user.getFullName() +
                 ", currency=" + currency +
-                ", balance=" + balance +
+                ", balance=" + getBalance() +
                 ", active=" + active +
                 '}';
     }
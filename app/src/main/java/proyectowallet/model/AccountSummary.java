@@ -0,0 +1,121 @@
+package proyectowallet.model;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+/**
+ * Resumen inmutable de una cuenta en el modelo de lectura: dueño, sub-saldos y totales de
+ * movimientos. Cada cambio crea un resumen nuevo, así que un lector siempre ve un estado
+ * completo y nunca espera a quien lo actualiza.
+ */
+public final class AccountSummary {
+    private final String accountId;
+    private final String ownerId;
+    private final String ownerName;
+    private final Currency currency;
+    private final double[] balances;
+    private final int transactionCount;
+    private final double totalDeposits;
+    private final double totalWithdrawals;
+    private final long lastActivityMillis;
+    private final long sequence;
+
+    /**
+     * Crea un resumen.
+     * @param balances sub-saldos indexados por ordinal de {@link Currency}; se guarda sin copiar
+     * @param lastActivityMillis instante del último cambio en milisegundos desde 1970-01-01 UTC
+     * @param sequence posición del último evento aplicado, o -1 si viene de datos restaurados
+     */
+    public AccountSummary(String accountId, String ownerId, String ownerName, Currency currency, double[] balances,
+                          int transactionCount, double totalDeposits, double totalWithdrawals,
+                          long lastActivityMillis, long sequence) {
+        this.accountId = accountId;
+        this.ownerId = ownerId;
+        this.ownerName = ownerName;
+        this.currency = currency;
+        this.balances = balances;
+        this.transactionCount = transactionCount;
+        this.totalDeposits = totalDeposits;
+        this.totalWithdrawals = totalWithdrawals;
+        this.lastActivityMillis = lastActivityMillis;
+        this.sequence = sequence;
+    }
+
+    public String getAccountId() {
+        return accountId;
+    }
+
+    public String getOwnerId() {
+        return ownerId;
+    }
+
+    public String getOwnerName() {
+        return ownerName;
+    }
+
+    /**
+     * Obtiene la moneda principal de la cuenta.
+     */
+    public Currency getCurrency() {
+        return currency;
+    }
+
+    /**
+     * Obtiene el saldo en la moneda principal.
+     */
+    public double getBalance() {
+        return balances[currency.ordinal()];
+    }
+
+    /**
+     * Obtiene el sub-saldo en una moneda.
+     * @param currency moneda
+     * @return sub-saldo en esa moneda
+     */
+    public double getBalance(Currency currency) {
+        return balances[currency.ordinal()];
+    }
+
+    /**
+     * Obtiene una copia de todos los sub-saldos.
+     * @return arreglo indexado por ordinal de {@link Currency}
+     */
+    public double[] getBalances() {
+        return balances.clone();
+    }
+
+    public int getTransactionCount() {
+        return transactionCount;
+    }
+
+    public double getTotalDeposits() {
+        return totalDeposits;
+    }
+
+    public double getTotalWithdrawals() {
+        return totalWithdrawals;
+    }
+
+    public LocalDateTime getLastActivityAt() {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(lastActivityMillis), ZoneId.systemDefault());
+    }
+
+    /**
+     * Obtiene la posición del último evento aplicado a esta cuenta (-1 si solo tiene datos restaurados).
+     */
+    public long getSequence() {
+        return sequence;
+    }
+
+    @Override
+    public String toString() {
+        return "AccountSummary{" +
+                "accountId='" + accountId + '\'' +
+                ", owner='" + ownerName + '\'' +
+                ", balance=" + getBalance() +
+                ", currency=" + currency +
+                ", transactions=" + transactionCount +
+                '}';
+    }
+}
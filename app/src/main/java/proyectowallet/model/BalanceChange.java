@@ -0,0 +1,96 @@
+package proyectowallet.model;
+
+import java.time.LocalDateTime;
+
+/**
+ * Notificación inmutable del estado de una cuenta después de un cambio de saldo.
+ * Lleva todos los sub-saldos, no solo el que cambió: así la última notificación de una
+ * cuenta alcanza para conocer su estado aunque se hayan descartado las anteriores.
+ */
+public final class BalanceChange {
+    private final String accountId;
+    private final String userId;
+    private final Currency currency;
+    private final double[] balances;
+    private final LocalDateTime changedAt;
+
+    /**
+     * Toma el estado actual de la cuenta. Quien llama debe tener el lock de la cuenta
+     * si necesita que el estado corresponda exactamente a una operación.
+     * @param account cuenta modificada
+     * @return notificación con la moneda principal y los sub-saldos de la cuenta
+     */
+    public static BalanceChange of(Account account) {
+        if (account == null) {
+            throw new IllegalArgumentException("Cuenta no puede ser nula");
+        }
+        synchronized (account) {
+            return new BalanceChange(account.getId(), account.getUser() == null ? null : account.getUser().getId(),
+                    account.getCurrency(), account.getBalances(), account.getLastModifiedAt());
+        }
+    }
+
+    private BalanceChange(String accountId, String userId, Currency currency, double[] balances, LocalDateTime changedAt) {
+        this.accountId = accountId;
+        this.userId = userId;
+        this.currency = currency;
+        this.balances = balances;
+        this.changedAt = changedAt;
+    }
+
+    public String getAccountId() {
+        return accountId;
+    }
+
+    /**
+     * Obtiene el id del titular de la cuenta, o null si la cuenta no tiene titular.
+     */
+    public String getUserId() {
+        return userId;
+    }
+
+    /**
+     * Obtiene una copia de todos los sub-saldos.
+     * @return arreglo indexado por ordinal de {@link Currency}
+     */
+    public double[] getBalances() {
+        return balances.clone();
+    }
+
+    /**
+     * Obtiene la moneda principal de la cuenta al momento del cambio.
+     */
+    public Currency getCurrency() {
+        return currency;
+    }
+
+    /**
+     * Obtiene el saldo en la moneda principal.
+     */
+    public double getBalance() {
+        return balances[currency.ordinal()];
+    }
+
+    /**
+     * Obtiene el sub-saldo en una moneda.
+     * @param currency moneda
+     * @return sub-saldo en esa moneda
+     */
+    public double getBalance(Currency currency) {
+        return balances[currency.ordinal()];
+    }
+
+    public LocalDateTime getChangedAt() {
+        return changedAt;
+    }
+
+    @Override
+    public String toString() {
+        return "BalanceChange{" +
+                "accountId='" + accountId + '\'' +
+                ", balance=" + getBalance() +
+                ", currency=" + currency +
+                ", changedAt=" + changedAt +
+                '}';
+    }
+}
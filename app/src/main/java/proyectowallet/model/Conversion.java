@@ -0,0 +1,74 @@
+package proyectowallet.model;
+
+/**
+ * Resultado inmutable de convertir todo el saldo principal de una cuenta a otra moneda.
+ * Lo produce la propia cuenta con su lock tomado, así los montos corresponden exactamente
+ * al saldo que se movió aunque otras operaciones lleguen en paralelo.
+ */
+public final class Conversion {
+    private final OperationResult result;
+    private final Currency from;
+    private final double amount;
+    private final Currency to;
+    private final double convertedAmount;
+    private final long rateVersion;
+
+    public Conversion(Currency from, double amount, Currency to, double convertedAmount, long rateVersion) {
+        this(OperationResult.OK, from, amount, to, convertedAmount, rateVersion);
+    }
+
+    private Conversion(OperationResult result, Currency from, double amount, Currency to,
+                       double convertedAmount, long rateVersion) {
+        this.result = result;
+        this.from = from;
+        this.amount = amount;
+        this.to = to;
+        this.convertedAmount = convertedAmount;
+        this.rateVersion = rateVersion;
+    }
+
+    /**
+     * Crea el resultado de una conversión rechazada, sin montos.
+     * @param result motivo del rechazo
+     * @return conversión rechazada
+     */
+    public static Conversion rejected(OperationResult result) {
+        if (result == null || result.isSuccess()) {
+            throw new IllegalArgumentException("Motivo de rechazo inválido");
+        }
+        return new Conversion(result, null, 0, null, 0, 0);
+    }
+
+    public OperationResult getResult() {
+        return result;
+    }
+
+    public boolean isSuccess() {
+        return result.isSuccess();
+    }
+
+    /** Moneda principal anterior, de la que se descontó el saldo. */
+    public Currency getFrom() {
+        return from;
+    }
+
+    /** Saldo descontado en la moneda anterior. */
+    public double getAmount() {
+        return amount;
+    }
+
+    /** Nueva moneda principal. */
+    public Currency getTo() {
+        return to;
+    }
+
+    /** Monto acreditado en la nueva moneda. */
+    public double getConvertedAmount() {
+        return convertedAmount;
+    }
+
+    /** Versión del snapshot de tasas usado. */
+    public long getRateVersion() {
+        return rateVersion;
+    }
+}
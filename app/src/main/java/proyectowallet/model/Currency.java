@@ -21,6 +21,10 @@ public enum Currency {
         return description;
     }
 
+    /**
+     * Obtiene la tasa de referencia a USD, usada como snapshot inicial del proveedor de tasas.
+     * @return tasa de referencia a USD
+     */
     public double getExchangeRateToUSD() {
         return exchangeRateToUSD;
     }
@@ -0,0 +1,34 @@
+package proyectowallet.model;
+
+/**
+ * Resultado de una operación de dinero sobre una cuenta, con el motivo del rechazo.
+ * Lo produce la propia operación dentro del mismo lock que modifica el saldo, así el motivo
+ * corresponde al estado con que se decidió. Rechazar no crea objetos ni lanza excepciones.
+ */
+public enum OperationResult {
+    OK(null),
+    INSUFFICIENT_FUNDS("INSUFFICIENT_BALANCE"),
+    ACCOUNT_INACTIVE("ACCOUNT_INACTIVE"),
+    ACCOUNT_NOT_FOUND("ACCOUNT_NOT_FOUND"),
+    INVALID_AMOUNT("INVALID_AMOUNT"),
+    /** Moneda nula o conversión entre la misma moneda. */
+    INVALID_OPERATION("OPERATION_FAILED");
+
+    private final String errorKey;
+
+    OperationResult(String errorKey) {
+        this.errorKey = errorKey;
+    }
+
+    public boolean isSuccess() {
+        return this == OK;
+    }
+
+    /**
+     * Obtiene la clave del error para {@code ValidationUtil.formatError}.
+     * @return clave del error, o null si la operación fue exitosa
+     */
+    public String getErrorKey() {
+        return errorKey;
+    }
+}
@@ -0,0 +1,155 @@
+package proyectowallet.model;
+
+import java.time.Instant;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Fotografía inmutable de las tasas de cambio vigentes.
+ * Guarda una matriz densa NxN de tasas cruzadas indexada por el ordinal de {@link Currency},
+ * de modo que una conversión es una sola lectura del arreglo y una multiplicación.
+ * Cada snapshot tiene un número de versión creciente que permite auditar qué tasas se usaron.
+ */
+public final class RateSnapshot {
+    private static final Currency[] CURRENCIES = Currency.values();
+    private static final int SIZE = CURRENCIES.length;
+
+    private final long version;
+    private final double[] crossRates;
+    private final Instant publishedAt;
+
+    private RateSnapshot(long version, double[] crossRates) {
+        this.version = version;
+        this.crossRates = crossRates;
+        this.publishedAt = Instant.now();
+    }
+
+    /**
+     * Construye un snapshot a partir de las tasas de cada moneda respecto al USD.
+     * Las tasas cruzadas se precalculan una sola vez; la diagonal es exactamente 1.
+     * @param version número de versión del snapshot
+     * @param ratesToUSD tasa a USD de cada moneda (todas las monedas deben estar presentes)
+     * @return snapshot inmutable
+     */
+    public static RateSnapshot fromRatesToUSD(long version, Map<Currency, Double> ratesToUSD) {
+        if (ratesToUSD == null) {
+            throw new IllegalArgumentException("Las tasas no pueden ser nulas");
+        }
+        double[] toUSD = new double[SIZE];
+        for (Currency currency : CURRENCIES) {
+            Double rate = ratesToUSD.get(currency);
+            if (rate == null || !(rate > 0) || Double.isInfinite(rate)) {
+                throw new IllegalArgumentException("Tasa inválida para " + currency + ": " + rate);
+            }
+            toUSD[currency.ordinal()] = rate;
+        }
+
+        double[] crossRates = new double[SIZE * SIZE];
+        for (int from = 0; from < SIZE; from++) {
+            for (int to = 0; to < SIZE; to++) {
+                crossRates[from * SIZE + to] = (from == to) ? 1.0 : toUSD[from] / toUSD[to];
+            }
+        }
+        return new RateSnapshot(version, crossRates);
+    }
+
+    /**
+     * Construye el snapshot inicial con las tasas de referencia definidas en {@link Currency}.
+     * @return snapshot con versión 1
+     */
+    public static RateSnapshot fromDefaults() {
+        Map<Currency, Double> rates = new EnumMap<>(Currency.class);
+        for (Currency currency : CURRENCIES) {
+            rates.put(currency, currency.getExchangeRateToUSD());
+        }
+        return fromRatesToUSD(1, rates);
+    }
+
+    /**
+     * Obtiene la tasa cruzada entre dos monedas.
+     * @param from moneda origen
+     * @param to moneda destino
+     * @return tasa de cambio
+     */
+    public double getRate(Currency from, Currency to) {
+        return crossRates[from.ordinal() * SIZE + to.ordinal()];
+    }
+
+    /**
+     * Obtiene la tasa cruzada usando ordinales de moneda.
+     * @param fromOrdinal ordinal de la moneda origen
+     * @param toOrdinal ordinal de la moneda destino
+     * @return tasa de cambio
+     */
+    public double getRate(int fromOrdinal, int toOrdinal) {
+        return crossRates[fromOrdinal * SIZE + toOrdinal];
+    }
+
+    /**
+     * Convierte un monto con las tasas de este snapshot.
+     * @param amount monto a convertir
+     * @param from moneda origen
+     * @param to moneda destino
+     * @return monto convertido
+     */
+    public double convert(double amount, Currency from, Currency to) {
+        return amount * crossRates[from.ordinal() * SIZE + to.ordinal()];
+    }
+
+    /**
+     * Convierte en bloque montos con monedas origen/destino individuales.
+     * Bucle simple sobre arreglos primitivos: una lectura de la matriz y una multiplicación por elemento.
+     * @param amounts montos a convertir
+     * @param fromOrdinals ordinal de la moneda origen de cada monto
+     * @param toOrdinals ordinal de la moneda destino de cada monto
+     * @param target arreglo donde se escriben los montos convertidos
+     * @param length cantidad de elementos a convertir
+     */
+    public void convertAll(double[] amounts, int[] fromOrdinals, int[] toOrdinals, double[] target, int length) {
+        final double[] rates = crossRates;
+        for (int i = 0; i < length; i++) {
+            target[i] = amounts[i] * rates[fromOrdinals[i] * SIZE + toOrdinals[i]];
+        }
+    }
+
+    /**
+     * Convierte en bloque montos de un mismo par de monedas.
+     * El bucle multiplica por una constante, lo que el JIT compila con instrucciones SIMD.
+     * @param amounts montos a convertir
+     * @param from moneda origen
+     * @param to moneda destino
+     * @param target arreglo donde se escriben los montos convertidos
+     * @param length cantidad de elementos a convertir
+     */
+    public void convertAll(double[] amounts, Currency from, Currency to, double[] target, int length) {
+        final double rate = getRate(from, to);
+        for (int i = 0; i < length; i++) {
+            target[i] = amounts[i] * rate;
+        }
+    }
+
+    /**
+     * Obtiene la tasa de una moneda respecto al USD.
+     * @param currency moneda
+     * @return tasa a USD
+     */
+    public double getRateToUSD(Currency currency) {
+        return getRate(currency, Currency.USD);
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public Instant getPublishedAt() {
+        return publishedAt;
+    }
+
+    @Override
+    public String toString() {
+        return "RateSnapshot{" +
+                "version=" + version +
+                ", publishedAt=" + publishedAt +
+                '}';
+    }
+}
@@ -0,0 +1,105 @@
+package proyectowallet.model;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * Agregado de las transacciones de un tipo en un intervalo de tiempo (bucket):
+ * cantidad, suma, mínimo y máximo de los montos en la moneda de origen.
+ */
+public class Rollup {
+    /**
+     * Tamaño de los buckets. Los números de bucket cuentan horas o días desde 1970-01-01.
+     */
+    public enum Granularity {
+        HOUR,
+        DAY;
+
+        /**
+         * Obtiene el número del bucket que contiene un instante.
+         * @param timestamp instante
+         * @return número de bucket
+         */
+        public long bucketOf(LocalDateTime timestamp) {
+            return this == HOUR
+                    ? Math.floorDiv(timestamp.toEpochSecond(ZoneOffset.UTC), 3600)
+                    : timestamp.toLocalDate().toEpochDay();
+        }
+
+        /**
+         * Obtiene el inicio de un bucket.
+         * @param bucket número de bucket
+         * @return instante de inicio
+         */
+        public LocalDateTime startOf(long bucket) {
+            return this == HOUR
+                    ? LocalDateTime.ofEpochSecond(bucket * 3600, 0, ZoneOffset.UTC)
+                    : LocalDate.ofEpochDay(bucket).atStartOfDay();
+        }
+    }
+
+    private final LocalDateTime start;
+    private final Granularity granularity;
+    private final long count;
+    private final double sum;
+    private final double min;
+    private final double max;
+
+    /**
+     * Crea un agregado. Sin transacciones, mínimo y máximo son 0.
+     * @param start inicio del bucket (o del primer bucket si agrupa varios)
+     * @param granularity tamaño de los buckets
+     * @param count cantidad de transacciones
+     * @param sum suma de montos
+     * @param min monto mínimo
+     * @param max monto máximo
+     */
+    public Rollup(LocalDateTime start, Granularity granularity, long count, double sum, double min, double max) {
+        this.start = start;
+        this.granularity = granularity;
+        this.count = count;
+        this.sum = sum;
+        this.min = count == 0 ? 0 : min;
+        this.max = count == 0 ? 0 : max;
+    }
+
+    public LocalDateTime getStart() {
+        return start;
+    }
+
+    public Granularity getGranularity() {
+        return granularity;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public double getSum() {
+        return sum;
+    }
+
+    public double getMin() {
+        return min;
+    }
+
+    public double getMax() {
+        return max;
+    }
+
+    public double getAverage() {
+        return count == 0 ? 0 : sum / count;
+    }
+
+    @Override
+    public String toString() {
+        return "Rollup{" +
+                "start=" + start +
+                ", count=" + count +
+                ", sum=" + sum +
+                ", min=" + min +
+                ", max=" + max +
+                '}';
+    }
+}
@@ -0,0 +1,82 @@
+package proyectowallet.model;
+
+import java.time.YearMonth;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Estado de cuenta mensual: saldos inicial y final por moneda, movimientos del período
+ * y totales por tipo de transacción.
+ */
+public class Statement {
+    private static final int TYPE_COUNT = Transaction.TransactionType.values().length;
+
+    private final Account account;
+    private final YearMonth period;
+    private final double[] openingBalances;
+    private final double[] closingBalances;
+    private final List<Transaction> movements;
+    private final int[] countsByType;
+    private final double[] totalsByType;
+
+    /**
+     * Crea un estado de cuenta.
+     * @param account cuenta
+     * @param period mes del estado
+     * @param openingBalances saldos al inicio del mes, indexados por ordinal de {@link Currency}
+     * @param closingBalances saldos al cierre del mes, indexados por ordinal de {@link Currency}
+     * @param movements transacciones del mes en orden de registro
+     */
+    public Statement(Account account, YearMonth period, double[] openingBalances, double[] closingBalances,
+                     List<Transaction> movements) {
+        this.account = account;
+        this.period = period;
+        this.openingBalances = openingBalances.clone();
+        this.closingBalances = closingBalances.clone();
+        this.movements = Collections.unmodifiableList(movements);
+        this.countsByType = new int[TYPE_COUNT];
+        this.totalsByType = new double[TYPE_COUNT];
+        for (Transaction tx : movements) {
+            countsByType[tx.getType().ordinal()]++;
+            totalsByType[tx.getType().ordinal()] += tx.getAmount();
+        }
+    }
+
+    public Account getAccount() {
+        return account;
+    }
+
+    public YearMonth getPeriod() {
+        return period;
+    }
+
+    public double getOpeningBalance(Currency currency) {
+        return openingBalances[currency.ordinal()];
+    }
+
+    public double getClosingBalance(Currency currency) {
+        return closingBalances[currency.ordinal()];
+    }
+
+    public List<Transaction> getMovements() {
+        return movements;
+    }
+
+    /**
+     * Obtiene la cantidad de movimientos de un tipo en el período.
+     * @param type tipo de transacción
+     * @return cantidad de movimientos
+     */
+    public int getCount(Transaction.TransactionType type) {
+        return countsByType[type.ordinal()];
+    }
+
+    /**
+     * Obtiene la suma de montos (en la moneda de origen) de un tipo en el período.
+     * @param type tipo de transacción
+     * @return total del tipo
+     */
+    public double getTotal(Transaction.TransactionType type) {
+        return totalsByType[type.ordinal()];
+    }
+}
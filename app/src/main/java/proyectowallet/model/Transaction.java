@@ -11,8 +11,11 @@ public class Transaction {
     public enum TransactionType {
         DEPOSIT("Depósito"),
         WITHDRAWAL("Retiro"),
-        TRANSFER("Transferencia"),
-        CONVERSION("Conversión");
+        /** Transferencia enviada: sale de la cuenta de la transacción. */
+        TRANSFER("Transferencia enviada"),
+        CONVERSION("Conversión"),
+        /** Transferencia recibida: entra en la cuenta de la transacción. */
+        TRANSFER_IN("Transferencia recibida");
 
         private final String description;
 
@@ -25,6 +28,9 @@ public class Transaction {
         }
     }
 
+    /** Versión usada cuando la transacción no involucra tasas de cambio. */
+    public static final long NO_RATE_VERSION = 0;
+
     private final String id;
     private final Account account;
     private final TransactionType type;
@@ -34,18 +40,40 @@ public class Transaction {
     private final double amountInTargetCurrency;
     private final LocalDateTime timestamp;
     private final String description;
+    private final long rateVersion;
 
     public Transaction(Account account, TransactionType type, double amount,
                       Currency from, Currency to, double amountInTarget, String description) {
-        this.id = UUID.randomUUID().toString();
+        this(account, type, amount, from, to, amountInTarget, description, NO_RATE_VERSION);
+    }
+
+    /**
+     * Crea una transacción indicando la versión del snapshot de tasas usado.
+     * @param rateVersion versión del snapshot de tasas (solo para conversiones)
+     */
+    public Transaction(Account account, TransactionType type, double amount,
+                      Currency from, Currency to, double amountInTarget, String description,
+                      long rateVersion) {
+        this(UUID.randomUUID().toString(), account, type, amount, from, to, amountInTarget,
+                LocalDateTime.now(), description, rateVersion);
+    }
+
+    /**
+     * Reconstruye una transacción existente (por ejemplo, al recuperar el estado persistido).
+     */
+    public Transaction(String id, Account account, TransactionType type, double amount,
+                      Currency from, Currency to, double amountInTarget, LocalDateTime timestamp,
+                      String description, long rateVersion) {
+        this.id = id;
         this.account = account;
         this.type = type;
         this.amount = amount;
         this.currencyFrom = from;
         this.currencyTo = to;
         this.amountInTargetCurrency = amountInTarget;
-        this.timestamp = LocalDateTime.now();
+        this.timestamp = timestamp;
         this.description = description;
+        this.rateVersion = rateVersion;
     }
 
     // Getters
@@ -85,6 +113,14 @@ public class Transaction {
         return description;
     }
 
+    /**
+     * Obtiene la versión del snapshot de tasas usado en la conversión.
+     * @return versión del snapshot o {@link #NO_RATE_VERSION}
+     */
+    public long getRateVersion() {
+        return rateVersion;
+    }
+
     @Override
     public String toString() {
         return "Transaction{" +
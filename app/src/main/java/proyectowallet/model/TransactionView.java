@@ -0,0 +1,83 @@
+package proyectowallet.model;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+/**
+ * Movimiento de una cuenta en el modelo de lectura. Copia inmutable y liviana de lo necesario
+ * para mostrar el historial, sin referencias a la cuenta ni al usuario.
+ */
+public final class TransactionView {
+    private final Transaction.TransactionType type;
+    private final long timestampMillis;
+    private final Currency currencyFrom;
+    private final double amount;
+    private final Currency currencyTo;
+    private final double amountInTargetCurrency;
+
+    /**
+     * Crea un movimiento.
+     * @param timestampMillis instante en milisegundos desde 1970-01-01 UTC
+     */
+    public TransactionView(Transaction.TransactionType type, long timestampMillis, Currency currencyFrom,
+                           double amount, Currency currencyTo, double amountInTargetCurrency) {
+        this.type = type;
+        this.timestampMillis = timestampMillis;
+        this.currencyFrom = currencyFrom;
+        this.amount = amount;
+        this.currencyTo = currencyTo;
+        this.amountInTargetCurrency = amountInTargetCurrency;
+    }
+
+    /**
+     * Crea la vista de una transacción registrada.
+     * @param transaction transacción
+     * @return movimiento equivalente
+     */
+    public static TransactionView of(Transaction transaction) {
+        return new TransactionView(transaction.getType(),
+                transaction.getTimestamp().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli(),
+                transaction.getCurrencyFrom(), transaction.getAmount(),
+                transaction.getCurrencyTo(), transaction.getAmountInTargetCurrency());
+    }
+
+    public Transaction.TransactionType getType() {
+        return type;
+    }
+
+    public long getTimestampMillis() {
+        return timestampMillis;
+    }
+
+    public LocalDateTime getTimestamp() {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(timestampMillis), ZoneId.systemDefault());
+    }
+
+    public Currency getCurrencyFrom() {
+        return currencyFrom;
+    }
+
+    public double getAmount() {
+        return amount;
+    }
+
+    public Currency getCurrencyTo() {
+        return currencyTo;
+    }
+
+    public double getAmountInTargetCurrency() {
+        return amountInTargetCurrency;
+    }
+
+    @Override
+    public String toString() {
+        return "TransactionView{" +
+                "type=" + type +
+                ", amount=" + amount +
+                ", currencyFrom=" + currencyFrom +
+                ", currencyTo=" + currencyTo +
+                ", timestamp=" + getTimestamp() +
+                '}';
+    }
+}
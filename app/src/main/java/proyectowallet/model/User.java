@@ -15,11 +15,18 @@ public class User {
     private final LocalDateTime createdAt;
 
     public User(String firstName, String lastName, String email) {
-        this.id = UUID.randomUUID().toString();
+        this(UUID.randomUUID().toString(), firstName, lastName, email, LocalDateTime.now());
+    }
+
+    /**
+     * Reconstruye un usuario existente (por ejemplo, al recuperar el estado persistido).
+     */
+    public User(String id, String firstName, String lastName, String email, LocalDateTime createdAt) {
+        this.id = id;
         this.firstName = firstName;
         this.lastName = lastName;
         this.email = email;
-        this.createdAt = LocalDateTime.now();
+        this.createdAt = createdAt;
     }
 
     // Getters
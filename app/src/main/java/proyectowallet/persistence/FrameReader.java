@@ -0,0 +1,89 @@
+package proyectowallet.persistence;
+
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32;
+
+/**
+ * Lector secuencial de frames {@code [largo int][secuencia long][payload][crc32 int]}, el formato
+ * de los segmentos del {@link Journal} y del {@link HistoryStore}. Se detiene en el primer frame
+ * incompleto, con largo fuera de rango o con CRC inválido.
+ */
+final class FrameReader implements Closeable {
+    private final DataInputStream in;
+    private final long maxLength;
+    private final CRC32 frameCrc = new CRC32();
+    private final byte[] sequenceBytes = new byte[Long.BYTES];
+    private final ByteBuffer sequenceView = ByteBuffer.wrap(sequenceBytes);
+    private byte[] payload = new byte[256];
+    private ByteBuffer payloadView = ByteBuffer.wrap(payload);
+    private int length;
+    private long sequence;
+
+    FrameReader(Path file, long maxLength) throws IOException {
+        this(file, 0, maxLength);
+    }
+
+    /**
+     * @param offset posición del archivo donde empieza el primer frame a leer
+     */
+    FrameReader(Path file, long offset, long maxLength) throws IOException {
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+        try {
+            channel.position(offset);
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+        this.in = new DataInputStream(new BufferedInputStream(Channels.newInputStream(channel), 64 * 1024));
+        this.maxLength = maxLength;
+    }
+
+    boolean next() throws IOException {
+        try {
+            length = in.readInt();
+            if (length < 0 || length > maxLength) {
+                return false;
+            }
+            in.readFully(sequenceBytes);
+            sequence = sequenceView.getLong(0);
+            if (payload.length < length) {
+                payload = new byte[Math.max(length, payload.length * 2)];
+                payloadView = ByteBuffer.wrap(payload);
+            }
+            in.readFully(payload, 0, length);
+            int storedCrc = in.readInt();
+            frameCrc.reset();
+            frameCrc.update(sequenceBytes);
+            frameCrc.update(payload, 0, length);
+            return (int) frameCrc.getValue() == storedCrc;
+        } catch (EOFException e) {
+            return false;
+        }
+    }
+
+    long sequence() {
+        return sequence;
+    }
+
+    int length() {
+        return length;
+    }
+
+    ByteBuffer payload() {
+        return payloadView.clear().limit(length);
+    }
+
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+}
@@ -0,0 +1,284 @@
+package proyectowallet.persistence;
+
+import proyectowallet.model.Transaction;
+import java.io.IOException;
+import java.nio.BufferOverflowException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.zip.CRC32;
+
+/**
+ * Historial de transacciones en un archivo de solo agregado, separado de los snapshots.
+ * <p>
+ * Antes de escribir un snapshot, el {@link Snapshotter} agrega aquí las transacciones que ese
+ * snapshot cubre por primera vez, en frames {@code [largo][secuencia][payload][crc32]} con el
+ * mismo formato que el journal: la secuencia es la del último registro del journal incluido y
+ * el payload es la cantidad de transacciones seguida de cada una codificada con
+ * {@link ModelCodec}. Así el snapshot guarda solo usuarios, cuentas y la secuencia, y su tamaño
+ * no crece con el historial.
+ * <p>
+ * Cada agregado termina con una entrada de tamaño fijo {@code [secuencia][fin]} en un índice
+ * aparte ({@code history.idx}), escrita después de forzar los frames a disco. Abrir el historial
+ * solo lee la última entrada y verifica el último agregado; descartar lo posterior a un snapshot
+ * ({@link #truncateAfter}) recorre el índice desde el final. Ninguna de las dos operaciones
+ * depende del tamaño del historial: el archivo completo solo se lee con {@link #read}. Los frames
+ * sin entrada en el índice (escritura interrumpida) se descartan al abrir. Un historial sin
+ * índice, de una versión anterior, se recorre una vez para crearlo.
+ */
+public class HistoryStore implements AutoCloseable {
+    private static final String FILE_NAME = "history.bin";
+    private static final String INDEX_NAME = "history.idx";
+    private static final int HEADER_BYTES = Integer.BYTES + Long.BYTES;
+    private static final int FRAME_OVERHEAD = HEADER_BYTES + Integer.BYTES;
+    private static final int ENTRY_BYTES = 2 * Long.BYTES;
+    /** Transacciones por frame: acota el buffer necesario para escribir y leer uno. */
+    private static final int FRAME_TRANSACTIONS = 1024;
+    private static final int MAX_FRAME_BYTES = 64 * 1024 * 1024;
+
+    private final Path file;
+    private final FileChannel channel;
+    private final FileChannel index;
+    private final ModelCodec codec = new ModelCodec();
+    private final CRC32 crc = new CRC32();
+    private final ByteBuffer entry = ByteBuffer.allocate(ENTRY_BYTES);
+    private ByteBuffer frame = ByteBuffer.allocate(64 * 1024);
+    private long entries;
+    private long lastSequence;
+
+    public HistoryStore(Path directory) throws IOException {
+        if (directory == null) {
+            throw new IllegalArgumentException("Directorio del historial no puede ser nulo");
+        }
+        Files.createDirectories(directory);
+        this.file = directory.resolve(FILE_NAME);
+        this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+        this.index = FileChannel.open(directory.resolve(INDEX_NAME), StandardOpenOption.CREATE,
+                StandardOpenOption.READ, StandardOpenOption.WRITE);
+        entries = index.size() / ENTRY_BYTES;
+        if (entries == 0 && channel.size() > 0) {
+            rebuildIndex();
+        } else {
+            // Se descartan los agregados del final que no quedaron completos en disco
+            while (entries > 0 && !isValidEntry(entries - 1)) {
+                entries--;
+            }
+        }
+        truncateTo(entries);
+    }
+
+    /**
+     * Agrega transacciones cubiertas hasta una secuencia del journal y las fuerza a disco.
+     * @param sequence secuencia del último registro del journal que incluyen
+     * @param transactions transacciones en orden de aplicación
+     */
+    public synchronized void append(long sequence, List<Transaction> transactions) throws IOException {
+        if (sequence < lastSequence || transactions == null) {
+            throw new IllegalArgumentException("Parámetros inválidos para agregar al historial");
+        }
+        if (transactions.isEmpty()) {
+            return;
+        }
+        for (int from = 0; from < transactions.size(); from += FRAME_TRANSACTIONS) {
+            List<Transaction> chunk = transactions.subList(from, Math.min(from + FRAME_TRANSACTIONS, transactions.size()));
+            sealFrame(encodePayload(chunk), sequence);
+            while (frame.hasRemaining()) {
+                channel.write(frame);
+            }
+        }
+        channel.force(false);
+        // La entrada se escribe recién con los frames en disco: un agregado sin entrada se descarta
+        writeEntry(entries, sequence, channel.position());
+        index.force(false);
+        entries++;
+        lastSequence = sequence;
+    }
+
+    /**
+     * Entrega, en orden, las transacciones agregadas hasta una secuencia del journal.
+     * Lee frame por frame; nunca carga el archivo completo. Es lo único que recorre el historial
+     * entero, así que debe llamarse fuera del camino de arranque. Como al abrir solo se verifica
+     * el último agregado, un frame dañado antes de ese punto recién se detecta aquí.
+     * @param upToSequence secuencia del snapshot con el que se combinará el historial
+     * @param resolver resuelve las cuentas referenciadas por las transacciones
+     * @param consumer recibe cada transacción
+     * @return cantidad de transacciones entregadas
+     */
+    public long read(long upToSequence, ModelCodec.Resolver resolver, Consumer<Transaction> consumer) throws IOException {
+        ModelCodec readCodec = new ModelCodec();
+        long delivered = 0;
+        long indexedEnd;
+        synchronized (this) {
+            indexedEnd = entries == 0 ? 0 : readEntry(entries - 1)[1];
+        }
+        long position = 0;
+        try (FrameReader frames = new FrameReader(file, MAX_FRAME_BYTES)) {
+            while (position < indexedEnd) {
+                if (!frames.next()) {
+                    throw new IOException("Historial de transacciones dañado");
+                }
+                if (frames.sequence() > upToSequence) {
+                    break;
+                }
+                position += frames.length() + FRAME_OVERHEAD;
+                ByteBuffer payload = frames.payload();
+                try {
+                    long count = ModelCodec.getVarLong(payload);
+                    for (long i = 0; i < count; i++) {
+                        consumer.accept(readCodec.decodeTransaction(payload, resolver));
+                        delivered++;
+                    }
+                } catch (IllegalArgumentException | BufferUnderflowException e) {
+                    throw new IOException("Historial de transacciones dañado", e);
+                }
+            }
+        }
+        return delivered;
+    }
+
+    /**
+     * Descarta los agregados posteriores a una secuencia, recorriendo el índice desde el final.
+     * @param sequence última secuencia que se conserva
+     */
+    public synchronized void truncateAfter(long sequence) throws IOException {
+        long kept = entries;
+        while (kept > 0 && readEntry(kept - 1)[0] > sequence) {
+            kept--;
+        }
+        if (kept < entries) {
+            truncateTo(kept);
+        }
+    }
+
+    /**
+     * Obtiene la secuencia del journal cubierta por el último frame del historial.
+     * @return secuencia, o 0 si el historial está vacío
+     */
+    public synchronized long getLastSequence() {
+        return lastSequence;
+    }
+
+    /**
+     * Deja el historial y el índice con las primeras {@code kept} entradas.
+     */
+    private void truncateTo(long kept) throws IOException {
+        long[] last = kept == 0 ? new long[]{0, 0} : readEntry(kept - 1);
+        if (index.size() > kept * ENTRY_BYTES) {
+            index.truncate(kept * ENTRY_BYTES);
+            index.force(false);
+        }
+        if (channel.size() > last[1]) {
+            channel.truncate(last[1]);
+            channel.force(false);
+        }
+        channel.position(last[1]);
+        entries = kept;
+        lastSequence = last[0];
+    }
+
+    /**
+     * Verifica que los frames de un agregado estén completos y con CRC válido.
+     */
+    private boolean isValidEntry(long position) throws IOException {
+        long[] current = readEntry(position);
+        long start = position == 0 ? 0 : readEntry(position - 1)[1];
+        if (current[1] <= start || current[1] > channel.size()) {
+            return false;
+        }
+        long end = start;
+        try (FrameReader frames = new FrameReader(file, start, MAX_FRAME_BYTES)) {
+            while (end < current[1] && frames.next() && frames.sequence() == current[0]) {
+                end += frames.length() + FRAME_OVERHEAD;
+            }
+        }
+        return end == current[1];
+    }
+
+    /**
+     * Crea el índice de un historial que no lo tiene: una entrada por cada secuencia distinta.
+     * Descarta los frames desde el primero inválido.
+     */
+    private void rebuildIndex() throws IOException {
+        long end = 0;
+        long sequence = -1;
+        entries = 0;
+        try (FrameReader frames = new FrameReader(file, MAX_FRAME_BYTES)) {
+            while (frames.next()) {
+                if (sequence >= 0 && frames.sequence() != sequence) {
+                    writeEntry(entries++, sequence, end);
+                }
+                sequence = frames.sequence();
+                end += frames.length() + FRAME_OVERHEAD;
+            }
+        }
+        if (sequence >= 0) {
+            writeEntry(entries++, sequence, end);
+        }
+        index.force(false);
+    }
+
+    private long[] readEntry(long position) throws IOException {
+        entry.clear();
+        while (entry.hasRemaining()) {
+            if (index.read(entry, position * ENTRY_BYTES + entry.position()) < 0) {
+                throw new IOException("Índice del historial truncado");
+            }
+        }
+        return new long[]{entry.getLong(0), entry.getLong(Long.BYTES)};
+    }
+
+    private void writeEntry(long position, long sequence, long end) throws IOException {
+        entry.clear();
+        entry.putLong(sequence).putLong(end).flip();
+        while (entry.hasRemaining()) {
+            index.write(entry, position * ENTRY_BYTES + entry.position());
+        }
+    }
+
+    /**
+     * Codifica las transacciones detrás del encabezado del frame, duplicando el buffer si no caben.
+     * @return largo del payload
+     */
+    private int encodePayload(List<Transaction> transactions) {
+        while (true) {
+            frame.clear().position(HEADER_BYTES);
+            try {
+                ModelCodec.putVarLong(frame, transactions.size());
+                for (Transaction tx : transactions) {
+                    codec.encode(tx, frame);
+                }
+                if (frame.remaining() >= Integer.BYTES) {
+                    return frame.position() - HEADER_BYTES;
+                }
+            } catch (BufferOverflowException e) {
+                // Se reintenta con un buffer más grande
+            }
+            frame = ByteBuffer.allocate(frame.capacity() * 2);
+        }
+    }
+
+    private void sealFrame(int payloadLength, long sequence) {
+        frame.putInt(0, payloadLength);
+        frame.putLong(Integer.BYTES, sequence);
+        crc.reset();
+        crc.update(frame.array(), Integer.BYTES, Long.BYTES + payloadLength);
+        frame.putInt(HEADER_BYTES + payloadLength, (int) crc.getValue());
+        frame.position(0).limit(payloadLength + FRAME_OVERHEAD);
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (channel.isOpen()) {
+            channel.close();
+        }
+        if (index.isOpen()) {
+            index.close();
+        }
+    }
+}
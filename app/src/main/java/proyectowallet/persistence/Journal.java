@@ -0,0 +1,337 @@
+package proyectowallet.persistence;
+
+import java.io.*;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.CRC32;
+
+/**
+ * Journal segmentado de operaciones confirmadas.
+ * Cada registro se agrega al segmento activo como un frame
+ * {@code [largo][secuencia][payload][crc32]}; al superar el tamaño máximo se abre un
+ * segmento nuevo cuyo nombre es la primera secuencia que contiene. Un frame incompleto
+ * o con CRC inválido al final del último segmento (escritura interrumpida) se descarta.
+ * Los segmentos ya cubiertos por un snapshot se eliminan con {@link #truncateBefore(long)}.
+ */
+public class Journal implements WalletJournal, AutoCloseable {
+    public static final long DEFAULT_SEGMENT_BYTES = 4L * 1024 * 1024;
+    private static final String SEGMENT_PREFIX = "segment-";
+    private static final String SEGMENT_SUFFIX = ".log";
+    private static final int HEADER_BYTES = Integer.BYTES + Long.BYTES;
+    private static final int FRAME_OVERHEAD = HEADER_BYTES + Integer.BYTES;
+    /** Bytes que {@link #appendAll(List)} acumula antes de escribir. */
+    private static final int BATCH_BYTES = 256 * 1024;
+
+    /**
+     * Recibe los registros leídos al reaplicar el journal.
+     */
+    public interface RecordConsumer {
+        void accept(long sequence, JournalRecord record) throws IOException;
+    }
+
+    /**
+     * Recibe los payloads leídos sin decodificar, tal como se guardaron.
+     * El buffer se reutiliza entre llamadas: solo es válido durante la llamada.
+     */
+    public interface FrameConsumer {
+        void accept(long sequence, ByteBuffer payload) throws IOException;
+    }
+
+    private final Path directory;
+    private final long segmentBytes;
+    private final ModelCodec codec = new ModelCodec();
+    private final CRC32 crc = new CRC32();
+    private ByteBuffer frame = ByteBuffer.allocate(1024);
+    private ByteBuffer batch;
+    private FileChannel activeChannel;
+    private long activeSize;
+    private volatile long lastSequence;
+
+    public Journal(Path directory) throws IOException {
+        this(directory, DEFAULT_SEGMENT_BYTES);
+    }
+
+    public Journal(Path directory, long segmentBytes) throws IOException {
+        if (directory == null || segmentBytes <= FRAME_OVERHEAD) {
+            throw new IllegalArgumentException("Parámetros inválidos para el journal");
+        }
+        this.directory = directory;
+        this.segmentBytes = segmentBytes;
+        Files.createDirectories(directory);
+        openActiveSegment();
+    }
+
+    /**
+     * Recupera la última secuencia válida y abre el último segmento para agregar.
+     */
+    private void openActiveSegment() throws IOException {
+        List<Path> segments = listSegments();
+        if (segments.isEmpty()) {
+            lastSequence = 0;
+            rollSegment(1);
+            return;
+        }
+        Path last = segments.get(segments.size() - 1);
+        long[] scan = scanSegment(last);
+        lastSequence = scan[0] > 0 ? scan[0] : firstSequenceOf(last) - 1;
+        activeChannel = FileChannel.open(last, StandardOpenOption.WRITE);
+        // Descarta una cola incompleta de una escritura interrumpida
+        activeChannel.truncate(scan[1]);
+        activeChannel.position(scan[1]);
+        activeSize = scan[1];
+    }
+
+    @Override
+    public synchronized long append(JournalRecord record) {
+        try {
+            int payloadLength = encodePayload(record);
+            if (activeSize > 0 && activeSize + payloadLength + FRAME_OVERHEAD > segmentBytes) {
+                rollSegment(lastSequence + 1);
+            }
+
+            long sequence = lastSequence + 1;
+            sealFrame(payloadLength, sequence);
+            while (frame.hasRemaining()) {
+                activeChannel.write(frame);
+            }
+            activeSize += payloadLength + FRAME_OVERHEAD;
+            lastSequence = sequence;
+            return sequence;
+        } catch (IOException e) {
+            throw new UncheckedIOException("No se pudo escribir en el journal", e);
+        }
+    }
+
+    /**
+     * Agrega varios registros acumulando sus frames en un buffer que se escribe con una sola
+     * llamada cada {@value #BATCH_BYTES} bytes (y al cambiar de segmento), en lugar de una
+     * escritura por registro. El resultado en disco es el mismo que con {@link #append}.
+     */
+    @Override
+    public synchronized long appendAll(List<JournalRecord> records) {
+        if (batch == null) {
+            batch = ByteBuffer.allocate(BATCH_BYTES);
+        }
+        batch.clear();
+        long sequence = lastSequence;
+        try {
+            for (JournalRecord record : records) {
+                int payloadLength = encodePayload(record);
+                int frameLength = payloadLength + FRAME_OVERHEAD;
+                long pendingSize = activeSize + batch.position();
+                if (pendingSize > 0 && pendingSize + frameLength > segmentBytes) {
+                    writeBatch(sequence);
+                    rollSegment(sequence + 1);
+                } else if (batch.remaining() < frameLength) {
+                    writeBatch(sequence);
+                }
+                // Un frame más grande que el buffer (en cualquiera de los dos caminos) lo hace crecer;
+                // en ese punto el buffer ya está vacío
+                if (batch.capacity() < frameLength) {
+                    batch = ByteBuffer.allocate(frameLength);
+                }
+                sealFrame(payloadLength, ++sequence);
+                batch.put(frame);
+            }
+            writeBatch(sequence);
+            return sequence;
+        } catch (IOException e) {
+            throw new UncheckedIOException("No se pudo escribir en el journal", e);
+        }
+    }
+
+    /**
+     * Escribe los frames acumulados; {@code sequence} es la del último de ellos.
+     */
+    private void writeBatch(long sequence) throws IOException {
+        batch.flip();
+        int bytes = batch.remaining();
+        while (batch.hasRemaining()) {
+            activeChannel.write(batch);
+        }
+        batch.clear();
+        activeSize += bytes;
+        lastSequence = sequence;
+    }
+
+    /**
+     * Completa el encabezado y el CRC del frame codificado y lo deja listo para leer.
+     */
+    private void sealFrame(int payloadLength, long sequence) {
+        frame.putInt(0, payloadLength);
+        frame.putLong(Integer.BYTES, sequence);
+        crc.reset();
+        crc.update(frame.array(), Integer.BYTES, Long.BYTES + payloadLength);
+        frame.putInt(HEADER_BYTES + payloadLength, (int) crc.getValue());
+        frame.position(0).limit(payloadLength + FRAME_OVERHEAD);
+    }
+
+    /**
+     * Codifica el registro en el buffer reutilizable, detrás del encabezado del frame.
+     * Si no cabe, duplica el buffer y reintenta.
+     * @return largo del payload
+     */
+    private int encodePayload(JournalRecord record) {
+        while (true) {
+            frame.clear().position(HEADER_BYTES);
+            try {
+                RecordFormat.writeRecord(codec, frame, record);
+                if (frame.remaining() >= Integer.BYTES) {
+                    return frame.position() - HEADER_BYTES;
+                }
+            } catch (BufferOverflowException e) {
+                // Se reintenta con un buffer más grande
+            }
+            frame = ByteBuffer.allocate(frame.capacity() * 2);
+        }
+    }
+
+    private void rollSegment(long firstSequence) throws IOException {
+        if (activeChannel != null) {
+            activeChannel.force(false);
+            activeChannel.close();
+        }
+        Path segment = directory.resolve(segmentName(firstSequence));
+        activeChannel = FileChannel.open(segment,
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        activeSize = activeChannel.size();
+    }
+
+    /**
+     * Reaplica los registros con secuencia mayor o igual a la indicada.
+     * Puede ejecutarse mientras otros hilos agregan registros: se detiene en el último frame completo.
+     * @param fromSequence primera secuencia a entregar
+     * @param resolver resuelve referencias a usuarios y cuentas al decodificar
+     * @param consumer recibe cada registro en orden
+     * @return última secuencia entregada, o {@code fromSequence - 1} si no hubo registros
+     */
+    public long replay(long fromSequence, ModelCodec.Resolver resolver, RecordConsumer consumer) throws IOException {
+        ModelCodec recordCodec = new ModelCodec();
+        return replayFrames(fromSequence,
+                (sequence, payload) -> consumer.accept(sequence, RecordFormat.readRecord(recordCodec, payload, resolver)));
+    }
+
+    /**
+     * Entrega los payloads de los registros con secuencia mayor o igual a la indicada, sin
+     * decodificarlos. Sirve para reenviar registros (por ejemplo, a una réplica) sin el costo de
+     * decodificarlos y volver a codificarlos.
+     * @param fromSequence primera secuencia a entregar
+     * @param consumer recibe cada payload en orden
+     * @return última secuencia entregada, o {@code fromSequence - 1} si no hubo registros
+     */
+    public long replayFrames(long fromSequence, FrameConsumer consumer) throws IOException {
+        List<Path> segments = listSegments();
+        long delivered = fromSequence - 1;
+        for (int i = 0; i < segments.size(); i++) {
+            if (i + 1 < segments.size() && firstSequenceOf(segments.get(i + 1)) <= fromSequence) {
+                continue;
+            }
+            try (FrameReader frames = new FrameReader(segments.get(i), segmentBytes)) {
+                while (frames.next()) {
+                    if (frames.sequence() >= fromSequence) {
+                        consumer.accept(frames.sequence(), frames.payload());
+                        delivered = frames.sequence();
+                    }
+                }
+            }
+        }
+        return delivered;
+    }
+
+    /**
+     * Obtiene la primera secuencia que todavía se puede reaplicar: las anteriores quedaron
+     * cubiertas por un snapshot y sus segmentos se eliminaron.
+     * @return primera secuencia del segmento más antiguo
+     */
+    public long getFirstSequence() throws IOException {
+        List<Path> segments = listSegments();
+        return segments.isEmpty() ? lastSequence + 1 : firstSequenceOf(segments.get(0));
+    }
+
+    /**
+     * Elimina los segmentos cuyos registros tienen todos secuencia menor o igual a la indicada.
+     * El segmento activo nunca se elimina.
+     * @param sequence secuencia cubierta por el último snapshot
+     * @return cantidad de segmentos eliminados
+     */
+    public synchronized int truncateBefore(long sequence) throws IOException {
+        List<Path> segments = listSegments();
+        int deleted = 0;
+        for (int i = 0; i + 1 < segments.size(); i++) {
+            if (firstSequenceOf(segments.get(i + 1)) - 1 <= sequence) {
+                Files.deleteIfExists(segments.get(i));
+                deleted++;
+            } else {
+                break;
+            }
+        }
+        return deleted;
+    }
+
+    /**
+     * Fuerza a disco los registros escritos en el segmento activo.
+     */
+    public synchronized void sync() throws IOException {
+        activeChannel.force(false);
+    }
+
+    public long getLastSequence() {
+        return lastSequence;
+    }
+
+    /**
+     * Obtiene la cantidad de segmentos presentes en disco.
+     * @return cantidad de segmentos
+     */
+    public int getSegmentCount() throws IOException {
+        return listSegments().size();
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (activeChannel != null && activeChannel.isOpen()) {
+            activeChannel.force(false);
+            activeChannel.close();
+        }
+    }
+
+    /**
+     * Recorre un segmento y devuelve {última secuencia válida, posición tras el último frame válido}.
+     */
+    private long[] scanSegment(Path segment) throws IOException {
+        long lastValid = 0;
+        long validEnd = 0;
+        try (FrameReader frames = new FrameReader(segment, segmentBytes)) {
+            while (frames.next()) {
+                lastValid = frames.sequence();
+                validEnd += frames.length() + FRAME_OVERHEAD;
+            }
+        }
+        return new long[]{lastValid, validEnd};
+    }
+
+    private List<Path> listSegments() throws IOException {
+        List<Path> segments = new ArrayList<>();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, SEGMENT_PREFIX + "*" + SEGMENT_SUFFIX)) {
+            for (Path file : files) {
+                segments.add(file);
+            }
+        }
+        // Los nombres tienen ancho fijo, por lo que el orden alfabético es el orden de secuencia
+        segments.sort(null);
+        return segments;
+    }
+
+    private static String segmentName(long firstSequence) {
+        return String.format("%s%020d%s", SEGMENT_PREFIX, firstSequence, SEGMENT_SUFFIX);
+    }
+
+    private static long firstSequenceOf(Path segment) {
+        String name = segment.getFileName().toString();
+        return Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+    }
+}
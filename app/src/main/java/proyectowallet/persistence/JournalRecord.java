@@ -0,0 +1,107 @@
+package proyectowallet.persistence;
+
+import proyectowallet.model.Account;
+import proyectowallet.model.Transaction;
+import proyectowallet.model.User;
+
+/**
+ * Registro de una operación confirmada en el journal.
+ * Cada registro describe el efecto de una operación sobre el estado, de modo que
+ * reaplicarlos en orden reconstruye usuarios, cuentas e historial.
+ */
+public final class JournalRecord {
+    /**
+     * Tipos de registro del journal.
+     */
+    public enum Kind {
+        USER_REGISTERED,
+        ACCOUNT_CREATED,
+        DEPOSIT,
+        WITHDRAWAL,
+        CONVERSION,
+        PARTIAL_CONVERSION,
+        /** Transferencia entre cuentas: la transacción enviada y la recibida. */
+        TRANSFER
+    }
+
+    private final Kind kind;
+    private final User user;
+    private final Account account;
+    private final double initialBalance;
+    private final Transaction transaction;
+    private final Transaction creditTransaction;
+
+    private JournalRecord(Kind kind, User user, Account account, double initialBalance, Transaction transaction,
+                          Transaction creditTransaction) {
+        this.kind = kind;
+        this.user = user;
+        this.account = account;
+        this.initialBalance = initialBalance;
+        this.transaction = transaction;
+        this.creditTransaction = creditTransaction;
+    }
+
+    public static JournalRecord userRegistered(User user) {
+        return new JournalRecord(Kind.USER_REGISTERED, user, null, 0, null, null);
+    }
+
+    public static JournalRecord accountCreated(Account account, double initialBalance) {
+        return new JournalRecord(Kind.ACCOUNT_CREATED, account.getUser(), account, initialBalance, null, null);
+    }
+
+    /**
+     * Crea el registro de una transacción de dinero.
+     * @param kind DEPOSIT, WITHDRAWAL, CONVERSION o PARTIAL_CONVERSION
+     * @param transaction transacción confirmada
+     */
+    public static JournalRecord transaction(Kind kind, Transaction transaction) {
+        if (kind == Kind.USER_REGISTERED || kind == Kind.ACCOUNT_CREATED || kind == Kind.TRANSFER) {
+            throw new IllegalArgumentException("Tipo de registro inválido para una transacción: " + kind);
+        }
+        return new JournalRecord(kind, transaction.getAccount().getUser(), transaction.getAccount(), 0, transaction, null);
+    }
+
+    /**
+     * Crea el registro de una transferencia entre cuentas.
+     * @param debit transacción {@code TRANSFER} de la cuenta origen
+     * @param credit transacción {@code TRANSFER_IN} de la cuenta destino
+     */
+    public static JournalRecord transfer(Transaction debit, Transaction credit) {
+        if (debit == null || credit == null
+                || debit.getType() != Transaction.TransactionType.TRANSFER
+                || credit.getType() != Transaction.TransactionType.TRANSFER_IN) {
+            throw new IllegalArgumentException("Transacciones inválidas para una transferencia");
+        }
+        return new JournalRecord(Kind.TRANSFER, debit.getAccount().getUser(), debit.getAccount(), 0, debit, credit);
+    }
+
+    public Kind getKind() {
+        return kind;
+    }
+
+    public User getUser() {
+        return user;
+    }
+
+    public Account getAccount() {
+        return account;
+    }
+
+    public double getInitialBalance() {
+        return initialBalance;
+    }
+
+    /**
+     * Obtiene la transacción del registro; en una transferencia, la de la cuenta origen.
+     */
+    public Transaction getTransaction() {
+        return transaction;
+    }
+
+    /**
+     * Obtiene la transacción de la cuenta destino de una transferencia (null en los demás tipos).
+     */
+    public Transaction getCreditTransaction() {
+        return creditTransaction;
+    }
+}
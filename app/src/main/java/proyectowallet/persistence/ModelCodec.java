@@ -0,0 +1,300 @@
+package proyectowallet.persistence;
+
+import proyectowallet.model.Account;
+import proyectowallet.model.Currency;
+import proyectowallet.model.Transaction;
+import proyectowallet.model.User;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * Codec binario compacto de {@link User}, {@link Account}, {@link Transaction} y {@link Currency}.
+ * Escribe y lee directamente sobre {@link ByteBuffer} reutilizables, sin reflexión y sin crear
+ * objetos intermedios al codificar: al decodificar solo se crean las entidades resultantes.
+ * <p>
+ * Formato: cada entidad comienza con un byte de versión ({@link #VERSION}); los largos, contadores,
+ * nanosegundos y versiones de tasas son varints sin signo (LEB128), los segundos de época son
+ * varints zigzag, los enums se escriben por ordinal y los montos como double de 8 bytes.
+ * Los textos se escriben como largo en bytes más UTF-8. Las entidades relacionadas se
+ * escriben por id y se resuelven al decodificar con un {@link Resolver}.
+ * <p>
+ * Si no hay espacio en el buffer se lanza {@link java.nio.BufferOverflowException} y la posición
+ * queda indefinida: el llamador debe restaurarla y reintentar con un buffer más grande.
+ * Una instancia no es segura para uso concurrente (reutiliza buffers internos); se usa una por hilo.
+ */
+public final class ModelCodec {
+    /** Versión del formato escrita al inicio de cada entidad. */
+    public static final byte VERSION = 1;
+
+    private static final Currency[] CURRENCIES = Currency.values();
+    private static final Transaction.TransactionType[] TYPES = Transaction.TransactionType.values();
+    private static final int MAX_VARINT_BYTES = 10;
+
+    /**
+     * Resuelve referencias por id al decodificar.
+     */
+    public interface Resolver {
+        User findUser(String id);
+
+        Account findAccount(String id);
+    }
+
+    private final double[] balanceScratch = new double[CURRENCIES.length];
+    private byte[] stringScratch = new byte[64];
+
+    public void encode(User user, ByteBuffer out) {
+        out.put(VERSION);
+        putString(out, user.getId());
+        putString(out, user.getFirstName());
+        putString(out, user.getLastName());
+        putString(out, user.getEmail());
+        putTime(out, user.getCreatedAt());
+    }
+
+    public User decodeUser(ByteBuffer in) {
+        checkVersion(in);
+        return new User(getString(in), getString(in), getString(in), getString(in), getTime(in));
+    }
+
+    public void encode(Account account, ByteBuffer out) {
+        Currency currency;
+        LocalDateTime lastModifiedAt;
+        boolean active;
+        // Sub-saldos, moneda principal y estado se leen juntos para que sean consistentes entre sí
+        synchronized (account) {
+            currency = account.getCurrency();
+            account.copyBalances(balanceScratch);
+            lastModifiedAt = account.getLastModifiedAt();
+            active = account.isActive();
+        }
+        out.put(VERSION);
+        putString(out, account.getId());
+        putString(out, account.getUser().getId());
+        putCurrency(out, currency);
+        putVarLong(out, balanceScratch.length);
+        for (double balance : balanceScratch) {
+            out.putDouble(balance);
+        }
+        putTime(out, account.getCreatedAt());
+        putTime(out, lastModifiedAt);
+        out.put(active ? (byte) 1 : (byte) 0);
+    }
+
+    public Account decodeAccount(ByteBuffer in, Resolver resolver) {
+        checkVersion(in);
+        String id = getString(in);
+        User user = require(resolver.findUser(getString(in)), "usuario");
+        Currency currency = getCurrency(in);
+        int count = getLength(in);
+        double[] balances = new double[CURRENCIES.length];
+        for (int i = 0; i < count; i++) {
+            double balance = in.getDouble();
+            // Monedas que esta versión no conoce se ignoran
+            if (i < balances.length) {
+                balances[i] = balance;
+            }
+        }
+        LocalDateTime createdAt = getTime(in);
+        LocalDateTime lastModifiedAt = getTime(in);
+        return new Account(id, user, currency, balances, createdAt, lastModifiedAt, in.get() != 0);
+    }
+
+    public void encode(Transaction tx, ByteBuffer out) {
+        out.put(VERSION);
+        putString(out, tx.getId());
+        putString(out, tx.getAccount().getId());
+        out.put((byte) tx.getType().ordinal());
+        out.putDouble(tx.getAmount());
+        putCurrency(out, tx.getCurrencyFrom());
+        putCurrency(out, tx.getCurrencyTo());
+        out.putDouble(tx.getAmountInTargetCurrency());
+        putTime(out, tx.getTimestamp());
+        putString(out, tx.getDescription() == null ? "" : tx.getDescription());
+        putVarLong(out, tx.getRateVersion());
+    }
+
+    public Transaction decodeTransaction(ByteBuffer in, Resolver resolver) {
+        checkVersion(in);
+        String id = getString(in);
+        Account account = require(resolver.findAccount(getString(in)), "cuenta");
+        Transaction.TransactionType type = TYPES[getOrdinal(in, TYPES.length)];
+        double amount = in.getDouble();
+        Currency from = getCurrency(in);
+        Currency to = getCurrency(in);
+        double amountInTarget = in.getDouble();
+        LocalDateTime timestamp = getTime(in);
+        String description = getString(in);
+        long rateVersion = getVarLong(in);
+        return new Transaction(id, account, type, amount, from, to, amountInTarget, timestamp, description, rateVersion);
+    }
+
+    public static void putCurrency(ByteBuffer out, Currency currency) {
+        out.put((byte) currency.ordinal());
+    }
+
+    public static Currency getCurrency(ByteBuffer in) {
+        return CURRENCIES[getOrdinal(in, CURRENCIES.length)];
+    }
+
+    /**
+     * Escribe un entero sin signo como varint (7 bits por byte, el bit alto indica continuación).
+     */
+    public static void putVarLong(ByteBuffer out, long value) {
+        while ((value & ~0x7FL) != 0) {
+            out.put((byte) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.put((byte) value);
+    }
+
+    public static long getVarLong(ByteBuffer in) {
+        long value = 0;
+        for (int shift = 0; shift < 7 * MAX_VARINT_BYTES; shift += 7) {
+            byte b = in.get();
+            value |= (long) (b & 0x7F) << shift;
+            if (b >= 0) {
+                return value;
+            }
+        }
+        throw new IllegalArgumentException("Varint inválido");
+    }
+
+    /**
+     * Escribe un entero con signo como varint zigzag, para que los negativos pequeños ocupen poco.
+     */
+    public static void putVarLongSigned(ByteBuffer out, long value) {
+        putVarLong(out, (value << 1) ^ (value >> 63));
+    }
+
+    public static long getVarLongSigned(ByteBuffer in) {
+        long raw = getVarLong(in);
+        return (raw >>> 1) ^ -(raw & 1);
+    }
+
+    /**
+     * Escribe un texto como largo en bytes más UTF-8, sin crear un arreglo intermedio.
+     */
+    public static void putString(ByteBuffer out, String value) {
+        int length = value.length();
+        if (length * 3 < 0x80) {
+            // Texto corto: el largo en bytes cabe en un varint de un byte, se escribe al final
+            int lengthPosition = out.position();
+            out.put((byte) 0);
+            putUtf8(out, value, length);
+            out.put(lengthPosition, (byte) (out.position() - lengthPosition - 1));
+            return;
+        }
+        putVarLong(out, utf8Length(value));
+        putUtf8(out, value, length);
+    }
+
+    private static void putUtf8(ByteBuffer out, String value, int length) {
+        for (int i = 0; i < length; i++) {
+            char c = value.charAt(i);
+            if (c < 0x80) {
+                out.put((byte) c);
+            } else if (c < 0x800) {
+                out.put((byte) (0xC0 | (c >> 6)));
+                out.put((byte) (0x80 | (c & 0x3F)));
+            } else if (Character.isHighSurrogate(c) && i + 1 < length
+                    && Character.isLowSurrogate(value.charAt(i + 1))) {
+                int codePoint = Character.toCodePoint(c, value.charAt(++i));
+                out.put((byte) (0xF0 | (codePoint >> 18)));
+                out.put((byte) (0x80 | ((codePoint >> 12) & 0x3F)));
+                out.put((byte) (0x80 | ((codePoint >> 6) & 0x3F)));
+                out.put((byte) (0x80 | (codePoint & 0x3F)));
+            } else if (Character.isSurrogate(c)) {
+                // Surrogate sin pareja: se reemplaza igual que String.getBytes
+                out.put((byte) '?');
+            } else {
+                out.put((byte) (0xE0 | (c >> 12)));
+                out.put((byte) (0x80 | ((c >> 6) & 0x3F)));
+                out.put((byte) (0x80 | (c & 0x3F)));
+            }
+        }
+    }
+
+    private static int utf8Length(String value) {
+        int length = value.length();
+        int bytes = length;
+        for (int i = 0; i < length; i++) {
+            char c = value.charAt(i);
+            if (c >= 0x80) {
+                if (c < 0x800) {
+                    bytes += 1;
+                } else if (Character.isHighSurrogate(c) && i + 1 < length
+                        && Character.isLowSurrogate(value.charAt(i + 1))) {
+                    // Par de surrogates: 2 chars -> 4 bytes
+                    bytes += 2;
+                    i++;
+                } else if (!Character.isSurrogate(c)) {
+                    bytes += 2;
+                }
+            }
+        }
+        return bytes;
+    }
+
+    public String getString(ByteBuffer in) {
+        int length = getLength(in);
+        if (in.hasArray()) {
+            String value = new String(in.array(), in.arrayOffset() + in.position(), length, StandardCharsets.UTF_8);
+            in.position(in.position() + length);
+            return value;
+        }
+        if (stringScratch.length < length) {
+            stringScratch = new byte[Math.max(length, stringScratch.length * 2)];
+        }
+        in.get(stringScratch, 0, length);
+        return new String(stringScratch, 0, length, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Escribe una fecha como segundos de época (UTC, varint zigzag) más nanosegundos (varint).
+     */
+    public static void putTime(ByteBuffer out, LocalDateTime time) {
+        putVarLongSigned(out, time.toEpochSecond(ZoneOffset.UTC));
+        putVarLong(out, time.getNano());
+    }
+
+    public static LocalDateTime getTime(ByteBuffer in) {
+        long epochSecond = getVarLongSigned(in);
+        long nano = getVarLong(in);
+        if (nano > 999_999_999L) {
+            throw new IllegalArgumentException("Nanosegundos inválidos: " + nano);
+        }
+        return LocalDateTime.ofEpochSecond(epochSecond, (int) nano, ZoneOffset.UTC);
+    }
+
+    private static int getLength(ByteBuffer in) {
+        long length = getVarLong(in);
+        if (length > in.remaining()) {
+            throw new IllegalArgumentException("Largo inválido: " + length);
+        }
+        return (int) length;
+    }
+
+    private static int getOrdinal(ByteBuffer in, int size) {
+        int ordinal = in.get() & 0xFF;
+        if (ordinal >= size) {
+            throw new IllegalArgumentException("Ordinal inválido: " + ordinal);
+        }
+        return ordinal;
+    }
+
+    private static void checkVersion(ByteBuffer in) {
+        byte version = in.get();
+        if (version < 1 || version > VERSION) {
+            throw new IllegalArgumentException("Versión de formato no soportada: " + version);
+        }
+    }
+
+    private static <T> T require(T value, String what) {
+        if (value == null) {
+            throw new IllegalArgumentException("Referencia a " + what + " inexistente");
+        }
+        return value;
+    }
+}
@@ -0,0 +1,83 @@
+package proyectowallet.persistence;
+
+import proyectowallet.model.Account;
+import proyectowallet.model.Currency;
+import proyectowallet.model.Transaction;
+import proyectowallet.model.User;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.time.LocalDateTime;
+
+/**
+ * Formato binario de los registros del journal, sobre {@link ModelCodec}.
+ * Cada registro es {@code [versión][tipo][entidad]}; las entidades relacionadas se escriben
+ * por id y se resuelven al leer con un {@link ModelCodec.Resolver}.
+ */
+final class RecordFormat {
+    private static final JournalRecord.Kind[] KINDS = JournalRecord.Kind.values();
+
+    private RecordFormat() {
+        // Clase de utilidad
+    }
+
+    static void writeRecord(ModelCodec codec, ByteBuffer out, JournalRecord record) {
+        out.put(ModelCodec.VERSION);
+        out.put((byte) record.getKind().ordinal());
+        switch (record.getKind()) {
+            case USER_REGISTERED -> codec.encode(record.getUser(), out);
+            case ACCOUNT_CREATED -> {
+                // Solo el alta: los sub-saldos posteriores los reconstruyen las transacciones
+                Account account = record.getAccount();
+                ModelCodec.putString(out, account.getId());
+                ModelCodec.putString(out, account.getUser().getId());
+                ModelCodec.putCurrency(out, account.getCurrency());
+                out.putDouble(record.getInitialBalance());
+                ModelCodec.putTime(out, account.getCreatedAt());
+            }
+            case TRANSFER -> {
+                codec.encode(record.getTransaction(), out);
+                codec.encode(record.getCreditTransaction(), out);
+            }
+            default -> codec.encode(record.getTransaction(), out);
+        }
+    }
+
+    static JournalRecord readRecord(ModelCodec codec, ByteBuffer in, ModelCodec.Resolver resolver) throws IOException {
+        try {
+            byte version = in.get();
+            if (version < 1 || version > ModelCodec.VERSION) {
+                throw new IOException("Versión de registro no soportada: " + version);
+            }
+            int kindOrdinal = in.get() & 0xFF;
+            if (kindOrdinal >= KINDS.length) {
+                throw new IOException("Tipo de registro inválido: " + kindOrdinal);
+            }
+            JournalRecord.Kind kind = KINDS[kindOrdinal];
+            switch (kind) {
+                case USER_REGISTERED:
+                    return JournalRecord.userRegistered(codec.decodeUser(in));
+                case ACCOUNT_CREATED:
+                    String accountId = codec.getString(in);
+                    User user = resolver.findUser(codec.getString(in));
+                    if (user == null) {
+                        throw new IOException("Referencia a usuario inexistente en el journal");
+                    }
+                    Currency currency = ModelCodec.getCurrency(in);
+                    double initialBalance = in.getDouble();
+                    LocalDateTime createdAt = ModelCodec.getTime(in);
+                    double[] balances = new double[Currency.values().length];
+                    balances[currency.ordinal()] = initialBalance;
+                    Account account = new Account(accountId, user, currency, balances, createdAt, createdAt, true);
+                    return JournalRecord.accountCreated(account, initialBalance);
+                case TRANSFER:
+                    Transaction debit = codec.decodeTransaction(in, resolver);
+                    return JournalRecord.transfer(debit, codec.decodeTransaction(in, resolver));
+                default:
+                    return JournalRecord.transaction(kind, codec.decodeTransaction(in, resolver));
+            }
+        } catch (IllegalArgumentException | BufferUnderflowException e) {
+            throw new IOException("Registro del journal inválido: " + e.getMessage(), e);
+        }
+    }
+}
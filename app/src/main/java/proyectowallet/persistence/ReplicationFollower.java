@@ -0,0 +1,257 @@
+package proyectowallet.persistence;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.Socket;
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Réplica de un {@link ReplicationLeader}: se conecta por TCP, recibe los registros del journal
+ * del líder en orden y los aplica sobre su propio estado a través de una {@link Replica}.
+ * <p>
+ * Al conectarse informa su última secuencia aplicada y el líder le envía lo que le falta. Si se
+ * corta la conexión reintenta cada cierto intervalo y continúa desde donde quedó. Solo se detiene
+ * del todo si el líder la rechaza o si un registro no se puede aplicar, porque a partir de ahí su
+ * estado ya no sería una copia del líder; el motivo queda en {@link #getFailure()}.
+ * <p>
+ * La confirmación se envía cuando no quedan registros recibidos sin aplicar, así que en ráfagas
+ * una sola confirmación cubre varios registros.
+ */
+public class ReplicationFollower implements AutoCloseable {
+    public static final Duration DEFAULT_RETRY_INTERVAL = Duration.ofSeconds(1);
+    private static final long AWAIT_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(100);
+
+    /**
+     * Estado donde la réplica aplica lo recibido. También resuelve las referencias a usuarios y
+     * cuentas al decodificar los registros.
+     */
+    public interface Replica extends ModelCodec.Resolver {
+        /**
+         * Carga un snapshot del líder. Solo se llama con la réplica vacía, antes de cualquier registro.
+         * @param snapshot estado del líder en la secuencia del snapshot
+         */
+        void install(WalletState snapshot) throws IOException;
+
+        /**
+         * Aplica un registro del líder.
+         * @param sequence secuencia del registro en el journal del líder
+         * @param record registro a aplicar
+         * @throws IOException si el registro no es aplicable sobre el estado actual
+         */
+        void apply(long sequence, JournalRecord record) throws IOException;
+    }
+
+    private final String host;
+    private final int port;
+    private final Replica replica;
+    private final long retryMillis;
+    private final ModelCodec codec = new ModelCodec();
+    private volatile long appliedSequence;
+    private volatile boolean connected;
+    private volatile String failure;
+    private volatile boolean closed;
+    private volatile Socket socket;
+    private Thread thread;
+
+    public ReplicationFollower(String host, int port, Replica replica) {
+        this(host, port, replica, 0, DEFAULT_RETRY_INTERVAL);
+    }
+
+    /**
+     * Crea la réplica sin conectarla.
+     * @param host dirección del líder
+     * @param port puerto del líder
+     * @param replica estado donde se aplican los registros
+     * @param appliedSequence última secuencia que el estado ya incluye (0 si está vacío), por
+     *                        ejemplo la de un snapshot cargado localmente
+     * @param retryInterval espera antes de reconectarse tras perder la conexión
+     */
+    public ReplicationFollower(String host, int port, Replica replica, long appliedSequence, Duration retryInterval) {
+        if (host == null || host.isBlank() || port <= 0 || port > 65_535 || replica == null
+                || appliedSequence < 0 || retryInterval == null || retryInterval.isNegative()) {
+            throw new IllegalArgumentException("Parámetros inválidos para la réplica");
+        }
+        this.host = host;
+        this.port = port;
+        this.replica = replica;
+        this.appliedSequence = appliedSequence;
+        this.retryMillis = retryInterval.toMillis();
+    }
+
+    /**
+     * Inicia el hilo que se conecta al líder y aplica los registros.
+     */
+    public synchronized void start() {
+        if (thread != null) {
+            return;
+        }
+        thread = new Thread(this::run, "wallet-replica");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    private void run() {
+        while (!closed) {
+            try (Socket connection = new Socket(host, port)) {
+                socket = connection;
+                follow(connection);
+            } catch (ReplicationStopped e) {
+                failure = e.getMessage();
+                return;
+            } catch (IOException e) {
+                // Líder caído o conexión cortada: se reintenta desde la última secuencia aplicada
+            } finally {
+                connected = false;
+                socket = null;
+            }
+            if (closed) {
+                return;
+            }
+            try {
+                Thread.sleep(retryMillis);
+            } catch (InterruptedException e) {
+                return;
+            }
+        }
+    }
+
+    private void follow(Socket connection) throws IOException {
+        connection.setTcpNoDelay(true);
+        DataOutputStream out = new DataOutputStream(new BufferedOutputStream(connection.getOutputStream()));
+        DataInputStream in = new DataInputStream(new BufferedInputStream(
+                connection.getInputStream(), ReplicationProtocol.STREAM_BUFFER_BYTES));
+        out.writeInt(ReplicationProtocol.MAGIC);
+        out.writeByte(ReplicationProtocol.VERSION);
+        out.writeLong(appliedSequence);
+        out.flush();
+        connected = true;
+
+        byte[] payload = new byte[256];
+        while (!closed) {
+            byte type = in.readByte();
+            switch (type) {
+                case ReplicationProtocol.RECORD -> {
+                    long sequence = in.readLong();
+                    int length = in.readInt();
+                    if (length < 0) {
+                        throw new ReplicationStopped("Registro replicado con largo inválido: " + length);
+                    }
+                    if (payload.length < length) {
+                        payload = new byte[Math.max(length, payload.length * 2)];
+                    }
+                    in.readFully(payload, 0, length);
+                    apply(sequence, ByteBuffer.wrap(payload, 0, length));
+                }
+                case ReplicationProtocol.SNAPSHOT -> {
+                    byte[] snapshot = new byte[in.readInt()];
+                    in.readFully(snapshot);
+                    install(ByteBuffer.wrap(snapshot));
+                }
+                case ReplicationProtocol.ERROR -> throw new ReplicationStopped(in.readUTF());
+                default -> throw new ReplicationStopped("Mensaje de replicación desconocido: " + type);
+            }
+            if (in.available() == 0) {
+                out.writeLong(appliedSequence);
+                out.flush();
+            }
+        }
+    }
+
+    private void apply(long sequence, ByteBuffer payload) throws ReplicationStopped {
+        if (sequence != appliedSequence + 1) {
+            throw new ReplicationStopped("Se esperaba la secuencia " + (appliedSequence + 1) + " y llegó " + sequence);
+        }
+        try {
+            replica.apply(sequence, RecordFormat.readRecord(codec, payload, replica));
+        } catch (IOException | RuntimeException e) {
+            throw new ReplicationStopped("No se pudo aplicar el registro " + sequence + ": " + e.getMessage());
+        }
+        appliedSequence = sequence;
+    }
+
+    private void install(ByteBuffer snapshot) throws ReplicationStopped {
+        if (appliedSequence != 0) {
+            throw new ReplicationStopped("El líder envió un snapshot a una réplica con datos");
+        }
+        try {
+            WalletState state = SnapshotStore.decode(codec, snapshot);
+            replica.install(state);
+            appliedSequence = state.getSequence();
+        } catch (IOException | RuntimeException e) {
+            throw new ReplicationStopped("No se pudo cargar el snapshot del líder: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Obtiene la secuencia del último registro del líder aplicado.
+     */
+    public long getAppliedSequence() {
+        return appliedSequence;
+    }
+
+    public boolean isConnected() {
+        return connected;
+    }
+
+    /**
+     * Obtiene el motivo por el que la réplica se detuvo, o null si sigue activa.
+     */
+    public String getFailure() {
+        return failure;
+    }
+
+    /**
+     * Espera a que la réplica aplique hasta la secuencia indicada.
+     * @param sequence secuencia esperada
+     * @param timeoutMillis espera máxima en milisegundos
+     * @return true si la alcanzó; false si se agotó el tiempo o la réplica se detuvo
+     */
+    public boolean awaitSequence(long sequence, long timeoutMillis) {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+        while (appliedSequence < sequence) {
+            if (failure != null || System.nanoTime() - deadline >= 0 || Thread.currentThread().isInterrupted()) {
+                return false;
+            }
+            LockSupport.parkNanos(AWAIT_PARK_NANOS);
+        }
+        return true;
+    }
+
+    /**
+     * Se desconecta del líder y detiene el hilo de la réplica.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        Socket current = socket;
+        if (current != null) {
+            try {
+                current.close();
+            } catch (IOException e) {
+                // Se cierra igual
+            }
+        }
+        Thread running;
+        synchronized (this) {
+            running = thread;
+        }
+        if (running != null) {
+            running.interrupt();
+        }
+    }
+
+    /**
+     * Error tras el cual la réplica no debe reconectarse.
+     */
+    private static final class ReplicationStopped extends IOException {
+        ReplicationStopped(String message) {
+            super(message);
+        }
+    }
+}
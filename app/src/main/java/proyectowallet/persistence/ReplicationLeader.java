@@ -0,0 +1,458 @@
+package proyectowallet.persistence;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Líder de la replicación del journal: registra cada operación en el {@link Journal} local y la
+ * envía por TCP a las réplicas ({@link ReplicationFollower}) conectadas.
+ * <p>
+ * Se usa como {@link WalletJournal} del controlador en lugar del journal. Cada réplica tiene un
+ * hilo que la pone al día leyendo el journal desde su última secuencia aplicada (si el journal ya
+ * no la tiene y la réplica está vacía, primero le envía el último snapshot) y luego le reenvía los
+ * registros nuevos desde una cola acotada. Si la cola se llena la réplica se desconecta y, al
+ * reconectarse, vuelve a ponerse al día desde el journal: una réplica lenta nunca frena al líder
+ * ni acumula memoria sin límite.
+ * <p>
+ * Con {@link AckMode#ASYNC} {@link #append} vuelve al escribir en el journal local. Con
+ * {@link AckMode#SYNC} espera además la confirmación de todas las réplicas al día; una réplica
+ * que no confirma dentro del tiempo máximo deja de estar al día (no se la espera más) hasta que
+ * vuelve a alcanzar al líder.
+ */
+public class ReplicationLeader implements WalletJournal, AutoCloseable {
+    /**
+     * Cuándo se considera registrada una operación.
+     */
+    public enum AckMode {
+        /** Al escribirse en el journal local; las réplicas la reciben en segundo plano. */
+        ASYNC,
+        /** Cuando además la aplicaron todas las réplicas al día. */
+        SYNC
+    }
+
+    public static final Duration DEFAULT_ACK_TIMEOUT = Duration.ofSeconds(5);
+    /** Registros pendientes de envío por réplica antes de desconectarla. */
+    public static final int DEFAULT_QUEUE_CAPACITY = 65_536;
+
+    private final Journal journal;
+    private final SnapshotStore snapshots;
+    private final AckMode ackMode;
+    private final long ackTimeoutNanos;
+    private final int queueCapacity;
+    private final ServerSocket server;
+    private final List<FollowerSession> sessions = new CopyOnWriteArrayList<>();
+    private final Object ackMonitor = new Object();
+    private final AtomicLong ackTimeouts = new AtomicLong();
+    private final AtomicInteger sessionIds = new AtomicInteger();
+    // Codificación de los registros a enviar; se usa con el lock del líder
+    private final ModelCodec codec = new ModelCodec();
+    private ByteBuffer encoded = ByteBuffer.allocate(1024);
+    private volatile boolean closed;
+
+    public ReplicationLeader(Journal journal, SnapshotStore snapshots, int port, AckMode ackMode) throws IOException {
+        this(journal, snapshots, port, ackMode, DEFAULT_ACK_TIMEOUT, DEFAULT_QUEUE_CAPACITY);
+    }
+
+    /**
+     * Crea el líder y empieza a aceptar réplicas.
+     * @param journal journal local; el líder no lo cierra
+     * @param snapshots snapshots con los que se ponen al día las réplicas vacías
+     * @param port puerto TCP donde escuchar (0 elige uno libre, ver {@link #getPort()})
+     * @param ackMode modo de confirmación
+     * @param ackTimeout espera máxima por las confirmaciones en modo {@link AckMode#SYNC}
+     * @param queueCapacity registros pendientes por réplica antes de desconectarla
+     */
+    public ReplicationLeader(Journal journal, SnapshotStore snapshots, int port, AckMode ackMode,
+                             Duration ackTimeout, int queueCapacity) throws IOException {
+        if (journal == null || snapshots == null || ackMode == null || ackTimeout == null
+                || ackTimeout.isNegative() || queueCapacity <= 0) {
+            throw new IllegalArgumentException("Parámetros inválidos para el líder de replicación");
+        }
+        this.journal = journal;
+        this.snapshots = snapshots;
+        this.ackMode = ackMode;
+        this.ackTimeoutNanos = ackTimeout.toNanos();
+        this.queueCapacity = queueCapacity;
+        this.server = new ServerSocket(port);
+        startDaemon(this::acceptLoop, "wallet-replication-accept");
+    }
+
+    @Override
+    public long append(JournalRecord record) {
+        long sequence;
+        synchronized (this) {
+            sequence = journal.append(record);
+            ship(sequence, record);
+        }
+        awaitAcks(sequence);
+        return sequence;
+    }
+
+    @Override
+    public long appendAll(List<JournalRecord> records) {
+        long last;
+        synchronized (this) {
+            long sequence = journal.getLastSequence();
+            last = journal.appendAll(records);
+            for (JournalRecord record : records) {
+                ship(++sequence, record);
+            }
+        }
+        awaitAcks(last);
+        return last;
+    }
+
+    /**
+     * Encola el registro para las réplicas registradas. Se llama con el lock del líder, así que
+     * los registros llegan a las colas en orden de secuencia.
+     */
+    private void ship(long sequence, JournalRecord record) {
+        if (sessions.isEmpty()) {
+            return;
+        }
+        Frame frame = null;
+        for (FollowerSession session : sessions) {
+            if (session.registered) {
+                if (frame == null) {
+                    frame = new Frame(sequence, encode(record));
+                }
+                session.offer(frame);
+            }
+        }
+    }
+
+    private byte[] encode(JournalRecord record) {
+        while (true) {
+            encoded.clear();
+            try {
+                RecordFormat.writeRecord(codec, encoded, record);
+                return Arrays.copyOf(encoded.array(), encoded.position());
+            } catch (BufferOverflowException e) {
+                encoded = ByteBuffer.allocate(encoded.capacity() * 2);
+            }
+        }
+    }
+
+    /**
+     * En modo {@link AckMode#SYNC}, espera a que las réplicas al día confirmen la secuencia.
+     * Las que no lo hacen a tiempo dejan de estar al día.
+     */
+    private void awaitAcks(long sequence) {
+        if (ackMode == AckMode.ASYNC || sessions.isEmpty()) {
+            return;
+        }
+        long deadline = System.nanoTime() + ackTimeoutNanos;
+        synchronized (ackMonitor) {
+            while (!acknowledged(sequence)) {
+                long remaining = deadline - System.nanoTime();
+                if (remaining <= 0) {
+                    ackTimeouts.incrementAndGet();
+                    for (FollowerSession session : sessions) {
+                        if (session.ackedSequence < sequence) {
+                            session.inSync = false;
+                        }
+                    }
+                    return;
+                }
+                try {
+                    TimeUnit.NANOSECONDS.timedWait(ackMonitor, remaining);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    private boolean acknowledged(long sequence) {
+        for (FollowerSession session : sessions) {
+            if (session.inSync && session.ackedSequence < sequence) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void acceptLoop() {
+        while (!closed) {
+            try {
+                Socket socket = server.accept();
+                FollowerSession session = new FollowerSession(socket, "wallet-replication-" + sessionIds.incrementAndGet());
+                sessions.add(session);
+                session.sender = startDaemon(session::run, session.name);
+            } catch (IOException e) {
+                // Socket cerrado al cerrar el líder, o una conexión fallida: se sigue aceptando
+            }
+        }
+    }
+
+    public int getPort() {
+        return server.getLocalPort();
+    }
+
+    public AckMode getAckMode() {
+        return ackMode;
+    }
+
+    /**
+     * Obtiene la cantidad de réplicas conectadas, al día o no.
+     */
+    public int getFollowerCount() {
+        int count = 0;
+        for (FollowerSession session : sessions) {
+            if (session.registered) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Obtiene la cantidad de réplicas al día: las que espera {@link AckMode#SYNC}.
+     */
+    public int getInSyncCount() {
+        int count = 0;
+        for (FollowerSession session : sessions) {
+            if (session.inSync) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Obtiene la cantidad de operaciones que en modo {@link AckMode#SYNC} dejaron de esperar
+     * confirmaciones por superar el tiempo máximo.
+     */
+    public long getAckTimeouts() {
+        return ackTimeouts.get();
+    }
+
+    /**
+     * Deja de aceptar réplicas y desconecta las actuales. El journal queda abierto.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        try {
+            server.close();
+        } catch (IOException e) {
+            // Se cierra igual
+        }
+        for (FollowerSession session : sessions) {
+            session.close();
+        }
+    }
+
+    private static Thread startDaemon(Runnable task, String name) {
+        Thread thread = new Thread(task, name);
+        thread.setDaemon(true);
+        thread.start();
+        return thread;
+    }
+
+    private record Frame(long sequence, byte[] payload) {
+    }
+
+    /**
+     * Conexión con una réplica: el hilo emisor la pone al día y le reenvía la cola; otro hilo
+     * lee sus confirmaciones.
+     */
+    private final class FollowerSession {
+        private final Socket socket;
+        private final String name;
+        private final BlockingQueue<Frame> queue = new ArrayBlockingQueue<>(queueCapacity);
+        private volatile Thread sender;
+        /** Recibe registros nuevos; se activa con el lock del líder. */
+        private volatile boolean registered;
+        private volatile boolean inSync;
+        private volatile long ackedSequence;
+        private volatile boolean closed;
+
+        FollowerSession(Socket socket, String name) {
+            this.socket = socket;
+            this.name = name;
+        }
+
+        void run() {
+            try {
+                socket.setTcpNoDelay(true);
+                socket.setSoTimeout(ReplicationProtocol.HANDSHAKE_TIMEOUT_MILLIS);
+                DataInputStream in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+                DataOutputStream out = new DataOutputStream(new BufferedOutputStream(
+                        socket.getOutputStream(), ReplicationProtocol.STREAM_BUFFER_BYTES));
+                if (in.readInt() != ReplicationProtocol.MAGIC || in.readByte() != ReplicationProtocol.VERSION) {
+                    throw refuse(out, "Protocolo de replicación no soportado");
+                }
+                long applied = in.readLong();
+                socket.setSoTimeout(0);
+                register(applied);
+                startDaemon(() -> readAcks(in), name + "-acks");
+                stream(out, catchUp(out, applied));
+            } catch (IOException | RuntimeException e) {
+                // Réplica desconectada o rechazada: puede reconectarse y seguir desde su secuencia
+            } catch (InterruptedException e) {
+                // Sesión cerrada
+            } finally {
+                close();
+            }
+        }
+
+        /**
+         * Activa la recepción de registros nuevos. Con el lock del líder: todo lo agregado antes
+         * ya está en el journal y todo lo posterior llega a la cola.
+         */
+        private void register(long applied) throws IOException {
+            synchronized (ReplicationLeader.this) {
+                if (ReplicationLeader.this.closed) {
+                    throw new IOException("El líder de replicación está cerrado");
+                }
+                ackedSequence = applied;
+                inSync = applied == journal.getLastSequence();
+                registered = true;
+            }
+        }
+
+        /**
+         * Envía lo que la réplica no tiene, desde el journal (y el snapshot si hace falta).
+         * @return última secuencia enviada
+         */
+        private long catchUp(DataOutputStream out, long applied) throws IOException {
+            long last = journal.getLastSequence();
+            if (applied > last) {
+                throw refuse(out, "La réplica está en la secuencia " + applied + " y el líder en " + last);
+            }
+            long from = applied + 1;
+            if (from < journal.getFirstSequence()) {
+                if (applied != 0) {
+                    throw refuse(out, "El journal del líder ya no contiene la secuencia " + from
+                            + "; la réplica debe empezar vacía");
+                }
+                WalletState snapshot = snapshots.loadLatest()
+                        .orElseThrow(() -> refuse(out, "El líder no tiene un snapshot para poner al día la réplica"));
+                byte[] bytes = SnapshotStore.encode(snapshot);
+                out.writeByte(ReplicationProtocol.SNAPSHOT);
+                out.writeInt(bytes.length);
+                out.write(bytes);
+                from = snapshot.getSequence() + 1;
+            }
+            long[] sent = {from - 1};
+            journal.replayFrames(from, (sequence, payload) -> {
+                if (sequence != sent[0] + 1) {
+                    // Un segmento se compactó mientras se leía: la réplica reintentará
+                    throw new IOException("Falta la secuencia " + (sent[0] + 1) + " en el journal");
+                }
+                writeRecord(out, sequence, payload.array(), payload.arrayOffset() + payload.position(), payload.remaining());
+                sent[0] = sequence;
+            });
+            out.flush();
+            return sent[0];
+        }
+
+        /**
+         * Reenvía los registros de la cola posteriores a lo ya enviado, vaciando el buffer del
+         * socket solo cuando la cola queda vacía.
+         */
+        private void stream(DataOutputStream out, long sent) throws IOException, InterruptedException {
+            while (!closed) {
+                Frame frame = queue.poll();
+                if (frame == null) {
+                    out.flush();
+                    frame = queue.take();
+                }
+                if (frame.sequence() <= sent) {
+                    continue;
+                }
+                writeRecord(out, frame.sequence(), frame.payload(), 0, frame.payload().length);
+                sent = frame.sequence();
+            }
+        }
+
+        private void writeRecord(DataOutputStream out, long sequence, byte[] payload, int offset, int length)
+                throws IOException {
+            out.writeByte(ReplicationProtocol.RECORD);
+            out.writeLong(sequence);
+            out.writeInt(length);
+            out.write(payload, offset, length);
+        }
+
+        private IOException refuse(DataOutputStream out, String message) {
+            try {
+                out.writeByte(ReplicationProtocol.ERROR);
+                out.writeUTF(message);
+                out.flush();
+            } catch (IOException e) {
+                // La réplica ya no escucha
+            }
+            return new IOException(message);
+        }
+
+        private void readAcks(DataInputStream in) {
+            try {
+                while (!closed) {
+                    long sequence = in.readLong();
+                    ackedSequence = sequence;
+                    if (!inSync && sequence >= journal.getLastSequence()) {
+                        inSync = true;
+                    }
+                    if (ackMode == AckMode.SYNC) {
+                        synchronized (ackMonitor) {
+                            ackMonitor.notifyAll();
+                        }
+                    }
+                }
+            } catch (IOException e) {
+                // Conexión cerrada
+            } finally {
+                close();
+            }
+        }
+
+        void offer(Frame frame) {
+            if (!queue.offer(frame)) {
+                // Réplica demasiado atrasada: al reconectarse se pondrá al día desde el journal
+                close();
+            }
+        }
+
+        void close() {
+            synchronized (this) {
+                if (closed) {
+                    return;
+                }
+                closed = true;
+            }
+            registered = false;
+            inSync = false;
+            sessions.remove(this);
+            try {
+                socket.close();
+            } catch (IOException e) {
+                // Se cierra igual
+            }
+            Thread thread = sender;
+            if (thread != null && thread != Thread.currentThread()) {
+                thread.interrupt();
+            }
+            synchronized (ackMonitor) {
+                ackMonitor.notifyAll();
+            }
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package proyectowallet.persistence;
+
+/**
+ * Constantes del protocolo de replicación entre {@link ReplicationLeader} y
+ * {@link ReplicationFollower}, sobre una conexión TCP con {@code DataInput}/{@code DataOutput}.
+ * <ul>
+ *   <li>La réplica abre la conexión con {@code [magic][versión][última secuencia aplicada]}.</li>
+ *   <li>El líder responde con mensajes {@code [tipo][cuerpo]}:
+ *     {@link #RECORD} {@code [secuencia][largo][payload]}, {@link #SNAPSHOT} {@code [largo][snapshot]}
+ *     o {@link #ERROR} {@code [mensaje]}, tras el cual cierra la conexión.</li>
+ *   <li>La réplica confirma con {@code [secuencia]} la última secuencia aplicada.</li>
+ * </ul>
+ * El payload de un registro es el mismo que se guarda en el journal y el snapshot tiene el
+ * formato de los archivos de {@link SnapshotStore}.
+ */
+final class ReplicationProtocol {
+    static final int MAGIC = 0x414B5752; // "AKWR"
+    static final byte VERSION = 1;
+
+    static final byte RECORD = 1;
+    static final byte SNAPSHOT = 2;
+    static final byte ERROR = 3;
+
+    /** Tiempo máximo para recibir el saludo de una réplica recién conectada. */
+    static final int HANDSHAKE_TIMEOUT_MILLIS = 10_000;
+    static final int STREAM_BUFFER_BYTES = 64 * 1024;
+
+    private ReplicationProtocol() {
+        // Clase de utilidad
+    }
+}
@@ -0,0 +1,315 @@
+package proyectowallet.persistence;
+
+import proyectowallet.model.Account;
+import proyectowallet.model.Transaction;
+import proyectowallet.model.User;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.BufferOverflowException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * Almacén de snapshots binarios del estado en un directorio.
+ * Cada snapshot se escribe en un archivo temporal, se fuerza a disco y se renombra
+ * atómicamente a {@code snapshot-<secuencia>.bin}, de modo que nunca se lee uno a medias.
+ * Las entidades se codifican con {@link ModelCodec}. El snapshot guarda usuarios, cuentas y la
+ * secuencia; el historial de transacciones va en el {@link HistoryStore}. Los snapshots del
+ * formato anterior, que incluían el historial, se siguen leyendo.
+ */
+public class SnapshotStore {
+    private static final String PREFIX = "snapshot-";
+    private static final String SUFFIX = ".bin";
+    private static final int MAGIC = 0x414B5753; // "AKWS"
+    private static final byte FORMAT_VERSION = 3;
+    /** Formato anterior, con el historial de transacciones dentro del snapshot. */
+    private static final byte FORMAT_WITH_HISTORY = 2;
+    private static final int BUFFER_BYTES = 64 * 1024;
+
+    private final Path directory;
+
+    public SnapshotStore(Path directory) throws IOException {
+        if (directory == null) {
+            throw new IllegalArgumentException("Directorio de snapshots no puede ser nulo");
+        }
+        this.directory = directory;
+        Files.createDirectories(directory);
+    }
+
+    /**
+     * Escribe un snapshot del estado.
+     * @param state estado a guardar
+     * @return archivo del snapshot
+     */
+    public Path write(WalletState state) throws IOException {
+        Path target = directory.resolve(String.format("%s%020d%s", PREFIX, state.getSequence(), SUFFIX));
+        Path tmp = directory.resolve(target.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(tmp,
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            SnapshotWriter out = new SnapshotWriter(channel);
+            out.buffer.putInt(MAGIC);
+            out.buffer.put(FORMAT_VERSION);
+            state.writeTo(out);
+            out.flush();
+            channel.force(true);
+        }
+        return Files.move(tmp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    /**
+     * Carga el snapshot más reciente que se pueda leer.
+     * El archivo se decodifica desde un buffer de tamaño fijo que se rellena desde el canal,
+     * de modo que la memoria usada no depende del tamaño del snapshot.
+     * @return estado del snapshot, o vacío si no hay snapshots
+     */
+    public Optional<WalletState> loadLatest() throws IOException {
+        List<Path> snapshots = listSnapshots();
+        ModelCodec codec = new ModelCodec();
+        for (int i = snapshots.size() - 1; i >= 0; i--) {
+            try (FileChannel channel = FileChannel.open(snapshots.get(i), StandardOpenOption.READ)) {
+                return Optional.of(decode(new SnapshotReader(codec, channel)));
+            } catch (RuntimeException e) {
+                // Snapshot dañado: se intenta con el anterior
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Codifica un snapshot en memoria, con el mismo formato que los archivos.
+     * @param state estado a codificar
+     * @return bytes del snapshot
+     */
+    static byte[] encode(WalletState state) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        SnapshotWriter out = new SnapshotWriter(Channels.newChannel(bytes));
+        out.buffer.putInt(MAGIC);
+        out.buffer.put(FORMAT_VERSION);
+        state.writeTo(out);
+        out.flush();
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Decodifica un snapshot recibido completo en un buffer.
+     * @throws IllegalArgumentException si el encabezado o el contenido no son válidos
+     */
+    static WalletState decode(ModelCodec codec, ByteBuffer in) throws IOException {
+        return decode(new SnapshotReader(codec, in));
+    }
+
+    private static WalletState decode(SnapshotReader in) throws IOException {
+        if (in.readInt() != MAGIC) {
+            throw new IllegalArgumentException("Formato de snapshot inválido");
+        }
+        byte version = in.readByte();
+        if (version != FORMAT_VERSION && version != FORMAT_WITH_HISTORY) {
+            throw new IllegalArgumentException("Formato de snapshot inválido");
+        }
+        return WalletState.readFrom(in, version == FORMAT_WITH_HISTORY);
+    }
+
+    /**
+     * Elimina los snapshots anteriores a la secuencia indicada.
+     * @param sequence secuencia del snapshot vigente
+     * @return cantidad de snapshots eliminados
+     */
+    public int deleteOlderThan(long sequence) throws IOException {
+        int deleted = 0;
+        for (Path snapshot : listSnapshots()) {
+            if (sequenceOf(snapshot) < sequence) {
+                Files.deleteIfExists(snapshot);
+                deleted++;
+            }
+        }
+        return deleted;
+    }
+
+    private List<Path> listSnapshots() throws IOException {
+        List<Path> snapshots = new ArrayList<>();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, PREFIX + "*" + SUFFIX)) {
+            for (Path file : files) {
+                snapshots.add(file);
+            }
+        }
+        snapshots.sort(null);
+        return snapshots;
+    }
+
+    private static long sequenceOf(Path snapshot) {
+        String name = snapshot.getFileName().toString();
+        return Long.parseLong(name.substring(PREFIX.length(), name.length() - SUFFIX.length()));
+    }
+
+    /**
+     * Escribe entidades con {@link ModelCodec} en un buffer reutilizable que se vacía al canal
+     * cuando se llena. Una entidad que no cabe en el buffer vacío lo hace crecer.
+     */
+    static final class SnapshotWriter {
+        private final WritableByteChannel channel;
+        private final ModelCodec codec = new ModelCodec();
+        private ByteBuffer buffer = ByteBuffer.allocate(BUFFER_BYTES);
+
+        SnapshotWriter(WritableByteChannel channel) {
+            this.channel = channel;
+        }
+
+        void writeVarLong(long value) throws IOException {
+            while (true) {
+                int start = buffer.position();
+                try {
+                    ModelCodec.putVarLong(buffer, value);
+                    return;
+                } catch (BufferOverflowException e) {
+                    makeRoom(start);
+                }
+            }
+        }
+
+        void write(User user) throws IOException {
+            while (true) {
+                int start = buffer.position();
+                try {
+                    codec.encode(user, buffer);
+                    return;
+                } catch (BufferOverflowException e) {
+                    makeRoom(start);
+                }
+            }
+        }
+
+        void write(Account account) throws IOException {
+            while (true) {
+                int start = buffer.position();
+                try {
+                    codec.encode(account, buffer);
+                    return;
+                } catch (BufferOverflowException e) {
+                    makeRoom(start);
+                }
+            }
+        }
+
+        /**
+         * Descarta la entidad escrita a medias y libera espacio para reintentarla.
+         */
+        private void makeRoom(int start) throws IOException {
+            buffer.position(start);
+            if (start == 0) {
+                buffer = ByteBuffer.allocate(buffer.capacity() * 2);
+            } else {
+                flush();
+            }
+        }
+
+        void flush() throws IOException {
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            buffer.clear();
+        }
+    }
+
+    /**
+     * Lee entidades con {@link ModelCodec} desde un buffer reutilizable que se rellena desde el
+     * canal. Si una entidad queda cortada al final del buffer, se descarta lo leído de ella, se
+     * compacta el buffer, se lee más y se reintenta; una entidad que no cabe en el buffer lo
+     * hace crecer, hasta {@value #MAX_ENTITY_BYTES} bytes.
+     */
+    static final class SnapshotReader {
+        private static final int MAX_ENTITY_BYTES = 16 * 1024 * 1024;
+
+        private final ReadableByteChannel channel;
+        private final ModelCodec codec;
+        private ByteBuffer buffer;
+
+        SnapshotReader(ModelCodec codec, ReadableByteChannel channel) {
+            this.codec = codec;
+            this.channel = channel;
+            this.buffer = ByteBuffer.allocate(BUFFER_BYTES).flip();
+        }
+
+        /**
+         * Lee desde un snapshot que ya está completo en memoria.
+         */
+        SnapshotReader(ModelCodec codec, ByteBuffer in) {
+            this.codec = codec;
+            this.channel = null;
+            this.buffer = in;
+        }
+
+        int readInt() throws IOException {
+            return read(ByteBuffer::getInt);
+        }
+
+        byte readByte() throws IOException {
+            return read(ByteBuffer::get);
+        }
+
+        long readVarLong() throws IOException {
+            return read(ModelCodec::getVarLong);
+        }
+
+        User readUser() throws IOException {
+            return read(codec::decodeUser);
+        }
+
+        Account readAccount(ModelCodec.Resolver resolver) throws IOException {
+            return read(in -> codec.decodeAccount(in, resolver));
+        }
+
+        Transaction readTransaction(ModelCodec.Resolver resolver) throws IOException {
+            return read(in -> codec.decodeTransaction(in, resolver));
+        }
+
+        /**
+         * Decodifica una entidad. Un largo que excede lo que queda en el buffer también puede
+         * deberse a una entidad cortada, así que se reintenta mientras el canal tenga datos.
+         */
+        private <T> T read(Function<ByteBuffer, T> decoder) throws IOException {
+            while (true) {
+                int start = buffer.position();
+                try {
+                    return decoder.apply(buffer);
+                } catch (BufferUnderflowException | IllegalArgumentException e) {
+                    buffer.position(start);
+                    if (!refill()) {
+                        throw e;
+                    }
+                }
+            }
+        }
+
+        /**
+         * Conserva lo que queda sin leer y agrega datos del canal detrás.
+         * @return false si el canal no tiene más datos
+         */
+        private boolean refill() throws IOException {
+            if (channel == null) {
+                return false;
+            }
+            buffer.compact();
+            if (!buffer.hasRemaining()) {
+                if (buffer.capacity() >= MAX_ENTITY_BYTES) {
+                    throw new IllegalArgumentException("Entidad de snapshot demasiado grande");
+                }
+                ByteBuffer larger = ByteBuffer.allocate(buffer.capacity() * 2);
+                larger.put(buffer.flip());
+                buffer = larger;
+            }
+            int read = channel.read(buffer);
+            buffer.flip();
+            return read > 0;
+        }
+    }
+}
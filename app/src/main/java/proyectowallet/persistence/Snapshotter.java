@@ -0,0 +1,114 @@
+package proyectowallet.persistence;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Genera snapshots periódicos en segundo plano y compacta el journal.
+ * El snapshotter mantiene su propia copia del estado, que avanza reaplicando los
+ * registros nuevos del journal; así obtiene una imagen consistente en una secuencia
+ * exacta sin detener a los hilos que escriben. Antes de escribir el snapshot agrega al
+ * {@link HistoryStore} las transacciones nuevas y las descarta de su copia, que así guarda solo
+ * usuarios y cuentas; nunca carga el historial. Tras escribir el snapshot se eliminan
+ * los snapshots anteriores y los segmentos del journal que quedaron cubiertos.
+ */
+public class Snapshotter implements AutoCloseable {
+    private final Journal journal;
+    private final SnapshotStore store;
+    private final HistoryStore history;
+    private final long minRecords;
+    private ScheduledExecutorService scheduler;
+    private WalletState shadow;
+    private volatile long lastSnapshotSequence;
+
+    /**
+     * @param journal journal a compactar
+     * @param store almacén de snapshots
+     * @param history historial de transacciones
+     * @param minRecords registros nuevos necesarios para que valga la pena un snapshot
+     */
+    public Snapshotter(Journal journal, SnapshotStore store, HistoryStore history, long minRecords) {
+        if (journal == null || store == null || history == null || minRecords < 1) {
+            throw new IllegalArgumentException("Parámetros inválidos para el snapshotter");
+        }
+        this.journal = journal;
+        this.store = store;
+        this.history = history;
+        this.minRecords = minRecords;
+    }
+
+    /**
+     * Inicia la generación periódica de snapshots.
+     * @param interval intervalo entre intentos
+     */
+    public synchronized void start(Duration interval) {
+        if (scheduler != null) {
+            return;
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "wallet-snapshotter");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long millis = interval.toMillis();
+        scheduler.scheduleWithFixedDelay(() -> {
+            try {
+                snapshotIfNeeded();
+            } catch (IOException e) {
+                // Se reintentará en el próximo ciclo; el journal sigue siendo la fuente de verdad
+            }
+        }, millis, millis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Genera un snapshot si hay suficientes registros nuevos desde el anterior.
+     * @return secuencia del snapshot escrito, o -1 si no fue necesario
+     */
+    public long snapshotIfNeeded() throws IOException {
+        if (journal.getLastSequence() - lastSnapshotSequence < minRecords) {
+            return -1;
+        }
+        return snapshotNow();
+    }
+
+    /**
+     * Genera un snapshot con todos los registros confirmados hasta ahora.
+     * @return secuencia del snapshot escrito
+     */
+    public synchronized long snapshotNow() throws IOException {
+        if (shadow == null) {
+            shadow = store.loadLatest().orElseGet(WalletState::new);
+            lastSnapshotSequence = shadow.getSequence();
+            // Lo agregado tras el último snapshot se vuelve a tomar del journal
+            history.truncateAfter(lastSnapshotSequence);
+        }
+        journal.replay(shadow.getSequence() + 1, shadow, shadow::apply);
+        if (shadow.getSequence() == lastSnapshotSequence) {
+            return lastSnapshotSequence;
+        }
+
+        long sequence = shadow.getSequence();
+        history.append(sequence, shadow.getTransactions());
+        shadow.clearTransactions();
+        store.write(shadow);
+        store.deleteOlderThan(sequence);
+        journal.truncateBefore(sequence);
+        lastSnapshotSequence = sequence;
+        return sequence;
+    }
+
+    public long getLastSnapshotSequence() {
+        return lastSnapshotSequence;
+    }
+
+    @Override
+    public synchronized void close() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+            scheduler = null;
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package proyectowallet.persistence;
+
+import java.util.List;
+
+/**
+ * Destino donde la capa de aplicación registra cada operación confirmada.
+ */
+public interface WalletJournal {
+    /** Journal que no registra nada; se usa cuando la persistencia está desactivada. */
+    WalletJournal DISABLED = record -> 0;
+
+    /**
+     * Registra una operación confirmada.
+     * @param record registro a agregar
+     * @return número de secuencia asignado
+     */
+    long append(JournalRecord record);
+
+    /**
+     * Registra varias operaciones confirmadas, en orden.
+     * @param records registros a agregar
+     * @return número de secuencia del último registro (o el último asignado si la lista está vacía)
+     */
+    default long appendAll(List<JournalRecord> records) {
+        long sequence = 0;
+        for (JournalRecord record : records) {
+            sequence = append(record);
+        }
+        return sequence;
+    }
+}
@@ -0,0 +1,102 @@
+package proyectowallet.persistence;
+
+import proyectowallet.model.Transaction;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.function.Consumer;
+
+/**
+ * Punto de entrada de la persistencia: abre el journal, los snapshots y el historial de
+ * transacciones de un directorio de datos, recupera el estado (último snapshot + cola del
+ * journal) y gestiona el snapshotter en segundo plano. El historial no forma parte de la
+ * recuperación, así el arranque no crece con él: se lee aparte con {@link #readHistory}.
+ */
+public class WalletPersistence implements AutoCloseable {
+    /** Registros nuevos necesarios para generar un snapshot. */
+    public static final long DEFAULT_SNAPSHOT_RECORDS = 10_000;
+    /** Intervalo entre intentos de snapshot. */
+    public static final Duration DEFAULT_SNAPSHOT_INTERVAL = Duration.ofSeconds(30);
+
+    private final Journal journal;
+    private final SnapshotStore snapshotStore;
+    private final HistoryStore historyStore;
+    private final Snapshotter snapshotter;
+
+    private WalletPersistence(Journal journal, SnapshotStore snapshotStore, HistoryStore historyStore,
+                              long snapshotRecords) {
+        this.journal = journal;
+        this.snapshotStore = snapshotStore;
+        this.historyStore = historyStore;
+        this.snapshotter = new Snapshotter(journal, snapshotStore, historyStore, snapshotRecords);
+    }
+
+    /**
+     * Abre la persistencia en un directorio de datos.
+     * @param dataDirectory directorio de datos (se crea si no existe)
+     * @return persistencia abierta
+     */
+    public static WalletPersistence open(Path dataDirectory) throws IOException {
+        return open(dataDirectory, Journal.DEFAULT_SEGMENT_BYTES, DEFAULT_SNAPSHOT_RECORDS);
+    }
+
+    public static WalletPersistence open(Path dataDirectory, long segmentBytes, long snapshotRecords) throws IOException {
+        Journal journal = new Journal(dataDirectory.resolve("journal"), segmentBytes);
+        SnapshotStore store = new SnapshotStore(dataDirectory.resolve("snapshots"));
+        HistoryStore history = new HistoryStore(dataDirectory.resolve("history"));
+        return new WalletPersistence(journal, store, history, snapshotRecords);
+    }
+
+    /**
+     * Recupera el estado: carga el último snapshot y reaplica solo los registros posteriores.
+     * Las transacciones del estado son solo las reaplicadas; las anteriores se leen con
+     * {@link #readHistory}.
+     * @return estado recuperado
+     */
+    public WalletState recover() throws IOException {
+        WalletState state = snapshotStore.loadLatest().orElseGet(WalletState::new);
+        journal.replay(state.getSequence() + 1, state, state::apply);
+        return state;
+    }
+
+    /**
+     * Entrega, en orden, las transacciones del historial que preceden a las de un estado
+     * recuperado. Recorre el historial completo: se llama en segundo plano, después del arranque.
+     * @param state estado devuelto por {@link #recover()}; resuelve las cuentas referenciadas
+     * @param consumer recibe cada transacción
+     * @return cantidad de transacciones entregadas
+     */
+    public long readHistory(WalletState state, Consumer<Transaction> consumer) throws IOException {
+        return historyStore.read(state.getSnapshotSequence(), state, consumer);
+    }
+
+    /**
+     * Inicia los snapshots periódicos en segundo plano.
+     */
+    public void startSnapshots() {
+        snapshotter.start(DEFAULT_SNAPSHOT_INTERVAL);
+    }
+
+    public Journal getJournal() {
+        return journal;
+    }
+
+    public SnapshotStore getSnapshotStore() {
+        return snapshotStore;
+    }
+
+    public HistoryStore getHistoryStore() {
+        return historyStore;
+    }
+
+    public Snapshotter getSnapshotter() {
+        return snapshotter;
+    }
+
+    @Override
+    public void close() throws IOException {
+        snapshotter.close();
+        journal.close();
+        historyStore.close();
+    }
+}
@@ -0,0 +1,158 @@
+package proyectowallet.persistence;
+
+import proyectowallet.model.Account;
+import proyectowallet.model.Transaction;
+import proyectowallet.model.User;
+import java.io.IOException;
+import java.util.*;
+
+/**
+ * Imagen del estado de la billetera en una secuencia concreta del journal:
+ * usuarios, cuentas (con sus sub-saldos) e historial de transacciones.
+ * Se construye cargando un snapshot y reaplicando los registros posteriores.
+ * <p>
+ * El snapshot guarda solo usuarios, cuentas y la secuencia; el historial va aparte, en el
+ * {@link HistoryStore}, y no forma parte del estado: las transacciones de un estado son solo las
+ * reaplicadas desde el journal (o las de un snapshot de formato anterior). El historial que les
+ * precede llega hasta {@link #getSnapshotSequence()} y se lee con
+ * {@link WalletPersistence#readHistory}.
+ */
+public class WalletState implements ModelCodec.Resolver {
+    private final Map<String, User> users = new LinkedHashMap<>();
+    private final Map<String, Account> accounts = new LinkedHashMap<>();
+    private final List<Transaction> transactions = new ArrayList<>();
+    private long sequence;
+    private long snapshotSequence;
+
+    /**
+     * Aplica un registro del journal sobre el estado.
+     * @param recordSequence secuencia del registro
+     * @param record registro a aplicar
+     * @throws IOException si el registro no es aplicable (journal inconsistente)
+     */
+    public void apply(long recordSequence, JournalRecord record) throws IOException {
+        if (recordSequence <= sequence) {
+            return;
+        }
+        switch (record.getKind()) {
+            case USER_REGISTERED -> users.put(record.getUser().getId(), record.getUser());
+            case ACCOUNT_CREATED -> accounts.put(record.getAccount().getId(), record.getAccount());
+            case TRANSFER -> applyTransfer(record.getTransaction(), record.getCreditTransaction());
+            default -> applyTransaction(record.getKind(), record.getTransaction());
+        }
+        sequence = recordSequence;
+    }
+
+    private void applyTransaction(JournalRecord.Kind kind, Transaction tx) throws IOException {
+        Account account = tx.getAccount();
+        boolean applied = switch (kind) {
+            case DEPOSIT -> account.deposit(tx.getCurrencyFrom(), tx.getAmount());
+            case WITHDRAWAL -> account.withdraw(tx.getCurrencyFrom(), tx.getAmount());
+            case CONVERSION -> {
+                account.applyConversion(tx.getCurrencyTo(), tx.getAmountInTargetCurrency());
+                yield true;
+            }
+            case PARTIAL_CONVERSION -> account.convert(
+                    tx.getCurrencyFrom(), tx.getCurrencyTo(), tx.getAmount(), tx.getAmountInTargetCurrency());
+            default -> false;
+        };
+        if (!applied) {
+            throw new IOException("No se pudo reaplicar la transacción " + tx.getId());
+        }
+        transactions.add(tx);
+    }
+
+    private void applyTransfer(Transaction debit, Transaction credit) throws IOException {
+        if (!debit.getAccount().withdraw(debit.getCurrencyFrom(), debit.getAmount())
+                || !credit.getAccount().deposit(credit.getCurrencyTo(), credit.getAmountInTargetCurrency())) {
+            throw new IOException("No se pudo reaplicar la transferencia " + debit.getId());
+        }
+        transactions.add(debit);
+        transactions.add(credit);
+    }
+
+    @Override
+    public User findUser(String id) {
+        return users.get(id);
+    }
+
+    @Override
+    public Account findAccount(String id) {
+        return accounts.get(id);
+    }
+
+    public Collection<User> getUsers() {
+        return Collections.unmodifiableCollection(users.values());
+    }
+
+    public Collection<Account> getAccounts() {
+        return Collections.unmodifiableCollection(accounts.values());
+    }
+
+    public List<Transaction> getTransactions() {
+        return Collections.unmodifiableList(transactions);
+    }
+
+    /**
+     * Descarta las transacciones ya agregadas al historial.
+     */
+    void clearTransactions() {
+        transactions.clear();
+    }
+
+    /**
+     * Obtiene la secuencia del último registro incluido en el estado.
+     * @return secuencia del journal
+     */
+    public long getSequence() {
+        return sequence;
+    }
+
+    /**
+     * Obtiene la secuencia del snapshot del que se cargó el estado: el historial que precede a
+     * sus transacciones llega hasta ahí.
+     * @return secuencia del snapshot, o 0 si el estado no partió de uno
+     */
+    public long getSnapshotSequence() {
+        return snapshotSequence;
+    }
+
+    void writeTo(SnapshotStore.SnapshotWriter out) throws IOException {
+        out.writeVarLong(sequence);
+        out.writeVarLong(users.size());
+        for (User user : users.values()) {
+            out.write(user);
+        }
+        out.writeVarLong(accounts.size());
+        for (Account account : accounts.values()) {
+            out.write(account);
+        }
+    }
+
+    /**
+     * @param withTransactions si el snapshot incluye el historial (formato anterior al
+     *                         {@link HistoryStore})
+     */
+    static WalletState readFrom(SnapshotStore.SnapshotReader in, boolean withTransactions) throws IOException {
+        WalletState state = new WalletState();
+        state.sequence = in.readVarLong();
+        state.snapshotSequence = state.sequence;
+        long userCount = in.readVarLong();
+        for (long i = 0; i < userCount; i++) {
+            User user = in.readUser();
+            state.users.put(user.getId(), user);
+        }
+        long accountCount = in.readVarLong();
+        for (long i = 0; i < accountCount; i++) {
+            Account account = in.readAccount(state);
+            state.accounts.put(account.getId(), account);
+        }
+        if (withTransactions) {
+            long transactionCount = in.readVarLong();
+            for (long i = 0; i < transactionCount; i++) {
+                state.transactions.add(in.readTransaction(state));
+            }
+        }
+        return state;
+    }
+}
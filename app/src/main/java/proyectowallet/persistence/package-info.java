@@ -0,0 +1,9 @@
+/**
+ * <b>Capa de persistencia</b>.
+ * <p>
+ * Guarda el estado de la billetera en disco: un journal segmentado con cada operación
+ * confirmada y snapshots binarios periódicos. Al iniciar se carga el último snapshot y
+ * se reaplica solo la cola del journal posterior a él.
+ */
+
+package proyectowallet.persistence;
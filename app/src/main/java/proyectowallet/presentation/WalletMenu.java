@@ -1,11 +1,13 @@
 package proyectowallet.presentation;
 
 import proyectowallet.controller.WalletController;
+import proyectowallet.model.Account;
 import proyectowallet.model.Currency;
 import proyectowallet.model.Transaction;
 import proyectowallet.model.User;
 import proyectowallet.util.UIFormatter;
 import java.util.*;
+import java.util.function.Supplier;
 
 /**
  * Menú principal de la aplicación Alke Wallet.
@@ -15,17 +17,39 @@ import java.util.*;
  * delega todas las operaciones en la capa de aplicación ({@link WalletController}).
  */
 public class WalletMenu {
-    private final WalletController controller;
+    /** Cantidad de usuarios mostrados por búsqueda. */
+    private static final int SEARCH_RESULTS = 10;
+    private static final String SEARCH_PROMPT = "Buscar usuario por nombre, apellido o email (Enter = primeros)";
+    private static final String ACCOUNT_PROMPT = SEARCH_PROMPT + ", o '#número' / id de cuenta";
+    /** Cantidad de cuentas por página en el listado completo. */
+    private static final int PAGE_SIZE = 20;
+
+    private final Supplier<WalletController> controller;
     private final Scanner scanner;
     private boolean running;
 
     // Constructor de la clase WalletMenu
     public WalletMenu(WalletController controller, Scanner scanner) {
+        this(() -> controller, scanner);
+    }
+
+    /**
+     * Crea el menú con un controlador que puede estar inicializándose en segundo plano.
+     * El proveedor se consulta recién cuando una opción necesita el controlador,
+     * de modo que el menú se muestra sin esperar la carga de servicios y datos.
+     * @param controller proveedor del controlador
+     * @param scanner entrada de consola
+     */
+    public WalletMenu(Supplier<WalletController> controller, Scanner scanner) {
         this.controller = controller;
         this.scanner = scanner;
         this.running = true;
     }
 
+    private WalletController controller() {
+        return controller.get();
+    }
+
     /**
      * Ejecuta el bucle del menú hasta que el usuario elige Salir.
      */
@@ -43,7 +67,10 @@ public class WalletMenu {
                     "Salir"
             );
 
-            // Leer la opción seleccionada por el usuario
+            // Leer la opción seleccionada por el usuario; fin de la entrada equivale a Salir
+            if (!scanner.hasNextLine()) {
+                break;
+            }
             String choice = scanner.nextLine().trim();
             UIFormatter.printSeparator();
 
@@ -75,7 +102,7 @@ public class WalletMenu {
         System.out.print("Email: ");
         String email = scanner.nextLine().trim();
 
-        if (controller.registerUser(firstName, lastName, email)) {
+        if (controller().registerUser(firstName, lastName, email)) {
             pause();
             return;
         }
@@ -87,34 +114,21 @@ public class WalletMenu {
     private void handleAccountCreation() {
         UIFormatter.printHeader("Crear Cuenta");
 
-        if (controller.getAllUsers().isEmpty()) {
+        if (!controller().hasUsers()) {
             UIFormatter.printError("No hay usuarios registrados. Registre uno primero.");
             pause();
             return;
         }
 
-        System.out.println("Usuarios disponibles:");
-        List<String> userIds = new ArrayList<>();
-        int idx = 1;
-        for (var user : controller.getAllUsers()) {
-            System.out.println(idx + ". " + user.getFullName() + " (" + user.getEmail() + ")");
-            userIds.add(user.getId());
-            idx++;
-        }
-
-        System.out.print("\nSeleccione el número del usuario: ");
-        String userChoice = scanner.nextLine().trim();
-        int userIdx = parseMenuChoice(userChoice, userIds.size());
-
-        if (userIdx < 0) {
-            UIFormatter.printError("Opción inválida");
-            pause();
+        System.out.print(SEARCH_PROMPT + ": ");
+        User user = selectUser(scanner.nextLine().trim());
+        if (user == null) {
             return;
         }
 
-        String userId = userIds.get(userIdx);
+        String userId = user.getId();
 
-        var existingAccounts = controller.getAccountsForUser(userId);
+        var existingAccounts = controller().getAccountsForUser(userId);
         if (!existingAccounts.isEmpty()) {
             System.out.println("\nCuentas existentes para este usuario:");
             for (var a : existingAccounts) {
@@ -155,7 +169,7 @@ public class WalletMenu {
             return;
         }
 
-        if (controller.createAccountForUser(userId, selectedCurrency, initialBalance)) {
+        if (controller().createAccountForUser(userId, selectedCurrency, initialBalance)) {
             pause();
             return;
         }
@@ -167,45 +181,40 @@ public class WalletMenu {
     private void handleViewBalance() {
         UIFormatter.printHeader("Ver Saldo");
 
-        if (controller.getAllUsers().isEmpty()) {
+        if (!controller().hasUsers()) {
             UIFormatter.printError("No hay usuarios registrados.");
             pause();
             return;
         }
 
-        List<User> users = new ArrayList<>(controller.getAllUsers());
-        System.out.println("Usuarios disponibles:");
-        for (int i = 0; i < users.size(); i++) {
-            var u = users.get(i);
-            System.out.println((i + 1) + ". " + u.getFullName() + " (" + u.getEmail() + ")");
-        }
-
-        System.out.print("\nSeleccione usuario (número) o ingrese 'A' para ver todas las cuentas: ");
+        System.out.print(ACCOUNT_PROMPT + " o '*' para ver todas las cuentas: ");
         String choice = scanner.nextLine().trim();
 
-        if (choice.equalsIgnoreCase("A")) {
-            System.out.println("\nTodas las cuentas:");
-            for (var u : controller.getAllUsers()) {
-                var accounts = controller.getAccountsForUser(u.getId());
-                for (var a : accounts) {
-                    System.out.println("- Usuario: " + u.getFullName() + " | Cuenta: " + a.getId() + " | " + a.getCurrency() + " " + UIFormatter.formatMoney(a.getBalance(), a.getCurrency()));
-                }
+        if (choice.equals("*")) {
+            Account account = browseAccounts();
+            if (account != null) {
+                showAccount(account);
+                pause();
             }
-            pause();
             return;
         }
 
-        int userIdx = parseMenuChoice(choice, users.size());
-        if (userIdx < 0) {
-            UIFormatter.printError("Selección inválida");
+        Account direct = controller().findAccount(choice);
+        if (direct != null) {
+            showAccount(direct);
             pause();
             return;
         }
 
-        User selectedUser = users.get(userIdx);
+        User selectedUser = selectUser(choice);
+        if (selectedUser == null) {
+            return;
+        }
         String userId = selectedUser.getId();
+        System.out.println("\nPatrimonio total: " + UIFormatter.formatMoney(
+                controller().getNetWorth(userId), controller().getReportingCurrency()));
 
-        var existingAccounts = controller.getAccountsForUser(userId);
+        var existingAccounts = controller().getAccountsForUser(userId);
         if (existingAccounts.isEmpty()) {
             System.out.println("El usuario no tiene cuentas.");
             pause();
@@ -213,22 +222,12 @@ public class WalletMenu {
         }
 
         if (existingAccounts.size() == 1) {
-            var a = existingAccounts.get(0);
-            controller.setCurrentAccount(a);
-            System.out.println("Usuario: " + a.getUser().getFullName());
-            System.out.println("Número de cuenta: " + a.getId());
-            System.out.println("Moneda: " + a.getCurrency().getDescription());
-            System.out.println("\nSaldo: " + UIFormatter.formatMoney(a.getBalance(), a.getCurrency()));
+            showAccount(existingAccounts.get(0));
             pause();
             return;
         }
 
-        System.out.println("\nCuentas del usuario:");
-        for (int i = 0; i < existingAccounts.size(); i++) {
-            var a = existingAccounts.get(i);
-            System.out.println((i + 1) + ". " + a.getId() + " - " + UIFormatter.formatMoney(a.getBalance(), a.getCurrency()) + " (" + a.getCurrency() + ")");
-        }
-
+        printUserAccounts(existingAccounts);
         System.out.print("\nSeleccione la cuenta a ver (número): ");
         String accChoice = scanner.nextLine().trim();
         int accIdx = parseMenuChoice(accChoice, existingAccounts.size());
@@ -238,25 +237,71 @@ public class WalletMenu {
             return;
         }
 
-        var account = existingAccounts.get(accIdx);
-        controller.setCurrentAccount(account);
+        showAccount(existingAccounts.get(accIdx));
+        pause();
+    }
+
+    // Método para mostrar el detalle de una cuenta y dejarla como cuenta actual
+    private void showAccount(Account account) {
+        controller().setCurrentAccount(account);
         System.out.println("Usuario: " + account.getUser().getFullName());
-        System.out.println("Número de cuenta: " + account.getId());
+        System.out.println("Número de cuenta: #" + controller().getAccountNumber(account) + " (" + account.getId() + ")");
         System.out.println("Moneda: " + account.getCurrency().getDescription());
         System.out.println("\nSaldo: " + UIFormatter.formatMoney(account.getBalance(), account.getCurrency()));
+        printSubBalances(account);
         System.out.println("Total depósitos: " + UIFormatter.formatMoney(
-                controller.getTotalDeposits(account), account.getCurrency()));
+                controller().getTotalDeposits(account), account.getCurrency()));
         System.out.println("Total retiros: " + UIFormatter.formatMoney(
-                controller.getTotalWithdrawals(account), account.getCurrency()));
+                controller().getTotalWithdrawals(account), account.getCurrency()));
+    }
 
-        pause();
+    /**
+     * Lista todas las cuentas de a una página. Cada página se pide al controlador al mostrarla,
+     * así el listado no recorre ni copia las cuentas que no se ven.
+     * @return cuenta elegida con '#número', o null si se salió del listado
+     */
+    private Account browseAccounts() {
+        int total = controller().getAccountCount();
+        if (total == 0) {
+            UIFormatter.printError("No hay cuentas registradas.");
+            pause();
+            return null;
+        }
+        int pages = (total + PAGE_SIZE - 1) / PAGE_SIZE;
+        int page = 0;
+        while (true) {
+            System.out.println("\nCuentas - página " + (page + 1) + " de " + pages + ":");
+            for (Account a : controller().getAccountsPage(page * PAGE_SIZE, PAGE_SIZE)) {
+                System.out.println("#" + controller().getAccountNumber(a) + " - Usuario: " + a.getUser().getFullName()
+                        + " | " + a.getCurrency() + " " + UIFormatter.formatMoney(a.getBalance(), a.getCurrency()));
+            }
+
+            System.out.print("\nEnter = siguiente, 'a' = anterior, '#número' = ver cuenta, 'q' = salir: ");
+            String input = scanner.nextLine().trim();
+            if (input.isEmpty()) {
+                if (page + 1 >= pages) {
+                    return null;
+                }
+                page++;
+            } else if (input.equalsIgnoreCase("a")) {
+                page = Math.max(0, page - 1);
+            } else if (input.equalsIgnoreCase("q")) {
+                return null;
+            } else {
+                Account account = controller().findAccount(input);
+                if (account != null) {
+                    return account;
+                }
+                UIFormatter.printError("Cuenta no encontrada: " + input);
+            }
+        }
     }
 
     // Método para manejar el depósito de dinero
     private void handleDeposit() {
         UIFormatter.printHeader("Realizar Depósito");
 
-        if (controller.getAllUsers().isEmpty()) {
+        if (!controller().hasUsers()) {
             UIFormatter.printError("No hay usuarios registrados.");
             pause();
             return;
@@ -275,8 +320,8 @@ public class WalletMenu {
             return;
         }
 
-        if (controller.deposit(amount)) {
-            UIFormatter.printSuccess("Saldo actual: " + UIFormatter.formatMoney(controller.getBalance(), controller.getCurrentCurrency()));
+        if (controller().deposit(amount)) {
+            UIFormatter.printSuccess("Saldo actual: " + UIFormatter.formatMoney(controller().getBalance(), controller().getCurrentCurrency()));
         }
 
         pause();
@@ -286,7 +331,7 @@ public class WalletMenu {
     private void handleWithdrawal() {
         UIFormatter.printHeader("Realizar Retiro");
 
-        if (controller.getAllUsers().isEmpty()) {
+        if (!controller().hasUsers()) {
             UIFormatter.printError("No hay usuarios registrados.");
             pause();
             return;
@@ -296,7 +341,7 @@ public class WalletMenu {
             return;
         }
 
-        System.out.println("Saldo disponible: " + UIFormatter.formatMoney(controller.getBalance(), controller.getCurrentCurrency()));
+        System.out.println("Saldo disponible: " + UIFormatter.formatMoney(controller().getBalance(), controller().getCurrentCurrency()));
         System.out.print("Monto a retirar: ");
         double amount = parseDouble(scanner.nextLine().trim());
 
@@ -306,8 +351,8 @@ public class WalletMenu {
             return;
         }
 
-        if (controller.withdraw(amount)) {
-            UIFormatter.printSuccess("Saldo actual: " + UIFormatter.formatMoney(controller.getBalance(), controller.getCurrentCurrency()));
+        if (controller().withdraw(amount)) {
+            UIFormatter.printSuccess("Saldo actual: " + UIFormatter.formatMoney(controller().getBalance(), controller().getCurrentCurrency()));
         }
 
         pause();
@@ -317,7 +362,7 @@ public class WalletMenu {
     private void handleCurrencyConversion() {
         UIFormatter.printHeader("Convertir Moneda");
 
-        if (controller.getAllUsers().isEmpty()) {
+        if (!controller().hasUsers()) {
             UIFormatter.printError("No hay usuarios registrados.");
             pause();
             return;
@@ -327,8 +372,8 @@ public class WalletMenu {
             return;
         }
 
-        Currency currentCurrency = controller.getCurrentCurrency();
-        double currentBalance = controller.getBalance();
+        Currency currentCurrency = controller().getCurrentCurrency();
+        double currentBalance = controller().getBalance();
 
         System.out.println("\nMoneda actual: " + currentCurrency + " (" + currentCurrency.getDescription() + ")");
         System.out.println("Saldo actual: " + UIFormatter.formatMoney(currentBalance, currentCurrency) + "\n");
@@ -352,21 +397,82 @@ public class WalletMenu {
         }
 
         Currency targetCurrency = currencies[idx];
-        double convertedAmount = controller.convertBalance(targetCurrency);
+        Currency sourceCurrency = currentCurrency;
+
+        System.out.print("\nMonto a convertir (Enter = todo el saldo y cambiar moneda principal): ");
+        String amountInput = scanner.nextLine().trim();
+        double convertedFrom = currentBalance;
+        double convertedAmount;
+        if (amountInput.isEmpty()) {
+            convertedAmount = controller().convertBalance(targetCurrency);
+            if (convertedAmount < 0) {
+                pause();
+                return;
+            }
+        } else {
+            convertedFrom = parseDouble(amountInput);
+            if (convertedFrom <= 0) {
+                UIFormatter.printError("El monto debe ser mayor a 0");
+                pause();
+                return;
+            }
+            sourceCurrency = selectSourceCurrency(currentCurrency, targetCurrency);
+            if (sourceCurrency == null) {
+                UIFormatter.printError("Selección inválida");
+                pause();
+                return;
+            }
+            convertedAmount = controller().convertPartial(sourceCurrency, targetCurrency, convertedFrom);
+            if (convertedAmount < 0) {
+                pause();
+                return;
+            }
+        }
 
         System.out.println("\n✓ Conversión realizada:");
-        System.out.println("  De: " + UIFormatter.formatMoney(currentBalance, currentCurrency));
+        System.out.println("  De: " + UIFormatter.formatMoney(convertedFrom, sourceCurrency));
         System.out.println("  A: " + UIFormatter.formatMoney(convertedAmount, targetCurrency));
-        System.out.println("  Tasa de cambio: " + controller.getExchangeRate(currentCurrency, targetCurrency));
+        System.out.println("  Tasa de cambio: " + controller().getExchangeRate(sourceCurrency, targetCurrency));
 
         pause();
     }
 
+    /**
+     * Pide la moneda del sub-saldo a descontar en una conversión parcial. Solo pregunta si la
+     * cuenta tiene saldo en otra moneda además de la principal.
+     * @return moneda elegida, la principal con Enter, o null si la selección es inválida
+     */
+    private Currency selectSourceCurrency(Currency primaryCurrency, Currency targetCurrency) {
+        Account account = controller().getCurrentAccount();
+        List<Currency> options = new ArrayList<>();
+        for (Currency currency : Currency.values()) {
+            if (currency != primaryCurrency && currency != targetCurrency && account.getBalance(currency) > 0) {
+                options.add(currency);
+            }
+        }
+        if (options.isEmpty()) {
+            return primaryCurrency;
+        }
+
+        System.out.println("\nSub-saldos disponibles como origen:");
+        for (int i = 0; i < options.size(); i++) {
+            Currency currency = options.get(i);
+            System.out.println((i + 1) + ". " + UIFormatter.formatMoney(account.getBalance(currency), currency));
+        }
+        System.out.print("Seleccione la moneda origen (Enter = " + primaryCurrency + "): ");
+        String choice = scanner.nextLine().trim();
+        if (choice.isEmpty()) {
+            return primaryCurrency;
+        }
+        int idx = parseMenuChoice(choice, options.size());
+        return idx < 0 ? null : options.get(idx);
+    }
+
     // Método para manejar el historial de transacciones
     private void handleTransactionHistory() {
         UIFormatter.printHeader("Historial de Transacciones");
 
-        if (controller.getAllUsers().isEmpty()) {
+        if (!controller().hasUsers()) {
             UIFormatter.printError("No hay usuarios registrados.");
             pause();
             return;
@@ -376,7 +482,7 @@ public class WalletMenu {
             return;
         }
 
-        List<Transaction> transactions = controller.getTransactionHistory();
+        List<Transaction> transactions = controller().getTransactionHistory();
 
         if (transactions.isEmpty()) {
             System.out.println("\nNo hay transacciones registradas para esta cuenta.");
@@ -389,6 +495,7 @@ public class WalletMenu {
                 System.out.println("│  Monto: " + UIFormatter.formatMoney(transaction.getAmount(), transaction.getCurrencyFrom()));
                 if (transaction.getType() == Transaction.TransactionType.CONVERSION) {
                     System.out.println("│  Convertido a: " + UIFormatter.formatMoney(transaction.getAmountInTargetCurrency(), transaction.getCurrencyTo()));
+                    System.out.println("│  Versión de tasas: " + transaction.getRateVersion());
                 }
                 System.out.println();
             }
@@ -403,24 +510,20 @@ public class WalletMenu {
      * @return true si se seleccionó correctamente, false si hubo error (ya se hizo pause).
      */
     private boolean selectUserAndAccount() {
-        List<User> users = new ArrayList<>(controller.getAllUsers());
-        System.out.println("Usuarios disponibles:");
-        for (int i = 0; i < users.size(); i++) {
-            var u = users.get(i);
-            System.out.println((i + 1) + ". " + u.getFullName() + " (" + u.getEmail() + ")");
+        System.out.print(ACCOUNT_PROMPT + ": ");
+        String query = scanner.nextLine().trim();
+        Account direct = controller().findAccount(query);
+        if (direct != null) {
+            controller().setCurrentAccount(direct);
+            System.out.println("Cuenta #" + controller().getAccountNumber(direct) + " de " + direct.getUser().getFullName());
+            return true;
         }
-
-        System.out.print("\nSeleccione usuario (número): ");
-        String userChoice = scanner.nextLine().trim();
-        int userIdx = parseMenuChoice(userChoice, users.size());
-        if (userIdx < 0) {
-            UIFormatter.printError("Selección inválida");
-            pause();
+        User selectedUser = selectUser(query);
+        if (selectedUser == null) {
             return false;
         }
 
-        User selectedUser = users.get(userIdx);
-        var existingAccounts = controller.getAccountsForUser(selectedUser.getId());
+        var existingAccounts = controller().getAccountsForUser(selectedUser.getId());
         if (existingAccounts.isEmpty()) {
             UIFormatter.printError("El usuario no tiene cuentas.");
             pause();
@@ -428,16 +531,11 @@ public class WalletMenu {
         }
 
         if (existingAccounts.size() == 1) {
-            controller.setCurrentAccount(existingAccounts.get(0));
+            controller().setCurrentAccount(existingAccounts.get(0));
             return true;
         }
 
-        System.out.println("\nCuentas del usuario:");
-        for (int i = 0; i < existingAccounts.size(); i++) {
-            var a = existingAccounts.get(i);
-            System.out.println((i + 1) + ". " + a.getId() + " - " + UIFormatter.formatMoney(a.getBalance(), a.getCurrency()) + " (" + a.getCurrency() + ")");
-        }
-
+        printUserAccounts(existingAccounts);
         System.out.print("\nSeleccione la cuenta (número): ");
         String accChoice = scanner.nextLine().trim();
         int accIdx = parseMenuChoice(accChoice, existingAccounts.size());
@@ -446,14 +544,74 @@ public class WalletMenu {
             pause();
             return false;
         }
-        controller.setCurrentAccount(existingAccounts.get(accIdx));
+        controller().setCurrentAccount(existingAccounts.get(accIdx));
         return true;
     }
 
+    // Método para buscar y seleccionar un usuario
+    /**
+     * Muestra los primeros usuarios que coinciden con la búsqueda y pide elegir uno por número.
+     * Si en lugar de un número se ingresa texto, se repite la búsqueda con ese texto, así la
+     * lista se puede ir acotando sin recorrer todos los usuarios.
+     * @param query texto inicial a buscar (nombre, apellido o email); vacío muestra los primeros
+     * @return usuario elegido, o null si no hubo coincidencias o la selección fue inválida (ya se hizo pause)
+     */
+    private User selectUser(String query) {
+        while (true) {
+            List<User> matches = controller().searchUsers(query, SEARCH_RESULTS);
+            if (matches.isEmpty()) {
+                UIFormatter.printError("No hay usuarios que coincidan con \"" + query + "\"");
+                pause();
+                return null;
+            }
+
+            System.out.println("Usuarios encontrados:");
+            for (int i = 0; i < matches.size(); i++) {
+                var u = matches.get(i);
+                System.out.println((i + 1) + ". " + u.getFullName() + " (" + u.getEmail() + ")");
+            }
+
+            System.out.print("\nSeleccione usuario (número) o escriba otra búsqueda: ");
+            String input = scanner.nextLine().trim();
+            int userIdx = parseMenuChoice(input, matches.size());
+            if (userIdx >= 0) {
+                return matches.get(userIdx);
+            }
+            if (input.isEmpty() || input.chars().allMatch(Character::isDigit)) {
+                UIFormatter.printError("Selección inválida");
+                pause();
+                return null;
+            }
+            query = input;
+        }
+    }
+
+    // Método para listar las cuentas de un usuario con su número corto
+    private void printUserAccounts(List<Account> accounts) {
+        System.out.println("\nCuentas del usuario:");
+        for (int i = 0; i < accounts.size(); i++) {
+            var a = accounts.get(i);
+            System.out.println((i + 1) + ". #" + controller().getAccountNumber(a) + " " + a.getId() + " - "
+                    + UIFormatter.formatMoney(a.getBalance(), a.getCurrency()) + " (" + a.getCurrency() + ")");
+        }
+    }
+
+    // Método para mostrar los sub-saldos en monedas distintas a la principal
+    private void printSubBalances(Account account) {
+        double[] balances = account.getBalances();
+        for (Currency currency : Currency.values()) {
+            if (currency != account.getCurrency() && balances[currency.ordinal()] > 0) {
+                System.out.println("Sub-saldo " + currency + ": " + UIFormatter.formatMoney(balances[currency.ordinal()], currency));
+            }
+        }
+    }
+
     // Método para pausar la ejecución del programa
     private void pause() {
         System.out.print("\nPresione Enter para continuar...");
-        scanner.nextLine();
+        if (scanner.hasNextLine()) {
+            scanner.nextLine();
+        }
         System.out.print("\033[H\033[2J");
         System.out.flush();
     }
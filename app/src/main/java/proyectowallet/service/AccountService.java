@@ -1,9 +1,16 @@
 package proyectowallet.service;
 
 import proyectowallet.model.Account;
+import proyectowallet.model.BalanceChange;
+import proyectowallet.model.Conversion;
 import proyectowallet.model.Currency;
+import proyectowallet.model.OperationResult;
+import proyectowallet.model.RateSnapshot;
 import proyectowallet.model.User;
+import java.util.Collection;
 import java.util.List;
+import java.util.concurrent.Flow;
+import java.util.function.Consumer;
 
 /**
  * Interfaz para servicios de gestión de cuentas.
@@ -19,6 +26,12 @@ public interface AccountService {
      */
     Account createAccount(User user, Currency currency, double initialBalance);
 
+    /**
+     * Registra una cuenta existente (por ejemplo, recuperada desde disco) sin validar límites.
+     * @param account cuenta a registrar
+     */
+    void restoreAccount(Account account);
+
     /**
      * Obtiene una cuenta por su ID.
      * @param accountId identificador de la cuenta
@@ -26,6 +39,35 @@ public interface AccountService {
      */
     Account getAccount(String accountId);
 
+    /**
+     * Obtiene una cuenta por su número corto. Las cuentas se numeran desde 1 en el orden
+     * en que se crean o restauran, así el número se mantiene entre ejecuciones.
+     * @param number número corto de la cuenta
+     * @return cuenta encontrada o null
+     */
+    Account getAccountByNumber(int number);
+
+    /**
+     * Obtiene el número corto de una cuenta.
+     * @param accountId identificador de la cuenta
+     * @return número corto, o 0 si la cuenta no está registrada
+     */
+    int getAccountNumber(String accountId);
+
+    /**
+     * Obtiene la cantidad de cuentas registradas.
+     * @return cantidad de cuentas
+     */
+    int getAccountCount();
+
+    /**
+     * Obtiene una página de cuentas en orden de número, sin recorrer las demás.
+     * @param offset cantidad de cuentas a saltar
+     * @param limit cantidad máxima de cuentas
+     * @return cuentas de la página (vacía si el desplazamiento supera el total)
+     */
+    List<Account> getAccounts(int offset, int limit);
+
     /**
      * Deposita dinero en una cuenta.
      * @param accountId identificador de la cuenta
@@ -34,6 +76,14 @@ public interface AccountService {
      */
     boolean deposit(String accountId, double amount);
 
+    /**
+     * Deposita dinero en una cuenta, informando el motivo si se rechaza.
+     * @param accountId identificador de la cuenta
+     * @param amount monto a depositar
+     * @return {@link OperationResult#OK} o el motivo del rechazo
+     */
+    OperationResult tryDeposit(String accountId, double amount);
+
     /**
      * Retira dinero de una cuenta.
      * @param accountId identificador de la cuenta
@@ -42,6 +92,85 @@ public interface AccountService {
      */
     boolean withdraw(String accountId, double amount);
 
+    /**
+     * Retira dinero de una cuenta, informando el motivo si se rechaza. El saldo se verifica
+     * y se descuenta de forma atómica: no hace falta consultarlo antes.
+     * @param accountId identificador de la cuenta
+     * @param amount monto a retirar
+     * @return {@link OperationResult#OK} o el motivo del rechazo
+     */
+    OperationResult tryWithdraw(String accountId, double amount);
+
+    /**
+     * Convierte parte de un sub-saldo de una cuenta a otra moneda.
+     * @param accountId identificador de la cuenta
+     * @param from moneda del sub-saldo origen
+     * @param to moneda del sub-saldo destino
+     * @param amount monto a descontar del origen
+     * @param convertedAmount monto a acreditar en el destino
+     * @return true si la operación fue exitosa
+     */
+    boolean convert(String accountId, Currency from, Currency to, double amount, double convertedAmount);
+
+    /**
+     * Convierte parte de un sub-saldo de una cuenta a otra moneda, informando el motivo si se rechaza.
+     * @param accountId identificador de la cuenta
+     * @param from moneda del sub-saldo origen
+     * @param to moneda del sub-saldo destino
+     * @param amount monto a descontar del origen
+     * @param convertedAmount monto a acreditar en el destino
+     * @return {@link OperationResult#OK} o el motivo del rechazo
+     */
+    OperationResult tryConvert(String accountId, Currency from, Currency to, double amount, double convertedAmount);
+
+    /**
+     * Transfiere dinero entre dos cuentas en dos pasos: primero reserva el monto descontándolo
+     * del saldo principal del origen y después lo acredita en el destino. Si el destino lo
+     * rechaza, el monto vuelve al origen. Nunca se toman los locks de ambas cuentas a la vez.
+     * Solo mueve los saldos: el historial, el journal y los eventos los registra
+     * {@code WalletController#transfer}, que es por donde deben pasar las transferencias.
+     * @param fromAccountId cuenta origen
+     * @param toAccountId cuenta destino; su moneda principal debe ser la del origen
+     * @param amount monto a transferir
+     * @return {@link OperationResult#OK} o el motivo del rechazo
+     */
+    OperationResult tryTransfer(String fromAccountId, String toAccountId, double amount);
+
+    /**
+     * Traslada todo el saldo de la moneda principal a una nueva moneda, que pasa a ser la principal.
+     * @param accountId identificador de la cuenta
+     * @param newCurrency moneda destino
+     * @param newBalance monto convertido
+     */
+    void applyConversion(String accountId, Currency newCurrency, double newBalance);
+
+    /**
+     * Convierte todo el saldo principal de una cuenta a otra moneda de forma atómica: el saldo
+     * se lee, se convierte y se aplica con el lock de la cuenta tomado.
+     * @param accountId identificador de la cuenta
+     * @param rates snapshot de tasas a usar
+     * @param target nueva moneda principal
+     * @return montos movidos, o el motivo del rechazo
+     */
+    Conversion tryConvertAll(String accountId, RateSnapshot rates, Currency target);
+
+    /**
+     * Obtiene un publicador de los cambios de saldo de algunas cuentas. Cada suscriptor recibe
+     * solo los cambios de esas cuentas y solo a medida que los pide; si se atrasa, de cada cuenta
+     * recibe el último saldo en lugar de acumular todos los cambios intermedios.
+     * @param accountIds ids de las cuentas a observar
+     * @return publicador filtrado por esas cuentas
+     */
+    Flow.Publisher<BalanceChange> getBalanceChanges(Collection<String> accountIds);
+
+    /**
+     * Agrega un oyente que recibe el estado de cada cuenta al registrarse y después de cada
+     * cambio de saldo, en el orden en que ocurrieron y sin combinar cambios. Se llama en el hilo
+     * que modificó la cuenta, con su lock tomado, así que debe ser rápido.
+     * @param listener oyente
+     */
+    void addBalanceListener(Consumer<BalanceChange> listener);
+
     /**
      * Obtiene el saldo de una cuenta.
      * @param accountId identificador de la cuenta
@@ -55,4 +184,10 @@ public interface AccountService {
      * @return lista de cuentas (vacía si no hay)
      */
     List<Account> getAccountsByUser(String userId);
+
+    /**
+     * Obtiene todas las cuentas registradas, en orden de número.
+     * @return copia de la lista de cuentas
+     */
+    List<Account> getAllAccounts();
 }
@@ -1,12 +1,22 @@
 package proyectowallet.service;
 
 import proyectowallet.model.Account;
+import proyectowallet.model.BalanceChange;
+import proyectowallet.model.Conversion;
 import proyectowallet.model.Currency;
+import proyectowallet.model.OperationResult;
+import proyectowallet.model.RateSnapshot;
 import proyectowallet.model.User;
-import java.util.LinkedHashMap;
+import proyectowallet.util.ChunkedLog;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.Map;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Flow;
+import java.util.function.Consumer;
 
 /**
  * Implementación del servicio de gestión de cuentas.
@@ -14,9 +24,37 @@ import java.util.stream.Collectors;
  * - Single Responsibility: solo gestiona operaciones de cuentas
  * - Open/Closed: fácil de extender
  * - Liskov Substitution: sustituye correctamente la interfaz
+ * <p>
+ * Las cuentas se indexan por id, por número corto (posición en un {@link ChunkedLog} de ids en
+ * orden de registro) y por usuario, de modo que buscar una cuenta, las cuentas de un usuario
+ * o una página de cuentas no recorre el resto. Los registros se serializan; las lecturas no
+ * toman locks. El número de una cuenta quitada con {@link #removeAccount} queda reservado y
+ * sin cuenta: el conteo y las páginas cuentan solo cuentas presentes, y mientras haya números
+ * reservados una página se ubica recorriendo los números desde el principio.
+ * <p>
+ * Cada operación que cambia un saldo se aplica con el lock de la cuenta y, si tuvo éxito,
+ * se notifica al {@link BalanceChangePublisher} antes de soltarlo, así los suscriptores
+ * reciben los cambios de una cuenta en el orden en que ocurrieron.
  */
 public class AccountServiceImpl implements AccountService {
-    private final Map<String, Account> accounts = new LinkedHashMap<>();
+    private final Map<String, Account> accounts = new ConcurrentHashMap<>();
+    private final Map<String, Integer> numbers = new ConcurrentHashMap<>();
+    private final ChunkedLog<String> idsByNumber = new ChunkedLog<>();
+    /** Números de cuentas quitadas; se modifica con el lock del servicio. */
+    private volatile int reservedNumbers;
+    private final Map<String, List<Account>> accountsByUser = new ConcurrentHashMap<>();
+    private final BalanceChangePublisher balanceChanges;
+
+    public AccountServiceImpl() {
+        this(new BalanceChangePublisher());
+    }
+
+    public AccountServiceImpl(BalanceChangePublisher balanceChanges) {
+        if (balanceChanges == null) {
+            throw new IllegalArgumentException("El publicador de saldos no puede ser nulo");
+        }
+        this.balanceChanges = balanceChanges;
+    }
 
     @Override
     public Account createAccount(User user, Currency currency, double initialBalance) {
@@ -25,10 +63,63 @@ public class AccountServiceImpl implements AccountService {
         }
 
         Account account = new Account(user, currency, initialBalance);
-        accounts.put(account.getId(), account);
+        register(account);
         return account;
     }
 
+    @Override
+    public void restoreAccount(Account account) {
+        if (account == null) {
+            throw new IllegalArgumentException("Cuenta no puede ser nula");
+        }
+        register(account);
+    }
+
+    /**
+     * Registra la cuenta en los índices y publica su estado inicial. Una cuenta con un id ya
+     * registrado reemplaza a la anterior y conserva su número, igual que una que se había quitado.
+     */
+    private synchronized void register(Account account) {
+        Account previous = accounts.put(account.getId(), account);
+        if (previous == null) {
+            if (numbers.containsKey(account.getId())) {
+                reservedNumbers--;
+            } else {
+                numbers.put(account.getId(), idsByNumber.append(account.getId()) + 1);
+            }
+        } else if (previous.getUser() != null) {
+            accountsByUser.getOrDefault(previous.getUser().getId(), List.of()).remove(previous);
+        }
+        if (account.getUser() != null) {
+            accountsByUser.computeIfAbsent(account.getUser().getId(), id -> new CopyOnWriteArrayList<>()).add(account);
+        }
+        synchronized (account) {
+            balanceChanges.publish(account);
+        }
+    }
+
+    /**
+     * Quita una cuenta del servicio, por ejemplo para trasladarla a otro nodo. Su número queda
+     * reservado: {@link #getAccountByNumber} devuelve null para él, las páginas lo omiten y, si
+     * la cuenta vuelve a restaurarse, recupera el mismo número.
+     * @param accountId id de la cuenta
+     * @return cuenta quitada, o null si no estaba registrada
+     */
+    public synchronized Account removeAccount(String accountId) {
+        Account removed = accountId == null ? null : accounts.remove(accountId);
+        if (removed == null) {
+            return null;
+        }
+        reservedNumbers++;
+        if (removed.getUser() != null) {
+            List<Account> userAccounts = accountsByUser.get(removed.getUser().getId());
+            if (userAccounts != null) {
+                userAccounts.remove(removed);
+            }
+        }
+        return removed;
+    }
+
     @Override
     public Account getAccount(String accountId) {
         if (accountId == null || accountId.isBlank()) {
@@ -37,22 +128,226 @@ public class AccountServiceImpl implements AccountService {
         return accounts.get(accountId);
     }
 
+    @Override
+    public Account getAccountByNumber(int number) {
+        if (number <= 0 || number > idsByNumber.size()) {
+            return null;
+        }
+        return accounts.get(idsByNumber.get(number - 1));
+    }
+
+    @Override
+    public int getAccountNumber(String accountId) {
+        if (accountId == null || !accounts.containsKey(accountId)) {
+            return 0;
+        }
+        return numbers.getOrDefault(accountId, 0);
+    }
+
+    @Override
+    public int getAccountCount() {
+        return accounts.size();
+    }
+
+    /**
+     * Obtiene una página de cuentas presentes en orden de número. Sin números reservados la
+     * página empieza directamente en la posición {@code offset}; con números reservados se
+     * recorren los números desde el principio saltando los que no tienen cuenta.
+     */
+    @Override
+    public List<Account> getAccounts(int offset, int limit) {
+        if (offset < 0 || limit < 0) {
+            throw new IllegalArgumentException("Parámetros de página inválidos");
+        }
+        int size = idsByNumber.size();
+        int position = reservedNumbers == 0 ? offset : 0;
+        int skip = offset - position;
+        if (position >= size || limit == 0) {
+            return List.of();
+        }
+        List<Account> page = new ArrayList<>(Math.min(limit, size - position));
+        for (; position < size && page.size() < limit; position++) {
+            Account account = accounts.get(idsByNumber.get(position));
+            if (account == null) {
+                continue;
+            }
+            if (skip > 0) {
+                skip--;
+            } else {
+                page.add(account);
+            }
+        }
+        return Collections.unmodifiableList(page);
+    }
+
     @Override
     public boolean deposit(String accountId, double amount) {
-        Account account = getAccount(accountId);
+        return tryDeposit(accountId, amount).isSuccess();
+    }
+
+    @Override
+    public OperationResult tryDeposit(String accountId, double amount) {
+        Account account = accountId == null ? null : accounts.get(accountId);
         if (account == null) {
-            return false;
+            return OperationResult.ACCOUNT_NOT_FOUND;
+        }
+        synchronized (account) {
+            return published(account, account.tryDeposit(amount));
         }
-        return account.deposit(amount);
     }
 
     @Override
     public boolean withdraw(String accountId, double amount) {
+        return tryWithdraw(accountId, amount).isSuccess();
+    }
+
+    @Override
+    public OperationResult tryWithdraw(String accountId, double amount) {
+        Account account = accountId == null ? null : accounts.get(accountId);
+        if (account == null) {
+            return OperationResult.ACCOUNT_NOT_FOUND;
+        }
+        synchronized (account) {
+            return published(account, account.tryWithdraw(amount));
+        }
+    }
+
+    @Override
+    public boolean convert(String accountId, Currency from, Currency to, double amount, double convertedAmount) {
+        return tryConvert(accountId, from, to, amount, convertedAmount).isSuccess();
+    }
+
+    @Override
+    public OperationResult tryConvert(String accountId, Currency from, Currency to, double amount, double convertedAmount) {
+        Account account = accountId == null ? null : accounts.get(accountId);
+        if (account == null) {
+            return OperationResult.ACCOUNT_NOT_FOUND;
+        }
+        synchronized (account) {
+            return published(account, account.tryConvert(from, to, amount, convertedAmount));
+        }
+    }
+
+    @Override
+    public OperationResult tryTransfer(String fromAccountId, String toAccountId, double amount) {
+        if (fromAccountId != null && fromAccountId.equals(toAccountId)) {
+            return OperationResult.INVALID_OPERATION;
+        }
+        Account target = toAccountId == null ? null : accounts.get(toAccountId);
+        Account source = fromAccountId == null ? null : accounts.get(fromAccountId);
+        if (target == null || source == null) {
+            return OperationResult.ACCOUNT_NOT_FOUND;
+        }
+        // Se rechaza antes de descontar; commit lo vuelve a verificar por si cambió entre tanto
+        if (source.getCurrency() != target.getCurrency()) {
+            return OperationResult.INVALID_OPERATION;
+        }
+        Reservation reservation = reserve(fromAccountId, amount);
+        if (!reservation.result().isSuccess()) {
+            return reservation.result();
+        }
+        OperationResult committed = commit(toAccountId, reservation);
+        if (!committed.isSuccess()) {
+            release(reservation);
+        }
+        return committed;
+    }
+
+    /**
+     * Monto reservado en el primer paso de una transferencia.
+     * @param accountId cuenta origen
+     * @param currency moneda principal del origen al reservar
+     * @param amount monto descontado
+     * @param result resultado de la reserva; si no es OK no se descontó nada
+     */
+    record Reservation(String accountId, Currency currency, double amount, OperationResult result) {
+    }
+
+    /**
+     * Primer paso de una transferencia: descuenta el monto del saldo principal del origen.
+     */
+    Reservation reserve(String fromAccountId, double amount) {
+        Account account = fromAccountId == null ? null : accounts.get(fromAccountId);
+        if (account == null) {
+            return new Reservation(fromAccountId, null, amount, OperationResult.ACCOUNT_NOT_FOUND);
+        }
+        synchronized (account) {
+            Currency currency = account.getCurrency();
+            return new Reservation(fromAccountId, currency, amount, published(account, account.tryWithdraw(currency, amount)));
+        }
+    }
+
+    /**
+     * Segundo paso: acredita la reserva en el destino si su moneda principal es la reservada.
+     */
+    OperationResult commit(String toAccountId, Reservation reservation) {
+        Account account = toAccountId == null ? null : accounts.get(toAccountId);
+        if (account == null) {
+            return OperationResult.ACCOUNT_NOT_FOUND;
+        }
+        synchronized (account) {
+            if (account.getCurrency() != reservation.currency()) {
+                return OperationResult.INVALID_OPERATION;
+            }
+            return published(account, account.tryDeposit(reservation.amount()));
+        }
+    }
+
+    /**
+     * Deshace una reserva que el destino rechazó: devuelve el monto al sub-saldo del que salió.
+     * La devolución no puede rechazarse, aunque el origen se haya desactivado desde la reserva.
+     */
+    void release(Reservation reservation) {
+        Account account = accounts.get(reservation.accountId());
+        synchronized (account) {
+            account.refund(reservation.currency(), reservation.amount());
+            balanceChanges.publish(account);
+        }
+    }
+
+    @Override
+    public void applyConversion(String accountId, Currency newCurrency, double newBalance) {
         Account account = getAccount(accountId);
         if (account == null) {
-            return false;
+            throw new IllegalArgumentException("Cuenta no encontrada");
+        }
+        synchronized (account) {
+            account.applyConversion(newCurrency, newBalance);
+            balanceChanges.publish(account);
         }
-        return account.withdraw(amount);
+    }
+
+    @Override
+    public Conversion tryConvertAll(String accountId, RateSnapshot rates, Currency target) {
+        Account account = accountId == null ? null : accounts.get(accountId);
+        if (account == null) {
+            return Conversion.rejected(OperationResult.ACCOUNT_NOT_FOUND);
+        }
+        synchronized (account) {
+            Conversion conversion = account.tryConvertAll(rates, target);
+            published(account, conversion.getResult());
+            return conversion;
+        }
+    }
+
+    /**
+     * Notifica el nuevo saldo si la operación tuvo éxito. Se llama con el lock de la cuenta.
+     */
+    private OperationResult published(Account account, OperationResult result) {
+        if (result.isSuccess()) {
+            balanceChanges.publish(account);
+        }
+        return result;
+    }
+
+    @Override
+    public Flow.Publisher<BalanceChange> getBalanceChanges(Collection<String> accountIds) {
+        return balanceChanges.forAccounts(accountIds);
+    }
+
+    @Override
+    public void addBalanceListener(Consumer<BalanceChange> listener) {
+        balanceChanges.addListener(listener);
     }
 
     @Override
@@ -69,8 +364,12 @@ public class AccountServiceImpl implements AccountService {
         if (userId == null || userId.isBlank()) {
             return List.of();
         }
-        return accounts.values().stream()
-                .filter(a -> a.getUser() != null && userId.equals(a.getUser().getId()))
-                .collect(Collectors.toList());
+        List<Account> userAccounts = accountsByUser.get(userId);
+        return userAccounts == null ? List.of() : List.copyOf(userAccounts);
+    }
+
+    @Override
+    public List<Account> getAllAccounts() {
+        return getAccounts(0, Integer.MAX_VALUE);
     }
 }
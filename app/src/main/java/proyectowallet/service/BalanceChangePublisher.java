@@ -0,0 +1,333 @@
+package proyectowallet.service;
+
+import proyectowallet.model.Account;
+import proyectowallet.model.BalanceChange;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Publica los cambios de saldo a suscriptores {@link Flow.Subscriber}, cada uno filtrado por un
+ * conjunto de cuentas.
+ * <p>
+ * Cada suscripción entrega solo lo pedido con {@link Flow.Subscription#request(long)}, en el
+ * {@link Executor} configurado y nunca en el hilo que modificó la cuenta. Los cambios no pedidos
+ * se guardan en orden hasta {@code bufferSize}; a partir de ahí se combinan por cuenta (gana el
+ * último saldo) hasta que el suscriptor se pone al día. Así un suscriptor atrasado guarda como
+ * máximo {@code bufferSize} cambios más uno por cuenta suscrita, y de cada cuenta siempre recibe
+ * el saldo final. A diferencia de {@link java.util.concurrent.SubmissionPublisher}, un suscriptor
+ * lento no bloquea a quien publica ni pierde el último saldo.
+ * <p>
+ * Además admite oyentes sincrónicos ({@link #addListener}) que reciben todos los cambios de todas
+ * las cuentas en el hilo que publica, con el lock de la cuenta tomado. Sirven para mantener
+ * agregados que no pueden perder ni combinar cambios, como el patrimonio por usuario.
+ */
+public class BalanceChangePublisher implements AutoCloseable {
+    public static final int DEFAULT_BUFFER_SIZE = 256;
+
+    private final Executor executor;
+    private final int bufferSize;
+    private final AtomicLong conflated = new AtomicLong();
+    private volatile BalanceSubscription[] subscriptions = new BalanceSubscription[0];
+    private volatile Consumer<BalanceChange>[] listeners = newListeners(0);
+    private boolean closed;
+
+    public BalanceChangePublisher() {
+        this(ForkJoinPool.commonPool(), DEFAULT_BUFFER_SIZE);
+    }
+
+    /**
+     * Crea el publicador.
+     * @param executor donde se entregan las notificaciones a los suscriptores
+     * @param bufferSize cambios que se guardan en orden por suscriptor antes de combinarlos por
+     *                   cuenta; 0 entrega siempre solo el último saldo de cada cuenta
+     */
+    public BalanceChangePublisher(Executor executor, int bufferSize) {
+        if (executor == null || bufferSize < 0) {
+            throw new IllegalArgumentException("Parámetros inválidos para el publicador de saldos");
+        }
+        this.executor = executor;
+        this.bufferSize = bufferSize;
+    }
+
+    /**
+     * Obtiene un publicador de los cambios de saldo de algunas cuentas. Cada suscriptor recibe
+     * los cambios posteriores a su suscripción.
+     * @param accountIds ids de las cuentas a observar
+     * @return publicador filtrado por esas cuentas
+     */
+    public Flow.Publisher<BalanceChange> forAccounts(Collection<String> accountIds) {
+        if (accountIds == null || accountIds.isEmpty()) {
+            throw new IllegalArgumentException("Debe indicar al menos una cuenta");
+        }
+        for (String accountId : accountIds) {
+            if (accountId == null) {
+                throw new IllegalArgumentException("ID de cuenta inválido");
+            }
+        }
+        Set<String> filter = Set.copyOf(accountIds);
+        return subscriber -> subscribe(subscriber, filter);
+    }
+
+    private void subscribe(Flow.Subscriber<? super BalanceChange> subscriber, Set<String> filter) {
+        if (subscriber == null) {
+            throw new NullPointerException("El suscriptor no puede ser nulo");
+        }
+        BalanceSubscription subscription = new BalanceSubscription(subscriber, filter);
+        subscriber.onSubscribe(subscription);
+        boolean added = false;
+        synchronized (this) {
+            if (!closed && !subscription.isCancelled()) {
+                BalanceSubscription[] current = subscriptions;
+                BalanceSubscription[] updated = Arrays.copyOf(current, current.length + 1);
+                updated[current.length] = subscription;
+                subscriptions = updated;
+                added = true;
+            }
+        }
+        if (!added) {
+            subscription.complete();
+        }
+    }
+
+    /**
+     * Agrega un oyente que recibe cada cambio de saldo de cualquier cuenta, en orden por cuenta,
+     * en el hilo que lo publica y con el lock de la cuenta tomado. Debe ser rápido y no tomar el
+     * lock de otra cuenta. Si lanza una excepción, esta llega a quien modificó la cuenta.
+     * @param listener oyente
+     */
+    public synchronized void addListener(Consumer<BalanceChange> listener) {
+        if (listener == null) {
+            throw new IllegalArgumentException("El oyente no puede ser nulo");
+        }
+        Consumer<BalanceChange>[] updated = Arrays.copyOf(listeners, listeners.length + 1);
+        updated[listeners.length] = listener;
+        listeners = updated;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Consumer<BalanceChange>[] newListeners(int length) {
+        return (Consumer<BalanceChange>[]) new Consumer<?>[length];
+    }
+
+    private synchronized void remove(BalanceSubscription subscription) {
+        BalanceSubscription[] current = subscriptions;
+        for (int i = 0; i < current.length; i++) {
+            if (current[i] == subscription) {
+                BalanceSubscription[] updated = new BalanceSubscription[current.length - 1];
+                System.arraycopy(current, 0, updated, 0, i);
+                System.arraycopy(current, i + 1, updated, i, current.length - i - 1);
+                subscriptions = updated;
+                return;
+            }
+        }
+    }
+
+    /**
+     * Indica si hay suscriptores, sin contar los oyentes.
+     */
+    public boolean hasSubscribers() {
+        return subscriptions.length > 0;
+    }
+
+    /**
+     * Notifica el estado actual de una cuenta a los oyentes y a los suscriptores que la observan.
+     * Para que el orden de las notificaciones sea el de las operaciones, se llama con el lock de
+     * la cuenta.
+     * @param account cuenta modificada
+     */
+    public void publish(Account account) {
+        Consumer<BalanceChange>[] currentListeners = listeners;
+        BalanceSubscription[] current = subscriptions;
+        if (current.length == 0 && currentListeners.length == 0) {
+            return;
+        }
+        BalanceChange change = null;
+        if (currentListeners.length > 0) {
+            change = BalanceChange.of(account);
+            for (Consumer<BalanceChange> listener : currentListeners) {
+                listener.accept(change);
+            }
+        }
+        for (BalanceSubscription subscription : current) {
+            if (subscription.filter.contains(account.getId())) {
+                if (change == null) {
+                    change = BalanceChange.of(account);
+                }
+                subscription.offer(change);
+            }
+        }
+    }
+
+    /**
+     * Obtiene la cantidad de cambios reemplazados por uno más nuevo de la misma cuenta antes de
+     * entregarse, sumando todos los suscriptores.
+     */
+    public long getConflatedCount() {
+        return conflated.get();
+    }
+
+    /**
+     * Deja de aceptar suscriptores y completa los actuales después de entregarles lo pendiente.
+     */
+    @Override
+    public void close() {
+        BalanceSubscription[] current;
+        synchronized (this) {
+            closed = true;
+            current = subscriptions;
+            subscriptions = new BalanceSubscription[0];
+        }
+        for (BalanceSubscription subscription : current) {
+            subscription.complete();
+        }
+    }
+
+    /**
+     * Suscripción de un suscriptor: cambios pendientes, demanda y entrega serializada.
+     * El estado se protege con el lock de la suscripción; {@code wip} asegura que un solo
+     * hilo a la vez entregue, sin llamar al suscriptor con el lock tomado.
+     */
+    private final class BalanceSubscription implements Flow.Subscription {
+        private final Flow.Subscriber<? super BalanceChange> subscriber;
+        private final Set<String> filter;
+        private final ArrayDeque<BalanceChange> queue = new ArrayDeque<>();
+        /** Últimos cambios por cuenta; se usa mientras el suscriptor está atrasado. */
+        private final Map<String, BalanceChange> latest = new LinkedHashMap<>();
+        private final AtomicInteger wip = new AtomicInteger();
+        private long requested;
+        private boolean cancelled;
+        private boolean completed;
+        private Throwable error;
+
+        BalanceSubscription(Flow.Subscriber<? super BalanceChange> subscriber, Set<String> filter) {
+            this.subscriber = subscriber;
+            this.filter = filter;
+        }
+
+        void offer(BalanceChange change) {
+            synchronized (this) {
+                if (cancelled || completed) {
+                    return;
+                }
+                // Mientras haya cambios combinados, los nuevos también se combinan: encolarlos
+                // los entregaría antes que los combinados, que son más viejos
+                if (latest.isEmpty() && queue.size() < bufferSize) {
+                    queue.add(change);
+                } else if (latest.put(change.getAccountId(), change) != null) {
+                    conflated.incrementAndGet();
+                }
+            }
+            schedule();
+        }
+
+        @Override
+        public void request(long n) {
+            synchronized (this) {
+                if (cancelled) {
+                    return;
+                }
+                if (n <= 0) {
+                    error = new IllegalArgumentException("La cantidad pedida debe ser positiva: " + n);
+                } else {
+                    requested = requested + n < 0 ? Long.MAX_VALUE : requested + n;
+                }
+            }
+            schedule();
+        }
+
+        @Override
+        public void cancel() {
+            synchronized (this) {
+                cancelled = true;
+                queue.clear();
+                latest.clear();
+            }
+            remove(this);
+        }
+
+        synchronized boolean isCancelled() {
+            return cancelled;
+        }
+
+        void complete() {
+            synchronized (this) {
+                completed = true;
+            }
+            schedule();
+        }
+
+        private void schedule() {
+            if (wip.getAndIncrement() == 0) {
+                try {
+                    executor.execute(this::drain);
+                } catch (RejectedExecutionException e) {
+                    drain();
+                }
+            }
+        }
+
+        private void drain() {
+            int missed = 1;
+            do {
+                BalanceChange next;
+                while ((next = take()) != null) {
+                    try {
+                        subscriber.onNext(next);
+                    } catch (RuntimeException e) {
+                        // Un suscriptor que falla queda cancelado (regla 2.13 de Reactive Streams)
+                        cancel();
+                        return;
+                    }
+                }
+                Throwable failure;
+                boolean done;
+                synchronized (this) {
+                    failure = cancelled ? null : error;
+                    done = !cancelled && error == null && completed && queue.isEmpty() && latest.isEmpty();
+                    if (failure != null || done) {
+                        cancelled = true;
+                    }
+                }
+                if (failure != null) {
+                    remove(this);
+                    subscriber.onError(failure);
+                    return;
+                }
+                if (done) {
+                    remove(this);
+                    subscriber.onComplete();
+                    return;
+                }
+                missed = wip.addAndGet(-missed);
+            } while (missed != 0);
+        }
+
+        private synchronized BalanceChange take() {
+            if (cancelled || error != null || requested == 0) {
+                return null;
+            }
+            BalanceChange next = queue.poll();
+            if (next == null && !latest.isEmpty()) {
+                Iterator<BalanceChange> oldest = latest.values().iterator();
+                next = oldest.next();
+                oldest.remove();
+            }
+            if (next != null && requested != Long.MAX_VALUE) {
+                requested--;
+            }
+            return next;
+        }
+    }
+}
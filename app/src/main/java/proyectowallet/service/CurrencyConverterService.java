@@ -1,6 +1,7 @@
 package proyectowallet.service;
 
 import proyectowallet.model.Currency;
+import proyectowallet.model.RateSnapshot;
 
 /**
  * Interfaz para servicios de conversión de monedas.
@@ -23,4 +24,31 @@ public interface CurrencyConverterService {
      * @return tasa de cambio
      */
     double getExchangeRate(Currency from, Currency to);
+
+    /**
+     * Convierte en bloque un arreglo de montos, cada uno con su propio par de monedas.
+     * Todas las conversiones del lote usan el mismo snapshot de tasas.
+     * @param amounts montos a convertir (no negativos)
+     * @param fromOrdinals ordinal de {@link Currency} origen de cada monto
+     * @param toOrdinals ordinal de {@link Currency} destino de cada monto
+     * @param target arreglo destino (puede ser el mismo que {@code amounts})
+     * @return versión del snapshot de tasas usado
+     */
+    long convertAll(double[] amounts, int[] fromOrdinals, int[] toOrdinals, double[] target);
+
+    /**
+     * Convierte en bloque un arreglo de montos de un mismo par de monedas.
+     * @param amounts montos a convertir (no negativos)
+     * @param from moneda origen
+     * @param to moneda destino
+     * @param target arreglo destino (puede ser el mismo que {@code amounts})
+     * @return versión del snapshot de tasas usado
+     */
+    long convertAll(double[] amounts, Currency from, Currency to, double[] target);
+
+    /**
+     * Obtiene el snapshot de tasas vigente, para convertir y auditar con una misma versión.
+     * @return snapshot de tasas actual
+     */
+    RateSnapshot getRateSnapshot();
 }
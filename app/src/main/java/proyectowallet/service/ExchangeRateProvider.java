@@ -0,0 +1,26 @@
+package proyectowallet.service;
+
+import proyectowallet.model.Currency;
+import proyectowallet.model.RateSnapshot;
+import java.util.Map;
+
+/**
+ * Interfaz para proveedores de tasas de cambio.
+ * Publica snapshots inmutables que se reemplazan de forma atómica:
+ * los lectores nunca se bloquean mientras se actualizan las tasas.
+ * Implementa principio SOLID: Dependency Inversion.
+ */
+public interface ExchangeRateProvider {
+    /**
+     * Obtiene el snapshot de tasas vigente.
+     * @return snapshot actual (nunca null)
+     */
+    RateSnapshot getSnapshot();
+
+    /**
+     * Publica nuevas tasas respecto al USD como un nuevo snapshot.
+     * @param ratesToUSD tasa a USD de cada moneda soportada
+     * @return snapshot publicado
+     */
+    RateSnapshot updateRates(Map<Currency, Double> ratesToUSD);
+}
@@ -0,0 +1,41 @@
+package proyectowallet.service;
+
+import proyectowallet.model.Currency;
+import proyectowallet.model.RateSnapshot;
+import java.util.Map;
+
+/**
+ * Implementación en memoria del proveedor de tasas de cambio.
+ * El snapshot vigente se guarda en un campo volatile: la lectura es un simple acceso
+ * a memoria y las actualizaciones construyen un snapshot nuevo que se intercambia atómicamente.
+ * Solo los escritores se serializan entre sí para mantener versiones crecientes.
+ */
+public class ExchangeRateProviderImpl implements ExchangeRateProvider {
+    private volatile RateSnapshot current;
+
+    /**
+     * Crea el proveedor con las tasas de referencia de {@link Currency}.
+     */
+    public ExchangeRateProviderImpl() {
+        this(RateSnapshot.fromDefaults());
+    }
+
+    public ExchangeRateProviderImpl(RateSnapshot initialSnapshot) {
+        if (initialSnapshot == null) {
+            throw new IllegalArgumentException("Snapshot inicial no puede ser nulo");
+        }
+        this.current = initialSnapshot;
+    }
+
+    @Override
+    public RateSnapshot getSnapshot() {
+        return current;
+    }
+
+    @Override
+    public synchronized RateSnapshot updateRates(Map<Currency, Double> ratesToUSD) {
+        RateSnapshot next = RateSnapshot.fromRatesToUSD(current.getVersion() + 1, ratesToUSD);
+        current = next;
+        return next;
+    }
+}
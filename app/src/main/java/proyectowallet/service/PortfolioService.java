@@ -0,0 +1,43 @@
+package proyectowallet.service;
+
+import proyectowallet.model.BalanceChange;
+import proyectowallet.model.Currency;
+
+/**
+ * Interfaz para el servicio de patrimonio por usuario.
+ * Mantiene de forma incremental las tenencias de cada usuario por moneda y su
+ * patrimonio total en una moneda de reporte, para lecturas en tiempo constante.
+ * Se mantiene al día suscribiendo {@link #applyBalance} a los cambios de saldo del servicio de
+ * cuentas ({@link AccountService#addBalanceListener}).
+ * Implementa principio SOLID: Dependency Inversion.
+ */
+public interface PortfolioService {
+    /**
+     * Aplica el nuevo estado de una cuenta: suma a las tenencias de su titular la diferencia
+     * con el último estado recibido de esa cuenta (o todo el saldo si es el primero).
+     * Los cambios de una misma cuenta deben llegar en orden.
+     * @param change estado de la cuenta después del cambio
+     */
+    void applyBalance(BalanceChange change);
+
+    /**
+     * Obtiene las tenencias de un usuario en una moneda.
+     * @param userId id del usuario
+     * @param currency moneda
+     * @return suma de saldos del usuario en esa moneda
+     */
+    double getHolding(String userId, Currency currency);
+
+    /**
+     * Obtiene el patrimonio total del usuario en la moneda de reporte.
+     * @param userId id del usuario
+     * @return patrimonio total valorizado con las tasas vigentes
+     */
+    double getNetWorth(String userId);
+
+    /**
+     * Obtiene la moneda de reporte del patrimonio.
+     * @return moneda de reporte
+     */
+    Currency getReportingCurrency();
+}
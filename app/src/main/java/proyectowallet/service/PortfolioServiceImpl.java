@@ -0,0 +1,151 @@
+package proyectowallet.service;
+
+import proyectowallet.model.BalanceChange;
+import proyectowallet.model.Currency;
+import proyectowallet.model.RateSnapshot;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Implementación del servicio de patrimonio por usuario.
+ * Cada usuario tiene un arreglo de tenencias indexado por ordinal de {@link Currency}
+ * y una valorización inmutable publicada en un campo volatile. Los cambios de saldo actualizan
+ * ambos de forma incremental; cuando cambia el snapshot de tasas la valorización se
+ * recalcula de forma perezosa en la siguiente lectura. Las lecturas no toman locks
+ * mientras la valorización esté vigente.
+ * <p>
+ * Para {@link #applyBalance} se guarda el último estado recibido de cada cuenta; los cambios de
+ * una cuenta llegan en orden porque se publican con su lock tomado.
+ */
+public class PortfolioServiceImpl implements PortfolioService {
+    private static final Currency[] CURRENCIES = Currency.values();
+
+    private final CurrencyConverterService currencyConverter;
+    private final Currency reportingCurrency;
+    private final Map<String, Holdings> holdingsByUser = new ConcurrentHashMap<>();
+    private final Map<String, double[]> lastBalances = new ConcurrentHashMap<>();
+
+    public PortfolioServiceImpl(CurrencyConverterService currencyConverter, Currency reportingCurrency) {
+        if (currencyConverter == null || reportingCurrency == null) {
+            throw new IllegalArgumentException("Parámetros inválidos para el servicio de patrimonio");
+        }
+        this.currencyConverter = currencyConverter;
+        this.reportingCurrency = reportingCurrency;
+    }
+
+    @Override
+    public void applyBalance(BalanceChange change) {
+        if (change == null) {
+            throw new IllegalArgumentException("Cambio de saldo no puede ser nulo");
+        }
+        if (change.getUserId() == null) {
+            return;
+        }
+        double[] current = change.getBalances();
+        double[] previous = lastBalances.put(change.getAccountId(), current);
+        holdings(change.getUserId()).applyBalances(previous, current);
+    }
+
+    @Override
+    public double getHolding(String userId, Currency currency) {
+        Holdings holdings = userId == null ? null : holdingsByUser.get(userId);
+        return holdings == null ? 0 : holdings.get(currency);
+    }
+
+    @Override
+    public double getNetWorth(String userId) {
+        Holdings holdings = userId == null ? null : holdingsByUser.get(userId);
+        if (holdings == null) {
+            return 0;
+        }
+        Valuation valuation = holdings.valuation;
+        if (valuation.rateVersion == currencyConverter.getRateSnapshot().getVersion()) {
+            return valuation.netWorth;
+        }
+        return holdings.revalueIfStale();
+    }
+
+    @Override
+    public Currency getReportingCurrency() {
+        return reportingCurrency;
+    }
+
+    private Holdings holdings(String userId) {
+        return holdingsByUser.computeIfAbsent(userId, id -> new Holdings());
+    }
+
+    /**
+     * Patrimonio valorizado con una versión concreta de tasas.
+     */
+    private record Valuation(long rateVersion, double netWorth) {
+    }
+
+    /**
+     * Tenencias de un usuario. Las escrituras se serializan por usuario;
+     * las lecturas de la valorización usan el campo volatile.
+     */
+    private final class Holdings {
+        private final double[] amounts = new double[CURRENCIES.length];
+        private volatile Valuation valuation = new Valuation(Long.MIN_VALUE, 0);
+
+        synchronized double get(Currency currency) {
+            return amounts[currency.ordinal()];
+        }
+
+        synchronized void applyBalances(double[] previous, double[] current) {
+            Currency changed = null;
+            double changedDelta = 0;
+            int changes = 0;
+            for (Currency currency : CURRENCIES) {
+                int i = currency.ordinal();
+                double delta = previous == null ? current[i] : current[i] - previous[i];
+                if (delta != 0) {
+                    amounts[i] += delta;
+                    changed = currency;
+                    changedDelta = delta;
+                    changes++;
+                }
+            }
+            if (changes == 1) {
+                revalue(changed, changedDelta);
+            } else if (changes > 1) {
+                // Igual que una conversión: se revaloriza todo para no acumular error
+                revalue(currencyConverter.getRateSnapshot());
+            }
+        }
+
+        /**
+         * Actualiza la valorización tras variar una moneda, sin recorrer las demás si las tasas
+         * no cambiaron.
+         */
+        private void revalue(Currency currency, double delta) {
+            RateSnapshot rates = currencyConverter.getRateSnapshot();
+            Valuation current = valuation;
+            if (current.rateVersion == rates.getVersion()) {
+                valuation = new Valuation(current.rateVersion,
+                        current.netWorth + rates.convert(delta, currency, reportingCurrency));
+            } else {
+                revalue(rates);
+            }
+        }
+
+        synchronized double revalueIfStale() {
+            RateSnapshot rates = currencyConverter.getRateSnapshot();
+            Valuation current = valuation;
+            if (current.rateVersion == rates.getVersion()) {
+                // Otro hilo ya revalorizó con estas tasas mientras esperábamos el lock
+                return current.netWorth;
+            }
+            return revalue(rates);
+        }
+
+        private double revalue(RateSnapshot rates) {
+            double total = 0;
+            for (Currency currency : CURRENCIES) {
+                total += rates.convert(amounts[currency.ordinal()], currency, reportingCurrency);
+            }
+            valuation = new Valuation(rates.getVersion(), total);
+            return total;
+        }
+    }
+}
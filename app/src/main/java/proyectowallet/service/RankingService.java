@@ -0,0 +1,42 @@
+package proyectowallet.service;
+
+import proyectowallet.model.Account;
+import proyectowallet.model.Currency;
+import proyectowallet.model.Transaction;
+import java.util.List;
+
+/**
+ * Interfaz para consultas de ranking (top N) sobre cuentas y transacciones.
+ * Los montos se comparan valorizados en la moneda de reporte con las tasas vigentes.
+ * Implementa principio SOLID: Dependency Inversion.
+ */
+public interface RankingService {
+    /**
+     * Elemento de un ranking con el valor que determinó su posición.
+     * @param item elemento
+     * @param value valor en la moneda de reporte
+     * @param <T> tipo del elemento
+     */
+    record Ranked<T>(T item, double value) {
+    }
+
+    /**
+     * Obtiene las transacciones de mayor monto.
+     * @param limit cantidad máxima de resultados
+     * @return transacciones de mayor a menor monto
+     */
+    List<Ranked<Transaction>> getTopTransactions(int limit);
+
+    /**
+     * Obtiene las cuentas de mayor saldo total (suma de sub-saldos convertidos).
+     * @param limit cantidad máxima de resultados
+     * @return cuentas de mayor a menor saldo
+     */
+    List<Ranked<Account>> getTopAccountsByBalance(int limit);
+
+    /**
+     * Obtiene la moneda en que se valorizan montos y saldos.
+     * @return moneda de reporte
+     */
+    Currency getReportingCurrency();
+}
@@ -0,0 +1,145 @@
+package proyectowallet.service;
+
+import proyectowallet.model.Account;
+import proyectowallet.model.Currency;
+import proyectowallet.model.RateSnapshot;
+import proyectowallet.model.Transaction;
+import proyectowallet.util.TopN;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Implementación de las consultas de ranking.
+ * Divide el historial de transacciones (por posiciones) o las cuentas (por páginas en orden de
+ * número) en particiones que se recorren en paralelo en un {@link ForkJoinPool}; cada partición
+ * llena un {@link TopN} acotado y los resultados se combinan de a pares. No se copia ni se ordena
+ * el conjunto completo: cada partición pide solo su página y se ordenan los {@code limit}
+ * elementos finales. Todas las particiones valorizan con el mismo
+ * snapshot de tasas, tomado al comenzar la consulta.
+ */
+public class RankingServiceImpl implements RankingService {
+    private static final int TRANSACTIONS_PER_TASK = 16_384;
+    private static final int ACCOUNTS_PER_TASK = 1_024;
+
+    private final AccountService accountService;
+    private final TransactionService transactionService;
+    private final ExchangeRateProvider rateProvider;
+    private final Currency reportingCurrency;
+    private final ForkJoinPool pool;
+
+    public RankingServiceImpl(AccountService accountService, TransactionService transactionService,
+                              ExchangeRateProvider rateProvider) {
+        this(accountService, transactionService, rateProvider, Currency.USD, ForkJoinPool.commonPool());
+    }
+
+    public RankingServiceImpl(AccountService accountService, TransactionService transactionService,
+                              ExchangeRateProvider rateProvider, Currency reportingCurrency, ForkJoinPool pool) {
+        if (accountService == null || transactionService == null || rateProvider == null
+                || reportingCurrency == null || pool == null) {
+            throw new IllegalArgumentException("Parámetros inválidos para el servicio de ranking");
+        }
+        this.accountService = accountService;
+        this.transactionService = transactionService;
+        this.rateProvider = rateProvider;
+        this.reportingCurrency = reportingCurrency;
+        this.pool = pool;
+    }
+
+    @Override
+    public List<Ranked<Transaction>> getTopTransactions(int limit) {
+        checkLimit(limit);
+        RateSnapshot rates = rateProvider.getSnapshot();
+        int target = reportingCurrency.ordinal();
+        PartitionScan<Transaction> scan = (from, to, top) -> transactionService.forEachTransaction(from, to, tx -> {
+            double value = tx.getAmount() * rates.getRate(tx.getCurrencyFrom().ordinal(), target);
+            top.offer(tx, value);
+        });
+        int count = transactionService.getTransactionCount();
+        return toList(pool.invoke(new TopTask<>(scan, 0, count, limit, TRANSACTIONS_PER_TASK)));
+    }
+
+    @Override
+    public List<Ranked<Account>> getTopAccountsByBalance(int limit) {
+        checkLimit(limit);
+        RateSnapshot rates = rateProvider.getSnapshot();
+        int target = reportingCurrency.ordinal();
+        PartitionScan<Account> scan = (from, to, top) -> {
+            double[] balances = new double[Currency.values().length];
+            for (Account account : accountService.getAccounts(from, to - from)) {
+                account.copyBalances(balances);
+                double value = 0;
+                for (int currency = 0; currency < balances.length; currency++) {
+                    value += balances[currency] * rates.getRate(currency, target);
+                }
+                top.offer(account, value);
+            }
+        };
+        int count = accountService.getAccountCount();
+        return toList(pool.invoke(new TopTask<>(scan, 0, count, limit, ACCOUNTS_PER_TASK)));
+    }
+
+    @Override
+    public Currency getReportingCurrency() {
+        return reportingCurrency;
+    }
+
+    private static void checkLimit(int limit) {
+        if (limit <= 0) {
+            throw new IllegalArgumentException("La cantidad de resultados debe ser positiva");
+        }
+    }
+
+    private static <T> List<Ranked<T>> toList(TopN<T> top) {
+        top.sortDescending();
+        List<Ranked<T>> ranking = new ArrayList<>(top.size());
+        for (int rank = 0; rank < top.size(); rank++) {
+            ranking.add(new Ranked<>(top.item(rank), top.score(rank)));
+        }
+        return Collections.unmodifiableList(ranking);
+    }
+
+    /**
+     * Recorre una partición {@code [from, to)} ofreciendo sus elementos al top.
+     */
+    @FunctionalInterface
+    private interface PartitionScan<T> {
+        void scan(int from, int to, TopN<T> top);
+    }
+
+    /**
+     * Tarea que divide un rango hasta el umbral, recorre las hojas y combina los tops.
+     */
+    private static final class TopTask<T> extends RecursiveTask<TopN<T>> {
+        private final PartitionScan<T> scan;
+        private final int from;
+        private final int to;
+        private final int limit;
+        private final int threshold;
+
+        TopTask(PartitionScan<T> scan, int from, int to, int limit, int threshold) {
+            this.scan = scan;
+            this.from = from;
+            this.to = to;
+            this.limit = limit;
+            this.threshold = threshold;
+        }
+
+        @Override
+        protected TopN<T> compute() {
+            if (to - from <= threshold) {
+                TopN<T> top = new TopN<>(limit);
+                scan.scan(from, to, top);
+                return top;
+            }
+            int middle = (from + to) >>> 1;
+            TopTask<T> right = new TopTask<>(scan, middle, to, limit, threshold);
+            right.fork();
+            TopN<T> top = new TopTask<>(scan, from, middle, limit, threshold).compute();
+            top.merge(right.join());
+            return top;
+        }
+    }
+}
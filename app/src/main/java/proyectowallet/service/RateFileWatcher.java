@@ -0,0 +1,183 @@
+package proyectowallet.service;
+
+import proyectowallet.model.Currency;
+import proyectowallet.model.RateSnapshot;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Carga en caliente las tasas de cambio desde archivos dejados en un directorio.
+ * Un hilo daemon escucha el directorio con {@link WatchService}; cada archivo {@code *.rates}
+ * nuevo o modificado se parsea, se valida y se publica como un nuevo snapshot en el
+ * {@link ExchangeRateProvider}. El parseo ocurre fuera de los hilos de conversión,
+ * por lo que una recarga nunca detiene las conversiones en curso.
+ * <p>
+ * Formato del archivo: una línea {@code MONEDA=tasaAUSD} por moneda soportada;
+ * las líneas vacías y las que comienzan con {@code #} se ignoran.
+ */
+public class RateFileWatcher implements AutoCloseable {
+    public static final String FILE_SUFFIX = ".rates";
+
+    private final Path directory;
+    private final ExchangeRateProvider rateProvider;
+    private WatchService watchService;
+    private Thread worker;
+    private volatile boolean running;
+    private volatile String lastError;
+
+    public RateFileWatcher(Path directory, ExchangeRateProvider rateProvider) {
+        if (directory == null || rateProvider == null) {
+            throw new IllegalArgumentException("Parámetros inválidos para el cargador de tasas");
+        }
+        this.directory = directory;
+        this.rateProvider = rateProvider;
+    }
+
+    /**
+     * Carga el archivo de tasas más reciente del directorio y comienza a escuchar cambios.
+     * @throws IOException si el directorio no se puede observar
+     */
+    public synchronized void start() throws IOException {
+        if (running) {
+            return;
+        }
+        watchService = directory.getFileSystem().newWatchService();
+        directory.register(watchService,
+                StandardWatchEventKinds.ENTRY_CREATE,
+                StandardWatchEventKinds.ENTRY_MODIFY);
+        loadLatest();
+
+        running = true;
+        worker = new Thread(this::watchLoop, "rate-file-watcher");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    private void watchLoop() {
+        while (running) {
+            WatchKey key;
+            try {
+                key = watchService.take();
+            } catch (InterruptedException | ClosedWatchServiceException e) {
+                return;
+            }
+            for (WatchEvent<?> event : key.pollEvents()) {
+                if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+                    loadLatest();
+                    continue;
+                }
+                Path file = directory.resolve((Path) event.context());
+                if (isRateFile(file)) {
+                    load(file);
+                }
+            }
+            if (!key.reset()) {
+                running = false;
+            }
+        }
+    }
+
+    private static boolean isRateFile(Path file) {
+        return file.getFileName().toString().endsWith(FILE_SUFFIX);
+    }
+
+    private void loadLatest() {
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, "*" + FILE_SUFFIX)) {
+            Path latest = null;
+            for (Path file : files) {
+                if (latest == null
+                        || Files.getLastModifiedTime(file).compareTo(Files.getLastModifiedTime(latest)) > 0) {
+                    latest = file;
+                }
+            }
+            if (latest != null) {
+                load(latest);
+            }
+        } catch (IOException e) {
+            lastError = "No se pudo listar el directorio de tasas: " + e.getMessage();
+        }
+    }
+
+    /**
+     * Parsea, valida y publica un archivo de tasas.
+     * Un archivo inválido (o escrito a medias) se descarta y se mantiene el snapshot vigente.
+     * @param file archivo de tasas
+     * @return snapshot publicado, o null si el archivo fue rechazado
+     */
+    public RateSnapshot load(Path file) {
+        try {
+            Map<Currency, Double> rates = parse(Files.readAllLines(file, StandardCharsets.UTF_8));
+            RateSnapshot snapshot = rateProvider.updateRates(rates);
+            lastError = null;
+            return snapshot;
+        } catch (IOException | IllegalArgumentException e) {
+            lastError = file.getFileName() + ": " + e.getMessage();
+            return null;
+        }
+    }
+
+    /**
+     * Parsea y valida el contenido de un archivo de tasas.
+     * @param lines líneas del archivo
+     * @return tasas a USD por moneda
+     * @throws IllegalArgumentException si el contenido es inválido o incompleto
+     */
+    static Map<Currency, Double> parse(List<String> lines) {
+        Map<Currency, Double> rates = new EnumMap<>(Currency.class);
+        for (String raw : lines) {
+            String line = raw.trim();
+            if (line.isEmpty() || line.startsWith("#")) {
+                continue;
+            }
+            int eq = line.indexOf('=');
+            if (eq <= 0) {
+                throw new IllegalArgumentException("Línea inválida: " + line);
+            }
+            Currency currency;
+            double rate;
+            try {
+                currency = Currency.valueOf(line.substring(0, eq).trim().toUpperCase());
+                rate = Double.parseDouble(line.substring(eq + 1).trim());
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Tasa no numérica: " + line);
+            }
+            if (rates.put(currency, rate) != null) {
+                throw new IllegalArgumentException("Moneda duplicada: " + currency);
+            }
+        }
+        if (rates.size() != Currency.values().length) {
+            throw new IllegalArgumentException("Faltan monedas en el archivo de tasas");
+        }
+        if (rates.get(Currency.USD) != 1.0) {
+            throw new IllegalArgumentException("La tasa de USD debe ser 1.0");
+        }
+        return rates;
+    }
+
+    /**
+     * Obtiene el último error de carga, si lo hubo.
+     * @return mensaje de error o null si la última carga fue exitosa
+     */
+    public String getLastError() {
+        return lastError;
+    }
+
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        running = false;
+        if (watchService != null) {
+            watchService.close();
+        }
+        if (worker != null) {
+            worker.interrupt();
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package proyectowallet.service;
+
+import proyectowallet.model.Account;
+import proyectowallet.model.AccountSummary;
+import proyectowallet.model.Transaction;
+import proyectowallet.model.TransactionView;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Interfaz del modelo de lectura para historial y reportes.
+ * Se construye en segundo plano a partir de los eventos de dominio, separado de los servicios
+ * que registran las operaciones: consultarlo nunca demora una escritura, a cambio de reflejar
+ * los cambios con un pequeño retraso que se puede medir y esperar.
+ * Implementa principio SOLID: Dependency Inversion.
+ */
+public interface ReadModelService {
+    /**
+     * Carga el estado recuperado al iniciar; los datos restaurados no generan eventos.
+     * @param accounts cuentas restauradas, con sus saldos actuales
+     * @param transactions transacciones restauradas, en orden de registro
+     */
+    void restore(Collection<Account> accounts, List<Transaction> transactions);
+
+    /**
+     * Obtiene el resumen de una cuenta.
+     * @param accountId identificador de la cuenta
+     * @return resumen, o null si la cuenta todavía no está en el modelo de lectura
+     */
+    AccountSummary getAccountSummary(String accountId);
+
+    /**
+     * Obtiene los resúmenes de todas las cuentas, en el orden en que aparecieron.
+     * @return resúmenes
+     */
+    List<AccountSummary> getAccountSummaries();
+
+    /**
+     * Obtiene los movimientos más recientes de una cuenta, del más nuevo al más viejo.
+     * @param accountId identificador de la cuenta
+     * @param limit cantidad máxima de movimientos
+     * @return movimientos (vacío si la cuenta no tiene)
+     */
+    List<TransactionView> getRecentActivity(String accountId, int limit);
+
+    /**
+     * Obtiene la posición del último evento aplicado (-1 si no se aplicó ninguno).
+     */
+    long getAppliedSequence();
+
+    /**
+     * Obtiene cuántos eventos publicados faltan aplicar.
+     */
+    long getLag();
+
+    /**
+     * Obtiene la antigüedad de los datos en milisegundos: 0 si el modelo está al día, o el
+     * tiempo desde la última vez que incluía todo lo publicado si hay eventos pendientes.
+     */
+    long getLagMillis();
+
+    /**
+     * Espera a que el modelo aplique un evento, por ejemplo para leer una escritura propia.
+     * @param sequence posición del evento esperado
+     * @param timeoutMillis tiempo máximo de espera
+     * @return true si el evento ya está aplicado
+     */
+    boolean awaitSequence(long sequence, long timeoutMillis);
+}
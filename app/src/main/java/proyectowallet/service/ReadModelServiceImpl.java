@@ -0,0 +1,259 @@
+package proyectowallet.service;
+
+import proyectowallet.event.EventBus;
+import proyectowallet.event.EventHandler;
+import proyectowallet.event.WalletEvent;
+import proyectowallet.model.Account;
+import proyectowallet.model.AccountSummary;
+import proyectowallet.model.BalanceChange;
+import proyectowallet.model.Currency;
+import proyectowallet.model.Transaction;
+import proyectowallet.model.TransactionView;
+import proyectowallet.util.ChunkedLog;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Implementación del modelo de lectura como consumidor del {@link EventBus}.
+ * <p>
+ * Un solo hilo (el del consumidor) aplica los eventos: reemplaza el {@link AccountSummary}
+ * inmutable de la cuenta en un {@link ConcurrentHashMap} y agrega el movimiento a un
+ * {@link ChunkedLog} por cuenta. Los lectores no toman locks ni copian más de lo que devuelven,
+ * y el hilo que registra la operación solo paga la publicación en el bus.
+ * <p>
+ * El retraso está acotado por el bus: si el modelo queda una vuelta completa del buffer detrás,
+ * el bus hace esperar al que publica, así que nunca hay más de {@link EventBus#getCapacity()}
+ * eventos sin aplicar. Los cambios de saldo no esperan con el lock de la cuenta tomado: pasan por
+ * un {@link proyectowallet.event.BalanceRelay} que, mientras el bus esté lleno, guarda solo el
+ * último estado de cada cuenta.
+ * <p>
+ * Los saldos se toman del {@link BalanceChange} de cada {@link WalletEvent.Type#BALANCE_CHANGED},
+ * que lleva el estado completo de la cuenta: no se suman movimientos, así que el resumen refleja
+ * también los cambios que no generan otro evento (una transferencia devuelta, un traslado entre
+ * nodos). Los demás eventos solo agregan el movimiento al historial y a los totales. El modelo
+ * debe suscribirse antes de que se creen cuentas y las existentes se cargan con
+ * {@link #restore}. El estado de una cuenta que todavía no tiene resumen (el servicio publica
+ * el saldo al registrarla, antes del {@code ACCOUNT_CREATED}) se guarda hasta que llega su
+ * creación; los movimientos de una cuenta desconocida se ignoran.
+ */
+public class ReadModelServiceImpl implements ReadModelService, EventHandler {
+    private static final long AWAIT_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(100);
+
+    private final EventBus bus;
+    private final Map<String, AccountSummary> summaries = new ConcurrentHashMap<>();
+    private final ChunkedLog<String> accountOrder = new ChunkedLog<>();
+    private final Map<String, ChunkedLog<TransactionView>> activity = new ConcurrentHashMap<>();
+    /** Último estado de cuentas sin resumen todavía; solo lo usa el hilo consumidor. */
+    private final Map<String, BalanceChange> unclaimed = new HashMap<>();
+    private volatile long appliedSequence = -1;
+    /** Instante hasta el cual el modelo incluye todo lo publicado. */
+    private volatile long caughtUpAtMillis = System.currentTimeMillis();
+    // Estado del hilo consumidor
+    private boolean batchStarting = true;
+    private long batchStartMillis;
+
+    /**
+     * Crea el modelo vacío. Para recibir eventos hay que suscribirlo al bus con
+     * {@link EventBus#subscribe(String, EventHandler)}.
+     * @param bus bus del que se leen los eventos; se usa para medir el retraso
+     */
+    public ReadModelServiceImpl(EventBus bus) {
+        if (bus == null) {
+            throw new IllegalArgumentException("El bus de eventos no puede ser nulo");
+        }
+        this.bus = bus;
+    }
+
+    @Override
+    public synchronized void restore(Collection<Account> accounts, List<Transaction> transactions) {
+        if (accounts == null || transactions == null) {
+            throw new IllegalArgumentException("Parámetros inválidos para restaurar el modelo de lectura");
+        }
+        for (Account account : accounts) {
+            unclaimed.remove(account.getId());
+            put(adopt(account));
+        }
+        for (Transaction transaction : transactions) {
+            AccountSummary summary = summaries.get(transaction.getAccount().getId());
+            if (summary == null) {
+                continue;
+            }
+            TransactionView view = TransactionView.of(transaction);
+            history(summary.getAccountId()).append(view);
+            put(counted(summary, view.getType(), view.getAmount(), view.getTimestampMillis(), -1));
+        }
+    }
+
+    @Override
+    public synchronized void onEvent(WalletEvent event, long sequence, boolean endOfBatch) {
+        if (batchStarting) {
+            // El lote incluye todo lo publicado hasta que el bus leyó el cursor, justo antes de este evento
+            batchStartMillis = System.currentTimeMillis();
+            batchStarting = false;
+        }
+        switch (event.getType()) {
+            case ACCOUNT_CREATED -> created(event, sequence);
+            case BALANCE_CHANGED -> balance(event.getBalanceChange(), event.getTimestamp(), sequence);
+            case DEPOSIT -> move(event, sequence, Transaction.TransactionType.DEPOSIT);
+            case WITHDRAWAL -> move(event, sequence, Transaction.TransactionType.WITHDRAWAL);
+            case TRANSFER_SENT -> move(event, sequence, Transaction.TransactionType.TRANSFER);
+            case TRANSFER_RECEIVED -> move(event, sequence, Transaction.TransactionType.TRANSFER_IN);
+            case CONVERSION, PARTIAL_CONVERSION -> convert(event, sequence);
+            default -> {
+                // Los registros de usuarios no cambian cuentas
+            }
+        }
+        if (endOfBatch) {
+            caughtUpAtMillis = batchStartMillis;
+            batchStarting = true;
+        }
+        // Escritura volátil al final: quien ve esta posición ve también los datos del evento
+        appliedSequence = sequence;
+    }
+
+    private void created(WalletEvent event, long sequence) {
+        BalanceChange state = unclaimed.remove(event.getAccount().getId());
+        Currency currency = event.getCurrency();
+        double[] balances;
+        if (state != null) {
+            currency = state.getCurrency();
+            balances = state.getBalances();
+        } else {
+            balances = new double[Currency.values().length];
+            balances[currency.ordinal()] = event.getAmount();
+        }
+        put(new AccountSummary(event.getAccount().getId(), event.getUser().getId(),
+                event.getUser().getFullName(), currency, balances, 0, 0, 0, event.getTimestamp(), sequence));
+    }
+
+    private void balance(BalanceChange change, long millis, long sequence) {
+        AccountSummary summary = summaries.get(change.getAccountId());
+        if (summary == null) {
+            unclaimed.put(change.getAccountId(), change);
+            return;
+        }
+        put(new AccountSummary(summary.getAccountId(), summary.getOwnerId(), summary.getOwnerName(),
+                change.getCurrency(), change.getBalances(), summary.getTransactionCount(),
+                summary.getTotalDeposits(), summary.getTotalWithdrawals(), millis, sequence));
+    }
+
+    private void move(WalletEvent event, long sequence, Transaction.TransactionType type) {
+        AccountSummary summary = summaries.get(event.getAccount().getId());
+        if (summary == null) {
+            return;
+        }
+        history(summary.getAccountId()).append(new TransactionView(type, event.getTimestamp(),
+                event.getCurrency(), event.getAmount(), event.getCurrency(), event.getAmount()));
+        put(counted(summary, type, event.getAmount(), event.getTimestamp(), sequence));
+    }
+
+    private void convert(WalletEvent event, long sequence) {
+        AccountSummary summary = summaries.get(event.getAccount().getId());
+        if (summary == null) {
+            return;
+        }
+        history(summary.getAccountId()).append(new TransactionView(Transaction.TransactionType.CONVERSION,
+                event.getTimestamp(), event.getCurrency(), event.getAmount(),
+                event.getTargetCurrency(), event.getConvertedAmount()));
+        put(counted(summary, Transaction.TransactionType.CONVERSION, event.getAmount(), event.getTimestamp(), sequence));
+    }
+
+    /**
+     * Crea el resumen de una cuenta restaurada a partir de su estado actual.
+     */
+    private static AccountSummary adopt(Account account) {
+        return new AccountSummary(account.getId(), account.getUser().getId(), account.getUser().getFullName(),
+                account.getCurrency(), account.getBalances(), 0, 0, 0, toMillis(account.getLastModifiedAt()), -1);
+    }
+
+    private static AccountSummary counted(AccountSummary summary, Transaction.TransactionType type, double amount,
+                                          long millis, long sequence) {
+        return new AccountSummary(summary.getAccountId(), summary.getOwnerId(), summary.getOwnerName(),
+                summary.getCurrency(), summary.getBalances(), summary.getTransactionCount() + 1,
+                summary.getTotalDeposits() + (type == Transaction.TransactionType.DEPOSIT ? amount : 0),
+                summary.getTotalWithdrawals() + (type == Transaction.TransactionType.WITHDRAWAL ? amount : 0),
+                millis, sequence);
+    }
+
+    private void put(AccountSummary summary) {
+        if (summaries.put(summary.getAccountId(), summary) == null) {
+            accountOrder.append(summary.getAccountId());
+        }
+    }
+
+    private ChunkedLog<TransactionView> history(String accountId) {
+        return activity.computeIfAbsent(accountId, id -> new ChunkedLog<>());
+    }
+
+    private static long toMillis(LocalDateTime dateTime) {
+        return dateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    @Override
+    public AccountSummary getAccountSummary(String accountId) {
+        return accountId == null ? null : summaries.get(accountId);
+    }
+
+    @Override
+    public List<AccountSummary> getAccountSummaries() {
+        List<AccountSummary> result = new ArrayList<>(accountOrder.size());
+        accountOrder.forEach(id -> result.add(summaries.get(id)));
+        return Collections.unmodifiableList(result);
+    }
+
+    @Override
+    public List<TransactionView> getRecentActivity(String accountId, int limit) {
+        if (limit <= 0) {
+            throw new IllegalArgumentException("La cantidad de resultados debe ser positiva");
+        }
+        ChunkedLog<TransactionView> history = accountId == null ? null : activity.get(accountId);
+        if (history == null) {
+            return List.of();
+        }
+        int end = history.size();
+        List<TransactionView> recent = new ArrayList<>(Math.min(limit, end));
+        for (int i = end - 1; i >= 0 && recent.size() < limit; i--) {
+            recent.add(history.get(i));
+        }
+        return Collections.unmodifiableList(recent);
+    }
+
+    @Override
+    public long getAppliedSequence() {
+        return appliedSequence;
+    }
+
+    @Override
+    public long getLag() {
+        return Math.max(0, bus.getPublishedSequence() - appliedSequence);
+    }
+
+    @Override
+    public long getLagMillis() {
+        if (getLag() == 0) {
+            return 0;
+        }
+        return Math.max(0, System.currentTimeMillis() - caughtUpAtMillis);
+    }
+
+    @Override
+    public boolean awaitSequence(long sequence, long timeoutMillis) {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+        while (appliedSequence < sequence) {
+            if (System.nanoTime() - deadline >= 0 || Thread.currentThread().isInterrupted()) {
+                return false;
+            }
+            LockSupport.parkNanos(AWAIT_PARK_NANOS);
+        }
+        return true;
+    }
+}
@@ -0,0 +1,490 @@
+package proyectowallet.service;
+
+import proyectowallet.model.Account;
+import proyectowallet.model.BalanceChange;
+import proyectowallet.model.Conversion;
+import proyectowallet.model.Currency;
+import proyectowallet.model.OperationResult;
+import proyectowallet.model.RateSnapshot;
+import proyectowallet.model.User;
+import proyectowallet.util.ChunkedLog;
+import proyectowallet.util.ConsistentHashRing;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Servicio de cuentas repartido entre varios nodos con hashing consistente: cada cuenta vive en
+ * el nodo dueño de su id según un {@link ConsistentHashRing} con nodos virtuales, y cada
+ * operación se reenvía a ese nodo. Los nodos son {@link AccountServiceImpl} en el mismo proceso,
+ * que comparten el {@link BalanceChangePublisher} del servicio.
+ * <p>
+ * Agregar o quitar un nodo no reparte todo de nuevo: se calcula qué cuentas cambian de dueño
+ * (con un nodo nuevo, en promedio 1/N) y se trasladan por lotes con {@link #migrate(int)}
+ * mientras el servicio sigue atendiendo. Hasta que se traslada, una cuenta se sigue atendiendo
+ * en su nodo anterior. Cada traslado toma el lock de escritura de la franja de la cuenta y las
+ * operaciones el de lectura, así que ninguna operación ve una cuenta a medio trasladar. En el
+ * mismo proceso el traslado mueve el objeto {@link Account}; un nodo remoto copiaría su estado
+ * en ese mismo punto.
+ * <p>
+ * Los números cortos de cuenta son globales: los asigna este servicio, no los nodos.
+ */
+public class RoutedAccountService implements AccountService {
+    private static final int LOCK_STRIPES = 64;
+
+    private final BalanceChangePublisher balanceChanges;
+    private final Map<String, AccountServiceImpl> nodes = new ConcurrentHashMap<>();
+    private volatile ConsistentHashRing ring;
+    /** Cuentas que siguen en un nodo que ya no es su dueño, con el id de ese nodo. */
+    private final Map<String, String> pendingSources = new ConcurrentHashMap<>();
+    /** Orden de traslado de las cuentas pendientes; se usa con el lock del servicio. */
+    private final ArrayDeque<String> pendingOrder = new ArrayDeque<>();
+    /** Nodo quitado del anillo que se elimina cuando termina de vaciarse. */
+    private String drainingNode;
+    /** Las altas de cuentas no pueden cruzarse con el cálculo de un traslado. */
+    private final ReentrantReadWriteLock membership = new ReentrantReadWriteLock();
+    private final ReentrantReadWriteLock[] stripes = new ReentrantReadWriteLock[LOCK_STRIPES];
+    /** Contador de traslados: impar mientras uno está en curso. */
+    private final AtomicLong moves = new AtomicLong();
+    private final Map<String, Integer> numbers = new ConcurrentHashMap<>();
+    private final ChunkedLog<String> idsByNumber = new ChunkedLog<>();
+
+    public RoutedAccountService() {
+        this(new BalanceChangePublisher(), ConsistentHashRing.DEFAULT_VIRTUAL_NODES);
+    }
+
+    /**
+     * Crea el servicio sin nodos; se agregan con {@link #addNode(String)}.
+     * @param balanceChanges publicador que comparten los nodos
+     * @param virtualNodes puntos del anillo por nodo
+     */
+    public RoutedAccountService(BalanceChangePublisher balanceChanges, int virtualNodes) {
+        if (balanceChanges == null) {
+            throw new IllegalArgumentException("El publicador de saldos no puede ser nulo");
+        }
+        this.balanceChanges = balanceChanges;
+        this.ring = new ConsistentHashRing(virtualNodes);
+        for (int i = 0; i < LOCK_STRIPES; i++) {
+            stripes[i] = new ReentrantReadWriteLock();
+        }
+    }
+
+    /**
+     * Agrega un nodo y calcula qué cuentas pasan a ser suyas. Las cuentas nuevas ya se crean
+     * según el anillo nuevo; las existentes se trasladan con {@link #migrate(int)}.
+     * @param nodeId id del nodo
+     * @return cantidad de cuentas a trasladar
+     * @throws IllegalStateException si hay una migración sin terminar
+     */
+    public synchronized int addNode(String nodeId) {
+        requireNoMigration();
+        ConsistentHashRing updated = ring.withNode(nodeId);
+        nodes.put(nodeId, new AccountServiceImpl(balanceChanges));
+        return plan(updated);
+    }
+
+    /**
+     * Quita un nodo del anillo y calcula a dónde va cada una de sus cuentas. El nodo sigue
+     * atendiendo las que aún no se trasladaron y se elimina al quedar vacío.
+     * @param nodeId id del nodo
+     * @return cantidad de cuentas a trasladar
+     * @throws IllegalStateException si hay una migración sin terminar o es el último nodo y tiene cuentas
+     */
+    public synchronized int removeNode(String nodeId) {
+        requireNoMigration();
+        ConsistentHashRing updated = ring.withoutNode(nodeId);
+        if (updated.getNodes().isEmpty() && nodes.get(nodeId).getAccountCount() > 0) {
+            throw new IllegalStateException("No se puede quitar el último nodo mientras tenga cuentas");
+        }
+        drainingNode = nodeId;
+        int pending = plan(updated);
+        finishIfDone();
+        return pending;
+    }
+
+    private void requireNoMigration() {
+        if (!pendingOrder.isEmpty() || drainingNode != null) {
+            throw new IllegalStateException("Hay una migración en curso; termínela con migrate antes de cambiar los nodos");
+        }
+    }
+
+    /**
+     * Registra como pendientes las cuentas cuyo dueño cambia y publica el anillo nuevo. Las
+     * pendientes se cargan antes de publicar el anillo: quien ve el anillo nuevo las ve también.
+     */
+    private int plan(ConsistentHashRing updated) {
+        membership.writeLock().lock();
+        try {
+            for (Map.Entry<String, AccountServiceImpl> node : nodes.entrySet()) {
+                for (Account account : node.getValue().getAllAccounts()) {
+                    String id = account.getId();
+                    if (!node.getKey().equals(updated.ownerOf(id))) {
+                        pendingSources.put(id, node.getKey());
+                        pendingOrder.add(id);
+                    }
+                }
+            }
+            ring = updated;
+            return pendingOrder.size();
+        } finally {
+            membership.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Traslada hasta {@code maxAccounts} cuentas pendientes a su nodo dueño.
+     * @param maxAccounts máximo de cuentas a trasladar en esta llamada
+     * @return cuentas trasladadas; 0 si no quedaban pendientes
+     */
+    public synchronized int migrate(int maxAccounts) {
+        if (maxAccounts <= 0) {
+            throw new IllegalArgumentException("La cantidad de cuentas a trasladar debe ser positiva");
+        }
+        int moved = 0;
+        String accountId;
+        while (moved < maxAccounts && (accountId = pendingOrder.poll()) != null) {
+            move(accountId);
+            moved++;
+        }
+        finishIfDone();
+        return moved;
+    }
+
+    private void move(String accountId) {
+        AccountServiceImpl source = nodes.get(pendingSources.get(accountId));
+        AccountServiceImpl target = nodes.get(ring.ownerOf(accountId));
+        Lock lock = stripeFor(accountId).writeLock();
+        lock.lock();
+        moves.incrementAndGet();
+        try {
+            Account account = source.getAccount(accountId);
+            if (account != null) {
+                // Primero en el destino: la cuenta nunca deja de estar en algún nodo
+                target.restoreAccount(account);
+                source.removeAccount(accountId);
+            }
+            pendingSources.remove(accountId);
+        } finally {
+            moves.incrementAndGet();
+            lock.unlock();
+        }
+    }
+
+    private void finishIfDone() {
+        if (pendingOrder.isEmpty() && drainingNode != null) {
+            nodes.remove(drainingNode);
+            drainingNode = null;
+        }
+    }
+
+    /**
+     * Obtiene la cantidad de cuentas que faltan trasladar.
+     */
+    public synchronized int getPendingMigrations() {
+        return pendingOrder.size();
+    }
+
+    /**
+     * Obtiene los nodos del anillo, en orden de alta.
+     */
+    public List<String> getNodes() {
+        return ring.getNodes();
+    }
+
+    /**
+     * Obtiene el nodo dueño de una cuenta según el anillo actual. Mientras la cuenta esté
+     * pendiente de traslado se sigue atendiendo en su nodo anterior.
+     * @param accountId id de la cuenta
+     * @return id del nodo dueño
+     */
+    public String ownerOf(String accountId) {
+        return ring.ownerOf(accountId);
+    }
+
+    /**
+     * Obtiene la cantidad de cuentas que guarda un nodo.
+     * @param nodeId id del nodo
+     * @return cuentas del nodo, o 0 si no existe
+     */
+    public int getNodeAccountCount(String nodeId) {
+        AccountServiceImpl node = nodeId == null ? null : nodes.get(nodeId);
+        return node == null ? 0 : node.getAccountCount();
+    }
+
+    private ReentrantReadWriteLock stripeFor(String accountId) {
+        int hash = accountId.hashCode();
+        return stripes[(hash ^ (hash >>> 16)) & (LOCK_STRIPES - 1)];
+    }
+
+    /**
+     * Nodo donde está hoy la cuenta. Se llama con el lock de su franja. El anillo se lee antes
+     * que las pendientes: si ya es el nuevo, las pendientes ya están cargadas.
+     */
+    private AccountServiceImpl locate(String accountId) {
+        ConsistentHashRing current = ring;
+        String source = pendingSources.get(accountId);
+        return nodes.get(source != null ? source : current.ownerOf(accountId));
+    }
+
+    /**
+     * Ejecuta una operación en el nodo de la cuenta, sin que se traslade mientras tanto.
+     */
+    private <T> T route(String accountId, Function<AccountServiceImpl, T> operation) {
+        Lock lock = stripeFor(accountId).readLock();
+        lock.lock();
+        try {
+            return operation.apply(locate(accountId));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public Account createAccount(User user, Currency currency, double initialBalance) {
+        if (user == null || currency == null || initialBalance < 0) {
+            throw new IllegalArgumentException("Parámetros inválidos para crear cuenta");
+        }
+        Account account = new Account(user, currency, initialBalance);
+        register(account);
+        return account;
+    }
+
+    @Override
+    public void restoreAccount(Account account) {
+        if (account == null) {
+            throw new IllegalArgumentException("Cuenta no puede ser nula");
+        }
+        register(account);
+    }
+
+    /**
+     * Asigna el número global antes de que la cuenta sea alcanzable en su nodo, así nadie ve
+     * una cuenta registrada sin número.
+     */
+    private void register(Account account) {
+        numbers.computeIfAbsent(account.getId(), id -> idsByNumber.append(id) + 1);
+        membership.readLock().lock();
+        try {
+            route(account.getId(), node -> {
+                node.restoreAccount(account);
+                return null;
+            });
+        } finally {
+            membership.readLock().unlock();
+        }
+    }
+
+    @Override
+    public Account getAccount(String accountId) {
+        if (accountId == null || accountId.isBlank()) {
+            throw new IllegalArgumentException("ID de cuenta inválido");
+        }
+        return route(accountId, node -> node.getAccount(accountId));
+    }
+
+    @Override
+    public Account getAccountByNumber(int number) {
+        if (number <= 0 || number > idsByNumber.size()) {
+            return null;
+        }
+        return getAccount(idsByNumber.get(number - 1));
+    }
+
+    @Override
+    public int getAccountNumber(String accountId) {
+        if (accountId == null) {
+            return 0;
+        }
+        return numbers.getOrDefault(accountId, 0);
+    }
+
+    @Override
+    public int getAccountCount() {
+        return idsByNumber.size();
+    }
+
+    @Override
+    public List<Account> getAccounts(int offset, int limit) {
+        if (offset < 0 || limit < 0) {
+            throw new IllegalArgumentException("Parámetros de página inválidos");
+        }
+        int end = (int) Math.min((long) offset + limit, idsByNumber.size());
+        if (offset >= end) {
+            return List.of();
+        }
+        List<Account> page = new ArrayList<>(end - offset);
+        idsByNumber.forEach(offset, end, id -> {
+            // Un número recién asignado puede aún no tener su cuenta en el nodo
+            Account account = getAccount(id);
+            if (account != null) {
+                page.add(account);
+            }
+        });
+        return Collections.unmodifiableList(page);
+    }
+
+    @Override
+    public boolean deposit(String accountId, double amount) {
+        return tryDeposit(accountId, amount).isSuccess();
+    }
+
+    @Override
+    public OperationResult tryDeposit(String accountId, double amount) {
+        if (accountId == null) {
+            return OperationResult.ACCOUNT_NOT_FOUND;
+        }
+        return route(accountId, node -> node.tryDeposit(accountId, amount));
+    }
+
+    @Override
+    public boolean withdraw(String accountId, double amount) {
+        return tryWithdraw(accountId, amount).isSuccess();
+    }
+
+    @Override
+    public OperationResult tryWithdraw(String accountId, double amount) {
+        if (accountId == null) {
+            return OperationResult.ACCOUNT_NOT_FOUND;
+        }
+        return route(accountId, node -> node.tryWithdraw(accountId, amount));
+    }
+
+    @Override
+    public boolean convert(String accountId, Currency from, Currency to, double amount, double convertedAmount) {
+        return tryConvert(accountId, from, to, amount, convertedAmount).isSuccess();
+    }
+
+    @Override
+    public OperationResult tryConvert(String accountId, Currency from, Currency to, double amount, double convertedAmount) {
+        if (accountId == null) {
+            return OperationResult.ACCOUNT_NOT_FOUND;
+        }
+        return route(accountId, node -> node.tryConvert(accountId, from, to, amount, convertedAmount));
+    }
+
+    /**
+     * Transfiere entre cuentas. Si están en nodos distintos usa el protocolo de reserva y
+     * confirmación: reserva en el nodo del origen, confirma en el del destino y, si el destino
+     * rechaza, devuelve la reserva. Ninguna de las dos cuentas se traslada mientras tanto.
+     */
+    @Override
+    public OperationResult tryTransfer(String fromAccountId, String toAccountId, double amount) {
+        if (fromAccountId == null || toAccountId == null) {
+            return OperationResult.ACCOUNT_NOT_FOUND;
+        }
+        if (fromAccountId.equals(toAccountId)) {
+            return OperationResult.INVALID_OPERATION;
+        }
+        ReentrantReadWriteLock fromStripe = stripeFor(fromAccountId);
+        ReentrantReadWriteLock toStripe = stripeFor(toAccountId);
+        fromStripe.readLock().lock();
+        toStripe.readLock().lock();
+        try {
+            AccountServiceImpl source = locate(fromAccountId);
+            AccountServiceImpl target = locate(toAccountId);
+            if (source == target) {
+                return source.tryTransfer(fromAccountId, toAccountId, amount);
+            }
+            Account to = toAccountId.isBlank() ? null : target.getAccount(toAccountId);
+            if (to == null) {
+                return OperationResult.ACCOUNT_NOT_FOUND;
+            }
+            // Se rechaza antes de reservar; la confirmación lo vuelve a verificar
+            Account from = fromAccountId.isBlank() ? null : source.getAccount(fromAccountId);
+            if (from != null && from.getCurrency() != to.getCurrency()) {
+                return OperationResult.INVALID_OPERATION;
+            }
+            AccountServiceImpl.Reservation reservation = source.reserve(fromAccountId, amount);
+            if (!reservation.result().isSuccess()) {
+                return reservation.result();
+            }
+            OperationResult committed = target.commit(toAccountId, reservation);
+            if (!committed.isSuccess()) {
+                source.release(reservation);
+            }
+            return committed;
+        } finally {
+            toStripe.readLock().unlock();
+            fromStripe.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void applyConversion(String accountId, Currency newCurrency, double newBalance) {
+        if (accountId == null || accountId.isBlank()) {
+            throw new IllegalArgumentException("ID de cuenta inválido");
+        }
+        route(accountId, node -> {
+            node.applyConversion(accountId, newCurrency, newBalance);
+            return null;
+        });
+    }
+
+    @Override
+    public Conversion tryConvertAll(String accountId, RateSnapshot rates, Currency target) {
+        if (accountId == null) {
+            return Conversion.rejected(OperationResult.ACCOUNT_NOT_FOUND);
+        }
+        return route(accountId, node -> node.tryConvertAll(accountId, rates, target));
+    }
+
+    @Override
+    public Flow.Publisher<BalanceChange> getBalanceChanges(Collection<String> accountIds) {
+        return balanceChanges.forAccounts(accountIds);
+    }
+
+    @Override
+    public void addBalanceListener(Consumer<BalanceChange> listener) {
+        balanceChanges.addListener(listener);
+    }
+
+    @Override
+    public double getBalance(String accountId) {
+        Account account = getAccount(accountId);
+        if (account == null) {
+            throw new IllegalArgumentException("Cuenta no encontrada");
+        }
+        return account.getBalance();
+    }
+
+    /**
+     * Reúne las cuentas del usuario de todos los nodos, en orden de número. Si durante el
+     * recorrido se trasladó alguna cuenta, se vuelve a recorrer para no omitirla ni repetirla.
+     */
+    @Override
+    public List<Account> getAccountsByUser(String userId) {
+        if (userId == null || userId.isBlank()) {
+            return List.of();
+        }
+        while (true) {
+            long version = moves.get();
+            if ((version & 1) == 0) {
+                List<Account> userAccounts = new ArrayList<>();
+                for (AccountServiceImpl node : nodes.values()) {
+                    userAccounts.addAll(node.getAccountsByUser(userId));
+                }
+                if (moves.get() == version) {
+                    userAccounts.sort(Comparator.comparingInt(account -> getAccountNumber(account.getId())));
+                    return Collections.unmodifiableList(userAccounts);
+                }
+            }
+            Thread.onSpinWait();
+        }
+    }
+
+    @Override
+    public List<Account> getAllAccounts() {
+        return getAccounts(0, idsByNumber.size());
+    }
+}
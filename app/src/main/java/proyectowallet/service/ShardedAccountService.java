@@ -0,0 +1,327 @@
+package proyectowallet.service;
+
+import proyectowallet.model.Account;
+import proyectowallet.model.BalanceChange;
+import proyectowallet.model.Conversion;
+import proyectowallet.model.Currency;
+import proyectowallet.model.OperationResult;
+import proyectowallet.model.RateSnapshot;
+import proyectowallet.model.User;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Flow;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Servicio de cuentas que reparte las cuentas en shards por hash del id. Cada shard tiene un
+ * único hilo que ejecuta, en orden de llegada, todas las operaciones que cambian saldos de sus
+ * cuentas; así dos operaciones sobre la misma cuenta nunca compiten por su lock y cuentas de
+ * shards distintos se procesan en paralelo.
+ * <p>
+ * Los métodos de {@link AccountService} encolan la operación en el shard de la cuenta y esperan
+ * el resultado; las variantes {@code *Async} devuelven un {@link CompletableFuture} para que
+ * quien llama pueda tener varias operaciones en curso. Las consultas y el registro de cuentas
+ * se resuelven directamente en el {@link AccountServiceImpl} subyacente, que sigue siendo el
+ * dueño de los datos: su lock por cuenta queda sin competencia y protege las lecturas desde
+ * otros hilos.
+ * <p>
+ * Las transferencias entre shards siguen el protocolo de reserva y confirmación: la reserva
+ * corre en el shard del origen, la confirmación en el del destino y, si el destino la rechaza,
+ * la devolución vuelve al shard del origen. Ningún paso espera a otro shard.
+ */
+public class ShardedAccountService implements AccountService, AutoCloseable {
+    private final AccountServiceImpl accounts;
+    private final Shard[] shards;
+
+    /**
+     * Crea el servicio e inicia un hilo por shard.
+     * @param accounts servicio dueño de las cuentas
+     * @param shardCount cantidad de shards (y de hilos)
+     */
+    public ShardedAccountService(AccountServiceImpl accounts, int shardCount) {
+        if (accounts == null || shardCount <= 0) {
+            throw new IllegalArgumentException("Parámetros inválidos para el servicio de cuentas por shards");
+        }
+        this.accounts = accounts;
+        this.shards = new Shard[shardCount];
+        for (int i = 0; i < shardCount; i++) {
+            shards[i] = new Shard("account-shard-" + i);
+        }
+    }
+
+    public int getShardCount() {
+        return shards.length;
+    }
+
+    /**
+     * Obtiene el shard que procesa una cuenta.
+     * @param accountId identificador de la cuenta
+     * @return índice del shard, entre 0 y {@link #getShardCount()} - 1
+     */
+    public int shardOf(String accountId) {
+        if (accountId == null) {
+            throw new IllegalArgumentException("ID de cuenta inválido");
+        }
+        int hash = accountId.hashCode();
+        // Mezcla los bits altos: los ids de prueba suelen diferir solo al final
+        return Math.floorMod(hash ^ (hash >>> 16), shards.length);
+    }
+
+    private Shard shardFor(String accountId) {
+        return shards[shardOf(accountId)];
+    }
+
+    /**
+     * Deposita en el shard de la cuenta.
+     * @return resultado cuando el shard procesa el depósito
+     */
+    public CompletableFuture<OperationResult> depositAsync(String accountId, double amount) {
+        if (accountId == null) {
+            return CompletableFuture.completedFuture(OperationResult.ACCOUNT_NOT_FOUND);
+        }
+        return shardFor(accountId).submit(() -> accounts.tryDeposit(accountId, amount));
+    }
+
+    /**
+     * Retira en el shard de la cuenta.
+     * @return resultado cuando el shard procesa el retiro
+     */
+    public CompletableFuture<OperationResult> withdrawAsync(String accountId, double amount) {
+        if (accountId == null) {
+            return CompletableFuture.completedFuture(OperationResult.ACCOUNT_NOT_FOUND);
+        }
+        return shardFor(accountId).submit(() -> accounts.tryWithdraw(accountId, amount));
+    }
+
+    /**
+     * Transfiere entre cuentas: reserva en el shard del origen, confirma en el del destino y,
+     * si el destino rechaza, devuelve la reserva en el shard del origen.
+     * @return resultado de la confirmación, o el de la reserva si esta falló
+     */
+    public CompletableFuture<OperationResult> transferAsync(String fromAccountId, String toAccountId, double amount) {
+        if (fromAccountId == null || toAccountId == null) {
+            return CompletableFuture.completedFuture(OperationResult.ACCOUNT_NOT_FOUND);
+        }
+        if (fromAccountId.equals(toAccountId)) {
+            return CompletableFuture.completedFuture(OperationResult.INVALID_OPERATION);
+        }
+        Account to = accounts.getAccount(toAccountId);
+        if (to == null) {
+            return CompletableFuture.completedFuture(OperationResult.ACCOUNT_NOT_FOUND);
+        }
+        // Se rechaza antes de reservar; la confirmación lo vuelve a verificar
+        Account from = accounts.getAccount(fromAccountId);
+        if (from != null && from.getCurrency() != to.getCurrency()) {
+            return CompletableFuture.completedFuture(OperationResult.INVALID_OPERATION);
+        }
+        Shard source = shardFor(fromAccountId);
+        Shard target = shardFor(toAccountId);
+        return source.submit(() -> accounts.reserve(fromAccountId, amount))
+                .thenCompose(reservation -> {
+                    if (!reservation.result().isSuccess()) {
+                        return CompletableFuture.completedFuture(reservation.result());
+                    }
+                    return target.submit(() -> accounts.commit(toAccountId, reservation))
+                            .thenCompose(committed -> committed.isSuccess()
+                                    ? CompletableFuture.completedFuture(committed)
+                                    : source.submit(() -> {
+                                        accounts.release(reservation);
+                                        return committed;
+                                    }));
+                });
+    }
+
+    @Override
+    public OperationResult tryDeposit(String accountId, double amount) {
+        return await(depositAsync(accountId, amount));
+    }
+
+    @Override
+    public OperationResult tryWithdraw(String accountId, double amount) {
+        return await(withdrawAsync(accountId, amount));
+    }
+
+    @Override
+    public OperationResult tryTransfer(String fromAccountId, String toAccountId, double amount) {
+        return await(transferAsync(fromAccountId, toAccountId, amount));
+    }
+
+    @Override
+    public OperationResult tryConvert(String accountId, Currency from, Currency to, double amount, double convertedAmount) {
+        if (accountId == null) {
+            return OperationResult.ACCOUNT_NOT_FOUND;
+        }
+        return await(shardFor(accountId).submit(() -> accounts.tryConvert(accountId, from, to, amount, convertedAmount)));
+    }
+
+    @Override
+    public void applyConversion(String accountId, Currency newCurrency, double newBalance) {
+        if (accountId == null || accountId.isBlank()) {
+            throw new IllegalArgumentException("ID de cuenta inválido");
+        }
+        await(shardFor(accountId).submit(() -> {
+            accounts.applyConversion(accountId, newCurrency, newBalance);
+            return OperationResult.OK;
+        }));
+    }
+
+    @Override
+    public Conversion tryConvertAll(String accountId, RateSnapshot rates, Currency target) {
+        if (accountId == null) {
+            return Conversion.rejected(OperationResult.ACCOUNT_NOT_FOUND);
+        }
+        return await(shardFor(accountId).submit(() -> accounts.tryConvertAll(accountId, rates, target)));
+    }
+
+    @Override
+    public boolean deposit(String accountId, double amount) {
+        return tryDeposit(accountId, amount).isSuccess();
+    }
+
+    @Override
+    public boolean withdraw(String accountId, double amount) {
+        return tryWithdraw(accountId, amount).isSuccess();
+    }
+
+    @Override
+    public boolean convert(String accountId, Currency from, Currency to, double amount, double convertedAmount) {
+        return tryConvert(accountId, from, to, amount, convertedAmount).isSuccess();
+    }
+
+    /**
+     * Espera el resultado de una operación. Las excepciones de la operación (por ejemplo, la de
+     * una cuenta inexistente) se relanzan tal como ocurrieron en el shard.
+     */
+    private static <T> T await(CompletableFuture<T> result) {
+        try {
+            return result.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    // Registro y consultas: no cambian saldos y van directo al servicio subyacente
+
+    @Override
+    public Account createAccount(User user, Currency currency, double initialBalance) {
+        return accounts.createAccount(user, currency, initialBalance);
+    }
+
+    @Override
+    public void restoreAccount(Account account) {
+        accounts.restoreAccount(account);
+    }
+
+    @Override
+    public Account getAccount(String accountId) {
+        return accounts.getAccount(accountId);
+    }
+
+    @Override
+    public Account getAccountByNumber(int number) {
+        return accounts.getAccountByNumber(number);
+    }
+
+    @Override
+    public int getAccountNumber(String accountId) {
+        return accounts.getAccountNumber(accountId);
+    }
+
+    @Override
+    public int getAccountCount() {
+        return accounts.getAccountCount();
+    }
+
+    @Override
+    public List<Account> getAccounts(int offset, int limit) {
+        return accounts.getAccounts(offset, limit);
+    }
+
+    @Override
+    public Flow.Publisher<BalanceChange> getBalanceChanges(Collection<String> accountIds) {
+        return accounts.getBalanceChanges(accountIds);
+    }
+
+    @Override
+    public void addBalanceListener(Consumer<BalanceChange> listener) {
+        accounts.addBalanceListener(listener);
+    }
+
+    @Override
+    public double getBalance(String accountId) {
+        return accounts.getBalance(accountId);
+    }
+
+    @Override
+    public List<Account> getAccountsByUser(String userId) {
+        return accounts.getAccountsByUser(userId);
+    }
+
+    @Override
+    public List<Account> getAllAccounts() {
+        return accounts.getAllAccounts();
+    }
+
+    /**
+     * Deja de aceptar operaciones y espera a que los shards terminen las encoladas.
+     */
+    @Override
+    public void close() {
+        for (Shard shard : shards) {
+            shard.executor.shutdown();
+        }
+        try {
+            for (Shard shard : shards) {
+                shard.executor.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Hilo dueño de un shard y su cola de operaciones.
+     */
+    private static final class Shard {
+        private final ExecutorService executor;
+        private volatile Thread thread;
+
+        Shard(String name) {
+            this.executor = Executors.newSingleThreadExecutor(task -> {
+                Thread created = new Thread(task, name);
+                created.setDaemon(true);
+                thread = created;
+                return created;
+            });
+        }
+
+        /**
+         * Ejecuta una operación en el hilo del shard. Si ya se está en ese hilo (un paso de una
+         * transferencia dentro del mismo shard) la ejecuta en el momento en lugar de encolarla.
+         */
+        <T> CompletableFuture<T> submit(Supplier<T> operation) {
+            if (Thread.currentThread() == thread) {
+                try {
+                    return CompletableFuture.completedFuture(operation.get());
+                } catch (RuntimeException e) {
+                    return CompletableFuture.failedFuture(e);
+                }
+            }
+            try {
+                return CompletableFuture.supplyAsync(operation, executor);
+            } catch (RejectedExecutionException e) {
+                throw new IllegalStateException("El servicio de cuentas está cerrado");
+            }
+        }
+    }
+}
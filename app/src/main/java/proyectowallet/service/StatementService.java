@@ -0,0 +1,54 @@
+package proyectowallet.service;
+
+import proyectowallet.model.Account;
+import proyectowallet.model.Statement;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.YearMonth;
+
+/**
+ * Interfaz para la generación de estados de cuenta mensuales.
+ * Implementa principio SOLID: Dependency Inversion.
+ */
+public interface StatementService {
+    /**
+     * Recibe el avance de una generación masiva. Se invoca desde los hilos de trabajo,
+     * por lo que la implementación debe ser segura para uso concurrente.
+     */
+    @FunctionalInterface
+    interface ProgressListener {
+        void onProgress(int completed, int total, double accountsPerSecond);
+    }
+
+    /**
+     * Resumen de una generación masiva.
+     * @param accounts cuentas procesadas
+     * @param movements movimientos incluidos en los estados
+     * @param elapsedNanos duración total
+     */
+    record RunSummary(int accounts, long movements, long elapsedNanos) {
+        public double accountsPerSecond() {
+            return elapsedNanos == 0 ? 0 : accounts * 1e9 / elapsedNanos;
+        }
+    }
+
+    /**
+     * Calcula el estado de cuenta de un mes con una sola pasada sobre el historial de la cuenta.
+     * El saldo inicial se obtiene descontando del saldo actual los movimientos del mes y posteriores.
+     * @param account cuenta
+     * @param period mes
+     * @return estado de cuenta
+     */
+    Statement buildStatement(Account account, YearMonth period);
+
+    /**
+     * Genera y escribe el estado de cuenta del mes de todas las cuentas, un archivo por cuenta.
+     * @param period mes
+     * @param outputDirectory directorio destino (se crea si no existe)
+     * @param listener recibe el avance, o null
+     * @return resumen de la generación
+     * @throws IOException si no se puede escribir algún archivo
+     */
+    RunSummary generateMonthlyStatements(YearMonth period, Path outputDirectory, ProgressListener listener)
+            throws IOException;
+}
@@ -0,0 +1,254 @@
+package proyectowallet.service;
+
+import proyectowallet.model.Account;
+import proyectowallet.model.Currency;
+import proyectowallet.model.Statement;
+import proyectowallet.model.Transaction;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Implementación de la generación de estados de cuenta.
+ * La generación masiva reparte las cuentas en un {@link ForkJoinPool}: cada tarea divide su rango
+ * de cuentas hasta un umbral y luego calcula y escribe los estados de su rango. Cada estado se
+ * calcula con una pasada sobre el historial indexado de la cuenta
+ * ({@link TransactionService#forEachTransaction(Account, java.util.function.Consumer)}).
+ */
+public class StatementServiceImpl implements StatementService {
+    private static final Currency[] CURRENCIES = Currency.values();
+    private static final Transaction.TransactionType[] TYPES = Transaction.TransactionType.values();
+    private static final int ACCOUNTS_PER_TASK = 64;
+    private static final DateTimeFormatter TIMESTAMP_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    private final AccountService accountService;
+    private final TransactionService transactionService;
+    private final ForkJoinPool pool;
+
+    public StatementServiceImpl(AccountService accountService, TransactionService transactionService) {
+        this(accountService, transactionService, ForkJoinPool.commonPool());
+    }
+
+    public StatementServiceImpl(AccountService accountService, TransactionService transactionService,
+                                ForkJoinPool pool) {
+        if (accountService == null || transactionService == null || pool == null) {
+            throw new IllegalArgumentException("Parámetros inválidos para el servicio de estados de cuenta");
+        }
+        this.accountService = accountService;
+        this.transactionService = transactionService;
+        this.pool = pool;
+    }
+
+    @Override
+    public Statement buildStatement(Account account, YearMonth period) {
+        if (account == null || period == null) {
+            throw new IllegalArgumentException("Parámetros inválidos para el estado de cuenta");
+        }
+        LocalDateTime start = period.atDay(1).atStartOfDay();
+        LocalDateTime end = period.plusMonths(1).atDay(1).atStartOfDay();
+
+        // Se lee el saldo antes de recorrer el historial y se descuentan los movimientos
+        // del mes y posteriores para llegar a los saldos de cierre e inicio
+        double[] current = account.getBalances();
+        double[] during = new double[CURRENCIES.length];
+        double[] after = new double[CURRENCIES.length];
+        List<Transaction> movements = new ArrayList<>();
+        transactionService.forEachTransaction(account, tx -> {
+            LocalDateTime timestamp = tx.getTimestamp();
+            if (timestamp.isBefore(start)) {
+                return;
+            }
+            if (timestamp.isBefore(end)) {
+                movements.add(tx);
+                accumulate(during, tx);
+            } else {
+                accumulate(after, tx);
+            }
+        });
+
+        double[] closing = new double[CURRENCIES.length];
+        double[] opening = new double[CURRENCIES.length];
+        for (int i = 0; i < CURRENCIES.length; i++) {
+            closing[i] = current[i] - after[i];
+            opening[i] = closing[i] - during[i];
+        }
+        return new Statement(account, period, opening, closing, movements);
+    }
+
+    /**
+     * Suma el efecto de una transacción sobre los sub-saldos de la cuenta.
+     */
+    private static void accumulate(double[] deltas, Transaction tx) {
+        switch (tx.getType()) {
+            case DEPOSIT, TRANSFER_IN -> deltas[tx.getCurrencyTo().ordinal()] += tx.getAmountInTargetCurrency();
+            case WITHDRAWAL, TRANSFER -> deltas[tx.getCurrencyFrom().ordinal()] -= tx.getAmount();
+            case CONVERSION -> {
+                deltas[tx.getCurrencyFrom().ordinal()] -= tx.getAmount();
+                deltas[tx.getCurrencyTo().ordinal()] += tx.getAmountInTargetCurrency();
+            }
+        }
+    }
+
+    @Override
+    public RunSummary generateMonthlyStatements(YearMonth period, Path outputDirectory, ProgressListener listener)
+            throws IOException {
+        if (period == null || outputDirectory == null) {
+            throw new IllegalArgumentException("Parámetros inválidos para generar estados de cuenta");
+        }
+        Files.createDirectories(outputDirectory);
+        List<Account> accounts = accountService.getAllAccounts();
+        Progress progress = new Progress(accounts.size(), listener);
+        try {
+            pool.invoke(new StatementTask(accounts, 0, accounts.size(), period, outputDirectory, progress));
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        return new RunSummary(accounts.size(), progress.movements.sum(), System.nanoTime() - progress.startNanos);
+    }
+
+    /**
+     * Obtiene el archivo del estado de cuenta de una cuenta y un mes.
+     * @param outputDirectory directorio de salida
+     * @param period mes
+     * @param account cuenta
+     * @return ruta del archivo
+     */
+    public static Path statementFile(Path outputDirectory, YearMonth period, Account account) {
+        String safeId = account.getId().replaceAll("[^A-Za-z0-9_-]", "_");
+        return outputDirectory.resolve("statement-" + period + "-" + safeId + ".txt");
+    }
+
+    private void writeStatement(Statement statement, Path file) throws IOException {
+        Account account = statement.getAccount();
+        try (BufferedWriter out = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            out.write("ESTADO DE CUENTA\n");
+            out.write("Cuenta: " + account.getId() + "\n");
+            out.write("Titular: " + account.getUser().getFullName() + "\n");
+            out.write("Período: " + statement.getPeriod() + "\n");
+            out.write("Moneda principal: " + account.getCurrency() + "\n\n");
+
+            out.write("SALDO INICIAL\n");
+            writeBalances(out, statement, true);
+
+            out.write("\nMOVIMIENTOS\n");
+            for (Transaction tx : statement.getMovements()) {
+                String currencies = tx.getCurrencyFrom() == tx.getCurrencyTo()
+                        ? tx.getCurrencyFrom().name()
+                        : tx.getCurrencyFrom() + " -> " + tx.getCurrencyTo();
+                out.write(String.format(Locale.ROOT, "  %-19s  %-13s  %-10s %14.2f",
+                        TIMESTAMP_FORMAT.format(tx.getTimestamp()), tx.getType().getDescription(),
+                        currencies, tx.getAmount()));
+                if (tx.getType() == Transaction.TransactionType.CONVERSION) {
+                    out.write(String.format(Locale.ROOT, " -> %.2f", tx.getAmountInTargetCurrency()));
+                }
+                out.write('\n');
+            }
+
+            out.write("\nTOTALES POR TIPO\n");
+            for (Transaction.TransactionType type : TYPES) {
+                out.write(String.format(Locale.ROOT, "  %-13s  %6d  %14.2f\n",
+                        type.getDescription(), statement.getCount(type), statement.getTotal(type)));
+            }
+
+            out.write("\nSALDO FINAL\n");
+            writeBalances(out, statement, false);
+        }
+    }
+
+    /**
+     * Escribe los sub-saldos con movimiento en el período y siempre el de la moneda principal.
+     */
+    private static void writeBalances(BufferedWriter out, Statement statement, boolean opening) throws IOException {
+        Currency primary = statement.getAccount().getCurrency();
+        for (Currency currency : CURRENCIES) {
+            double balance = opening ? statement.getOpeningBalance(currency) : statement.getClosingBalance(currency);
+            if (currency == primary || statement.getOpeningBalance(currency) != 0
+                    || statement.getClosingBalance(currency) != 0) {
+                out.write(String.format(Locale.ROOT, "  %-4s %12.2f\n", currency, balance));
+            }
+        }
+    }
+
+    /**
+     * Avance compartido por las tareas de una generación.
+     */
+    private static final class Progress {
+        private final int total;
+        private final int step;
+        private final ProgressListener listener;
+        private final long startNanos = System.nanoTime();
+        private final AtomicInteger completed = new AtomicInteger();
+        private final LongAdder movements = new LongAdder();
+
+        Progress(int total, ProgressListener listener) {
+            this.total = total;
+            this.listener = listener;
+            // Se informa cada ~1% del total para no saturar al listener
+            this.step = Math.max(1, total / 100);
+        }
+
+        void accountDone(int accountMovements) {
+            movements.add(accountMovements);
+            int done = completed.incrementAndGet();
+            if (listener != null && (done % step == 0 || done == total)) {
+                long elapsed = System.nanoTime() - startNanos;
+                listener.onProgress(done, total, elapsed == 0 ? 0 : done * 1e9 / elapsed);
+            }
+        }
+    }
+
+    /**
+     * Tarea que divide un rango de cuentas hasta {@link #ACCOUNTS_PER_TASK} y procesa las hojas.
+     */
+    private final class StatementTask extends RecursiveAction {
+        private final List<Account> accounts;
+        private final int from;
+        private final int to;
+        private final YearMonth period;
+        private final Path outputDirectory;
+        private final Progress progress;
+
+        StatementTask(List<Account> accounts, int from, int to, YearMonth period, Path outputDirectory,
+                      Progress progress) {
+            this.accounts = accounts;
+            this.from = from;
+            this.to = to;
+            this.period = period;
+            this.outputDirectory = outputDirectory;
+            this.progress = progress;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > ACCOUNTS_PER_TASK) {
+                int middle = (from + to) >>> 1;
+                invokeAll(new StatementTask(accounts, from, middle, period, outputDirectory, progress),
+                        new StatementTask(accounts, middle, to, period, outputDirectory, progress));
+                return;
+            }
+            for (int i = from; i < to; i++) {
+                Account account = accounts.get(i);
+                Statement statement = buildStatement(account, period);
+                try {
+                    writeStatement(statement, statementFile(outputDirectory, period, account));
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                progress.accountDone(statement.getMovements().size());
+            }
+        }
+    }
+}
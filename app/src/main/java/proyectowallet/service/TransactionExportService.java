@@ -0,0 +1,54 @@
+package proyectowallet.service;
+
+import proyectowallet.model.Account;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+
+/**
+ * Interfaz para exportar el historial de transacciones a archivos.
+ * Las exportaciones recorren el historial en orden de registro y escriben directamente
+ * al archivo, sin cargar el historial completo en memoria.
+ * Implementa principio SOLID: Dependency Inversion.
+ */
+public interface TransactionExportService {
+    /**
+     * Formatos de exportación soportados.
+     */
+    enum Format {
+        /** Valores separados por coma con fila de encabezado (RFC 4180). */
+        CSV,
+        /** Un objeto JSON por línea. */
+        JSONL
+    }
+
+    /**
+     * Exporta todas las transacciones.
+     * @param target archivo destino (se reemplaza si existe)
+     * @param format formato de salida
+     * @return cantidad de transacciones exportadas
+     * @throws IOException si no se puede escribir el archivo
+     */
+    long exportAll(Path target, Format format) throws IOException;
+
+    /**
+     * Exporta las transacciones de una cuenta.
+     * @param target archivo destino (se reemplaza si existe)
+     * @param format formato de salida
+     * @param account cuenta a exportar
+     * @return cantidad de transacciones exportadas
+     * @throws IOException si no se puede escribir el archivo
+     */
+    long exportByAccount(Path target, Format format, Account account) throws IOException;
+
+    /**
+     * Exporta las transacciones de un rango de fechas.
+     * @param target archivo destino (se reemplaza si existe)
+     * @param format formato de salida
+     * @param from inicio del rango (inclusive)
+     * @param to fin del rango (exclusivo)
+     * @return cantidad de transacciones exportadas
+     * @throws IOException si no se puede escribir el archivo
+     */
+    long exportByRange(Path target, Format format, LocalDateTime from, LocalDateTime to) throws IOException;
+}
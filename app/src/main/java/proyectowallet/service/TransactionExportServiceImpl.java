@@ -0,0 +1,325 @@
+package proyectowallet.service;
+
+import proyectowallet.model.Account;
+import proyectowallet.model.Transaction;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.function.Consumer;
+
+/**
+ * Implementación de la exportación del historial de transacciones.
+ * Recorre el historial con {@link TransactionService#forEachTransaction} y escribe cada registro
+ * en un buffer directo de tamaño fijo que se vacía al {@link FileChannel} cuando se llena, por lo
+ * que la memoria usada no depende del tamaño del historial. Cada registro se formatea en un
+ * {@link StringBuilder} reutilizable y se codifica a UTF-8 en un arreglo reutilizable,
+ * sin crear objetos por registro.
+ */
+public class TransactionExportServiceImpl implements TransactionExportService {
+    private static final int BUFFER_BYTES = 256 * 1024;
+    private static final String CSV_HEADER = "id,accountId,type,amount,currencyFrom,currencyTo,"
+            + "amountInTargetCurrency,timestamp,description,rateVersion\n";
+
+    private final TransactionService transactionService;
+
+    public TransactionExportServiceImpl(TransactionService transactionService) {
+        if (transactionService == null) {
+            throw new IllegalArgumentException("Servicio de transacciones no puede ser nulo");
+        }
+        this.transactionService = transactionService;
+    }
+
+    @Override
+    public long exportAll(Path target, Format format) throws IOException {
+        return export(target, format, null, null, null);
+    }
+
+    @Override
+    public long exportByAccount(Path target, Format format, Account account) throws IOException {
+        if (account == null) {
+            throw new IllegalArgumentException("Cuenta no puede ser nula");
+        }
+        return export(target, format, account.getId(), null, null);
+    }
+
+    @Override
+    public long exportByRange(Path target, Format format, LocalDateTime from, LocalDateTime to) throws IOException {
+        if (from == null || to == null || to.isBefore(from)) {
+            throw new IllegalArgumentException("Rango de fechas inválido");
+        }
+        return export(target, format, null, from, to);
+    }
+
+    private long export(Path target, Format format, String accountId, LocalDateTime from, LocalDateTime to)
+            throws IOException {
+        if (target == null || format == null) {
+            throw new IllegalArgumentException("Parámetros inválidos para exportar");
+        }
+        try (FileChannel channel = FileChannel.open(target,
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            RecordWriter writer = new RecordWriter(channel, format, accountId, from, to);
+            try {
+                transactionService.forEachTransaction(writer);
+                writer.flush();
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+            return writer.count;
+        }
+    }
+
+    /**
+     * Filtra, formatea y escribe los registros de una exportación.
+     */
+    private static final class RecordWriter implements Consumer<Transaction> {
+        private final FileChannel channel;
+        private final Format format;
+        private final String accountId;
+        private final LocalDateTime from;
+        private final LocalDateTime to;
+        private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_BYTES);
+        private final StringBuilder line = new StringBuilder(256);
+        private byte[] encoded = new byte[768];
+        private long count;
+
+        RecordWriter(FileChannel channel, Format format, String accountId, LocalDateTime from, LocalDateTime to) {
+            this.channel = channel;
+            this.format = format;
+            this.accountId = accountId;
+            this.from = from;
+            this.to = to;
+            if (format == Format.CSV) {
+                encode(CSV_HEADER);
+            }
+        }
+
+        @Override
+        public void accept(Transaction tx) {
+            if (accountId != null && !accountId.equals(tx.getAccount().getId())) {
+                return;
+            }
+            if (from != null && (tx.getTimestamp().isBefore(from) || !tx.getTimestamp().isBefore(to))) {
+                return;
+            }
+            line.setLength(0);
+            if (format == Format.CSV) {
+                formatCsv(tx);
+            } else {
+                formatJson(tx);
+            }
+            encode(line);
+            count++;
+        }
+
+        private void formatCsv(Transaction tx) {
+            appendCsv(tx.getId()).append(',');
+            appendCsv(tx.getAccount().getId()).append(',');
+            line.append(tx.getType().name()).append(',');
+            appendAmount(tx.getAmount()).append(',');
+            line.append(tx.getCurrencyFrom().name()).append(',');
+            line.append(tx.getCurrencyTo().name()).append(',');
+            appendAmount(tx.getAmountInTargetCurrency()).append(',');
+            appendTime(tx.getTimestamp()).append(',');
+            appendCsv(tx.getDescription()).append(',');
+            line.append(tx.getRateVersion()).append('\n');
+        }
+
+        private void formatJson(Transaction tx) {
+            line.append("{\"id\":");
+            appendJson(tx.getId());
+            line.append(",\"accountId\":");
+            appendJson(tx.getAccount().getId());
+            line.append(",\"type\":\"").append(tx.getType().name());
+            line.append("\",\"amount\":");
+            appendAmount(tx.getAmount());
+            line.append(",\"currencyFrom\":\"").append(tx.getCurrencyFrom().name());
+            line.append("\",\"currencyTo\":\"").append(tx.getCurrencyTo().name());
+            line.append("\",\"amountInTargetCurrency\":");
+            appendAmount(tx.getAmountInTargetCurrency());
+            line.append(",\"timestamp\":\"");
+            appendTime(tx.getTimestamp());
+            line.append("\",\"description\":");
+            appendJson(tx.getDescription());
+            line.append(",\"rateVersion\":").append(tx.getRateVersion()).append("}\n");
+        }
+
+        /**
+         * Agrega un campo CSV, entre comillas solo si contiene separadores, comillas o saltos de línea.
+         */
+        private StringBuilder appendCsv(String value) {
+            if (value == null) {
+                return line;
+            }
+            boolean quote = false;
+            for (int i = 0; i < value.length() && !quote; i++) {
+                char c = value.charAt(i);
+                quote = c == ',' || c == '"' || c == '\n' || c == '\r';
+            }
+            if (!quote) {
+                return line.append(value);
+            }
+            line.append('"');
+            for (int i = 0; i < value.length(); i++) {
+                char c = value.charAt(i);
+                if (c == '"') {
+                    line.append('"');
+                }
+                line.append(c);
+            }
+            return line.append('"');
+        }
+
+        private void appendJson(String value) {
+            if (value == null) {
+                line.append("null");
+                return;
+            }
+            line.append('"');
+            for (int i = 0; i < value.length(); i++) {
+                char c = value.charAt(i);
+                switch (c) {
+                    case '"' -> line.append("\\\"");
+                    case '\\' -> line.append("\\\\");
+                    case '\n' -> line.append("\\n");
+                    case '\r' -> line.append("\\r");
+                    case '\t' -> line.append("\\t");
+                    default -> {
+                        if (c < 0x20) {
+                            line.append("\\u00").append(Character.forDigit(c >> 4, 16)).append(Character.forDigit(c & 0xF, 16));
+                        } else {
+                            line.append(c);
+                        }
+                    }
+                }
+            }
+            line.append('"');
+        }
+
+        /**
+         * Agrega un monto con el mismo texto que {@link Double#toString(double)}.
+         * Los montos con hasta dos decimales exactos (el caso habitual) se escriben directamente
+         * desde los centavos; el resto usa la conversión general de {@link StringBuilder}.
+         */
+        private StringBuilder appendAmount(double amount) {
+            double scaled = amount * 100;
+            long cents = (long) scaled;
+            // Por debajo de 10^7 Double.toString no usa notación científica, y con a lo sumo
+            // 9 dígitos significativos el decimal más corto es el de los centavos sin ceros finales
+            if (amount >= 0.01 && amount < 1e7 && cents == scaled && cents / 100.0 == amount) {
+                line.append(cents / 100).append('.');
+                int fraction = (int) (cents % 100);
+                if (fraction % 10 == 0) {
+                    return line.append((char) ('0' + fraction / 10));
+                }
+                return appendDigits(fraction, 2);
+            }
+            return line.append(amount);
+        }
+
+        /**
+         * Agrega una fecha en ISO-8601, con el mismo formato que {@link LocalDateTime#toString()}.
+         */
+        private StringBuilder appendTime(LocalDateTime time) {
+            int year = time.getYear();
+            if (year < 0 || year > 9999) {
+                return line.append(time);
+            }
+            appendDigits(year, 4).append('-');
+            appendDigits(time.getMonthValue(), 2).append('-');
+            appendDigits(time.getDayOfMonth(), 2).append('T');
+            appendDigits(time.getHour(), 2).append(':');
+            appendDigits(time.getMinute(), 2);
+            int second = time.getSecond();
+            int nano = time.getNano();
+            if (second == 0 && nano == 0) {
+                return line;
+            }
+            line.append(':');
+            appendDigits(second, 2);
+            if (nano == 0) {
+                return line;
+            }
+            line.append('.');
+            if (nano % 1_000_000 == 0) {
+                return appendDigits(nano / 1_000_000, 3);
+            }
+            if (nano % 1_000 == 0) {
+                return appendDigits(nano / 1_000, 6);
+            }
+            return appendDigits(nano, 9);
+        }
+
+        private StringBuilder appendDigits(int value, int width) {
+            for (int divisor = pow10(width - 1); divisor > 0; divisor /= 10) {
+                line.append((char) ('0' + (value / divisor) % 10));
+            }
+            return line;
+        }
+
+        private static int pow10(int exponent) {
+            int result = 1;
+            for (int i = 0; i < exponent; i++) {
+                result *= 10;
+            }
+            return result;
+        }
+
+        /**
+         * Codifica el texto a UTF-8 en un arreglo reutilizable y lo copia al buffer,
+         * vaciándolo al archivo cuando no hay espacio.
+         */
+        private void encode(CharSequence text) {
+            int length = text.length();
+            if (encoded.length < length * 3) {
+                encoded = new byte[length * 3];
+            }
+            int n = 0;
+            for (int i = 0; i < length; i++) {
+                char c = text.charAt(i);
+                if (c < 0x80) {
+                    encoded[n++] = (byte) c;
+                } else if (c < 0x800) {
+                    encoded[n++] = (byte) (0xC0 | (c >> 6));
+                    encoded[n++] = (byte) (0x80 | (c & 0x3F));
+                } else if (Character.isHighSurrogate(c) && i + 1 < length
+                        && Character.isLowSurrogate(text.charAt(i + 1))) {
+                    int codePoint = Character.toCodePoint(c, text.charAt(++i));
+                    encoded[n++] = (byte) (0xF0 | (codePoint >> 18));
+                    encoded[n++] = (byte) (0x80 | ((codePoint >> 12) & 0x3F));
+                    encoded[n++] = (byte) (0x80 | ((codePoint >> 6) & 0x3F));
+                    encoded[n++] = (byte) (0x80 | (codePoint & 0x3F));
+                } else if (Character.isSurrogate(c)) {
+                    encoded[n++] = (byte) '?';
+                } else {
+                    encoded[n++] = (byte) (0xE0 | (c >> 12));
+                    encoded[n++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+                    encoded[n++] = (byte) (0x80 | (c & 0x3F));
+                }
+            }
+            for (int offset = 0; offset < n; ) {
+                if (!buffer.hasRemaining()) {
+                    flush();
+                }
+                int chunk = Math.min(n - offset, buffer.remaining());
+                buffer.put(encoded, offset, chunk);
+                offset += chunk;
+            }
+        }
+
+        void flush() {
+            buffer.flip();
+            try {
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            buffer.clear();
+        }
+    }
+}
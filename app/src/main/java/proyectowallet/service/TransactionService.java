@@ -1,14 +1,27 @@
 package proyectowallet.service;
 
+import proyectowallet.model.Currency;
+import proyectowallet.model.Rollup;
 import proyectowallet.model.Transaction;
 import proyectowallet.model.Account;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 /**
  * Interfaz para servicios de gestión de transacciones.
  * Implementa principio SOLID: Dependency Inversion.
  */
 public interface TransactionService {
+    /**
+     * Orden de recorrido de un rango de transacciones.
+     */
+    enum SortOrder {
+        OLDEST_FIRST,
+        NEWEST_FIRST
+    }
+
     /**
      * Registra una transacción.
      * @param transaction transacción a registrar
@@ -36,4 +49,80 @@ public interface TransactionService {
      * @return total de retiros
      */
     double getTotalWithdrawals(Account account);
+
+    /**
+     * Recorre todas las transacciones en orden de registro, sin copiar el historial.
+     * Solo se recorren las transacciones registradas al comenzar el recorrido.
+     * @param action acción a aplicar a cada transacción
+     */
+    void forEachTransaction(Consumer<? super Transaction> action);
+
+    /**
+     * Obtiene la cantidad de transacciones registradas.
+     * @return cantidad de transacciones
+     */
+    int getTransactionCount();
+
+    /**
+     * Recorre las transacciones en las posiciones {@code [from, to)} del orden de registro, sin copiar
+     * el historial. Permite repartir un recorrido completo entre varios hilos.
+     * @param from primera posición, inclusiva
+     * @param to última posición, exclusiva; no mayor que {@link #getTransactionCount()}
+     * @param action acción a aplicar a cada transacción
+     */
+    void forEachTransaction(int from, int to, Consumer<? super Transaction> action);
+
+    /**
+     * Recorre las transacciones de una cuenta en orden de registro, sin copiar el historial.
+     * Usa el índice por cuenta: el costo es proporcional a las transacciones de la cuenta.
+     * @param account cuenta a recorrer
+     * @param action acción a aplicar a cada transacción
+     */
+    void forEachTransaction(Account account, Consumer<? super Transaction> action);
+
+    /**
+     * Obtiene las transacciones de una cuenta con fecha en {@code [from, to)}, ordenadas por fecha
+     * (a igual fecha, por orden de registro). Usa un índice temporal por cuenta: ubicar el rango
+     * cuesta O(log n) y el stream se produce a medida que se consume, así que recorrer k
+     * transacciones cuesta O(log n + k). Se puede consultar mientras se registran transacciones:
+     * el stream incluye al menos las registradas antes de la consulta.
+     * @param account cuenta a consultar
+     * @param from inicio del rango, inclusivo
+     * @param to fin del rango, exclusivo
+     * @param order sentido del recorrido
+     * @return transacciones del rango
+     */
+    Stream<Transaction> streamTransactions(Account account, LocalDateTime from, LocalDateTime to, SortOrder order);
+
+    /**
+     * Obtiene los agregados por hora o por día de un tipo de transacción en una moneda en una
+     * ventana de tiempo, uno por bucket (también los buckets sin transacciones). Los extremos se
+     * truncan al inicio de su bucket: se incluye el bucket de {@code from} y se excluye el de {@code to}.
+     * Los agregados se mantienen al registrar cada transacción, así la consulta cuesta
+     * proporcional a la cantidad de buckets y no a la de transacciones. Cada transacción cuenta
+     * en la moneda de su monto ({@link Transaction#getCurrencyFrom()}), así una suma nunca mezcla monedas.
+     * @param account cuenta a analizar
+     * @param type tipo de transacción
+     * @param currency moneda de los montos
+     * @param granularity tamaño de los buckets
+     * @param from inicio de la ventana
+     * @param to fin de la ventana
+     * @return agregados en orden cronológico
+     */
+    List<Rollup> getRollups(Account account, Transaction.TransactionType type, Currency currency,
+                            Rollup.Granularity granularity, LocalDateTime from, LocalDateTime to);
+
+    /**
+     * Obtiene el agregado total de un tipo de transacción en una moneda en una ventana de
+     * tiempo, con los mismos extremos que {@link #getRollups}.
+     * @param account cuenta a analizar
+     * @param type tipo de transacción
+     * @param currency moneda de los montos
+     * @param granularity tamaño de los buckets usados para truncar la ventana
+     * @param from inicio de la ventana
+     * @param to fin de la ventana
+     * @return agregado de toda la ventana
+     */
+    Rollup getRollupTotal(Account account, Transaction.TransactionType type, Currency currency,
+                          Rollup.Granularity granularity, LocalDateTime from, LocalDateTime to);
 }
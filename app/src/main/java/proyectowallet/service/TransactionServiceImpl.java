@@ -1,23 +1,54 @@
 package proyectowallet.service;
 
+import proyectowallet.model.Currency;
+import proyectowallet.model.Rollup;
 import proyectowallet.model.Transaction;
 import proyectowallet.model.Account;
+import proyectowallet.util.ChunkedLog;
+import proyectowallet.util.RollupRing;
+import java.time.LocalDateTime;
 import java.util.*;
-import java.util.stream.Collectors;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.function.Consumer;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * Implementación del servicio de gestión de transacciones.
- * Implementa principios SOLID y usa Streams de Java 8 para operaciones funcionales.
+ * Implementa principios SOLID. El historial se guarda en un {@link ChunkedLog} de solo agregado,
+ * que se puede recorrer completo sin copiarlo mientras se siguen registrando transacciones.
+ * Además se mantiene un índice por cuenta, de modo que las consultas de una cuenta
+ * recorren solo sus transacciones, y agregados por hora y por día en {@link RollupRing}
+ * que se actualizan al registrar cada transacción, por tipo y moneda del monto.
+ * <p>
+ * Las consultas por rango de fechas buscan en binario sobre el historial de la cuenta, que
+ * normalmente llega en orden de fecha. Las transacciones que llegan con fecha anterior a la
+ * última se indexan aparte en un {@link ConcurrentSkipListMap}: la búsqueda binaria y el
+ * recorrido del historial las saltan, y se mezclan con el rango al leer.
  */
 public class TransactionServiceImpl implements TransactionService {
-    private final List<Transaction> transactionHistory = new ArrayList<>();
+    /** Horas conservadas en los agregados por hora (se redondea a 128). */
+    static final int HOURLY_BUCKETS = 72;
+    /** Días conservados en los agregados por día (se redondea a 128). */
+    static final int DAILY_BUCKETS = 120;
+    private static final int MAX_QUERY_BUCKETS = 1 << 20;
+    private static final int TYPE_COUNT = Transaction.TransactionType.values().length;
+    private static final int CURRENCY_COUNT = Currency.values().length;
+
+    private final ChunkedLog<Transaction> transactionHistory = new ChunkedLog<>();
+    private final Map<String, AccountHistory> historyByAccount = new ConcurrentHashMap<>();
 
     @Override
     public boolean recordTransaction(Transaction transaction) {
         if (transaction == null) {
             throw new IllegalArgumentException("Transacción no puede ser nula");
         }
-        return transactionHistory.add(transaction);
+        transactionHistory.append(transaction);
+        historyByAccount.computeIfAbsent(transaction.getAccount().getId(), id -> new AccountHistory())
+                .record(transaction);
+        return true;
     }
 
     @Override
@@ -26,21 +57,23 @@ public class TransactionServiceImpl implements TransactionService {
             throw new IllegalArgumentException("Cuenta no puede ser nula");
         }
 
-        return transactionHistory.stream()
-                .filter(t -> t.getAccount().getId().equals(account.getId()))
-                .sorted(Comparator.comparing(Transaction::getTimestamp).reversed())
-                .collect(Collectors.toUnmodifiableList());
+        List<Transaction> history = new ArrayList<>();
+        forEachTransaction(account, history::add);
+        history.sort(Comparator.comparing(Transaction::getTimestamp).reversed());
+        return Collections.unmodifiableList(history);
     }
 
     private double getTotalByType(Account account, Transaction.TransactionType type) {
         if (account == null) {
             throw new IllegalArgumentException("Cuenta no puede ser nula");
         }
-        return transactionHistory.stream()
-                .filter(t -> t.getAccount().getId().equals(account.getId()))
-                .filter(t -> t.getType() == type)
-                .mapToDouble(Transaction::getAmount)
-                .sum();
+        DoubleSummaryStatistics total = new DoubleSummaryStatistics();
+        forEachTransaction(account, t -> {
+            if (t.getType() == type) {
+                total.accept(t.getAmount());
+            }
+        });
+        return total.getSum();
     }
 
     @Override
@@ -52,4 +85,310 @@ public class TransactionServiceImpl implements TransactionService {
     public double getTotalWithdrawals(Account account) {
         return getTotalByType(account, Transaction.TransactionType.WITHDRAWAL);
     }
+
+    @Override
+    public void forEachTransaction(Consumer<? super Transaction> action) {
+        if (action == null) {
+            throw new IllegalArgumentException("Acción no puede ser nula");
+        }
+        transactionHistory.forEach(action);
+    }
+
+    @Override
+    public int getTransactionCount() {
+        return transactionHistory.size();
+    }
+
+    @Override
+    public void forEachTransaction(int from, int to, Consumer<? super Transaction> action) {
+        if (action == null) {
+            throw new IllegalArgumentException("Acción no puede ser nula");
+        }
+        if (from < 0 || from > to || to > transactionHistory.size()) {
+            throw new IllegalArgumentException("Rango de posiciones inválido");
+        }
+        transactionHistory.forEach(from, to, action);
+    }
+
+    @Override
+    public void forEachTransaction(Account account, Consumer<? super Transaction> action) {
+        if (account == null || action == null) {
+            throw new IllegalArgumentException("Parámetros inválidos para recorrer el historial");
+        }
+        AccountHistory history = historyByAccount.get(account.getId());
+        if (history != null) {
+            history.transactions.forEach(action);
+        }
+    }
+
+    @Override
+    public Stream<Transaction> streamTransactions(Account account, LocalDateTime from, LocalDateTime to,
+                                                 SortOrder order) {
+        if (account == null || from == null || to == null || order == null) {
+            throw new IllegalArgumentException("Parámetros inválidos para consultar el historial");
+        }
+        if (to.isBefore(from)) {
+            throw new IllegalArgumentException("La fecha final no puede ser anterior a la inicial");
+        }
+        AccountHistory history = historyByAccount.get(account.getId());
+        return history == null ? Stream.empty() : history.range(from, to, order);
+    }
+
+    @Override
+    public List<Rollup> getRollups(Account account, Transaction.TransactionType type, Currency currency,
+                                   Rollup.Granularity granularity, LocalDateTime from, LocalDateTime to) {
+        BucketWindow window = readWindow(account, type, currency, granularity, from, to);
+        List<Rollup> rollups = new ArrayList<>(window.counts.length);
+        for (int i = 0; i < window.counts.length; i++) {
+            rollups.add(new Rollup(granularity.startOf(window.fromBucket + i), granularity, window.counts[i],
+                    window.sums[i], window.mins[i], window.maxs[i]));
+        }
+        return Collections.unmodifiableList(rollups);
+    }
+
+    @Override
+    public Rollup getRollupTotal(Account account, Transaction.TransactionType type, Currency currency,
+                                 Rollup.Granularity granularity, LocalDateTime from, LocalDateTime to) {
+        BucketWindow window = readWindow(account, type, currency, granularity, from, to);
+        long count = 0;
+        double sum = 0;
+        double min = Double.POSITIVE_INFINITY;
+        double max = Double.NEGATIVE_INFINITY;
+        for (int i = 0; i < window.counts.length; i++) {
+            count += window.counts[i];
+            sum += window.sums[i];
+            min = Math.min(min, window.mins[i]);
+            max = Math.max(max, window.maxs[i]);
+        }
+        return new Rollup(granularity.startOf(window.fromBucket), granularity, count, sum, min, max);
+    }
+
+    private BucketWindow readWindow(Account account, Transaction.TransactionType type, Currency currency,
+                                    Rollup.Granularity granularity, LocalDateTime from, LocalDateTime to) {
+        if (account == null || type == null || currency == null || granularity == null || from == null || to == null) {
+            throw new IllegalArgumentException("Parámetros inválidos para consultar agregados");
+        }
+        long fromBucket = granularity.bucketOf(from);
+        long toBucket = granularity.bucketOf(to);
+        if (toBucket < fromBucket) {
+            throw new IllegalArgumentException("La fecha final no puede ser anterior a la inicial");
+        }
+        if (toBucket - fromBucket > MAX_QUERY_BUCKETS) {
+            throw new IllegalArgumentException("La ventana de consulta tiene demasiados intervalos");
+        }
+        BucketWindow window = new BucketWindow(fromBucket, (int) (toBucket - fromBucket));
+        AccountHistory history = historyByAccount.get(account.getId());
+        int category = category(type, currency);
+        if (history != null && !history.readRollups(granularity, category, window)) {
+            // La ventana empieza antes de lo que conservan los agregados: se recalcula del historial
+            history.transactions.forEach(tx -> {
+                if (tx.getType() == type && tx.getCurrencyFrom() == currency) {
+                    window.add(granularity.bucketOf(tx.getTimestamp()), tx.getAmount());
+                }
+            });
+        }
+        return window;
+    }
+
+    /**
+     * Categoría de los agregados: tipo de transacción y moneda del monto.
+     */
+    private static int category(Transaction.TransactionType type, Currency currency) {
+        return type.ordinal() * CURRENCY_COUNT + currency.ordinal();
+    }
+
+    /**
+     * Historial y agregados de una cuenta.
+     */
+    private static final class AccountHistory {
+        private final ChunkedLog<Transaction> transactions = new ChunkedLog<>();
+        private final RollupRing hourly = new RollupRing(TYPE_COUNT * CURRENCY_COUNT, HOURLY_BUCKETS);
+        private final RollupRing daily = new RollupRing(TYPE_COUNT * CURRENCY_COUNT, DAILY_BUCKETS);
+        /**
+         * Transacciones desordenadas (con fecha anterior a la última registrada) por fecha y
+         * posición en el historial, o null. Las demás posiciones del historial están en orden de fecha.
+         */
+        private volatile NavigableMap<TimeKey, Transaction> late;
+        private LocalDateTime latest;
+
+        synchronized void record(Transaction transaction) {
+            LocalDateTime timestamp = transaction.getTimestamp();
+            if (latest != null && timestamp.isBefore(latest)) {
+                if (late == null) {
+                    late = new ConcurrentSkipListMap<>();
+                }
+                // Se indexa antes de agregarla al historial: un lector que vea el nuevo tamaño
+                // del historial ve también el índice
+                late.put(new TimeKey(timestamp, transactions.size()), transaction);
+            } else {
+                latest = timestamp;
+            }
+            transactions.append(transaction);
+            int category = category(transaction.getType(), transaction.getCurrencyFrom());
+            hourly.add(Rollup.Granularity.HOUR.bucketOf(timestamp), category, transaction.getAmount());
+            daily.add(Rollup.Granularity.DAY.bucketOf(timestamp), category, transaction.getAmount());
+        }
+
+        Stream<Transaction> range(LocalDateTime from, LocalDateTime to, SortOrder order) {
+            // El tamaño del historial se lee antes que los índices (ver record)
+            int size = transactions.size();
+            NavigableMap<TimeKey, Transaction> outOfOrder = late;
+            int first = firstAtOrAfter(from, size, outOfOrder);
+            int end = firstAtOrAfter(to, size, outOfOrder);
+            boolean newestFirst = order == SortOrder.NEWEST_FIRST;
+            IntStream positions = newestFirst
+                    ? IntStream.range(0, end - first).map(i -> end - 1 - i)
+                    : IntStream.range(first, end);
+            if (outOfOrder != null) {
+                positions = positions.filter(i -> !isLate(i, outOfOrder));
+            }
+            Stream<Transaction> orderedRange = positions.mapToObj(transactions::get);
+            if (outOfOrder == null) {
+                return orderedRange;
+            }
+            NavigableMap<TimeKey, Transaction> lateRange =
+                    outOfOrder.subMap(new TimeKey(from, -1), true, new TimeKey(to, -1), false);
+            if (lateRange.isEmpty()) {
+                return orderedRange;
+            }
+            Iterator<Transaction> merged = new MergingIterator(orderedRange.iterator(),
+                    (newestFirst ? lateRange.descendingMap() : lateRange).values().iterator(), newestFirst);
+            return StreamSupport.stream(Spliterators.spliteratorUnknownSize(merged,
+                    Spliterator.ORDERED | Spliterator.NONNULL), false);
+        }
+
+        /**
+         * Busca en binario, entre las posiciones en orden, la primera con fecha igual o posterior
+         * a la indicada. Si la posición del medio es desordenada se compara con la siguiente en orden.
+         */
+        private int firstAtOrAfter(LocalDateTime timestamp, int size, NavigableMap<TimeKey, Transaction> outOfOrder) {
+            int low = 0;
+            int high = size;
+            while (low < high) {
+                int middle = (low + high) >>> 1;
+                int probe = middle;
+                while (outOfOrder != null && probe < high && isLate(probe, outOfOrder)) {
+                    probe++;
+                }
+                if (probe < high && transactions.get(probe).getTimestamp().isBefore(timestamp)) {
+                    low = probe + 1;
+                } else {
+                    // Entre middle y probe solo hay desordenadas: cortar en middle equivale a cortar en probe
+                    high = middle;
+                }
+            }
+            return low;
+        }
+
+        private boolean isLate(int position, NavigableMap<TimeKey, Transaction> outOfOrder) {
+            return outOfOrder.containsKey(new TimeKey(transactions.get(position).getTimestamp(), position));
+        }
+
+        /**
+         * Lee la ventana desde los agregados si la cubren.
+         * @return false si la ventana empieza antes de lo que conservan los agregados
+         */
+        synchronized boolean readRollups(Rollup.Granularity granularity, int category, BucketWindow window) {
+            RollupRing ring = granularity == Rollup.Granularity.HOUR ? hourly : daily;
+            if (!ring.covers(window.fromBucket)) {
+                return false;
+            }
+            ring.read(window.fromBucket, window.fromBucket + window.counts.length, category,
+                    window.counts, window.sums, window.mins, window.maxs);
+            return true;
+        }
+    }
+
+    /**
+     * Mezcla las transacciones en orden con las desordenadas del mismo rango, ambas ya ordenadas
+     * en el sentido pedido. A igual fecha una transacción en orden se registró antes que una
+     * desordenada (la desordenada tiene fecha anterior a todo lo registrado después), así que va primero.
+     */
+    private static final class MergingIterator implements Iterator<Transaction> {
+        private final Iterator<Transaction> ordered;
+        private final Iterator<Transaction> late;
+        private final boolean newestFirst;
+        private Transaction nextOrdered;
+        private Transaction nextLate;
+
+        MergingIterator(Iterator<Transaction> ordered, Iterator<Transaction> late, boolean newestFirst) {
+            this.ordered = ordered;
+            this.late = late;
+            this.newestFirst = newestFirst;
+            this.nextOrdered = ordered.hasNext() ? ordered.next() : null;
+            this.nextLate = late.hasNext() ? late.next() : null;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return nextOrdered != null || nextLate != null;
+        }
+
+        @Override
+        public Transaction next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            boolean takeOrdered;
+            if (nextLate == null) {
+                takeOrdered = true;
+            } else if (nextOrdered == null) {
+                takeOrdered = false;
+            } else {
+                int byTime = nextOrdered.getTimestamp().compareTo(nextLate.getTimestamp());
+                takeOrdered = newestFirst ? byTime > 0 : byTime <= 0;
+            }
+            Transaction result;
+            if (takeOrdered) {
+                result = nextOrdered;
+                nextOrdered = ordered.hasNext() ? ordered.next() : null;
+            } else {
+                result = nextLate;
+                nextLate = late.hasNext() ? late.next() : null;
+            }
+            return result;
+        }
+    }
+
+    /**
+     * Clave del índice de transacciones desordenadas; la posición en el historial desempata fechas iguales.
+     */
+    private record TimeKey(LocalDateTime timestamp, int position) implements Comparable<TimeKey> {
+        @Override
+        public int compareTo(TimeKey other) {
+            int byTime = timestamp.compareTo(other.timestamp);
+            return byTime != 0 ? byTime : Integer.compare(position, other.position);
+        }
+    }
+
+    /**
+     * Agregados de una ventana de buckets consecutivos.
+     */
+    private static final class BucketWindow {
+        private final long fromBucket;
+        private final int[] counts;
+        private final double[] sums;
+        private final double[] mins;
+        private final double[] maxs;
+
+        BucketWindow(long fromBucket, int length) {
+            this.fromBucket = fromBucket;
+            this.counts = new int[length];
+            this.sums = new double[length];
+            this.mins = new double[length];
+            this.maxs = new double[length];
+            Arrays.fill(mins, Double.POSITIVE_INFINITY);
+            Arrays.fill(maxs, Double.NEGATIVE_INFINITY);
+        }
+
+        void add(long bucket, double amount) {
+            long i = bucket - fromBucket;
+            if (i >= 0 && i < counts.length) {
+                counts[(int) i]++;
+                sums[(int) i] += amount;
+                mins[(int) i] = Math.min(mins[(int) i], amount);
+                maxs[(int) i] = Math.max(maxs[(int) i], amount);
+            }
+        }
+    }
 }
@@ -0,0 +1,48 @@
+package proyectowallet.service;
+
+import proyectowallet.model.User;
+import proyectowallet.util.ValidationUtil;
+import java.util.List;
+
+/**
+ * Interfaz para validar registros de usuarios en lote.
+ * Implementa principio SOLID: Dependency Inversion.
+ */
+public interface UserRegistrationService {
+    /**
+     * Datos de un usuario a registrar.
+     * @param firstName nombre
+     * @param lastName apellido
+     * @param email email
+     */
+    record Registration(String firstName, String lastName, String email) {
+    }
+
+    /**
+     * Resultado de una fila del lote.
+     * @param row posición de la fila en el lote (desde 0)
+     * @param user usuario creado, o null si la fila es inválida
+     * @param errorKey clave del error (ver {@link ValidationUtil#formatError(String)}), o null si es válida
+     */
+    record Result(int row, User user, String errorKey) {
+        public boolean isRegistered() {
+            return user != null;
+        }
+
+        /**
+         * Obtiene el mensaje del error para mostrar al usuario.
+         * @return mensaje, o null si la fila es válida
+         */
+        public String getMessage() {
+            return errorKey == null ? null : ValidationUtil.formatError(errorKey);
+        }
+    }
+
+    /**
+     * Valida un lote y crea los usuarios de las filas válidas. No guarda ni imprime nada:
+     * quien llama decide qué hacer con cada resultado.
+     * @param rows filas a validar (una fila nula se informa como nombre inválido)
+     * @return un resultado por fila, en el mismo orden
+     */
+    List<Result> validateAll(List<Registration> rows);
+}
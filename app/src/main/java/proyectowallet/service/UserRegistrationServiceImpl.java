@@ -0,0 +1,89 @@
+package proyectowallet.service;
+
+import proyectowallet.model.User;
+import proyectowallet.util.ValidationUtil;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Implementación de la validación de registros en lote.
+ * Divide el lote en bloques que se validan en paralelo en un {@link ForkJoinPool}; cada bloque
+ * escribe sus resultados en su propio tramo de un arreglo, sin locks ni estado compartido.
+ * La validación no usa expresiones regulares (ver {@link ValidationUtil#isValidEmail(String)}).
+ */
+public class UserRegistrationServiceImpl implements UserRegistrationService {
+    private static final int ROWS_PER_TASK = 4_096;
+
+    private final ForkJoinPool pool;
+
+    public UserRegistrationServiceImpl() {
+        this(ForkJoinPool.commonPool());
+    }
+
+    public UserRegistrationServiceImpl(ForkJoinPool pool) {
+        if (pool == null) {
+            throw new IllegalArgumentException("El pool no puede ser nulo");
+        }
+        this.pool = pool;
+    }
+
+    @Override
+    public List<Result> validateAll(List<Registration> rows) {
+        if (rows == null) {
+            throw new IllegalArgumentException("El lote no puede ser nulo");
+        }
+        if (!(rows instanceof RandomAccess)) {
+            rows = new ArrayList<>(rows);
+        }
+        Result[] results = new Result[rows.size()];
+        if (results.length <= ROWS_PER_TASK) {
+            validateRange(rows, results, 0, results.length);
+        } else {
+            pool.invoke(new ValidateTask(rows, results, 0, results.length));
+        }
+        return Collections.unmodifiableList(Arrays.asList(results));
+    }
+
+    private static void validateRange(List<Registration> rows, Result[] results, int from, int to) {
+        for (int i = from; i < to; i++) {
+            Registration row = rows.get(i);
+            String error = row == null
+                    ? "INVALID_NAME"
+                    : ValidationUtil.validateUser(row.firstName(), row.lastName(), row.email());
+            User user = error == null ? new User(row.firstName(), row.lastName(), row.email()) : null;
+            results[i] = new Result(i, user, error);
+        }
+    }
+
+    /**
+     * Tarea que divide el rango de filas hasta el umbral y valida las hojas.
+     */
+    private static final class ValidateTask extends RecursiveAction {
+        private final List<Registration> rows;
+        private final Result[] results;
+        private final int from;
+        private final int to;
+
+        ValidateTask(List<Registration> rows, Result[] results, int from, int to) {
+            this.rows = rows;
+            this.results = results;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= ROWS_PER_TASK) {
+                validateRange(rows, results, from, to);
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(new ValidateTask(rows, results, from, middle), new ValidateTask(rows, results, middle, to));
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package proyectowallet.util;
+
+import java.util.Arrays;
+import java.util.function.Consumer;
+
+/**
+ * Registro de solo agregado organizado en bloques de tamaño fijo.
+ * Agregar nunca copia los elementos existentes (a diferencia de {@link java.util.ArrayList}),
+ * y los lectores recorren sin locks hasta el tamaño publicado: ven siempre un prefijo
+ * consistente aunque otro hilo siga agregando. Las escrituras se serializan.
+ * @param <T> tipo de los elementos
+ */
+public class ChunkedLog<T> {
+    private static final int CHUNK_BITS = 10;
+    private static final int CHUNK_SIZE = 1 << CHUNK_BITS;
+    private static final int CHUNK_MASK = CHUNK_SIZE - 1;
+
+    private volatile Object[][] chunks = new Object[4][];
+    private volatile int size;
+
+    /**
+     * Agrega un elemento al final.
+     * @param element elemento a agregar
+     * @return posición del elemento
+     */
+    public synchronized int append(T element) {
+        if (element == null) {
+            throw new IllegalArgumentException("Elemento no puede ser nulo");
+        }
+        int index = size;
+        int chunk = index >>> CHUNK_BITS;
+        Object[][] current = chunks;
+        if (chunk == current.length) {
+            current = Arrays.copyOf(current, current.length * 2);
+        }
+        if (current[chunk] == null) {
+            current[chunk] = new Object[CHUNK_SIZE];
+        }
+        current[chunk][index & CHUNK_MASK] = element;
+        chunks = current;
+        // Publica el elemento: un lector que ve el nuevo tamaño ve también el elemento
+        size = index + 1;
+        return index;
+    }
+
+    /**
+     * Obtiene el elemento en una posición.
+     * @param index posición, menor que {@link #size()}
+     * @return elemento
+     */
+    @SuppressWarnings("unchecked")
+    public T get(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Posición fuera de rango: " + index);
+        }
+        return (T) chunks[index >>> CHUNK_BITS][index & CHUNK_MASK];
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Recorre en orden de agregado los elementos presentes al comenzar, sin copiarlos.
+     * @param action acción a aplicar a cada elemento
+     */
+    @SuppressWarnings("unchecked")
+    public void forEach(Consumer<? super T> action) {
+        int end = size;
+        Object[][] current = chunks;
+        for (int chunk = 0, remaining = end; remaining > 0; chunk++, remaining -= CHUNK_SIZE) {
+            Object[] elements = current[chunk];
+            int count = Math.min(remaining, CHUNK_SIZE);
+            for (int i = 0; i < count; i++) {
+                action.accept((T) elements[i]);
+            }
+        }
+    }
+
+    /**
+     * Recorre en orden las posiciones {@code [from, to)}, sin copiarlas. Permite repartir
+     * un recorrido entre varios hilos.
+     * @param from primera posición, inclusiva
+     * @param to última posición, exclusiva; no mayor que {@link #size()}
+     * @param action acción a aplicar a cada elemento
+     */
+    @SuppressWarnings("unchecked")
+    public void forEach(int from, int to, Consumer<? super T> action) {
+        if (from < 0 || to > size || from > to) {
+            throw new IndexOutOfBoundsException("Rango fuera de límites: [" + from + ", " + to + ")");
+        }
+        Object[][] current = chunks;
+        int index = from;
+        while (index < to) {
+            Object[] elements = current[index >>> CHUNK_BITS];
+            int chunkEnd = Math.min(to, (index | CHUNK_MASK) + 1);
+            for (int i = index & CHUNK_MASK, end = i + chunkEnd - index; i < end; i++) {
+                action.accept((T) elements[i]);
+            }
+            index = chunkEnd;
+        }
+    }
+}
@@ -0,0 +1,153 @@
+package proyectowallet.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Anillo de hashing consistente con nodos virtuales.
+ * Cada nodo ocupa {@code virtualNodes} puntos del anillo y una clave pertenece al primer punto
+ * en sentido horario desde su hash. Con suficientes puntos por nodo la carga queda pareja y, al
+ * agregar o quitar un nodo, solo cambian de dueño las claves de los arcos que ese nodo gana o
+ * pierde (en promedio 1/N de las claves, en lugar de casi todas con {@code hash % N}).
+ * <p>
+ * Es inmutable: {@link #withNode} y {@link #withoutNode} devuelven un anillo nuevo, así que se
+ * puede consultar sin locks mientras otro hilo prepara el siguiente. El hash es de 64 bits y no
+ * depende de la JVM: todos los nodos calculan el mismo dueño para una clave.
+ */
+public final class ConsistentHashRing {
+    public static final int DEFAULT_VIRTUAL_NODES = 128;
+
+    private final int virtualNodes;
+    private final List<String> nodes;
+    /** Puntos del anillo ordenados; {@code owners[i]} es el nodo del punto {@code points[i]}. */
+    private final long[] points;
+    private final String[] owners;
+
+    public ConsistentHashRing() {
+        this(DEFAULT_VIRTUAL_NODES);
+    }
+
+    /**
+     * Crea un anillo vacío.
+     * @param virtualNodes puntos que ocupa cada nodo
+     */
+    public ConsistentHashRing(int virtualNodes) {
+        this(virtualNodes, List.of());
+    }
+
+    private ConsistentHashRing(int virtualNodes, List<String> nodes) {
+        if (virtualNodes <= 0) {
+            throw new IllegalArgumentException("La cantidad de nodos virtuales debe ser positiva");
+        }
+        this.virtualNodes = virtualNodes;
+        this.nodes = nodes;
+        int count = nodes.size() * virtualNodes;
+        long[] hashes = new long[count];
+        Integer[] order = new Integer[count];
+        for (int n = 0; n < nodes.size(); n++) {
+            for (int v = 0; v < virtualNodes; v++) {
+                int index = n * virtualNodes + v;
+                hashes[index] = hash(nodes.get(n) + "#" + v);
+                order[index] = index;
+            }
+        }
+        // Ante puntos repetidos gana el id menor, para que el orden de alta no cambie el dueño
+        Arrays.sort(order, (a, b) -> {
+            int byHash = Long.compare(hashes[a], hashes[b]);
+            return byHash != 0 ? byHash : nodes.get(a / virtualNodes).compareTo(nodes.get(b / virtualNodes));
+        });
+        this.points = new long[count];
+        this.owners = new String[count];
+        for (int i = 0; i < count; i++) {
+            points[i] = hashes[order[i]];
+            owners[i] = nodes.get(order[i] / virtualNodes);
+        }
+    }
+
+    /**
+     * Devuelve un anillo con un nodo más.
+     * @param nodeId id del nodo a agregar
+     * @return anillo nuevo; este no cambia
+     */
+    public ConsistentHashRing withNode(String nodeId) {
+        if (nodeId == null || nodeId.isBlank()) {
+            throw new IllegalArgumentException("ID de nodo inválido");
+        }
+        if (nodes.contains(nodeId)) {
+            throw new IllegalArgumentException("El nodo ya está en el anillo: " + nodeId);
+        }
+        List<String> updated = new ArrayList<>(nodes);
+        updated.add(nodeId);
+        return new ConsistentHashRing(virtualNodes, Collections.unmodifiableList(updated));
+    }
+
+    /**
+     * Devuelve un anillo sin un nodo.
+     * @param nodeId id del nodo a quitar
+     * @return anillo nuevo; este no cambia
+     */
+    public ConsistentHashRing withoutNode(String nodeId) {
+        if (!contains(nodeId)) {
+            throw new IllegalArgumentException("El nodo no está en el anillo: " + nodeId);
+        }
+        List<String> updated = new ArrayList<>(nodes);
+        updated.remove(nodeId);
+        return new ConsistentHashRing(virtualNodes, Collections.unmodifiableList(updated));
+    }
+
+    /**
+     * Obtiene el nodo dueño de una clave: búsqueda binaria sobre los puntos del anillo.
+     * @param key clave (por ejemplo, el id de una cuenta)
+     * @return id del nodo dueño
+     */
+    public String ownerOf(String key) {
+        if (key == null) {
+            throw new IllegalArgumentException("La clave no puede ser nula");
+        }
+        if (points.length == 0) {
+            throw new IllegalStateException("El anillo no tiene nodos");
+        }
+        int index = Arrays.binarySearch(points, hash(key));
+        if (index < 0) {
+            index = -index - 1;
+        }
+        return owners[index == points.length ? 0 : index];
+    }
+
+    public boolean contains(String nodeId) {
+        return nodeId != null && nodes.contains(nodeId);
+    }
+
+    /**
+     * Obtiene los nodos del anillo en orden de alta.
+     */
+    public List<String> getNodes() {
+        return nodes;
+    }
+
+    public int getVirtualNodes() {
+        return virtualNodes;
+    }
+
+    /**
+     * Hash de 64 bits estable entre JVMs: FNV-1a sobre los caracteres seguido del mezclador
+     * final de MurmurHash3, para que claves parecidas queden lejos en el anillo.
+     * @param key texto a resumir
+     * @return hash de la clave
+     */
+    public static long hash(String key) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < key.length(); i++) {
+            hash ^= key.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
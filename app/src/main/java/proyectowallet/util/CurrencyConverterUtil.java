@@ -1,16 +1,33 @@
 package proyectowallet.util;
 
 import proyectowallet.model.Currency;
+import proyectowallet.model.RateSnapshot;
 import proyectowallet.service.CurrencyConverterService;
+import proyectowallet.service.ExchangeRateProvider;
+import proyectowallet.service.ExchangeRateProviderImpl;
 
 /**
  * Implementación de servicio de conversión de monedas.
- * Implementa principios SOLID: 
+ * Implementa principios SOLID:
  * - Single Responsibility: solo maneja conversiones
  * - Open/Closed: fácil de extender con nuevas monedas
  * - Liskov Substitution: implementa correctamente la interfaz
+ * Las tasas se obtienen de un {@link ExchangeRateProvider}; cada conversión lee el
+ * snapshot vigente y hace una sola búsqueda en la matriz de tasas cruzadas.
  */
 public class CurrencyConverterUtil implements CurrencyConverterService {
+    private final ExchangeRateProvider rateProvider;
+
+    public CurrencyConverterUtil() {
+        this(new ExchangeRateProviderImpl());
+    }
+
+    public CurrencyConverterUtil(ExchangeRateProvider rateProvider) {
+        if (rateProvider == null) {
+            throw new IllegalArgumentException("Proveedor de tasas no puede ser nulo");
+        }
+        this.rateProvider = rateProvider;
+    }
 
     @Override
     public double convert(double amount, Currency from, Currency to) {
@@ -18,13 +35,7 @@ public class CurrencyConverterUtil implements CurrencyConverterService {
             throw new IllegalArgumentException("Parámetros inválidos para conversión");
         }
 
-        if (from == to) {
-            return amount;
-        }
-
-        // Convertir a USD primero, luego a la moneda destino
-        double amountInUSD = amount * from.getExchangeRateToUSD();
-        return amountInUSD / to.getExchangeRateToUSD();
+        return rateProvider.getSnapshot().convert(amount, from, to);
     }
 
     @Override
@@ -33,10 +44,68 @@ public class CurrencyConverterUtil implements CurrencyConverterService {
             throw new IllegalArgumentException("Monedas no pueden ser nulas");
         }
 
-        if (from == to) {
-            return 1.0;
+        return rateProvider.getSnapshot().getRate(from, to);
+    }
+
+    @Override
+    public long convertAll(double[] amounts, int[] fromOrdinals, int[] toOrdinals, double[] target) {
+        if (amounts == null || fromOrdinals == null || toOrdinals == null || target == null) {
+            throw new IllegalArgumentException("Arreglos no pueden ser nulos");
+        }
+        int length = amounts.length;
+        if (fromOrdinals.length != length || toOrdinals.length != length || target.length < length) {
+            throw new IllegalArgumentException("Los arreglos deben tener el mismo largo");
         }
+        validateAmounts(amounts);
+        int currencies = Currency.values().length;
+        for (int i = 0; i < length; i++) {
+            if (fromOrdinals[i] < 0 || fromOrdinals[i] >= currencies
+                    || toOrdinals[i] < 0 || toOrdinals[i] >= currencies) {
+                throw new IllegalArgumentException("Ordinal de moneda inválido en posición " + i);
+            }
+        }
+
+        RateSnapshot snapshot = rateProvider.getSnapshot();
+        snapshot.convertAll(amounts, fromOrdinals, toOrdinals, target, length);
+        return snapshot.getVersion();
+    }
+
+    @Override
+    public long convertAll(double[] amounts, Currency from, Currency to, double[] target) {
+        if (amounts == null || target == null || from == null || to == null) {
+            throw new IllegalArgumentException("Parámetros inválidos para conversión");
+        }
+        if (target.length < amounts.length) {
+            throw new IllegalArgumentException("El arreglo destino es demasiado corto");
+        }
+        validateAmounts(amounts);
+
+        RateSnapshot snapshot = rateProvider.getSnapshot();
+        snapshot.convertAll(amounts, from, to, target, amounts.length);
+        return snapshot.getVersion();
+    }
+
+    /**
+     * Rechaza montos negativos o NaN, igual que la conversión individual.
+     */
+    private static void validateAmounts(double[] amounts) {
+        for (int i = 0; i < amounts.length; i++) {
+            if (!(amounts[i] >= 0)) {
+                throw new IllegalArgumentException("Monto inválido en posición " + i);
+            }
+        }
+    }
+
+    @Override
+    public RateSnapshot getRateSnapshot() {
+        return rateProvider.getSnapshot();
+    }
 
-        return (from.getExchangeRateToUSD() / to.getExchangeRateToUSD());
+    /**
+     * Obtiene el proveedor de tasas usado por el conversor.
+     * @return proveedor de tasas
+     */
+    public ExchangeRateProvider getRateProvider() {
+        return rateProvider;
     }
 }
@@ -0,0 +1,145 @@
+package proyectowallet.util;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Caché concurrente y acotada de resultados por clave de idempotencia.
+ * Guarda el resultado de cada operación bajo la clave enviada por el cliente, de modo que
+ * un reintento devuelve el resultado original en vez de ejecutar la operación otra vez.
+ * Las entradas expiran tras un TTL y la caché nunca supera el tamaño máximo: las claves
+ * más antiguas se descartan primero. Búsquedas e inserciones son O(1) amortizado.
+ * <p>
+ * La operación no corre dentro del mapa: primero se inserta una entrada pendiente con
+ * {@code putIfAbsent} y luego se ejecuta la operación fuera de él, así una operación lenta no
+ * bloquea otras claves ni el mapa puede llamarla dos veces.
+ * @param <V> tipo del resultado guardado
+ */
+public class IdempotencyCache<V> {
+    private final Map<String, Entry<V>> entries = new ConcurrentHashMap<>();
+    private final Queue<Entry<V>> insertionOrder = new ConcurrentLinkedQueue<>();
+    private final int maxSize;
+    private final long ttlNanos;
+    private final LongSupplier clock;
+
+    public IdempotencyCache(int maxSize, Duration ttl) {
+        this(maxSize, ttl, System::nanoTime);
+    }
+
+    IdempotencyCache(int maxSize, Duration ttl, LongSupplier clock) {
+        if (maxSize <= 0 || ttl == null || ttl.isNegative() || ttl.isZero()) {
+            throw new IllegalArgumentException("Parámetros inválidos para la caché de idempotencia");
+        }
+        this.maxSize = maxSize;
+        this.ttlNanos = ttl.toNanos();
+        this.clock = clock;
+    }
+
+    /**
+     * Ejecuta la operación una sola vez por clave y guarda su resultado.
+     * Si la clave ya existe y no expiró, devuelve el resultado guardado sin ejecutar la operación.
+     * Llamadas concurrentes con la misma clave esperan al primer resultado. Si la operación
+     * lanza una excepción no se guarda nada y la próxima llamada con la clave la vuelve a ejecutar.
+     * @param key clave de idempotencia
+     * @param operation operación a ejecutar
+     * @return resultado original de la operación
+     */
+    public V execute(String key, Supplier<V> operation) {
+        if (key == null || key.isBlank() || operation == null) {
+            throw new IllegalArgumentException("Clave de idempotencia inválida");
+        }
+        long now = clock.getAsLong();
+        Entry<V> entry = new Entry<>(key, now + ttlNanos);
+        while (true) {
+            Entry<V> existing = entries.putIfAbsent(key, entry);
+            if (existing == null) {
+                break;
+            }
+            if (existing.isExpired(now)) {
+                entries.remove(key, existing);
+                continue;
+            }
+            try {
+                return existing.result.join();
+            } catch (CompletionException | CancellationException e) {
+                // La operación original falló y su entrada ya se quitó: se vuelve a intentar
+                entries.remove(key, existing);
+            }
+        }
+
+        insertionOrder.add(entry);
+        evict(now);
+        V value;
+        try {
+            value = operation.get();
+        } catch (RuntimeException | Error e) {
+            entries.remove(key, entry);
+            entry.result.completeExceptionally(e);
+            throw e;
+        }
+        entry.result.complete(value);
+        return value;
+    }
+
+    /**
+     * Obtiene el resultado guardado para una clave.
+     * @param key clave de idempotencia
+     * @return resultado guardado, o null si no existe o expiró
+     */
+    public V get(String key) {
+        if (key == null) {
+            return null;
+        }
+        Entry<V> entry = entries.get(key);
+        if (entry == null || entry.isExpired(clock.getAsLong()) || !entry.result.isDone()
+                || entry.result.isCompletedExceptionally()) {
+            return null;
+        }
+        return entry.result.join();
+    }
+
+    /**
+     * Obtiene la cantidad de claves guardadas.
+     * @return cantidad de entradas
+     */
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * Descarta entradas expiradas desde la más antigua y, si se supera el máximo, las más antiguas.
+     */
+    private void evict(long now) {
+        Entry<V> oldest;
+        while ((oldest = insertionOrder.peek()) != null
+                && (oldest.isExpired(now) || entries.size() > maxSize)) {
+            if (insertionOrder.remove(oldest)) {
+                entries.remove(oldest.key, oldest);
+            }
+        }
+    }
+
+    private static final class Entry<V> {
+        private final String key;
+        /** Se completa cuando termina la operación; mientras tanto la entrada está pendiente. */
+        private final CompletableFuture<V> result = new CompletableFuture<>();
+        private final long expiresAt;
+
+        Entry(String key, long expiresAt) {
+            this.key = key;
+            this.expiresAt = expiresAt;
+        }
+
+        boolean isExpired(long now) {
+            return now - expiresAt >= 0;
+        }
+    }
+}
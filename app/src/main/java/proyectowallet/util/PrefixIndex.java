@@ -0,0 +1,129 @@
+package proyectowallet.util;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.regex.Pattern;
+
+/**
+ * Índice por prefijo de términos normalizados (minúsculas, sin tildes ni espacios repetidos).
+ * Cada elemento se indexa bajo uno o más términos en un mapa ordenado
+ * ({@link ConcurrentSkipListMap}): agregar cuesta O(log n) por término y buscar los primeros
+ * {@code limit} elementos cuyo término empieza con un prefijo cuesta O(log n + limit), sin
+ * recorrer el resto. Admite agregados y búsquedas concurrentes.
+ * @param <T> tipo de los elementos
+ */
+public class PrefixIndex<T> {
+    private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+    private static final char[] LATIN1_FOLD = latin1Fold();
+    /** Separa el término del id en la clave: es menor que cualquier carácter de un término. */
+    private static final char SEPARATOR = '\u0000';
+
+    private final NavigableMap<String, T> entries = new ConcurrentSkipListMap<>();
+
+    /**
+     * Indexa un elemento.
+     * @param id identificador único del elemento; desempata elementos con el mismo término
+     * @param item elemento
+     * @param terms términos por los que se podrá encontrar (se ignoran los vacíos)
+     */
+    public void add(String id, T item, String... terms) {
+        if (id == null || item == null || terms == null) {
+            throw new IllegalArgumentException("Parámetros inválidos para indexar");
+        }
+        // La clave se arma en un solo builder: término normalizado, separador e id
+        StringBuilder key = new StringBuilder(64);
+        for (String term : terms) {
+            key.setLength(0);
+            normalizeTo(key, term);
+            if (key.length() > 0) {
+                entries.put(key.append(SEPARATOR).append(id).toString(), item);
+            }
+        }
+    }
+
+    /**
+     * Busca los primeros elementos, en orden alfabético de término, con algún término que empiece
+     * con el prefijo. Un elemento que coincide por varios términos aparece una sola vez.
+     * @param prefix prefijo a buscar; vacío devuelve los primeros elementos del índice
+     * @param limit cantidad máxima de resultados
+     * @return elementos encontrados
+     */
+    public List<T> search(String prefix, int limit) {
+        if (limit <= 0) {
+            throw new IllegalArgumentException("La cantidad de resultados debe ser positiva");
+        }
+        String normalized = normalize(prefix);
+        NavigableMap<String, T> range = normalized.isEmpty()
+                ? entries
+                : entries.subMap(normalized, true, normalized + Character.MAX_VALUE, false);
+        Set<T> found = new LinkedHashSet<>();
+        for (T item : range.values()) {
+            if (found.add(item) && found.size() == limit) {
+                break;
+            }
+        }
+        return Collections.unmodifiableList(new ArrayList<>(found));
+    }
+
+    /**
+     * Normaliza un término: sin tildes, en minúsculas y con espacios simples.
+     * @param term término original (null equivale a vacío)
+     * @return término normalizado
+     */
+    public static String normalize(String term) {
+        if (term == null) {
+            return "";
+        }
+        return normalizeTo(new StringBuilder(term.length()), term).toString();
+    }
+
+    /**
+     * Agrega el término normalizado al final del builder.
+     */
+    private static StringBuilder normalizeTo(StringBuilder normalized, String term) {
+        if (term == null) {
+            return normalized;
+        }
+        int start = normalized.length();
+        for (int i = 0; i < term.length(); i++) {
+            if (term.charAt(i) >= LATIN1_FOLD.length) {
+                // Solo los textos con caracteres fuera de Latin-1 pasan por la descomposición completa
+                term = MARKS.matcher(Normalizer.normalize(term, Normalizer.Form.NFD)).replaceAll("");
+                break;
+            }
+        }
+        boolean pendingSpace = false;
+        for (int i = 0; i < term.length(); i++) {
+            char c = term.charAt(i);
+            if (Character.isWhitespace(c)) {
+                pendingSpace = normalized.length() > start;
+                continue;
+            }
+            if (pendingSpace) {
+                normalized.append(' ');
+                pendingSpace = false;
+            }
+            normalized.append(c < LATIN1_FOLD.length ? LATIN1_FOLD[c] : Character.toLowerCase(c));
+        }
+        return normalized;
+    }
+
+    /**
+     * Tabla de Latin-1 a minúscula sin tilde (á → a, Ñ → n), calculada con la misma
+     * descomposición que usa el camino general.
+     */
+    private static char[] latin1Fold() {
+        char[] fold = new char[256];
+        for (char c = 0; c < fold.length; c++) {
+            String base = MARKS.matcher(Normalizer.normalize(String.valueOf(c), Normalizer.Form.NFD)).replaceAll("");
+            fold[c] = Character.toLowerCase(base.length() == 1 ? base.charAt(0) : c);
+        }
+        return fold;
+    }
+}
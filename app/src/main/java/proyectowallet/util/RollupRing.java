@@ -0,0 +1,186 @@
+package proyectowallet.util;
+
+import java.util.Arrays;
+
+/**
+ * Buffer circular de agregados por intervalo de tiempo (bucket) y categoría: cantidad, suma,
+ * mínimo y máximo, guardados en arreglos primitivos paralelos sin objetos por bucket.
+ * <p>
+ * Los buckets se identifican por número (p. ej. horas o días desde la época). El buffer conserva
+ * como máximo {@code capacity} buckets contados desde el más reciente; empieza chico y crece
+ * (en potencias de dos) solo cuando el rango de buckets registrados lo requiere. Cada posición
+ * guarda el número de bucket que contiene, así un bucket desplazado por uno más nuevo se detecta
+ * al leer sin tener que limpiar posiciones al avanzar.
+ * <p>
+ * No es seguro para uso concurrente; quien lo use debe sincronizar escrituras y lecturas.
+ */
+public class RollupRing {
+    private static final long EMPTY = Long.MIN_VALUE;
+    private static final int INITIAL_LENGTH = 4;
+
+    private final int categories;
+    private final int capacity;
+    private long[] buckets;
+    private int[] counts;
+    private double[] sums;
+    private double[] mins;
+    private double[] maxs;
+    private long newest = EMPTY;
+    private long oldest = EMPTY;
+    private long coveredFrom = EMPTY;
+
+    /**
+     * Crea un buffer vacío.
+     * @param categories cantidad de categorías por bucket
+     * @param capacity cantidad máxima de buckets conservados; se redondea a potencia de dos
+     */
+    public RollupRing(int categories, int capacity) {
+        if (categories <= 0 || capacity <= 0 || capacity > 1 << 24) {
+            throw new IllegalArgumentException("Parámetros inválidos para el buffer de agregados");
+        }
+        this.categories = categories;
+        int length = 1;
+        while (length < capacity) {
+            length <<= 1;
+        }
+        this.capacity = length;
+        allocate(Math.min(INITIAL_LENGTH, length));
+    }
+
+    private void allocate(int length) {
+        buckets = new long[length];
+        Arrays.fill(buckets, EMPTY);
+        counts = new int[length * categories];
+        sums = new double[length * categories];
+        mins = new double[length * categories];
+        maxs = new double[length * categories];
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+
+    /**
+     * Suma un valor al bucket y la categoría indicados. Si el bucket es anterior a los
+     * {@link #capacity()} buckets más recientes se descarta y deja de estar cubierto.
+     * @param bucket número de bucket
+     * @param category categoría, entre 0 y {@code categories - 1}
+     * @param value valor a agregar
+     */
+    public void add(long bucket, int category, double value) {
+        if (bucket == EMPTY || category < 0 || category >= categories) {
+            throw new IllegalArgumentException("Bucket o categoría inválidos");
+        }
+        if (newest != EMPTY && bucket <= newest - capacity) {
+            coveredFrom = Math.max(coveredFrom, bucket + 1);
+            return;
+        }
+        int slot = slotFor(bucket);
+        int index = slot * categories + category;
+        counts[index]++;
+        sums[index] += value;
+        mins[index] = Math.min(mins[index], value);
+        maxs[index] = Math.max(maxs[index], value);
+        newest = newest == EMPTY ? bucket : Math.max(newest, bucket);
+        oldest = oldest == EMPTY ? bucket : Math.min(oldest, bucket);
+    }
+
+    /**
+     * Obtiene la posición del bucket, creciendo o desplazando el bucket que la ocupaba.
+     */
+    private int slotFor(long bucket) {
+        while (true) {
+            int slot = (int) (bucket & (buckets.length - 1));
+            long current = buckets[slot];
+            if (current == bucket) {
+                return slot;
+            }
+            boolean outsideWindow = current < bucket && (buckets.length == capacity || current <= bucket - capacity);
+            if (current == EMPTY || outsideWindow) {
+                if (current != EMPTY) {
+                    // Se pierde el bucket desplazado: desde aquí ya no hay datos completos anteriores
+                    coveredFrom = Math.max(coveredFrom, current + 1);
+                }
+                buckets[slot] = bucket;
+                int base = slot * categories;
+                Arrays.fill(counts, base, base + categories, 0);
+                Arrays.fill(sums, base, base + categories, 0);
+                Arrays.fill(mins, base, base + categories, Double.POSITIVE_INFINITY);
+                Arrays.fill(maxs, base, base + categories, Double.NEGATIVE_INFINITY);
+                return slot;
+            }
+            grow();
+        }
+    }
+
+    /**
+     * Duplica el largo y reubica los buckets. Con largos potencia de dos, buckets que no
+     * colisionaban siguen sin colisionar.
+     */
+    private void grow() {
+        long[] oldBuckets = buckets;
+        int[] oldCounts = counts;
+        double[] oldSums = sums;
+        double[] oldMins = mins;
+        double[] oldMaxs = maxs;
+        allocate(oldBuckets.length * 2);
+        for (int oldSlot = 0; oldSlot < oldBuckets.length; oldSlot++) {
+            long bucket = oldBuckets[oldSlot];
+            if (bucket == EMPTY) {
+                continue;
+            }
+            int slot = (int) (bucket & (buckets.length - 1));
+            buckets[slot] = bucket;
+            System.arraycopy(oldCounts, oldSlot * categories, counts, slot * categories, categories);
+            System.arraycopy(oldSums, oldSlot * categories, sums, slot * categories, categories);
+            System.arraycopy(oldMins, oldSlot * categories, mins, slot * categories, categories);
+            System.arraycopy(oldMaxs, oldSlot * categories, maxs, slot * categories, categories);
+        }
+    }
+
+    /**
+     * Indica si los datos de todos los buckets desde {@code fromBucket} siguen en el buffer.
+     * @param fromBucket primer bucket consultado
+     * @return true si la consulta desde ese bucket es exacta
+     */
+    public boolean covers(long fromBucket) {
+        return fromBucket >= coveredFrom;
+    }
+
+    /**
+     * Acumula en los arreglos destino los agregados de los buckets {@code [fromBucket, toBucket)}
+     * de una categoría; la posición {@code i} corresponde al bucket {@code fromBucket + i}.
+     * Solo recorre buckets del rango, con un costo proporcional a su cantidad.
+     * @param fromBucket primer bucket, inclusivo
+     * @param toBucket último bucket, exclusivo
+     * @param category categoría
+     * @param outCounts cantidades destino
+     * @param outSums sumas destino
+     * @param outMins mínimos destino (inicializados en +infinito)
+     * @param outMaxs máximos destino (inicializados en -infinito)
+     */
+    public void read(long fromBucket, long toBucket, int category, int[] outCounts, double[] outSums,
+                     double[] outMins, double[] outMaxs) {
+        if (category < 0 || category >= categories || toBucket < fromBucket) {
+            throw new IllegalArgumentException("Rango o categoría inválidos");
+        }
+        if (newest == EMPTY) {
+            return;
+        }
+        long first = Math.max(fromBucket, oldest);
+        long last = Math.min(toBucket - 1, newest);
+        int mask = buckets.length - 1;
+        for (long bucket = first; bucket <= last; bucket++) {
+            int slot = (int) (bucket & mask);
+            if (buckets[slot] != bucket) {
+                continue;
+            }
+            int index = slot * categories + category;
+            int i = (int) (bucket - fromBucket);
+            outCounts[i] += counts[index];
+            outSums[i] += sums[index];
+            outMins[i] = Math.min(outMins[i], mins[index]);
+            outMaxs[i] = Math.max(outMaxs[i], maxs[index]);
+        }
+    }
+}
@@ -0,0 +1,149 @@
+package proyectowallet.util;
+
+/**
+ * Conserva los {@code limit} elementos de mayor puntaje entre los ofrecidos, con un min-heap
+ * acotado sobre arreglos paralelos: ofrecer cuesta O(1) si el elemento no entra entre los
+ * mejores y O(log limit) si entra; nunca se guarda ni se ordena el conjunto completo.
+ * Un elemento con el mismo puntaje que el peor conservado no lo reemplaza.
+ * No es seguro para uso concurrente: cada hilo usa su propia instancia y luego
+ * se combinan con {@link #merge(TopN)}.
+ * @param <T> tipo de los elementos
+ */
+public class TopN<T> {
+    private final int limit;
+    private final double[] scores;
+    private final Object[] items;
+    private int size;
+    private boolean sorted;
+
+    /**
+     * Crea un top vacío.
+     * @param limit cantidad máxima de elementos conservados
+     */
+    public TopN(int limit) {
+        if (limit <= 0) {
+            throw new IllegalArgumentException("El límite debe ser positivo");
+        }
+        this.limit = limit;
+        this.scores = new double[limit];
+        this.items = new Object[limit];
+    }
+
+    /**
+     * Ofrece un elemento.
+     * @param item elemento
+     * @param score puntaje; mayor es mejor
+     */
+    public void offer(T item, double score) {
+        if (sorted) {
+            throw new IllegalStateException("El top ya fue ordenado");
+        }
+        if (size < limit) {
+            scores[size] = score;
+            items[size] = item;
+            siftUp(size++);
+        } else if (score > scores[0]) {
+            // Reemplaza al peor de los conservados
+            scores[0] = score;
+            items[0] = item;
+            siftDown(0, size);
+        }
+    }
+
+    /**
+     * Agrega los elementos de otro top a este.
+     * @param other top a combinar
+     */
+    @SuppressWarnings("unchecked")
+    public void merge(TopN<T> other) {
+        for (int i = 0; i < other.size; i++) {
+            offer((T) other.items[i], other.scores[i]);
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Ordena los elementos de mayor a menor puntaje; después ya no se pueden ofrecer más.
+     * Ordena solo los {@code limit} conservados, extrayendo el mínimo hacia el final.
+     */
+    public void sortDescending() {
+        if (sorted) {
+            return;
+        }
+        for (int end = size - 1; end > 0; end--) {
+            swap(0, end);
+            siftDown(0, end);
+        }
+        sorted = true;
+    }
+
+    /**
+     * Obtiene un elemento después de {@link #sortDescending()}.
+     * @param rank posición, 0 es el de mayor puntaje
+     * @return elemento
+     */
+    @SuppressWarnings("unchecked")
+    public T item(int rank) {
+        checkRank(rank);
+        return (T) items[rank];
+    }
+
+    /**
+     * Obtiene un puntaje después de {@link #sortDescending()}.
+     * @param rank posición, 0 es el de mayor puntaje
+     * @return puntaje
+     */
+    public double score(int rank) {
+        checkRank(rank);
+        return scores[rank];
+    }
+
+    private void checkRank(int rank) {
+        if (!sorted) {
+            throw new IllegalStateException("El top no está ordenado");
+        }
+        if (rank < 0 || rank >= size) {
+            throw new IndexOutOfBoundsException("Posición fuera de rango: " + rank);
+        }
+    }
+
+    private void siftUp(int index) {
+        while (index > 0) {
+            int parent = (index - 1) >>> 1;
+            if (scores[parent] <= scores[index]) {
+                return;
+            }
+            swap(parent, index);
+            index = parent;
+        }
+    }
+
+    private void siftDown(int index, int end) {
+        while (true) {
+            int child = 2 * index + 1;
+            if (child >= end) {
+                return;
+            }
+            if (child + 1 < end && scores[child + 1] < scores[child]) {
+                child++;
+            }
+            if (scores[index] <= scores[child]) {
+                return;
+            }
+            swap(index, child);
+            index = child;
+        }
+    }
+
+    private void swap(int a, int b) {
+        double score = scores[a];
+        scores[a] = scores[b];
+        scores[b] = score;
+        Object item = items[a];
+        items[a] = items[b];
+        items[b] = item;
+    }
+}
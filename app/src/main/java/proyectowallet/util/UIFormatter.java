@@ -2,14 +2,37 @@ package proyectowallet.util;
 
 import proyectowallet.model.Currency;
 import java.text.DecimalFormat;
+import java.text.DecimalFormatSymbols;
 
 /**
  * Utilidad para formateo de interfaz de usuario.
  * Implementa principio SOLID: Single Responsibility.
  * Mejora la experiencia del usuario (UX) con formatos claros.
+ * <p>
+ * Los montos se escriben con dos decimales, redondeo HALF_EVEN sobre el valor binario exacto
+ * y los símbolos del locale por defecto, con el mismo texto que {@code new DecimalFormat("0.00")}.
+ * No hay estado mutable compartido: se puede usar desde varios hilos a la vez.
  */
 public class UIFormatter {
-    private static final DecimalFormat DECIMAL_FORMAT = new DecimalFormat("0.00");
+    /** Hasta este valor absoluto los centavos se calculan sin {@link DecimalFormat}. */
+    private static final double MAX_FAST_AMOUNT = 1e13;
+    private static final long[] POWERS_OF_TEN = {
+            1L, 10L, 100L, 1_000L, 10_000L, 100_000L, 1_000_000L, 10_000_000L, 100_000_000L, 1_000_000_000L,
+            10_000_000_000L, 100_000_000_000L, 1_000_000_000_000L, 10_000_000_000_000L,
+            100_000_000_000_000L, 1_000_000_000_000_000L
+    };
+    private static final String NEGATIVE_PREFIX = new DecimalFormat("0.00").getNegativePrefix();
+    private static final char ZERO_DIGIT;
+    private static final char DECIMAL_SEPARATOR;
+    /** Montos fuera del camino rápido (muy grandes, NaN o infinitos): un formato por hilo. */
+    private static final ThreadLocal<DecimalFormat> SLOW_FORMAT = ThreadLocal.withInitial(() -> new DecimalFormat("0.00"));
+
+    static {
+        DecimalFormatSymbols symbols = new DecimalFormatSymbols();
+        ZERO_DIGIT = symbols.getZeroDigit();
+        DECIMAL_SEPARATOR = symbols.getDecimalSeparator();
+    }
+
     private static final String RESET = "\u001B[0m";
     private static final String BOLD = "\u001B[1m";
     private static final String GREEN = "\u001B[32m";
@@ -28,7 +51,7 @@ public class UIFormatter {
      * @return monto formateado
      */
     public static String formatMoney(double amount, Currency currency) {
-        return currency.getSymbol() + " " + DECIMAL_FORMAT.format(amount);
+        return appendMoney(new StringBuilder(24), amount, currency).toString();
     }
 
     /**
@@ -37,7 +60,70 @@ public class UIFormatter {
      * @return monto formateado
      */
     public static String formatAmount(double amount) {
-        return DECIMAL_FORMAT.format(amount);
+        return appendAmount(new StringBuilder(20), amount).toString();
+    }
+
+    /**
+     * Escribe un monto con símbolo de moneda en el builder, con el mismo texto que
+     * {@link #formatMoney(double, Currency)} pero sin crear objetos intermedios.
+     * @param out destino
+     * @param amount monto
+     * @param currency moneda
+     * @return el mismo builder
+     */
+    public static StringBuilder appendMoney(StringBuilder out, double amount, Currency currency) {
+        out.append(currency.getSymbol()).append(' ');
+        return appendAmount(out, amount);
+    }
+
+    /**
+     * Escribe un monto sin símbolo en el builder, con el mismo texto que {@link #formatAmount(double)}.
+     * @param out destino
+     * @param amount monto
+     * @return el mismo builder
+     */
+    public static StringBuilder appendAmount(StringBuilder out, double amount) {
+        double magnitude = Math.abs(amount);
+        if (!(magnitude < MAX_FAST_AMOUNT)) {
+            return out.append(SLOW_FORMAT.get().format(amount));
+        }
+        // Como DecimalFormat, conserva el signo aunque el monto redondee a cero (-0.001 -> -0.00)
+        if (Double.doubleToRawLongBits(amount) < 0) {
+            out.append(NEGATIVE_PREFIX);
+        }
+        long cents = roundToCents(magnitude);
+        appendDigits(out, cents / 100);
+        out.append(DECIMAL_SEPARATOR);
+        int fraction = (int) (cents % 100);
+        return out.append((char) (ZERO_DIGIT + fraction / 10)).append((char) (ZERO_DIGIT + fraction % 10));
+    }
+
+    /**
+     * Redondea a centavos con HALF_EVEN sobre el valor exacto de {@code magnitude * 100}.
+     * El producto redondeado más su error (exacto con fma) permiten decidir el redondeo sin
+     * BigDecimal: 0.125 es un empate exacto (0.12) pero 0.005 está apenas por encima (0.01).
+     */
+    private static long roundToCents(double magnitude) {
+        double product = magnitude * 100;
+        double error = Math.fma(magnitude, 100, -product);
+        double floor = Math.floor(product);
+        long cents = (long) floor;
+        // Distancia al punto medio: la resta es exacta y el error solo decide si es cero
+        double aboveHalf = (product - floor - 0.5) + error;
+        if (aboveHalf > 0 || (aboveHalf == 0 && (cents & 1) != 0)) {
+            cents++;
+        }
+        return cents;
+    }
+
+    private static void appendDigits(StringBuilder out, long value) {
+        int digits = 1;
+        while (digits < POWERS_OF_TEN.length && value >= POWERS_OF_TEN[digits]) {
+            digits++;
+        }
+        for (int i = digits - 1; i >= 0; i--) {
+            out.append((char) (ZERO_DIGIT + (value / POWERS_OF_TEN[i]) % 10));
+        }
     }
 
     // Métodos para colores de consola (mejora UX)
@@ -11,15 +11,48 @@ public class ValidationUtil {
 
     /**
      * Valida si un email es válido.
+     * Acepta lo mismo que {@code ^[A-Za-z0-9+_.-]+@[A-Za-z0-9.-]+\.[A-Za-z]{2,}$}, pero con una
+     * sola pasada sobre los caracteres, sin compilar ni ejecutar una expresión regular.
      * @param email email a validar
      * @return true si el email es válido
      */
     public static boolean isValidEmail(String email) {
-        if (email == null || email.isBlank()) {
+        if (email == null) {
             return false;
         }
-        String emailRegex = "^[A-Za-z0-9+_.-]+@[A-Za-z0-9.-]+\\.[A-Za-z]{2,}$";
-        return email.matches(emailRegex);
+        int length = email.length();
+        int at = -1;
+        int lastDot = -1;
+        for (int i = 0; i < length; i++) {
+            char c = email.charAt(i);
+            if (c == '@') {
+                if (at >= 0) {
+                    return false;
+                }
+                at = i;
+            } else if (c == '.') {
+                if (at >= 0) {
+                    lastDot = i;
+                }
+            } else if (!isAsciiLetterOrDigit(c) && c != '-' && (at >= 0 || (c != '+' && c != '_'))) {
+                return false;
+            }
+        }
+        // Parte local no vacía, algo entre la @ y el último punto, y al menos 2 letras al final
+        if (at < 1 || lastDot < at + 2 || length - lastDot - 1 < 2) {
+            return false;
+        }
+        for (int i = lastDot + 1; i < length; i++) {
+            char c = email.charAt(i);
+            if (!(c >= 'A' && c <= 'Z') && !(c >= 'a' && c <= 'z')) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isAsciiLetterOrDigit(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9');
     }
 
     /**
@@ -40,6 +73,20 @@ public class ValidationUtil {
         return name != null && !name.isBlank() && name.length() >= 2;
     }
 
+    /**
+     * Valida los datos de registro de un usuario.
+     * @param firstName nombre
+     * @param lastName apellido
+     * @param email email
+     * @return clave del error (ver {@link #formatError(String)}), o null si los datos son válidos
+     */
+    public static String validateUser(String firstName, String lastName, String email) {
+        if (!isValidName(firstName) || !isValidName(lastName)) {
+            return "INVALID_NAME";
+        }
+        return isValidEmail(email) ? null : "INVALID_EMAIL";
+    }
+
     /**
      * Formatea un error para presentación al usuario.
      * @param errorKey clave del error
@@ -54,6 +101,7 @@ public class ValidationUtil {
             case "ACCOUNT_INACTIVE" -> "La cuenta se encuentra inactiva";
             case "ACCOUNT_NOT_FOUND" -> "La cuenta no existe";
             case "OPERATION_FAILED" -> "La operación no se pudo completar";
+            case "READ_ONLY" -> "Esta instancia es una réplica de solo lectura: las operaciones se hacen en el líder";
             default -> "Error desconocido";
         };
     }
@@ -0,0 +1,74 @@
+package proyectowallet.benchmark;
+
+import proyectowallet.model.Account;
+import proyectowallet.model.Currency;
+import proyectowallet.model.User;
+import proyectowallet.service.AccountService;
+import proyectowallet.service.AccountServiceImpl;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Mide el acceso a una cuenta por número, por id y por usuario, y una página del listado, entre
+ * 200.000 usuarios con 2 cuentas cada uno, contra el recorrido usuarios × cuentas que hacía el menú.
+ */
+public class AccountLookupBenchmark {
+    private static final int USERS = 200_000;
+    private static final int ACCOUNTS_PER_USER = 2;
+
+    public static void main(String[] args) {
+        AccountService accounts = new AccountServiceImpl();
+        List<User> users = new ArrayList<>(USERS);
+        for (int i = 0; i < USERS; i++) {
+            User user = new User("Nombre" + i, "Apellido" + i, "user" + i + "@example.com");
+            users.add(user);
+            for (int j = 0; j < ACCOUNTS_PER_USER; j++) {
+                accounts.createAccount(user, Currency.values()[j], 100);
+            }
+        }
+        int total = accounts.getAccountCount();
+        Random random = new Random(5);
+        int[] numbers = random.ints(1_000, 1, total + 1).toArray();
+        String[] ids = new String[numbers.length];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = accounts.getAccountByNumber(numbers[i]).getId();
+        }
+
+        BenchmarkSupport.measure("cuenta por número", numbers.length, () -> {
+            for (int number : numbers) {
+                BenchmarkSupport.sink = accounts.getAccountByNumber(number).hashCode();
+            }
+        });
+        BenchmarkSupport.measure("cuenta por id", ids.length, () -> {
+            for (String id : ids) {
+                BenchmarkSupport.sink = accounts.getAccount(id).hashCode();
+            }
+        });
+        BenchmarkSupport.measure("cuentas de un usuario", numbers.length, () -> {
+            for (int number : numbers) {
+                BenchmarkSupport.sink = accounts.getAccountsByUser(users.get((number - 1) / ACCOUNTS_PER_USER).getId()).size();
+            }
+        });
+        BenchmarkSupport.measure("página de 20 cuentas", 1, () ->
+                BenchmarkSupport.sink = accounts.getAccounts(total / 2, 20).size());
+        BenchmarkSupport.measure("buscar cuenta recorriendo usuarios × cuentas", 4, () -> {
+            for (int k = 0; k < 4; k++) {
+                String target = ids[k];
+                Account found = null;
+                for (User user : users) {
+                    for (Account account : accounts.getAccountsByUser(user.getId())) {
+                        if (account.getId().equals(target)) {
+                            found = account;
+                        }
+                    }
+                    if (found != null) {
+                        break;
+                    }
+                }
+                BenchmarkSupport.sink = found.hashCode();
+            }
+        });
+    }
+}
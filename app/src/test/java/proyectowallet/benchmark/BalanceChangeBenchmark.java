@@ -0,0 +1,82 @@
+package proyectowallet.benchmark;
+
+import proyectowallet.model.Account;
+import proyectowallet.model.BalanceChange;
+import proyectowallet.model.Currency;
+import proyectowallet.model.User;
+import proyectowallet.service.AccountService;
+import proyectowallet.service.AccountServiceImpl;
+import proyectowallet.service.BalanceChangePublisher;
+
+import java.util.Set;
+import java.util.concurrent.Flow;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Mide cuánto agrega a un depósito la publicación de cambios de saldo: sin suscriptores, con un
+ * suscriptor que pide todo y con uno que no pide nada (todos los cambios se combinan), y
+ * cuántos cambios quedan pendientes en ese último caso.
+ */
+public class BalanceChangeBenchmark {
+    private static final int OPS = 10_000;
+
+    /** Suscriptor que solo cuenta; pide todo o nada según se construya. */
+    private static final class CountingSubscriber implements Flow.Subscriber<BalanceChange> {
+        private final long demand;
+        private volatile long received;
+
+        CountingSubscriber(long demand) {
+            this.demand = demand;
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            if (demand > 0) {
+                subscription.request(demand);
+            }
+        }
+
+        @Override
+        public void onNext(BalanceChange item) {
+            received++;
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+        }
+
+        @Override
+        public void onComplete() {
+        }
+    }
+
+    public static void main(String[] args) {
+        User user = new User("Juan", "Pérez", "juan@example.com");
+
+        run("depósito sin suscriptores", user, 0);
+        run("depósito con suscriptor al día", user, Long.MAX_VALUE);
+        run("depósito con suscriptor detenido", user, -1);
+    }
+
+    private static void run(String name, User user, long demand) {
+        BalanceChangePublisher publisher = new BalanceChangePublisher(ForkJoinPool.commonPool(),
+                BalanceChangePublisher.DEFAULT_BUFFER_SIZE);
+        AccountService accounts = new AccountServiceImpl(publisher);
+        Account account = accounts.createAccount(user, Currency.USD, 0);
+        String id = account.getId();
+        CountingSubscriber subscriber = null;
+        if (demand != 0) {
+            subscriber = new CountingSubscriber(Math.max(demand, 0));
+            accounts.getBalanceChanges(Set.of(id)).subscribe(subscriber);
+        }
+        BenchmarkSupport.measure(name, OPS, () -> {
+            for (int i = 0; i < OPS; i++) {
+                accounts.tryDeposit(id, 1);
+            }
+        });
+        if (subscriber != null) {
+            System.out.printf("  recibidos %d, combinados %d%n", subscriber.received, publisher.getConflatedCount());
+        }
+        publisher.close();
+    }
+}
@@ -0,0 +1,45 @@
+package proyectowallet.benchmark;
+
+/**
+ * Utilidades mínimas para microbenchmarks ejecutados con {@code ./gradlew benchmark}.
+ * Hace calentamiento para que el JIT compile el código medido y reporta la mejor muestra.
+ */
+final class BenchmarkSupport {
+    /** Sumidero para evitar que el JIT elimine resultados no usados. */
+    static volatile double sink;
+
+    private BenchmarkSupport() {
+        // Clase de utilidad
+    }
+
+    /**
+     * Mide un bloque de código.
+     * @param name nombre del caso
+     * @param opsPerRun operaciones que realiza cada ejecución del bloque
+     * @param body bloque a medir
+     * @return mejor tiempo en nanosegundos por operación
+     */
+    static double measure(String name, long opsPerRun, Runnable body) {
+        // Calentamiento de ~1 s para que el JIT compile el código medido
+        long warmupEnd = System.nanoTime() + 1_000_000_000L;
+        int runsPerSample = 0;
+        while (System.nanoTime() < warmupEnd) {
+            body.run();
+            runsPerSample++;
+        }
+        // Cada muestra dura ~50 ms
+        runsPerSample = Math.max(1, runsPerSample / 20);
+
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < 10; i++) {
+            long start = System.nanoTime();
+            for (int r = 0; r < runsPerSample; r++) {
+                body.run();
+            }
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        double nsPerOp = (double) best / ((double) opsPerRun * runsPerSample);
+        System.out.printf("%-40s %10.3f ns/op %12.1f Mops/s%n", name, nsPerOp, 1_000.0 / nsPerOp);
+        return nsPerOp;
+    }
+}
@@ -0,0 +1,102 @@
+package proyectowallet.benchmark;
+
+import proyectowallet.model.Account;
+import proyectowallet.model.Currency;
+import proyectowallet.model.Transaction;
+import proyectowallet.model.User;
+import proyectowallet.persistence.ModelCodec;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.time.ZoneOffset;
+import java.util.Random;
+
+/**
+ * Mide el rendimiento de codificación y decodificación de transacciones con {@link ModelCodec}
+ * y lo compara con la escritura equivalente sobre {@link DataOutputStream}.
+ */
+public class CodecBenchmark {
+    private static final int SIZE = 4_096;
+
+    public static void main(String[] args) {
+        User user = new User("Juan", "Pérez", "juan@example.com");
+        Account account = new Account(user, Currency.USD, 1_000);
+        ModelCodec.Resolver resolver = new ModelCodec.Resolver() {
+            @Override
+            public User findUser(String id) {
+                return user;
+            }
+
+            @Override
+            public Account findAccount(String id) {
+                return account;
+            }
+        };
+        Random random = new Random(42);
+        Transaction[] transactions = new Transaction[SIZE];
+        for (int i = 0; i < SIZE; i++) {
+            transactions[i] = new Transaction(account, Transaction.TransactionType.DEPOSIT,
+                    random.nextDouble() * 1_000, Currency.USD, Currency.USD, random.nextDouble() * 1_000,
+                    "Depósito", random.nextInt(100));
+        }
+
+        ModelCodec codec = new ModelCodec();
+        ByteBuffer buffer = ByteBuffer.allocate(SIZE * 256);
+        for (Transaction tx : transactions) {
+            codec.encode(tx, buffer);
+        }
+        int codecBytes = buffer.position();
+
+        ByteArrayOutputStream legacyBytes = new ByteArrayOutputStream(SIZE * 256);
+        DataOutputStream legacyOut = new DataOutputStream(legacyBytes);
+
+        double encode = BenchmarkSupport.measure("ModelCodec.encode", SIZE, () -> {
+            buffer.clear();
+            for (Transaction tx : transactions) {
+                codec.encode(tx, buffer);
+            }
+            BenchmarkSupport.sink = buffer.position();
+        });
+        double decode = BenchmarkSupport.measure("ModelCodec.decodeTransaction", SIZE, () -> {
+            buffer.flip();
+            Transaction last = null;
+            for (int i = 0; i < SIZE; i++) {
+                last = codec.decodeTransaction(buffer, resolver);
+            }
+            BenchmarkSupport.sink = last.getAmount();
+        });
+        double legacy = BenchmarkSupport.measure("DataOutputStream (formato anterior)", SIZE, () -> {
+            legacyBytes.reset();
+            try {
+                for (Transaction tx : transactions) {
+                    writeLegacy(legacyOut, tx);
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            BenchmarkSupport.sink = legacyBytes.size();
+        });
+
+        System.out.printf("%nBytes por transacción: ModelCodec %.1f, DataOutputStream %.1f%n",
+                (double) codecBytes / SIZE, (double) legacyBytes.size() / SIZE);
+        System.out.printf("Codificación: %.1f MB/s, decodificación: %.1f MB/s, aceleración vs DataOutputStream: %.1fx%n",
+                (double) codecBytes / SIZE / encode * 1e9 / 1e6, (double) codecBytes / SIZE / decode * 1e9 / 1e6, legacy / encode);
+    }
+
+    private static void writeLegacy(DataOutputStream out, Transaction tx) throws IOException {
+        out.writeUTF(tx.getId());
+        out.writeUTF(tx.getAccount().getId());
+        out.writeByte(tx.getType().ordinal());
+        out.writeDouble(tx.getAmount());
+        out.writeByte(tx.getCurrencyFrom().ordinal());
+        out.writeByte(tx.getCurrencyTo().ordinal());
+        out.writeDouble(tx.getAmountInTargetCurrency());
+        out.writeLong(tx.getTimestamp().toEpochSecond(ZoneOffset.UTC));
+        out.writeInt(tx.getTimestamp().getNano());
+        out.writeUTF(tx.getDescription());
+        out.writeLong(tx.getRateVersion());
+    }
+}
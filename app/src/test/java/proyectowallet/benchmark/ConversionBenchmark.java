@@ -0,0 +1,53 @@
+package proyectowallet.benchmark;
+
+import proyectowallet.model.Currency;
+import proyectowallet.service.CurrencyConverterService;
+import proyectowallet.util.CurrencyConverterUtil;
+
+import java.util.Random;
+
+/**
+ * Compara la conversión individual ({@code convert}) con la conversión en bloque ({@code convertAll}).
+ */
+public class ConversionBenchmark {
+    private static final int SIZE = 4_096;
+
+    public static void main(String[] args) {
+        CurrencyConverterService converter = new CurrencyConverterUtil();
+        Currency[] currencies = Currency.values();
+        Random random = new Random(42);
+
+        double[] amounts = new double[SIZE];
+        int[] from = new int[SIZE];
+        int[] to = new int[SIZE];
+        double[] target = new double[SIZE];
+        for (int i = 0; i < SIZE; i++) {
+            amounts[i] = random.nextDouble() * 10_000;
+            from[i] = random.nextInt(currencies.length);
+            to[i] = random.nextInt(currencies.length);
+        }
+
+        double scalar = BenchmarkSupport.measure("convert (escalar, pares mixtos)", SIZE, () -> {
+            for (int i = 0; i < SIZE; i++) {
+                target[i] = converter.convert(amounts[i], currencies[from[i]], currencies[to[i]]);
+            }
+            BenchmarkSupport.sink = target[SIZE - 1];
+        });
+        double mixed = BenchmarkSupport.measure("convertAll (pares mixtos)", SIZE, () -> {
+            converter.convertAll(amounts, from, to, target);
+            BenchmarkSupport.sink = target[SIZE - 1];
+        });
+        double scalarPair = BenchmarkSupport.measure("convert (escalar, USD->EUR)", SIZE, () -> {
+            for (int i = 0; i < SIZE; i++) {
+                target[i] = converter.convert(amounts[i], Currency.USD, Currency.EUR);
+            }
+            BenchmarkSupport.sink = target[SIZE - 1];
+        });
+        double pair = BenchmarkSupport.measure("convertAll (USD->EUR)", SIZE, () -> {
+            converter.convertAll(amounts, Currency.USD, Currency.EUR, target);
+            BenchmarkSupport.sink = target[SIZE - 1];
+        });
+
+        System.out.printf("%nAceleración pares mixtos: %.1fx, mismo par: %.1fx%n", scalar / mixed, scalarPair / pair);
+    }
+}
@@ -0,0 +1,73 @@
+package proyectowallet.benchmark;
+
+import proyectowallet.exception.InsufficientBalanceException;
+import proyectowallet.model.Account;
+import proyectowallet.model.Currency;
+import proyectowallet.model.OperationResult;
+import proyectowallet.model.User;
+import proyectowallet.service.AccountService;
+import proyectowallet.service.AccountServiceImpl;
+
+/**
+ * Mide el costo de un retiro rechazado por saldo insuficiente: resultado tipado contra
+ * excepción con traza de la pila (como una {@link Exception} común) y excepción de dominio sin traza.
+ */
+public class DeclineBenchmark {
+    private static final int OPS = 1_000;
+
+    /** Excepción común, que captura la traza de la pila al crearse. */
+    private static final class StackfulDecline extends Exception {
+        StackfulDecline(String message) {
+            super(message);
+        }
+    }
+
+    public static void main(String[] args) {
+        AccountService accounts = new AccountServiceImpl();
+        Account account = accounts.createAccount(new User("Juan", "Pérez", "juan@example.com"), Currency.USD, 100);
+        String id = account.getId();
+
+        BenchmarkSupport.measure("rechazo como OperationResult", OPS, () -> {
+            int declined = 0;
+            for (int i = 0; i < OPS; i++) {
+                declined += accounts.tryWithdraw(id, 500) == OperationResult.INSUFFICIENT_FUNDS ? 1 : 0;
+            }
+            BenchmarkSupport.sink = declined;
+        });
+        BenchmarkSupport.measure("rechazo como excepción con traza", OPS, () -> {
+            int declined = 0;
+            for (int i = 0; i < OPS; i++) {
+                try {
+                    withdrawOrThrowStackful(accounts, id, 500);
+                } catch (StackfulDecline e) {
+                    declined++;
+                }
+            }
+            BenchmarkSupport.sink = declined;
+        });
+        BenchmarkSupport.measure("rechazo como excepción sin traza", OPS, () -> {
+            int declined = 0;
+            for (int i = 0; i < OPS; i++) {
+                try {
+                    withdrawOrThrow(accounts, id, 500);
+                } catch (InsufficientBalanceException e) {
+                    declined++;
+                }
+            }
+            BenchmarkSupport.sink = declined;
+        });
+    }
+
+    private static void withdrawOrThrowStackful(AccountService accounts, String id, double amount) throws StackfulDecline {
+        if (!accounts.tryWithdraw(id, amount).isSuccess()) {
+            throw new StackfulDecline("Saldo insuficiente");
+        }
+    }
+
+    private static void withdrawOrThrow(AccountService accounts, String id, double amount)
+            throws InsufficientBalanceException {
+        if (!accounts.tryWithdraw(id, amount).isSuccess()) {
+            throw new InsufficientBalanceException(amount, accounts.getBalance(id));
+        }
+    }
+}
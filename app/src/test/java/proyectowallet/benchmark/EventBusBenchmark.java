@@ -0,0 +1,46 @@
+package proyectowallet.benchmark;
+
+import proyectowallet.event.EventBus;
+import proyectowallet.event.WalletEvent;
+import proyectowallet.model.Account;
+import proyectowallet.model.Currency;
+import proyectowallet.model.User;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Mide cuánto agrega al llamador publicar un evento en el {@link EventBus}, sin consumidores y
+ * con uno y dos consumidores en sus propios hilos, y cuántos eventos por segundo se entregan.
+ */
+public class EventBusBenchmark {
+    private static final int OPS = 100_000;
+
+    public static void main(String[] args) {
+        User user = new User("Juan", "Pérez", "juan@example.com");
+        Account account = new Account(user, Currency.USD, 0);
+
+        for (int consumers = 0; consumers <= 2; consumers++) {
+            EventBus bus = new EventBus();
+            AtomicLong received = new AtomicLong();
+            for (int c = 0; c < consumers; c++) {
+                bus.subscribe("bench-" + c, (event, sequence, endOfBatch) -> {
+                    if (endOfBatch) {
+                        received.lazySet(sequence + 1);
+                    }
+                });
+            }
+            BenchmarkSupport.measure("publicar con " + consumers + " consumidores", OPS, () -> {
+                for (int i = 0; i < OPS; i++) {
+                    bus.publish(WalletEvent.Type.DEPOSIT, user, account, Currency.USD, i, null, 0);
+                }
+            });
+            long start = System.nanoTime();
+            bus.close();
+            long published = bus.getPublishedSequence() + 1;
+            if (consumers > 0) {
+                System.out.printf("  entregados %d de %d eventos (drenado al cerrar: %.1f ms)%n",
+                        received.get(), published, (System.nanoTime() - start) / 1e6);
+            }
+        }
+    }
+}
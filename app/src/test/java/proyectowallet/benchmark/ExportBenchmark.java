@@ -0,0 +1,57 @@
+package proyectowallet.benchmark;
+
+import proyectowallet.model.Account;
+import proyectowallet.model.Currency;
+import proyectowallet.model.Transaction;
+import proyectowallet.model.User;
+import proyectowallet.service.TransactionExportService;
+import proyectowallet.service.TransactionExportServiceImpl;
+import proyectowallet.service.TransactionService;
+import proyectowallet.service.TransactionServiceImpl;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+
+/**
+ * Mide el rendimiento en MB/s de la exportación de historial a CSV y JSONL.
+ */
+public class ExportBenchmark {
+    private static final int TRANSACTIONS = 1_000_000;
+    private static final int RUNS = 5;
+
+    public static void main(String[] args) throws IOException {
+        User user = new User("Juan", "Pérez", "juan@example.com");
+        Account[] accounts = new Account[100];
+        for (int i = 0; i < accounts.length; i++) {
+            accounts[i] = new Account(user, Currency.values()[i % Currency.values().length], 0);
+        }
+        TransactionService transactionService = new TransactionServiceImpl();
+        Random random = new Random(42);
+        for (int i = 0; i < TRANSACTIONS; i++) {
+            Account account = accounts[random.nextInt(accounts.length)];
+            double amount = Math.round(random.nextDouble() * 100_000) / 100.0;
+            transactionService.recordTransaction(new Transaction(account, Transaction.TransactionType.DEPOSIT,
+                    amount, account.getCurrency(), account.getCurrency(), amount, "Depósito"));
+        }
+        TransactionExportService exportService = new TransactionExportServiceImpl(transactionService);
+
+        Path file = Files.createTempFile("export-benchmark", ".out");
+        try {
+            for (TransactionExportService.Format format : TransactionExportService.Format.values()) {
+                long best = Long.MAX_VALUE;
+                for (int run = 0; run < RUNS; run++) {
+                    long start = System.nanoTime();
+                    exportService.exportAll(file, format);
+                    best = Math.min(best, System.nanoTime() - start);
+                }
+                long bytes = Files.size(file);
+                System.out.printf("%-6s %,d transacciones, %,.1f MB en %,.0f ms: %,.0f MB/s%n", format, TRANSACTIONS,
+                        bytes / 1e6, best / 1e6, bytes / 1e6 / (best / 1e9));
+            }
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package proyectowallet.benchmark;
+
+import proyectowallet.model.Currency;
+import proyectowallet.util.UIFormatter;
+
+import java.text.DecimalFormat;
+import java.util.Random;
+
+/**
+ * Mide el formateo de montos con símbolo: DecimalFormat compartido (el camino anterior),
+ * {@link UIFormatter#formatMoney} y {@link UIFormatter#appendMoney} sobre un builder reutilizado.
+ */
+public class FormatBenchmark {
+    private static final int AMOUNTS = 4_096;
+
+    public static void main(String[] args) {
+        Random random = new Random(11);
+        double[] amounts = new double[AMOUNTS];
+        for (int i = 0; i < AMOUNTS; i++) {
+            amounts[i] = Math.round(random.nextDouble() * Math.pow(10, 1 + random.nextInt(7)) * 1000) / 1000.0;
+        }
+        DecimalFormat shared = new DecimalFormat("0.00");
+        Currency currency = Currency.USD;
+
+        BenchmarkSupport.measure("DecimalFormat + concatenación", AMOUNTS, () -> {
+            int length = 0;
+            for (double amount : amounts) {
+                length += (currency.getSymbol() + " " + shared.format(amount)).length();
+            }
+            BenchmarkSupport.sink = length;
+        });
+        BenchmarkSupport.measure("formatMoney", AMOUNTS, () -> {
+            int length = 0;
+            for (double amount : amounts) {
+                length += UIFormatter.formatMoney(amount, currency).length();
+            }
+            BenchmarkSupport.sink = length;
+        });
+        StringBuilder out = new StringBuilder(64);
+        BenchmarkSupport.measure("appendMoney (builder reutilizado)", AMOUNTS, () -> {
+            int length = 0;
+            for (double amount : amounts) {
+                out.setLength(0);
+                length += UIFormatter.appendMoney(out, amount, currency).length();
+            }
+            BenchmarkSupport.sink = length;
+        });
+    }
+}
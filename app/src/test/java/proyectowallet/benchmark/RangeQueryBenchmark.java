@@ -0,0 +1,51 @@
+package proyectowallet.benchmark;
+
+import proyectowallet.model.Account;
+import proyectowallet.model.Currency;
+import proyectowallet.model.Transaction;
+import proyectowallet.model.User;
+import proyectowallet.service.TransactionService;
+import proyectowallet.service.TransactionServiceImpl;
+
+import java.time.LocalDateTime;
+
+/**
+ * Compara consultas por rango de fechas con el índice temporal contra filtrar el historial completo,
+ * con transacciones registradas en orden y con un 1% registradas con fecha atrasada.
+ */
+public class RangeQueryBenchmark {
+    private static final int TRANSACTIONS = 1_000_000;
+
+    public static void main(String[] args) {
+        Account account = new Account(new User("Ana", "Gómez", "ana@example.com"), Currency.USD, 0);
+        LocalDateTime start = LocalDateTime.of(2026, 1, 1, 0, 0);
+        // Un rango de 100 transacciones (una por segundo) en la mitad del historial
+        LocalDateTime from = start.plusSeconds(TRANSACTIONS / 2);
+        LocalDateTime to = from.plusSeconds(100);
+
+        TransactionService ordered = new TransactionServiceImpl();
+        TransactionService backdated = new TransactionServiceImpl();
+        for (int i = 0; i < TRANSACTIONS; i++) {
+            ordered.recordTransaction(transaction(account, i, start.plusSeconds(i)));
+            // Una de cada 100 llega con 50 segundos de atraso
+            int second = i % 100 == 99 ? i - 50 : i;
+            backdated.recordTransaction(transaction(account, i, start.plusSeconds(second)));
+        }
+
+        BenchmarkSupport.measure("rango de 100 en orden", 1, () ->
+                BenchmarkSupport.sink = ordered.streamTransactions(account, from, to,
+                        TransactionService.SortOrder.NEWEST_FIRST).mapToDouble(Transaction::getAmount).sum());
+        BenchmarkSupport.measure("rango de 100 con 1% atrasadas", 1, () ->
+                BenchmarkSupport.sink = backdated.streamTransactions(account, from, to,
+                        TransactionService.SortOrder.NEWEST_FIRST).mapToDouble(Transaction::getAmount).sum());
+        BenchmarkSupport.measure("rango de 100 filtrando el historial", 1, () ->
+                BenchmarkSupport.sink = ordered.getTransactionHistory(account).stream()
+                        .filter(tx -> !tx.getTimestamp().isBefore(from) && tx.getTimestamp().isBefore(to))
+                        .mapToDouble(Transaction::getAmount).sum());
+    }
+
+    private static Transaction transaction(Account account, int i, LocalDateTime timestamp) {
+        return new Transaction("tx-" + i, account, Transaction.TransactionType.DEPOSIT, i, Currency.USD,
+                Currency.USD, i, timestamp, "Depósito", 0);
+    }
+}
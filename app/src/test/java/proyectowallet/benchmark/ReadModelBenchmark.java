@@ -0,0 +1,61 @@
+package proyectowallet.benchmark;
+
+import proyectowallet.event.EventBus;
+import proyectowallet.event.WalletEvent;
+import proyectowallet.model.Account;
+import proyectowallet.model.Currency;
+import proyectowallet.model.Transaction;
+import proyectowallet.model.User;
+import proyectowallet.service.ReadModelServiceImpl;
+import proyectowallet.service.TransactionService;
+import proyectowallet.service.TransactionServiceImpl;
+
+/**
+ * Compara leer los últimos movimientos de una cuenta desde el servicio de transacciones y desde
+ * el modelo de lectura, y mide el retraso del modelo mientras se registran movimientos.
+ */
+public class ReadModelBenchmark {
+    private static final int HISTORY = 10_000;
+    private static final int RECENT = 20;
+    private static final int WRITES = 1_000_000;
+
+    public static void main(String[] args) {
+        User user = new User("Juan", "Pérez", "juan@example.com");
+        Account account = new Account(user, Currency.USD, 0);
+        TransactionService transactions = new TransactionServiceImpl();
+        EventBus bus = new EventBus();
+        ReadModelServiceImpl readModel = new ReadModelServiceImpl(bus);
+        bus.subscribe("read-model", readModel);
+
+        bus.publish(WalletEvent.Type.ACCOUNT_CREATED, user, account, Currency.USD, 0, null, 0);
+        for (int i = 0; i < HISTORY; i++) {
+            transactions.recordTransaction(new Transaction(account, Transaction.TransactionType.DEPOSIT, 1,
+                    Currency.USD, Currency.USD, 1, "Depósito"));
+            bus.publish(WalletEvent.Type.DEPOSIT, user, account, Currency.USD, 1, null, 0);
+        }
+        readModel.awaitSequence(bus.getPublishedSequence(), 10_000);
+
+        BenchmarkSupport.measure("historial desde TransactionService", 1, () ->
+                BenchmarkSupport.sink = transactions.getTransactionHistory(account).subList(0, RECENT).size());
+        BenchmarkSupport.measure("últimos " + RECENT + " desde el modelo de lectura", 1, () ->
+                BenchmarkSupport.sink = readModel.getRecentActivity(account.getId(), RECENT).size());
+        BenchmarkSupport.measure("resumen desde el modelo de lectura", 1, () ->
+                BenchmarkSupport.sink = readModel.getAccountSummary(account.getId()).getBalance());
+
+        long maxLag = 0;
+        long maxLagMillis = 0;
+        long start = System.nanoTime();
+        for (int i = 0; i < WRITES; i++) {
+            bus.publish(WalletEvent.Type.DEPOSIT, user, account, Currency.USD, 1, null, 0);
+            if ((i & 1023) == 0) {
+                maxLag = Math.max(maxLag, readModel.getLag());
+                maxLagMillis = Math.max(maxLagMillis, readModel.getLagMillis());
+            }
+        }
+        readModel.awaitSequence(bus.getPublishedSequence(), 60_000);
+        double seconds = (System.nanoTime() - start) / 1e9;
+        System.out.printf("%d movimientos aplicados en %.2f s (%.0f/s); retraso máximo %d eventos, %d ms (capacidad %d)%n",
+                WRITES, seconds, WRITES / seconds, maxLag, maxLagMillis, bus.getCapacity());
+        bus.close();
+    }
+}
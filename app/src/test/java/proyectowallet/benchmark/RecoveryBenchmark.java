@@ -0,0 +1,84 @@
+package proyectowallet.benchmark;
+
+import proyectowallet.model.Account;
+import proyectowallet.model.Currency;
+import proyectowallet.model.Transaction;
+import proyectowallet.model.User;
+import proyectowallet.persistence.Journal;
+import proyectowallet.persistence.JournalRecord;
+import proyectowallet.persistence.WalletJournal;
+import proyectowallet.persistence.WalletPersistence;
+import proyectowallet.persistence.WalletState;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+
+/**
+ * Mide el arranque con historiales de distinto tamaño: abrir la persistencia y recuperar el
+ * estado (snapshot más cola del journal) frente a leer el historial completo, que la aplicación
+ * hace en segundo plano. El primero debe mantenerse plano mientras el segundo crece; usa el
+ * tamaño de segmento por defecto, así el journal solo conserva el segmento de la cola.
+ */
+public class RecoveryBenchmark {
+    private static final int[] HISTORY_SIZES = {10_000, 100_000, 400_000};
+    private static final int TAIL_RECORDS = 100;
+    private static final int SAMPLES = 5;
+
+    public static void main(String[] args) throws IOException {
+        for (int size : HISTORY_SIZES) {
+            Path directory = Files.createTempDirectory("wallet-recovery-bench");
+            try {
+                populate(directory, size);
+                long bestRecover = Long.MAX_VALUE;
+                long bestHistory = Long.MAX_VALUE;
+                for (int i = 0; i < SAMPLES; i++) {
+                    long start = System.nanoTime();
+                    try (WalletPersistence persistence = WalletPersistence.open(directory,
+                            Journal.DEFAULT_SEGMENT_BYTES, Long.MAX_VALUE)) {
+                        WalletState state = persistence.recover();
+                        bestRecover = Math.min(bestRecover, System.nanoTime() - start);
+
+                        start = System.nanoTime();
+                        long read = persistence.readHistory(state, tx -> BenchmarkSupport.sink += tx.getAmount());
+                        bestHistory = Math.min(bestHistory, System.nanoTime() - start);
+                        if (read != size) {
+                            throw new IllegalStateException("Historial incompleto: " + read);
+                        }
+                    }
+                }
+                System.out.printf("historial de %7d transacciones: recuperar %8.2f ms, leer historial %8.2f ms%n",
+                        size, bestRecover / 1e6, bestHistory / 1e6);
+            } finally {
+                try (var paths = Files.walk(directory)) {
+                    for (Path path : paths.sorted(Comparator.reverseOrder()).toList()) {
+                        Files.deleteIfExists(path);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Deja un snapshot que cubre {@code size} depósitos y una cola corta en el journal.
+     */
+    private static void populate(Path directory, int size) throws IOException {
+        User user = new User("Juan", "Pérez", "juan@example.com");
+        Account account = new Account(user, Currency.USD, 0);
+        JournalRecord deposit = JournalRecord.transaction(JournalRecord.Kind.DEPOSIT, new Transaction(
+                account, Transaction.TransactionType.DEPOSIT, 1, Currency.USD, Currency.USD, 1, "Depósito"));
+        try (WalletPersistence persistence = WalletPersistence.open(directory, Journal.DEFAULT_SEGMENT_BYTES, Long.MAX_VALUE)) {
+            WalletJournal journal = persistence.getJournal();
+            journal.append(JournalRecord.userRegistered(user));
+            journal.append(JournalRecord.accountCreated(account, 0));
+            for (int i = 0; i < size; i++) {
+                journal.append(deposit);
+            }
+            persistence.getSnapshotter().snapshotNow();
+            for (int i = 0; i < TAIL_RECORDS; i++) {
+                journal.append(deposit);
+            }
+        }
+    }
+}
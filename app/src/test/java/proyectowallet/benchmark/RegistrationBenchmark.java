@@ -0,0 +1,112 @@
+package proyectowallet.benchmark;
+
+import proyectowallet.controller.WalletController;
+import proyectowallet.model.Currency;
+import proyectowallet.persistence.Journal;
+import proyectowallet.service.AccountServiceImpl;
+import proyectowallet.service.CurrencyConverterService;
+import proyectowallet.service.ExchangeRateProviderImpl;
+import proyectowallet.service.PortfolioServiceImpl;
+import proyectowallet.service.TransactionServiceImpl;
+import proyectowallet.service.UserRegistrationService.Registration;
+import proyectowallet.service.UserRegistrationServiceImpl;
+import proyectowallet.util.CurrencyConverterUtil;
+import proyectowallet.util.ValidationUtil;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Mide el registro de 200.000 usuarios (10 % inválidos) con journal en disco: uno por uno con
+ * {@link WalletController#registerUser} contra el lote de {@link WalletController#registerUsers}.
+ * También compara la validación de email con expresión regular contra la validación escrita a mano.
+ */
+public class RegistrationBenchmark {
+    private static final int ROWS = 200_000;
+    private static final int RUNS = 3;
+
+    public static void main(String[] args) throws IOException {
+        List<Registration> rows = new ArrayList<>(ROWS);
+        for (int i = 0; i < ROWS; i++) {
+            String email = i % 10 == 0 ? "user" + i + "-at-example.com" : "user" + i + "@example.com";
+            rows.add(new Registration("Nombre" + i, "Apellido" + i, email));
+        }
+
+        String[] emails = rows.stream().limit(1_024).map(Registration::email).toArray(String[]::new);
+        BenchmarkSupport.measure("email con String.matches", emails.length, () -> {
+            int valid = 0;
+            for (String email : emails) {
+                valid += email.matches("^[A-Za-z0-9+_.-]+@[A-Za-z0-9.-]+\\.[A-Za-z]{2,}$") ? 1 : 0;
+            }
+            BenchmarkSupport.sink = valid;
+        });
+        BenchmarkSupport.measure("email escrito a mano", emails.length, () -> {
+            int valid = 0;
+            for (String email : emails) {
+                valid += ValidationUtil.isValidEmail(email) ? 1 : 0;
+            }
+            BenchmarkSupport.sink = valid;
+        });
+
+        UserRegistrationServiceImpl service = new UserRegistrationServiceImpl();
+        report("validar lote (sin guardar)", () -> BenchmarkSupport.sink = service.validateAll(rows).size());
+
+        PrintStream console = System.out;
+        report("registerUser uno por uno", () -> withController(controller -> {
+            System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+            try {
+                for (Registration row : rows) {
+                    controller.registerUser(row.firstName(), row.lastName(), row.email());
+                }
+            } finally {
+                System.setOut(console);
+            }
+        }));
+        report("registerUsers en lote", () -> withController(controller ->
+                BenchmarkSupport.sink = controller.registerUsers(rows).size()));
+    }
+
+    private static void report(String name, IoRunnable body) throws IOException {
+        long best = Long.MAX_VALUE;
+        for (int run = 0; run < RUNS; run++) {
+            long start = System.nanoTime();
+            body.run();
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        System.out.printf("%-40s %,10.0f ms %,12.0f registros/s%n", name, best / 1e6, ROWS / (best / 1e9));
+    }
+
+    private static void withController(ControllerTask task) throws IOException {
+        CurrencyConverterService converter = new CurrencyConverterUtil(new ExchangeRateProviderImpl());
+        WalletController controller = new WalletController(new AccountServiceImpl(), new TransactionServiceImpl(),
+                converter, new PortfolioServiceImpl(converter, Currency.USD));
+        Path directory = Files.createTempDirectory("registration-benchmark");
+        try (Journal journal = new Journal(directory)) {
+            controller.setJournal(journal);
+            task.run(controller);
+        } finally {
+            try (Stream<Path> files = Files.walk(directory)) {
+                for (Path path : files.sorted(Comparator.reverseOrder()).toList()) {
+                    Files.delete(path);
+                }
+            }
+        }
+    }
+
+    @FunctionalInterface
+    private interface IoRunnable {
+        void run() throws IOException;
+    }
+
+    @FunctionalInterface
+    private interface ControllerTask {
+        void run(WalletController controller);
+    }
+}
@@ -0,0 +1,113 @@
+package proyectowallet.benchmark;
+
+import proyectowallet.model.Account;
+import proyectowallet.model.Currency;
+import proyectowallet.model.Transaction;
+import proyectowallet.model.User;
+import proyectowallet.persistence.JournalRecord;
+import proyectowallet.persistence.ReplicationFollower;
+import proyectowallet.persistence.ReplicationLeader;
+import proyectowallet.persistence.WalletJournal;
+import proyectowallet.persistence.WalletPersistence;
+import proyectowallet.persistence.WalletState;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Comparator;
+
+/**
+ * Mide cuánto agrega la replicación a registrar una operación: solo el journal local, con una
+ * réplica en modo asíncrono y con una réplica en modo sincrónico (ida y vuelta por localhost).
+ * También mide cuánto tarda una réplica vacía en ponerse al día desde el journal.
+ */
+public class ReplicationBenchmark {
+    private static final int OPS = 2_000;
+    private static final int CATCH_UP_RECORDS = 200_000;
+
+    public static void main(String[] args) throws IOException {
+        User user = new User("Juan", "Pérez", "juan@example.com");
+        Account account = new Account(user, Currency.USD, 0);
+        JournalRecord deposit = JournalRecord.transaction(JournalRecord.Kind.DEPOSIT, new Transaction(
+                account, Transaction.TransactionType.DEPOSIT, 1, Currency.USD, Currency.USD, 1, "Depósito"));
+
+        Path directory = Files.createTempDirectory("wallet-replication-bench");
+        try (WalletPersistence persistence = WalletPersistence.open(directory, 64L * 1024 * 1024, Long.MAX_VALUE)) {
+            WalletJournal journal = persistence.getJournal();
+            journal.append(JournalRecord.userRegistered(user));
+            journal.append(JournalRecord.accountCreated(account, 0));
+            measureAppends("journal local", journal, deposit);
+
+            for (ReplicationLeader.AckMode mode : ReplicationLeader.AckMode.values()) {
+                try (ReplicationLeader leader = new ReplicationLeader(persistence.getJournal(),
+                        persistence.getSnapshotStore(), 0, mode);
+                     ReplicationFollower follower = follow(leader, 0)) {
+                    follower.awaitSequence(persistence.getJournal().getLastSequence(), 60_000);
+                    measureAppends("líder " + mode.name().toLowerCase() + ", 1 réplica", leader, deposit);
+                    follower.awaitSequence(persistence.getJournal().getLastSequence(), 60_000);
+                }
+            }
+
+            for (int i = 0; i < CATCH_UP_RECORDS; i++) {
+                journal.append(deposit);
+            }
+            long last = persistence.getJournal().getLastSequence();
+            try (ReplicationLeader leader = new ReplicationLeader(persistence.getJournal(),
+                    persistence.getSnapshotStore(), 0, ReplicationLeader.AckMode.ASYNC)) {
+                long start = System.nanoTime();
+                try (ReplicationFollower follower = follow(leader, 0)) {
+                    follower.awaitSequence(last, 60_000);
+                    double seconds = (System.nanoTime() - start) / 1e9;
+                    System.out.printf("puesta al día de %d registros: %.2f s (%.0f registros/s)%n",
+                            follower.getAppliedSequence(), seconds, follower.getAppliedSequence() / seconds);
+                }
+            }
+        } finally {
+            try (var paths = Files.walk(directory)) {
+                for (Path path : paths.sorted(Comparator.reverseOrder()).toList()) {
+                    Files.deleteIfExists(path);
+                }
+            }
+        }
+    }
+
+    private static void measureAppends(String name, WalletJournal journal, JournalRecord record) {
+        BenchmarkSupport.measure(name, OPS, () -> {
+            for (int i = 0; i < OPS; i++) {
+                journal.append(record);
+            }
+        });
+    }
+
+    /**
+     * Réplica sobre un {@link WalletState}; los depósitos solo cambian el estado en memoria.
+     */
+    private static ReplicationFollower follow(ReplicationLeader leader, long appliedSequence) {
+        WalletState state = new WalletState();
+        ReplicationFollower follower = new ReplicationFollower("localhost", leader.getPort(),
+                new ReplicationFollower.Replica() {
+                    @Override
+                    public User findUser(String id) {
+                        return state.findUser(id);
+                    }
+
+                    @Override
+                    public Account findAccount(String id) {
+                        return state.findAccount(id);
+                    }
+
+                    @Override
+                    public void install(WalletState snapshot) {
+                        throw new UnsupportedOperationException("El benchmark no compacta el journal");
+                    }
+
+                    @Override
+                    public void apply(long sequence, JournalRecord record) throws IOException {
+                        state.apply(sequence, record);
+                    }
+                }, appliedSequence, Duration.ofMillis(50));
+        follower.start();
+        return follower;
+    }
+}
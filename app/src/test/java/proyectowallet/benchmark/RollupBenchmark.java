@@ -0,0 +1,64 @@
+package proyectowallet.benchmark;
+
+import proyectowallet.model.Account;
+import proyectowallet.model.Currency;
+import proyectowallet.model.Rollup;
+import proyectowallet.model.Transaction;
+import proyectowallet.model.User;
+import proyectowallet.service.TransactionService;
+import proyectowallet.service.TransactionServiceImpl;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Compara "depósitos por día de los últimos 90 días" con agregados contra recorrer el historial.
+ */
+public class RollupBenchmark {
+    private static final int TRANSACTIONS = 500_000;
+    private static final int DAYS = 90;
+
+    public static void main(String[] args) {
+        Account account = new Account(new User("Ana", "Gómez", "ana@example.com"), Currency.USD, 0);
+        LocalDateTime from = LocalDateTime.of(2026, 1, 1, 0, 0);
+        LocalDateTime to = from.plusDays(DAYS);
+        long windowSeconds = DAYS * 86_400L;
+        Transaction[] transactions = new Transaction[TRANSACTIONS];
+        for (int i = 0; i < TRANSACTIONS; i++) {
+            Transaction.TransactionType type = i % 3 == 0
+                    ? Transaction.TransactionType.WITHDRAWAL : Transaction.TransactionType.DEPOSIT;
+            transactions[i] = new Transaction("tx-" + i, account, type, 1 + i % 500, Currency.USD, Currency.USD,
+                    1 + i % 500, from.plusSeconds(windowSeconds * i / TRANSACTIONS), "Movimiento", 0);
+        }
+
+        BenchmarkSupport.measure("recordTransaction (con agregados)", TRANSACTIONS, () -> {
+            TransactionService service = new TransactionServiceImpl();
+            for (Transaction tx : transactions) {
+                service.recordTransaction(tx);
+            }
+        });
+
+        TransactionService service = new TransactionServiceImpl();
+        for (Transaction tx : transactions) {
+            service.recordTransaction(tx);
+        }
+        BenchmarkSupport.measure("90 días por agregados", 1, () -> {
+            List<Rollup> days = service.getRollups(account, Transaction.TransactionType.DEPOSIT, Currency.USD,
+                    Rollup.Granularity.DAY, from, to);
+            BenchmarkSupport.sink = days.get(DAYS - 1).getSum();
+        });
+        BenchmarkSupport.measure("90 días recorriendo el historial", 1, () -> {
+            double[] sums = new double[DAYS];
+            long first = from.toLocalDate().toEpochDay();
+            service.forEachTransaction(account, tx -> {
+                if (tx.getType() == Transaction.TransactionType.DEPOSIT) {
+                    long day = tx.getTimestamp().toLocalDate().toEpochDay() - first;
+                    if (day >= 0 && day < DAYS) {
+                        sums[(int) day] += tx.getAmount();
+                    }
+                }
+            });
+            BenchmarkSupport.sink = sums[DAYS - 1];
+        });
+    }
+}
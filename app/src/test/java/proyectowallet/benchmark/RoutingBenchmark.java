@@ -0,0 +1,87 @@
+package proyectowallet.benchmark;
+
+import proyectowallet.model.Account;
+import proyectowallet.model.Currency;
+import proyectowallet.model.User;
+import proyectowallet.service.AccountService;
+import proyectowallet.service.AccountServiceImpl;
+import proyectowallet.service.RoutedAccountService;
+import proyectowallet.util.ConsistentHashRing;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Mide el costo de rutear una operación por el anillo frente a un servicio de un solo nodo, y
+ * cuántas cuentas cambian de nodo al pasar de 4 a 5 nodos con hashing consistente frente a
+ * {@code hash % N}, además de la velocidad del traslado.
+ */
+public class RoutingBenchmark {
+    private static final int ACCOUNTS = 100_000;
+    private static final int OPS = 100_000;
+
+    public static void main(String[] args) {
+        AccountServiceImpl direct = new AccountServiceImpl();
+        RoutedAccountService routed = new RoutedAccountService();
+        for (int n = 1; n <= 4; n++) {
+            routed.addNode("nodo-" + n);
+        }
+        String[] directIds = fill(direct);
+        String[] routedIds = fill(routed);
+
+        ConsistentHashRing ring = new ConsistentHashRing().withNode("a").withNode("b").withNode("c").withNode("d");
+        BenchmarkSupport.measure("ownerOf (4 nodos x 128 puntos)", OPS, () -> {
+            int hits = 0;
+            for (int i = 0; i < OPS; i++) {
+                hits += ring.ownerOf(routedIds[i % ACCOUNTS]).length();
+            }
+            BenchmarkSupport.sink = hits;
+        });
+        measureDeposits("depósito, un nodo", direct, directIds);
+        measureDeposits("depósito, ruteado a 4 nodos", routed, routedIds);
+
+        int modulo = 0;
+        for (String id : routedIds) {
+            long hash = ConsistentHashRing.hash(id);
+            if (Math.floorMod(hash, 4) != Math.floorMod(hash, 5)) {
+                modulo++;
+            }
+        }
+        long start = System.nanoTime();
+        int pending = routed.addNode("nodo-5");
+        double planMillis = (System.nanoTime() - start) / 1e6;
+        System.out.printf("4 -> 5 nodos: anillo mueve %.1f%% de las cuentas, hash %% N mueve %.1f%%%n",
+                100.0 * pending / ACCOUNTS, 100.0 * modulo / ACCOUNTS);
+        start = System.nanoTime();
+        while (routed.migrate(1_000) > 0) {
+            // por lotes, como lo haría un proceso de fondo
+        }
+        double migrateMillis = (System.nanoTime() - start) / 1e6;
+        System.out.printf("plan: %.1f ms, traslado de %d cuentas: %.1f ms (%.0f cuentas/s)%n",
+                planMillis, pending, migrateMillis, pending / (migrateMillis / 1e3));
+    }
+
+    /**
+     * Diez cuentas por usuario: el traslado quita la cuenta de la lista de su usuario.
+     */
+    private static String[] fill(AccountService service) {
+        List<String> ids = new ArrayList<>(ACCOUNTS);
+        User user = null;
+        for (int i = 0; i < ACCOUNTS; i++) {
+            if (i % 10 == 0) {
+                user = new User("Usuario", "N" + i, "usuario" + i + "@example.com");
+            }
+            Account account = service.createAccount(user, Currency.USD, 0);
+            ids.add(account.getId());
+        }
+        return ids.toArray(new String[0]);
+    }
+
+    private static void measureDeposits(String name, AccountService service, String[] ids) {
+        BenchmarkSupport.measure(name, OPS, () -> {
+            for (int i = 0; i < OPS; i++) {
+                service.tryDeposit(ids[i % ACCOUNTS], 1);
+            }
+        });
+    }
+}
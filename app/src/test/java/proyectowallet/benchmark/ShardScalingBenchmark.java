@@ -0,0 +1,88 @@
+package proyectowallet.benchmark;
+
+import proyectowallet.model.Currency;
+import proyectowallet.model.OperationResult;
+import proyectowallet.model.User;
+import proyectowallet.service.AccountServiceImpl;
+import proyectowallet.service.ShardedAccountService;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Mide operaciones por segundo del servicio de cuentas por shards al agregar shards: un hilo
+ * productor por shard, cada uno con hasta {@value #WINDOW} depósitos y transferencias en curso
+ * sobre cuentas repartidas al azar. La escala esperada es casi lineal hasta la cantidad de núcleos.
+ */
+public class ShardScalingBenchmark {
+    private static final int ACCOUNTS = 4_096;
+    private static final int OPS_PER_PRODUCER = 400_000;
+    private static final int WINDOW = 1_024;
+    /** Una de cada cuántas operaciones es una transferencia. */
+    private static final int TRANSFER_EVERY = 10;
+
+    public static void main(String[] args) throws InterruptedException {
+        int processors = Runtime.getRuntime().availableProcessors();
+        System.out.printf("Núcleos disponibles: %d%n", processors);
+        double baseline = 0;
+        for (int shards = 1; shards <= Math.max(8, processors); shards *= 2) {
+            AccountServiceImpl accounts = new AccountServiceImpl();
+            User user = new User("Juan", "Pérez", "juan@example.com");
+            String[] ids = new String[ACCOUNTS];
+            for (int i = 0; i < ACCOUNTS; i++) {
+                ids[i] = accounts.createAccount(user, Currency.USD, 1_000).getId();
+            }
+            try (ShardedAccountService service = new ShardedAccountService(accounts, shards)) {
+                // Calentamiento con un productor
+                run(service, ids, 1, OPS_PER_PRODUCER / 4);
+                double opsPerSecond = run(service, ids, shards, OPS_PER_PRODUCER);
+                if (shards == 1) {
+                    baseline = opsPerSecond;
+                }
+                System.out.printf("%2d shards: %,12.0f ops/s  (x%.2f)%n", shards, opsPerSecond, opsPerSecond / baseline);
+            }
+        }
+    }
+
+    private static double run(ShardedAccountService service, String[] ids, int producers, int opsPerProducer)
+            throws InterruptedException {
+        List<Thread> threads = new ArrayList<>();
+        for (int p = 0; p < producers; p++) {
+            long seed = 0x9E3779B97F4A7C15L * (p + 1);
+            threads.add(new Thread(() -> produce(service, ids, opsPerProducer, seed), "producer-" + p));
+        }
+        long start = System.nanoTime();
+        threads.forEach(Thread::start);
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        return (double) producers * opsPerProducer / ((System.nanoTime() - start) / 1e9);
+    }
+
+    private static void produce(ShardedAccountService service, String[] ids, int ops, long seed) {
+        @SuppressWarnings("unchecked")
+        CompletableFuture<OperationResult>[] window = new CompletableFuture[WINDOW];
+        long state = seed;
+        for (int i = 0; i < ops; i++) {
+            int slot = i % WINDOW;
+            if (window[slot] != null) {
+                window[slot].join();
+            }
+            // xorshift: elige cuentas sin compartir un Random entre hilos
+            state ^= state << 13;
+            state ^= state >>> 7;
+            state ^= state << 17;
+            String from = ids[(int) ((state >>> 1) % ids.length)];
+            String to = ids[(int) ((state >>> 33) % ids.length)];
+            window[slot] = i % TRANSFER_EVERY == 0
+                    ? service.transferAsync(from, to, 1)
+                    : service.depositAsync(from, 1);
+        }
+        for (CompletableFuture<OperationResult> pending : window) {
+            if (pending != null) {
+                pending.join();
+            }
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package proyectowallet.benchmark;
+
+import proyectowallet.model.Account;
+import proyectowallet.model.Currency;
+import proyectowallet.model.Transaction;
+import proyectowallet.model.User;
+import proyectowallet.service.AccountService;
+import proyectowallet.service.AccountServiceImpl;
+import proyectowallet.service.StatementService;
+import proyectowallet.service.StatementServiceImpl;
+import proyectowallet.service.TransactionService;
+import proyectowallet.service.TransactionServiceImpl;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.Comparator;
+import java.util.UUID;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Mide cuentas por segundo de la generación de estados de cuenta con 1 hilo y con todos los núcleos.
+ */
+public class StatementBenchmark {
+    private static final int ACCOUNTS = 20_000;
+    private static final int TRANSACTIONS_PER_ACCOUNT = 50;
+    private static final YearMonth PERIOD = YearMonth.of(2026, 3);
+
+    public static void main(String[] args) throws IOException {
+        AccountService accountService = new AccountServiceImpl();
+        TransactionService transactionService = new TransactionServiceImpl();
+        LocalDateTime start = PERIOD.minusMonths(1).atDay(1).atStartOfDay();
+        for (int a = 0; a < ACCOUNTS; a++) {
+            User user = new User("Usuario", "N" + a, "u" + a + "@example.com");
+            Account account = accountService.createAccount(user, Currency.USD, 0);
+            for (int t = 0; t < TRANSACTIONS_PER_ACCOUNT; t++) {
+                account.deposit(10);
+                // Repartidas en tres meses: anterior, el del estado y el siguiente
+                transactionService.recordTransaction(new Transaction(UUID.randomUUID().toString(), account,
+                        Transaction.TransactionType.DEPOSIT, 10, Currency.USD, Currency.USD, 10,
+                        start.plusHours(t * 44L), "Depósito", 0));
+            }
+        }
+
+        int[] parallelisms = {1, Runtime.getRuntime().availableProcessors()};
+        for (int parallelism : parallelisms) {
+            Path directory = Files.createTempDirectory("statement-benchmark");
+            ForkJoinPool pool = new ForkJoinPool(parallelism);
+            try {
+                StatementService service = new StatementServiceImpl(accountService, transactionService, pool);
+                // Primera corrida de calentamiento
+                service.generateMonthlyStatements(PERIOD, directory, null);
+                StatementService.RunSummary summary = service.generateMonthlyStatements(PERIOD, directory,
+                        (done, total, rate) -> {
+                            if (done == total) {
+                                System.out.printf("  avance %d/%d (%.0f cuentas/s)%n", done, total, rate);
+                            }
+                        });
+                System.out.printf("%2d hilos: %,d cuentas, %,d movimientos en %,.0f ms: %,.0f cuentas/s%n",
+                        parallelism, summary.accounts(), summary.movements(), summary.elapsedNanos() / 1e6,
+                        summary.accountsPerSecond());
+            } finally {
+                pool.shutdown();
+                try (var paths = Files.walk(directory)) {
+                    for (Path path : paths.sorted(Comparator.reverseOrder()).toList()) {
+                        Files.deleteIfExists(path);
+                    }
+                }
+            }
+        }
+    }
+}
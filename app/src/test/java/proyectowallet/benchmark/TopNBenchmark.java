@@ -0,0 +1,67 @@
+package proyectowallet.benchmark;
+
+import proyectowallet.model.Account;
+import proyectowallet.model.Currency;
+import proyectowallet.model.Transaction;
+import proyectowallet.model.User;
+import proyectowallet.service.AccountService;
+import proyectowallet.service.AccountServiceImpl;
+import proyectowallet.service.ExchangeRateProviderImpl;
+import proyectowallet.service.RankingService;
+import proyectowallet.service.RankingServiceImpl;
+import proyectowallet.service.TransactionService;
+import proyectowallet.service.TransactionServiceImpl;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Compara el top 100 de transacciones y cuentas con heaps acotados en paralelo contra copiar y ordenar todo.
+ */
+public class TopNBenchmark {
+    private static final int ACCOUNTS = 100_000;
+    private static final int TRANSACTIONS = 2_000_000;
+    private static final int LIMIT = 100;
+
+    public static void main(String[] args) {
+        AccountService accountService = new AccountServiceImpl();
+        TransactionService transactionService = new TransactionServiceImpl();
+        Random random = new Random(7);
+        User user = new User("Ana", "Gómez", "ana@example.com");
+        Currency[] currencies = Currency.values();
+        List<Account> accounts = new ArrayList<>();
+        for (int i = 0; i < ACCOUNTS; i++) {
+            accounts.add(accountService.createAccount(user, currencies[i % currencies.length],
+                    random.nextInt(1_000_000)));
+        }
+        for (int i = 0; i < TRANSACTIONS; i++) {
+            Account account = accounts.get(random.nextInt(ACCOUNTS));
+            double amount = random.nextInt(100_000) / 100.0;
+            transactionService.recordTransaction(new Transaction(account, Transaction.TransactionType.DEPOSIT,
+                    amount, account.getCurrency(), account.getCurrency(), amount, "Depósito"));
+        }
+        ExchangeRateProviderImpl rates = new ExchangeRateProviderImpl();
+        RankingService ranking = new RankingServiceImpl(accountService, transactionService, rates);
+        System.out.println("Hilos disponibles: " + Runtime.getRuntime().availableProcessors());
+
+        BenchmarkSupport.measure("top 100 transacciones (heaps)", TRANSACTIONS, () ->
+                BenchmarkSupport.sink = ranking.getTopTransactions(LIMIT).get(0).value());
+        BenchmarkSupport.measure("top 100 transacciones (copiar y ordenar)", TRANSACTIONS, () -> {
+            List<Transaction> all = new ArrayList<>();
+            transactionService.forEachTransaction(all::add);
+            all.sort(Comparator.comparingDouble((Transaction tx) -> rates.getSnapshot()
+                    .convert(tx.getAmount(), tx.getCurrencyFrom(), Currency.USD)).reversed());
+            BenchmarkSupport.sink = all.get(0).getAmount();
+        });
+        BenchmarkSupport.measure("top 100 cuentas (heaps)", ACCOUNTS, () ->
+                BenchmarkSupport.sink = ranking.getTopAccountsByBalance(LIMIT).get(0).value());
+        BenchmarkSupport.measure("top 100 cuentas (copiar y ordenar)", ACCOUNTS, () -> {
+            List<Account> all = new ArrayList<>(accountService.getAllAccounts());
+            all.sort(Comparator.comparingDouble((Account a) -> rates.getSnapshot().convert(
+                    a.getTotalBalance(rates.getSnapshot()), a.getCurrency(), Currency.USD)).reversed());
+            BenchmarkSupport.sink = all.get(0).getBalance();
+        });
+    }
+}
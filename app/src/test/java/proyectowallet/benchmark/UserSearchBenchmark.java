@@ -0,0 +1,55 @@
+package proyectowallet.benchmark;
+
+import proyectowallet.model.User;
+import proyectowallet.util.PrefixIndex;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Mide la búsqueda por prefijo de los primeros 10 usuarios entre un millón, contra filtrar la lista completa.
+ */
+public class UserSearchBenchmark {
+    private static final int USERS = 1_000_000;
+    private static final String[] FIRST_NAMES = {"Ana", "José", "María", "Pedro", "Lucía", "Tomás", "Sofía", "Martín"};
+    private static final String[] LAST_NAMES = {"Pérez", "González", "Muñoz", "Rojas", "Díaz", "Soto", "Álvarez", "Núñez"};
+
+    public static void main(String[] args) {
+        Random random = new Random(3);
+        PrefixIndex<User> index = new PrefixIndex<>();
+        List<User> users = new ArrayList<>(USERS);
+        long start = System.nanoTime();
+        for (int i = 0; i < USERS; i++) {
+            String lastName = LAST_NAMES[random.nextInt(LAST_NAMES.length)] + i;
+            User user = new User(FIRST_NAMES[random.nextInt(FIRST_NAMES.length)], lastName,
+                    "user" + i + "@example.com");
+            users.add(user);
+            index.add(user.getId(), user, user.getFullName(), user.getLastName(), user.getEmail());
+        }
+        System.out.printf("Crear e indexar %,d usuarios: %.0f ms%n", USERS, (System.nanoTime() - start) / 1e6);
+
+        String[] prefixes = {"gonz", "maria mu", "user12345", "alvarez99"};
+        BenchmarkSupport.measure("buscar 10 por prefijo (índice)", prefixes.length, () -> {
+            for (String prefix : prefixes) {
+                BenchmarkSupport.sink = index.search(prefix, 10).size();
+            }
+        });
+        BenchmarkSupport.measure("buscar 10 por prefijo (filtrar lista)", prefixes.length, () -> {
+            for (String prefix : prefixes) {
+                List<User> found = new ArrayList<>();
+                for (User user : users) {
+                    if (PrefixIndex.normalize(user.getFullName()).startsWith(prefix)
+                            || PrefixIndex.normalize(user.getLastName()).startsWith(prefix)
+                            || user.getEmail().startsWith(prefix)) {
+                        found.add(user);
+                        if (found.size() == 10) {
+                            break;
+                        }
+                    }
+                }
+                BenchmarkSupport.sink = found.size();
+            }
+        });
+    }
+}
@@ -0,0 +1,122 @@
+package proyectowallet.controller;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import proyectowallet.model.Account;
+import proyectowallet.model.Currency;
+import proyectowallet.model.Transaction;
+import proyectowallet.service.AccountServiceImpl;
+import proyectowallet.service.TransactionServiceImpl;
+import proyectowallet.util.CurrencyConverterUtil;
+
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pruebas unitarias para WalletController.
+ * Valida que las operaciones con clave de idempotencia se apliquen una sola vez y las
+ * conversiones entre sub-saldos.
+ */
+@DisplayName("Pruebas de WalletController")
+class WalletControllerTest {
+    private WalletController controller;
+
+    @BeforeEach
+    void setup() {
+        controller = new WalletController(new AccountServiceImpl(), new TransactionServiceImpl(),
+                new CurrencyConverterUtil());
+        assertTrue(controller.registerUser("Juan", "Pérez", "juan@example.com"));
+        String userId = controller.getAllUsers().iterator().next().getId();
+        assertTrue(controller.createAccountForUser(userId, Currency.USD, 100));
+    }
+
+    @Test
+    @DisplayName("Un depósito reintentado con la misma clave debe aplicarse una sola vez")
+    void testRetriedDepositAppliedOnce() {
+        assertTrue(controller.deposit(50, "deposito-1"));
+        assertTrue(controller.deposit(50, "deposito-1"));
+
+        assertEquals(150, controller.getBalance(), 1e-9);
+        assertEquals(1L, (long) controller.getTransactionHistory().size());
+    }
+
+    @Test
+    @DisplayName("Depósitos concurrentes con la misma clave deben aplicarse una sola vez")
+    void testConcurrentRetriesAppliedOnce() {
+        CompletableFuture<?>[] retries = new CompletableFuture<?>[4];
+        for (int i = 0; i < retries.length; i++) {
+            retries[i] = CompletableFuture.runAsync(() -> assertTrue(controller.deposit(10, "deposito-2")));
+        }
+        CompletableFuture.allOf(retries).join();
+
+        assertEquals(110, controller.getBalance(), 1e-9);
+        assertEquals(1L, (long) controller.getTransactionHistory().size());
+    }
+
+    @Test
+    @DisplayName("Debe rechazar una clave ya usada para otra operación")
+    void testKeyReusedForOtherOperation() {
+        assertTrue(controller.deposit(20, "clave"));
+        assertFalse(controller.withdraw(20, "clave"));
+        assertFalse(controller.deposit(30, "clave"));
+
+        assertEquals(120, controller.getBalance(), 1e-9);
+    }
+
+    @Test
+    @DisplayName("Debe convertir parcialmente desde un sub-saldo distinto del principal")
+    void testConvertPartialFromSubBalance() {
+        double euros = controller.convertPartial(Currency.EUR, 40);
+        assertTrue(euros > 0);
+
+        double pesos = controller.convertPartial(Currency.EUR, Currency.CLP, euros / 2);
+        assertTrue(pesos > 0);
+        assertEquals(60, controller.getBalance(), 1e-9);
+        assertEquals(Currency.USD, controller.getCurrentCurrency());
+        assertEquals(euros / 2, controller.getCurrentAccount().getBalance(Currency.EUR), 1e-9);
+        assertEquals(pesos, controller.getCurrentAccount().getBalance(Currency.CLP), 1e-9);
+        assertTrue(controller.getTransactionHistory().stream()
+                .anyMatch(tx -> tx.getCurrencyFrom() == Currency.EUR && tx.getCurrencyTo() == Currency.CLP));
+    }
+
+    @Test
+    @DisplayName("Debe rechazar una conversión parcial que supera el sub-saldo de origen")
+    void testConvertPartialInsufficientSubBalance() {
+        assertEquals(-1, controller.convertPartial(Currency.EUR, Currency.CLP, 10), 0);
+        assertEquals(-1, controller.convertPartial(Currency.EUR, Currency.EUR, 10), 0);
+
+        assertEquals(100, controller.getBalance(), 1e-9);
+        assertEquals(0L, (long) controller.getTransactionHistory().size());
+    }
+
+    @Test
+    @DisplayName("Debe rechazar la conversión total a la misma moneda sin registrar transacciones")
+    void testConvertBalanceRejectsSameCurrency() {
+        assertEquals(-1, controller.convertBalance(Currency.USD), 0);
+        assertEquals(-1, controller.convertBalance(null), 0);
+
+        assertEquals(100, controller.getBalance(), 1e-9);
+        assertEquals(0L, (long) controller.getTransactionHistory().size());
+    }
+
+    @Test
+    @DisplayName("La conversión total no debe perder depósitos concurrentes")
+    void testConvertBalanceWithConcurrentDeposits() {
+        Account account = controller.getCurrentAccount();
+        int deposits = 20_000;
+        CompletableFuture<Void> depositor = CompletableFuture.runAsync(() -> {
+            for (int i = 0; i < deposits; i++) {
+                assertTrue(account.deposit(Currency.USD, 1));
+            }
+        });
+        double euros = controller.convertBalance(Currency.EUR);
+        depositor.join();
+
+        Transaction conversion = controller.getTransactionHistory().get(0);
+        assertEquals(euros, account.getBalance(Currency.EUR), 1e-9);
+        // Lo convertido más lo depositado después suma exactamente todo lo que entró en USD
+        assertEquals(100 + deposits, conversion.getAmount() + account.getBalance(Currency.USD), 1e-9);
+    }
+}
@@ -0,0 +1,65 @@
+package proyectowallet.event;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import proyectowallet.model.Account;
+import proyectowallet.model.BalanceChange;
+import proyectowallet.model.Currency;
+import proyectowallet.model.User;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pruebas unitarias para BalanceRelay.
+ * Valida que los cambios pendientes se combinen por cuenta y se publiquen en orden al vaciarlo.
+ */
+@DisplayName("Pruebas de BalanceRelay")
+class BalanceRelayTest {
+    private final User user = new User("Juan", "Pérez", "juan@example.com");
+
+    @Test
+    @DisplayName("Debe guardar solo el último estado de cada cuenta hasta vaciarse")
+    void testConflatesPerAccount() {
+        List<BalanceChange> published = new ArrayList<>();
+        // Un executor que no ejecuta nada deja todo pendiente hasta el flush
+        BalanceRelay relay = new BalanceRelay(change -> {
+            published.add(change);
+            return published.size() - 1;
+        }, task -> { });
+        Account first = new Account(user, Currency.USD, 10);
+        Account second = new Account(user, Currency.EUR, 5);
+
+        relay.offer(BalanceChange.of(first));
+        relay.offer(BalanceChange.of(second));
+        first.deposit(20);
+        relay.offer(BalanceChange.of(first));
+
+        assertTrue(relay.hasPending());
+        assertTrue(published.isEmpty());
+        assertEquals(1L, relay.flush());
+        assertFalse(relay.hasPending());
+        assertEquals(2L, (long) published.size());
+        assertEquals(first.getId(), published.get(0).getAccountId());
+        assertEquals(30, published.get(0).getBalance(), 1e-9);
+        assertEquals(second.getId(), published.get(1).getAccountId());
+        assertEquals(-1L, relay.flush());
+    }
+
+    @Test
+    @DisplayName("Debe publicar en segundo plano lo que nadie vació")
+    void testDrainsInBackground() {
+        List<BalanceChange> published = new ArrayList<>();
+        BalanceRelay relay = new BalanceRelay(change -> {
+            published.add(change);
+            return 0;
+        }, Runnable::run);
+
+        relay.offer(BalanceChange.of(new Account(user, Currency.USD, 10)));
+
+        assertFalse(relay.hasPending());
+        assertEquals(1L, (long) published.size());
+    }
+}
@@ -0,0 +1,187 @@
+package proyectowallet.event;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import proyectowallet.model.Account;
+import proyectowallet.model.Currency;
+import proyectowallet.model.User;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pruebas unitarias para EventBus.
+ * Valida el orden, la entrega a varios consumidores, la espera cuando el buffer se llena y el cierre.
+ */
+@DisplayName("Pruebas de EventBus")
+class EventBusTest {
+    private final User user = new User("Juan", "Pérez", "juan@example.com");
+    private final Account account = new Account(user, Currency.USD, 0);
+
+    private void publishDeposits(EventBus bus, int count) {
+        for (int i = 0; i < count; i++) {
+            bus.publish(WalletEvent.Type.DEPOSIT, user, account, Currency.USD, i, null, 0);
+        }
+    }
+
+    @Test
+    @DisplayName("Debe entregar todos los eventos en orden a cada consumidor")
+    void testDeliveryToAllSubscribers() {
+        EventBus bus = new EventBus(1024);
+        List<Double> first = new ArrayList<>();
+        List<Long> second = new ArrayList<>();
+        bus.subscribe("primero", (event, sequence, endOfBatch) -> first.add(event.getAmount()));
+        bus.subscribe("segundo", (event, sequence, endOfBatch) -> second.add(sequence));
+
+        publishDeposits(bus, 500);
+        bus.close();
+
+        assertEquals(500, first.size());
+        assertEquals(500, second.size());
+        for (int i = 0; i < 500; i++) {
+            assertEquals(i, first.get(i), 0);
+            assertEquals((long) i, (long) second.get(i));
+        }
+        assertEquals(499L, bus.getPublishedSequence());
+    }
+
+    @Test
+    @DisplayName("Debe esperar al consumidor lento sin perder ni pisar eventos")
+    void testBackpressure() {
+        EventBus bus = new EventBus(8);
+        AtomicLong expected = new AtomicLong();
+        AtomicLong mismatches = new AtomicLong();
+        bus.subscribe("lento", (event, sequence, endOfBatch) -> {
+            if (event.getSequence() != sequence || event.getAmount() != expected.getAndIncrement()) {
+                mismatches.incrementAndGet();
+            }
+            if (sequence % 100 == 0) {
+                Thread.yield();
+            }
+        });
+
+        publishDeposits(bus, 20_000);
+        bus.close();
+
+        assertEquals(8, bus.getCapacity());
+        assertEquals(20_000L, expected.get());
+        assertEquals(0L, mismatches.get());
+    }
+
+    @Test
+    @DisplayName("Debe marcar el último evento de cada lote")
+    void testBatches() {
+        EventBus bus = new EventBus(64);
+        AtomicLong events = new AtomicLong();
+        AtomicLong batches = new AtomicLong();
+        bus.subscribe("lotes", (event, sequence, endOfBatch) -> {
+            events.incrementAndGet();
+            if (endOfBatch) {
+                batches.incrementAndGet();
+            }
+        });
+
+        publishDeposits(bus, 1_000);
+        bus.close();
+
+        assertEquals(1_000L, events.get());
+        assertTrue(batches.get() >= 1 && batches.get() <= 1_000);
+    }
+
+    @Test
+    @DisplayName("Debe seguir entregando después de un error del consumidor")
+    void testHandlerErrors() {
+        EventBus bus = new EventBus(16);
+        AtomicLong delivered = new AtomicLong();
+        bus.subscribe("con errores", (event, sequence, endOfBatch) -> {
+            delivered.incrementAndGet();
+            if (sequence % 10 == 0) {
+                throw new IllegalStateException("falla de prueba");
+            }
+        });
+
+        publishDeposits(bus, 100);
+        bus.close();
+
+        assertEquals(100L, delivered.get());
+        assertEquals(10L, bus.getHandlerErrors());
+    }
+
+    @Test
+    @DisplayName("No debe bloquear a los productores si un consumidor termina por un Error")
+    void testDeadSubscriber() {
+        EventBus bus = new EventBus(8);
+        AtomicLong delivered = new AtomicLong();
+        bus.subscribe("muere", (event, sequence, endOfBatch) -> {
+            throw new StackOverflowError("falla de prueba");
+        });
+        bus.subscribe("sano", (event, sequence, endOfBatch) -> delivered.incrementAndGet());
+
+        publishDeposits(bus, 1_000);
+        bus.close();
+
+        assertEquals(1_000L, delivered.get());
+        assertEquals(999L, bus.getPublishedSequence());
+    }
+
+    @Test
+    @DisplayName("Debe aceptar varios productores sin perder, repetir ni desordenar eventos")
+    void testMultipleProducers() throws InterruptedException {
+        int producers = 4;
+        int perProducer = 5_000;
+        EventBus bus = new EventBus(16);
+        AtomicLong mismatches = new AtomicLong();
+        long[] lastByProducer = new long[producers];
+        Arrays.fill(lastByProducer, -1);
+        AtomicLong received = new AtomicLong();
+        bus.subscribe("contador", (event, sequence, endOfBatch) -> {
+            // El monto codifica productor * perProducer + índice
+            int producer = (int) event.getAmount() / perProducer;
+            long index = (long) event.getAmount() % perProducer;
+            if (event.getSequence() != sequence || index != lastByProducer[producer] + 1) {
+                mismatches.incrementAndGet();
+            }
+            lastByProducer[producer] = index;
+            received.incrementAndGet();
+        });
+
+        Thread[] threads = new Thread[producers];
+        for (int p = 0; p < producers; p++) {
+            int producer = p;
+            threads[p] = new Thread(() -> {
+                for (int i = 0; i < perProducer; i++) {
+                    bus.publish(WalletEvent.Type.DEPOSIT, user, account, Currency.USD,
+                            producer * perProducer + i, null, 0);
+                }
+            });
+            threads[p].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        bus.close();
+
+        assertEquals((long) producers * perProducer, received.get());
+        assertEquals(0L, mismatches.get());
+        assertEquals((long) producers * perProducer - 1, bus.getPublishedSequence());
+    }
+
+    @Test
+    @DisplayName("Debe entregar a un suscriptor nuevo solo los eventos posteriores")
+    void testLateSubscriber() {
+        EventBus bus = new EventBus(16);
+        publishDeposits(bus, 40);
+        List<Long> received = new ArrayList<>();
+        bus.subscribe("tardío", (event, sequence, endOfBatch) -> received.add(sequence));
+
+        publishDeposits(bus, 3);
+        bus.close();
+
+        assertEquals(List.of(40L, 41L, 42L), received);
+        assertThrows(IllegalStateException.class, () -> bus.subscribe("cerrado", (e, s, b) -> { }));
+    }
+}
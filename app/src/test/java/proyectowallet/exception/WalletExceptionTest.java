@@ -0,0 +1,40 @@
+package proyectowallet.exception;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pruebas unitarias para las excepciones de dominio.
+ * Valida que no capturen la traza de la pila y conserven sus datos.
+ */
+@DisplayName("Pruebas de WalletException")
+class WalletExceptionTest {
+
+    @Test
+    @DisplayName("Debe crear excepciones de dominio sin traza de la pila")
+    void testStackless() {
+        WalletException[] exceptions = {
+                new AccountNotFoundException("abc"),
+                new InsufficientBalanceException(150, 100),
+                new InvalidOperationException("retiro", "cuenta inactiva"),
+                new ValidationException("email", "x", "formato inválido")
+        };
+        for (WalletException exception : exceptions) {
+            assertEquals(0, exception.getStackTrace().length);
+            exception.addSuppressed(new IllegalStateException());
+            assertEquals(0, exception.getSuppressed().length);
+        }
+    }
+
+    @Test
+    @DisplayName("Debe conservar mensaje y datos del rechazo")
+    void testDetails() {
+        InsufficientBalanceException exception = new InsufficientBalanceException(150, 100);
+
+        assertEquals(50, exception.getShortfall(), 1e-9);
+        assertTrue(exception.getMessage().startsWith("Saldo insuficiente"));
+        assertEquals("abc", new AccountNotFoundException("abc").getAccountId());
+    }
+}
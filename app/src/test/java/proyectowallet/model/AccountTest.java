@@ -65,4 +65,130 @@ class AccountTest {
 
         assertEquals(2500.50, account.getBalance());
     }
+
+    @Test
+    @DisplayName("Debe mantener sub-saldos por moneda")
+    void testSubBalances() {
+        Account account = new Account(testUser, Currency.USD, 100);
+
+        assertTrue(account.deposit(Currency.EUR, 50));
+        assertEquals(100, account.getBalance());
+        assertEquals(50, account.getBalance(Currency.EUR));
+        assertFalse(account.withdraw(Currency.CLP, 1));
+        assertTrue(account.withdraw(Currency.EUR, 20));
+        assertEquals(30, account.getBalances()[Currency.EUR.ordinal()]);
+    }
+
+    @Test
+    @DisplayName("Debe convertir parte de un sub-saldo sin cambiar la moneda principal")
+    void testPartialConversion() {
+        Account account = new Account(testUser, Currency.USD, 100);
+
+        assertTrue(account.convert(Currency.USD, Currency.EUR, 40, 36.8));
+        assertEquals(Currency.USD, account.getCurrency());
+        assertEquals(60, account.getBalance(), 1e-9);
+        assertEquals(36.8, account.getBalance(Currency.EUR), 1e-9);
+
+        assertFalse(account.convert(Currency.USD, Currency.EUR, 1000, 920));
+        assertFalse(account.convert(Currency.USD, Currency.USD, 10, 10));
+        assertEquals(60, account.getBalance(), 1e-9);
+    }
+
+    @Test
+    @DisplayName("La conversión total debe trasladar el saldo a la nueva moneda principal")
+    void testApplyConversionKeepsOtherSubBalances() {
+        Account account = new Account(testUser, Currency.USD, 100);
+        account.deposit(Currency.CLP, 5000);
+
+        account.applyConversion(Currency.EUR, 92);
+
+        assertEquals(Currency.EUR, account.getCurrency());
+        assertEquals(92, account.getBalance(), 1e-9);
+        assertEquals(0, account.getBalance(Currency.USD));
+        assertEquals(5000, account.getBalance(Currency.CLP));
+        assertEquals(92 + 5000 * RateSnapshot.fromDefaults().getRate(Currency.CLP, Currency.EUR),
+                account.getTotalBalance(RateSnapshot.fromDefaults()), 1e-9);
+    }
+
+    @Test
+    @DisplayName("La conversión total debe leer y mover el saldo principal en una sola operación")
+    void testConvertAll() {
+        Account account = new Account(testUser, Currency.USD, 100);
+        RateSnapshot rates = RateSnapshot.fromDefaults();
+
+        assertEquals(OperationResult.INVALID_OPERATION, account.tryConvertAll(rates, Currency.USD).getResult());
+        assertEquals(OperationResult.INVALID_OPERATION, account.tryConvertAll(rates, null).getResult());
+
+        Conversion conversion = account.tryConvertAll(rates, Currency.EUR);
+        assertTrue(conversion.isSuccess());
+        assertEquals(Currency.USD, conversion.getFrom());
+        assertEquals(100, conversion.getAmount(), 1e-9);
+        assertEquals(rates.convert(100, Currency.USD, Currency.EUR), conversion.getConvertedAmount(), 1e-9);
+        assertEquals(rates.getVersion(), conversion.getRateVersion());
+        assertEquals(Currency.EUR, account.getCurrency());
+        assertEquals(conversion.getConvertedAmount(), account.getBalance(), 1e-9);
+
+        account.deactivate();
+        assertEquals(OperationResult.ACCOUNT_INACTIVE, account.tryConvertAll(rates, Currency.CLP).getResult());
+    }
+
+    @Test
+    @DisplayName("Debe informar el motivo de un retiro rechazado sin modificar el saldo")
+    void testWithdrawReasons() {
+        Account account = new Account(testUser, Currency.USD, 100);
+
+        assertEquals(OperationResult.INSUFFICIENT_FUNDS, account.tryWithdraw(150));
+        assertEquals(OperationResult.INVALID_AMOUNT, account.tryWithdraw(-1));
+        assertEquals(OperationResult.INVALID_AMOUNT, account.tryWithdraw(Double.NaN));
+        assertEquals(OperationResult.INVALID_OPERATION, account.tryWithdraw(null, 10));
+        assertEquals(100, account.getBalance(), 1e-9);
+
+        assertEquals(OperationResult.OK, account.tryWithdraw(100));
+        assertEquals(0, account.getBalance(), 1e-9);
+
+        account.deactivate();
+        assertEquals(OperationResult.ACCOUNT_INACTIVE, account.tryWithdraw(1));
+        assertEquals(OperationResult.ACCOUNT_INACTIVE, account.tryDeposit(1));
+    }
+
+    @Test
+    @DisplayName("Debe informar el motivo de depósitos y conversiones rechazados")
+    void testDepositAndConvertReasons() {
+        Account account = new Account(testUser, Currency.USD, 100);
+
+        assertEquals(OperationResult.INVALID_AMOUNT, account.tryDeposit(Double.POSITIVE_INFINITY));
+        assertEquals(OperationResult.OK, account.tryDeposit(Currency.EUR, 5));
+        assertEquals(OperationResult.INVALID_OPERATION, account.tryConvert(Currency.USD, Currency.USD, 10, 10));
+        assertEquals(OperationResult.INSUFFICIENT_FUNDS, account.tryConvert(Currency.EUR, Currency.USD, 10, 11));
+        assertEquals(OperationResult.INVALID_AMOUNT, account.tryConvert(Currency.USD, Currency.EUR, 10, -1));
+        assertEquals(OperationResult.OK, account.tryConvert(Currency.USD, Currency.EUR, 10, 9));
+        assertEquals(14, account.getBalance(Currency.EUR), 1e-9);
+    }
+
+    @Test
+    @DisplayName("No debe permitir que retiros concurrentes dejen saldo negativo")
+    void testConcurrentWithdrawals() throws InterruptedException {
+        Account account = new Account(testUser, Currency.USD, 1_000);
+        int[] approved = new int[4];
+        Thread[] threads = new Thread[approved.length];
+        for (int t = 0; t < threads.length; t++) {
+            int index = t;
+            threads[t] = new Thread(() -> {
+                for (int i = 0; i < 1_000; i++) {
+                    if (account.tryWithdraw(1).isSuccess()) {
+                        approved[index]++;
+                    }
+                }
+            });
+            threads[t].start();
+        }
+        int total = 0;
+        for (int t = 0; t < threads.length; t++) {
+            threads[t].join();
+            total += approved[t];
+        }
+
+        assertEquals(1_000, total);
+        assertEquals(0, account.getBalance(), 1e-9);
+    }
 }
@@ -92,4 +92,31 @@ class TransactionTest {
         assertNotNull(tx.getTimestamp());
         assertFalse(tx.getTimestamp().toString().isEmpty());
     }
+
+    @Test
+    @DisplayName("Debe registrar la versión de tasas usada en la conversión")
+    void testConversionRateVersion() {
+        Transaction conversion = new Transaction(
+                testAccount,
+                Transaction.TransactionType.CONVERSION,
+                100,
+                Currency.USD,
+                Currency.EUR,
+                92,
+                "Conversión USD a EUR",
+                7
+        );
+        Transaction deposit = new Transaction(
+                testAccount,
+                Transaction.TransactionType.DEPOSIT,
+                100,
+                Currency.USD,
+                Currency.USD,
+                100,
+                "Depósito"
+        );
+
+        assertEquals(7, conversion.getRateVersion());
+        assertEquals(Transaction.NO_RATE_VERSION, deposit.getRateVersion());
+    }
 }
@@ -0,0 +1,210 @@
+package proyectowallet.persistence;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import proyectowallet.model.Account;
+import proyectowallet.model.Currency;
+import proyectowallet.model.Transaction;
+import proyectowallet.model.User;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pruebas unitarias para Journal.
+ * Valida el registro, la relectura, la rotación de segmentos y la tolerancia a escrituras interrumpidas.
+ */
+@DisplayName("Pruebas de Journal")
+class JournalTest {
+    private Path directory;
+    private User user;
+    private Account account;
+
+    @BeforeEach
+    void setup() throws IOException {
+        directory = Files.createTempDirectory("journal");
+        user = new User("Juan", "Pérez", "juan@example.com");
+        account = new Account(user, Currency.USD, 100);
+    }
+
+    @AfterEach
+    void cleanup() throws IOException {
+        TestFiles.deleteRecursively(directory);
+    }
+
+    private void appendHistory(Journal journal, int deposits) {
+        journal.append(JournalRecord.userRegistered(user));
+        journal.append(JournalRecord.accountCreated(account, 100));
+        for (int i = 0; i < deposits; i++) {
+            journal.append(JournalRecord.transaction(JournalRecord.Kind.DEPOSIT, new Transaction(
+                    account, Transaction.TransactionType.DEPOSIT, 10, Currency.USD, Currency.USD, 10, "Depósito")));
+        }
+    }
+
+    @Test
+    @DisplayName("Debe releer los registros en orden y reconstruir el estado")
+    void testAppendAndReplay() throws IOException {
+        try (Journal journal = new Journal(directory)) {
+            appendHistory(journal, 3);
+            assertEquals(5, journal.getLastSequence());
+        }
+
+        WalletState state = new WalletState();
+        try (Journal journal = new Journal(directory)) {
+            assertEquals(5, journal.getLastSequence());
+            assertEquals(5, journal.replay(1, state, state::apply));
+        }
+
+        assertEquals(1, state.getUsers().size());
+        Account restored = state.findAccount(account.getId());
+        assertEquals(130, restored.getBalance(), 1e-9);
+        assertEquals("juan@example.com", restored.getUser().getEmail());
+        assertEquals(3, state.getTransactions().size());
+    }
+
+    @Test
+    @DisplayName("Debe releer una transferencia como un único registro con ambas transacciones")
+    void testTransferReplay() throws IOException {
+        Account target = new Account(user, Currency.USD, 0);
+        try (Journal journal = new Journal(directory)) {
+            appendHistory(journal, 0);
+            journal.append(JournalRecord.accountCreated(target, 0));
+            journal.append(JournalRecord.transfer(
+                    new Transaction(account, Transaction.TransactionType.TRANSFER, 40, Currency.USD, Currency.USD, 40, "Envío"),
+                    new Transaction(target, Transaction.TransactionType.TRANSFER_IN, 40, Currency.USD, Currency.USD, 40, "Recepción")));
+        }
+
+        WalletState state = new WalletState();
+        try (Journal journal = new Journal(directory)) {
+            assertEquals(4, journal.replay(1, state, state::apply));
+        }
+        assertEquals(60, state.findAccount(account.getId()).getBalance(), 1e-9);
+        assertEquals(40, state.findAccount(target.getId()).getBalance(), 1e-9);
+        assertEquals(2, state.getTransactions().size());
+        assertThrows(IllegalArgumentException.class, () -> JournalRecord.transfer(
+                new Transaction(account, Transaction.TransactionType.DEPOSIT, 1, Currency.USD, Currency.USD, 1, "Depósito"),
+                new Transaction(target, Transaction.TransactionType.TRANSFER_IN, 1, Currency.USD, Currency.USD, 1, "Recepción")));
+    }
+
+    @Test
+    @DisplayName("Debe rotar segmentos y eliminar los cubiertos por un snapshot")
+    void testSegmentsAndTruncate() throws IOException {
+        try (Journal journal = new Journal(directory, 512)) {
+            appendHistory(journal, 40);
+            int segments = journal.getSegmentCount();
+            assertTrue(segments > 2);
+
+            assertTrue(journal.truncateBefore(30) > 0);
+            assertTrue(journal.getSegmentCount() < segments);
+
+            List<Long> sequences = new ArrayList<>();
+            WalletState ignored = new WalletState() {
+                @Override
+                public Account findAccount(String id) {
+                    return account;
+                }
+            };
+            journal.replay(31, ignored, (sequence, record) -> sequences.add(sequence));
+            assertEquals(31L, (long) sequences.get(0));
+            assertEquals(42L, (long) sequences.get(sequences.size() - 1));
+        }
+    }
+
+    @Test
+    @DisplayName("Debe descartar un registro final escrito a medias")
+    void testTornTail() throws IOException {
+        try (Journal journal = new Journal(directory)) {
+            appendHistory(journal, 2);
+        }
+        Path segment;
+        try (var files = Files.list(directory)) {
+            segment = files.filter(p -> p.toString().endsWith(".log")).findFirst().orElseThrow();
+        }
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.WRITE)) {
+            channel.truncate(channel.size() - 3);
+        }
+
+        try (Journal journal = new Journal(directory)) {
+            assertEquals(3, journal.getLastSequence());
+            appendHistory(journal, 0);
+            assertEquals(5, journal.getLastSequence());
+        }
+    }
+
+    @Test
+    @DisplayName("Debe escribir un lote igual que registro por registro, incluida la rotación")
+    void testAppendAll() throws IOException {
+        List<JournalRecord> records = new ArrayList<>();
+        records.add(JournalRecord.userRegistered(user));
+        records.add(JournalRecord.accountCreated(account, 100));
+        for (int i = 0; i < 40; i++) {
+            records.add(JournalRecord.transaction(JournalRecord.Kind.DEPOSIT, new Transaction(
+                    account, Transaction.TransactionType.DEPOSIT, 10, Currency.USD, Currency.USD, 10, "Depósito")));
+        }
+        Path single = directory.resolve("single");
+        Path batch = directory.resolve("batch");
+        try (Journal one = new Journal(single, 512); Journal all = new Journal(batch, 512)) {
+            for (JournalRecord record : records) {
+                one.append(record);
+            }
+            assertEquals(42L, all.appendAll(records));
+            assertEquals(42L, all.getLastSequence());
+            assertEquals(42L, all.appendAll(List.of()));
+            assertEquals(43L, all.append(JournalRecord.userRegistered(user)));
+            one.append(JournalRecord.userRegistered(user));
+        }
+
+        List<Path> expected;
+        try (var files = Files.list(single)) {
+            expected = files.sorted().toList();
+        }
+        assertTrue(expected.size() > 2);
+        try (var files = Files.list(batch)) {
+            assertEquals((long) expected.size(), files.count());
+        }
+        for (Path segment : expected) {
+            Path other = batch.resolve(segment.getFileName());
+            assertArrayEquals(Files.readAllBytes(segment), Files.readAllBytes(other));
+        }
+    }
+
+    @Test
+    @DisplayName("Debe escribir en un lote un registro más grande que el buffer al rotar de segmento")
+    void testAppendAllLargeRecordOnRoll() throws IOException {
+        String description = "x".repeat(300 * 1024);
+        List<JournalRecord> records = new ArrayList<>();
+        records.add(JournalRecord.userRegistered(user));
+        records.add(JournalRecord.accountCreated(account, 100));
+        for (int i = 0; i < 200; i++) {
+            records.add(JournalRecord.transaction(JournalRecord.Kind.DEPOSIT, new Transaction(
+                    account, Transaction.TransactionType.DEPOSIT, 10, Currency.USD, Currency.USD, 10, "Depósito")));
+        }
+        // No entra en lo que queda del segmento ni en el buffer del lote
+        records.add(JournalRecord.transaction(JournalRecord.Kind.DEPOSIT, new Transaction(
+                account, Transaction.TransactionType.DEPOSIT, 10, Currency.USD, Currency.USD, 10, description)));
+        try (Journal journal = new Journal(directory, 310 * 1024)) {
+            assertEquals(203L, journal.appendAll(records));
+            assertEquals(2L, (long) journal.getSegmentCount());
+        }
+
+        try (Journal journal = new Journal(directory, 310 * 1024)) {
+            List<JournalRecord> replayed = new ArrayList<>();
+            WalletState state = new WalletState();
+            journal.replay(1, state, (sequence, record) -> {
+                replayed.add(record);
+                state.apply(sequence, record);
+            });
+            assertEquals(203L, (long) replayed.size());
+            assertEquals(description, replayed.get(202).getTransaction().getDescription());
+        }
+    }
+}
@@ -0,0 +1,171 @@
+package proyectowallet.persistence;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import proyectowallet.model.Account;
+import proyectowallet.model.Currency;
+import proyectowallet.model.Transaction;
+import proyectowallet.model.User;
+
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.time.LocalDateTime;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pruebas unitarias para ModelCodec.
+ * Valida la codificación de ida y vuelta, varints, textos UTF-8 y el control de versión.
+ */
+@DisplayName("Pruebas de ModelCodec")
+class ModelCodecTest {
+    private ModelCodec codec;
+    private ByteBuffer buffer;
+    private User user;
+    private Account account;
+    private ModelCodec.Resolver resolver;
+
+    @BeforeEach
+    void setup() {
+        codec = new ModelCodec();
+        buffer = ByteBuffer.allocate(1024);
+        user = new User("José", "Muñoz 😀", "jose@example.com");
+        account = new Account(user, Currency.EUR, 250.5);
+        account.deposit(Currency.CLP, 1000);
+        Map<String, User> users = Map.of(user.getId(), user);
+        Map<String, Account> accounts = Map.of(account.getId(), account);
+        resolver = new ModelCodec.Resolver() {
+            @Override
+            public User findUser(String id) {
+                return users.get(id);
+            }
+
+            @Override
+            public Account findAccount(String id) {
+                return accounts.get(id);
+            }
+        };
+    }
+
+    @Test
+    @DisplayName("Debe codificar y decodificar un usuario con caracteres no ASCII")
+    void testUserRoundTrip() {
+        codec.encode(user, buffer);
+        buffer.flip();
+
+        User decoded = codec.decodeUser(buffer);
+
+        assertEquals(user.getId(), decoded.getId());
+        assertEquals("José", decoded.getFirstName());
+        assertEquals("Muñoz 😀", decoded.getLastName());
+        assertEquals(user.getEmail(), decoded.getEmail());
+        assertEquals(user.getCreatedAt(), decoded.getCreatedAt());
+        assertFalse(buffer.hasRemaining());
+    }
+
+    @Test
+    @DisplayName("Debe codificar y decodificar una cuenta con sus sub-saldos")
+    void testAccountRoundTrip() {
+        codec.encode(account, buffer);
+        buffer.flip();
+
+        Account decoded = codec.decodeAccount(buffer, resolver);
+
+        assertEquals(account.getId(), decoded.getId());
+        assertSame(user, decoded.getUser());
+        assertEquals(Currency.EUR, decoded.getCurrency());
+        assertArrayEquals(account.getBalances(), decoded.getBalances(), 0.0);
+        assertEquals(account.getLastModifiedAt(), decoded.getLastModifiedAt());
+        assertTrue(decoded.isActive());
+    }
+
+    @Test
+    @DisplayName("Debe codificar y decodificar una transacción con su versión de tasas")
+    void testTransactionRoundTrip() {
+        Transaction tx = new Transaction(account, Transaction.TransactionType.CONVERSION, 100,
+                Currency.EUR, Currency.USD, 108.7, "Conversión", 42);
+        codec.encode(tx, buffer);
+        buffer.flip();
+
+        Transaction decoded = codec.decodeTransaction(buffer, resolver);
+
+        assertEquals(tx.getId(), decoded.getId());
+        assertSame(account, decoded.getAccount());
+        assertEquals(Transaction.TransactionType.CONVERSION, decoded.getType());
+        assertEquals(100, decoded.getAmount(), 0.0);
+        assertEquals(Currency.EUR, decoded.getCurrencyFrom());
+        assertEquals(Currency.USD, decoded.getCurrencyTo());
+        assertEquals(108.7, decoded.getAmountInTargetCurrency(), 0.0);
+        assertEquals(tx.getTimestamp(), decoded.getTimestamp());
+        assertEquals("Conversión", decoded.getDescription());
+        assertEquals(42L, decoded.getRateVersion());
+    }
+
+    @Test
+    @DisplayName("Debe reutilizar el mismo buffer para varias entidades")
+    void testBufferReuse() {
+        for (int i = 0; i < 3; i++) {
+            buffer.clear();
+            codec.encode(user, buffer);
+            buffer.flip();
+            assertEquals(user.getId(), codec.decodeUser(buffer).getId());
+        }
+    }
+
+    @Test
+    @DisplayName("Debe codificar varints en el mínimo de bytes, incluidos negativos con zigzag")
+    void testVarints() {
+        long[] values = {0, 1, 127, 128, 16_383, 16_384, Long.MAX_VALUE, -1, Long.MIN_VALUE};
+        for (long value : values) {
+            buffer.clear();
+            ModelCodec.putVarLongSigned(buffer, value);
+            buffer.flip();
+            assertEquals(value, ModelCodec.getVarLongSigned(buffer));
+        }
+
+        buffer.clear();
+        ModelCodec.putVarLong(buffer, 127);
+        assertEquals(1, buffer.position());
+        ModelCodec.putVarLong(buffer, 128);
+        assertEquals(3, buffer.position());
+    }
+
+    @Test
+    @DisplayName("Debe conservar fechas anteriores a 1970 y los nanosegundos")
+    void testTime() {
+        LocalDateTime time = LocalDateTime.of(1969, 12, 31, 23, 59, 59, 123_456_789);
+        ModelCodec.putTime(buffer, time);
+        buffer.flip();
+
+        assertEquals(time, ModelCodec.getTime(buffer));
+    }
+
+    @Test
+    @DisplayName("Debe rechazar una versión de formato desconocida")
+    void testRejectsUnknownVersion() {
+        codec.encode(user, buffer);
+        buffer.put(0, (byte) (ModelCodec.VERSION + 1));
+        buffer.flip();
+
+        assertThrows(IllegalArgumentException.class, () -> codec.decodeUser(buffer));
+    }
+
+    @Test
+    @DisplayName("Debe rechazar referencias a cuentas inexistentes")
+    void testRejectsUnknownReference() {
+        Account other = new Account(user, Currency.USD, 0);
+        codec.encode(new Transaction(other, Transaction.TransactionType.DEPOSIT, 1,
+                Currency.USD, Currency.USD, 1, "Depósito"), buffer);
+        buffer.flip();
+
+        assertThrows(IllegalArgumentException.class, () -> codec.decodeTransaction(buffer, resolver));
+    }
+
+    @Test
+    @DisplayName("Debe señalar desbordamiento cuando la entidad no cabe en el buffer")
+    void testOverflow() {
+        assertThrows(BufferOverflowException.class, () -> codec.encode(user, ByteBuffer.allocate(8)));
+    }
+}
@@ -0,0 +1,318 @@
+package proyectowallet.persistence;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import proyectowallet.controller.WalletController;
+import proyectowallet.model.Account;
+import proyectowallet.model.Currency;
+import proyectowallet.model.Transaction;
+import proyectowallet.model.User;
+import proyectowallet.service.AccountServiceImpl;
+import proyectowallet.service.TransactionServiceImpl;
+import proyectowallet.util.CurrencyConverterUtil;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pruebas unitarias para ReplicationLeader y ReplicationFollower.
+ * Líder y réplicas corren en la misma JVM y se conectan por localhost.
+ */
+@DisplayName("Pruebas de replicación del journal")
+class ReplicationTest {
+    private static final long TIMEOUT_MILLIS = 5_000;
+
+    private Path dataDirectory;
+    private WalletPersistence persistence;
+    private ReplicationLeader leader;
+    private ReplicationFollower follower;
+    private final User user = new User("Ana", "Soto", "ana@example.com");
+    private final Account account = new Account(user, Currency.USD, 0);
+
+    /** Réplica que aplica los registros sobre un {@link WalletState}. */
+    private static class StateReplica implements ReplicationFollower.Replica {
+        private volatile WalletState state = new WalletState();
+        private volatile boolean installed;
+
+        @Override
+        public User findUser(String id) {
+            return state.findUser(id);
+        }
+
+        @Override
+        public Account findAccount(String id) {
+            return state.findAccount(id);
+        }
+
+        @Override
+        public void install(WalletState snapshot) {
+            state = snapshot;
+            installed = true;
+        }
+
+        @Override
+        public void apply(long sequence, JournalRecord record) throws IOException {
+            state.apply(sequence, record);
+        }
+
+        double balanceOf(Account account) {
+            return state.findAccount(account.getId()).getBalance();
+        }
+    }
+
+    @BeforeEach
+    void setup() throws IOException {
+        dataDirectory = Files.createTempDirectory("wallet-leader");
+        persistence = WalletPersistence.open(dataDirectory, 512, 1);
+    }
+
+    @AfterEach
+    void cleanup() throws IOException {
+        if (follower != null) {
+            follower.close();
+        }
+        if (leader != null) {
+            leader.close();
+        }
+        persistence.close();
+        TestFiles.deleteRecursively(dataDirectory);
+    }
+
+    private ReplicationLeader startLeader(ReplicationLeader.AckMode mode, Duration ackTimeout) throws IOException {
+        leader = new ReplicationLeader(persistence.getJournal(), persistence.getSnapshotStore(), 0, mode, ackTimeout, 1024);
+        return leader;
+    }
+
+    private ReplicationFollower startFollower(ReplicationFollower.Replica replica, long appliedSequence) {
+        follower = new ReplicationFollower("localhost", leader.getPort(), replica, appliedSequence, Duration.ofMillis(50));
+        follower.start();
+        return follower;
+    }
+
+    private static long deposit(WalletJournal journal, Account account, double amount) {
+        account.deposit(amount);
+        return journal.append(JournalRecord.transaction(JournalRecord.Kind.DEPOSIT, new Transaction(
+                account, Transaction.TransactionType.DEPOSIT, amount, Currency.USD, Currency.USD, amount, "Depósito")));
+    }
+
+    private void openAccount(WalletJournal journal) {
+        journal.append(JournalRecord.userRegistered(user));
+        journal.append(JournalRecord.accountCreated(account, 0));
+    }
+
+    private static void awaitInSync(ReplicationLeader leader, int followers) {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(TIMEOUT_MILLIS);
+        while (leader.getInSyncCount() < followers && System.nanoTime() < deadline) {
+            LockSupport.parkNanos(TimeUnit.MICROSECONDS.toNanos(100));
+        }
+        assertEquals((long) followers, (long) leader.getInSyncCount());
+    }
+
+    @Test
+    @DisplayName("Debe poner al día a una réplica nueva y luego enviarle los registros nuevos")
+    void testAsyncCatchUpAndStream() throws IOException {
+        startLeader(ReplicationLeader.AckMode.ASYNC, ReplicationLeader.DEFAULT_ACK_TIMEOUT);
+        openAccount(leader);
+        for (int i = 0; i < 20; i++) {
+            deposit(leader, account, 1);
+        }
+        StateReplica replica = new StateReplica();
+        startFollower(replica, 0);
+
+        assertTrue(follower.awaitSequence(22, TIMEOUT_MILLIS));
+        assertEquals(20, replica.balanceOf(account), 1e-9);
+
+        long last = 0;
+        for (int i = 0; i < 100; i++) {
+            last = deposit(leader, account, 2);
+        }
+        assertTrue(follower.awaitSequence(last, TIMEOUT_MILLIS));
+        assertEquals(220, replica.balanceOf(account), 1e-9);
+        assertEquals(120, replica.state.getTransactions().size());
+        assertTrue(follower.isConnected());
+        assertEquals(1L, (long) leader.getFollowerCount());
+        assertFalse(replica.installed);
+    }
+
+    @Test
+    @DisplayName("Debe esperar la confirmación de la réplica en modo sincrónico")
+    void testSyncAck() throws IOException {
+        startLeader(ReplicationLeader.AckMode.SYNC, Duration.ofSeconds(5));
+        openAccount(leader);
+        StateReplica replica = new StateReplica();
+        startFollower(replica, 0);
+        assertTrue(follower.awaitSequence(2, TIMEOUT_MILLIS));
+        awaitInSync(leader, 1);
+
+        for (int i = 1; i <= 50; i++) {
+            long sequence = deposit(leader, account, 1);
+            // Al volver append, la réplica ya aplicó el registro
+            assertTrue(follower.getAppliedSequence() >= sequence);
+        }
+        assertEquals(50, replica.balanceOf(account), 1e-9);
+        assertEquals(0L, leader.getAckTimeouts());
+    }
+
+    @Test
+    @DisplayName("Debe dejar de esperar a una réplica que no confirma a tiempo")
+    void testSyncTimeout() throws Exception {
+        startLeader(ReplicationLeader.AckMode.SYNC, Duration.ofMillis(100));
+        openAccount(leader);
+        CountDownLatch release = new CountDownLatch(1);
+        StateReplica replica = new StateReplica() {
+            @Override
+            public void apply(long sequence, JournalRecord record) throws IOException {
+                if (sequence > 2) {
+                    try {
+                        release.await();
+                    } catch (InterruptedException e) {
+                        throw new IOException(e);
+                    }
+                }
+                super.apply(sequence, record);
+            }
+        };
+        startFollower(replica, 0);
+        assertTrue(follower.awaitSequence(2, TIMEOUT_MILLIS));
+        awaitInSync(leader, 1);
+
+        deposit(leader, account, 1);
+        assertEquals(1L, leader.getAckTimeouts());
+        assertEquals(0L, (long) leader.getInSyncCount());
+
+        // Fuera del conjunto al día ya no se la espera
+        long start = System.nanoTime();
+        long last = deposit(leader, account, 1);
+        assertTrue(System.nanoTime() - start < TimeUnit.MILLISECONDS.toNanos(100));
+
+        release.countDown();
+        assertTrue(follower.awaitSequence(last, TIMEOUT_MILLIS));
+        awaitInSync(leader, 1);
+        assertEquals(2, replica.balanceOf(account), 1e-9);
+    }
+
+    @Test
+    @DisplayName("Debe poner al día desde el snapshot cuando el journal ya fue compactado")
+    void testCatchUpFromSnapshot() throws IOException {
+        startLeader(ReplicationLeader.AckMode.ASYNC, ReplicationLeader.DEFAULT_ACK_TIMEOUT);
+        openAccount(leader);
+        for (int i = 0; i < 40; i++) {
+            deposit(leader, account, 1);
+        }
+        long snapshotSequence = persistence.getSnapshotter().snapshotNow();
+        assertTrue(persistence.getJournal().getFirstSequence() > 1);
+        long last = 0;
+        for (int i = 0; i < 5; i++) {
+            last = deposit(leader, account, 10);
+        }
+
+        // Réplica vacía: recibe el snapshot y luego la cola del journal
+        StateReplica empty = new StateReplica();
+        startFollower(empty, 0);
+        assertTrue(follower.awaitSequence(last, TIMEOUT_MILLIS));
+        assertTrue(empty.installed);
+        assertEquals(90, empty.balanceOf(account), 1e-9);
+        follower.close();
+
+        // Réplica que ya cargó el snapshot localmente: sigue desde su secuencia
+        StateReplica seeded = new StateReplica();
+        seeded.state = persistence.getSnapshotStore().loadLatest().orElseThrow();
+        startFollower(seeded, snapshotSequence);
+        assertTrue(follower.awaitSequence(last, TIMEOUT_MILLIS));
+        assertFalse(seeded.installed);
+        assertEquals(90, seeded.balanceOf(account), 1e-9);
+    }
+
+    @Test
+    @DisplayName("Debe rechazar una réplica cuya secuencia ya no está en el journal")
+    void testRefusesTruncatedOffset() throws IOException {
+        startLeader(ReplicationLeader.AckMode.ASYNC, ReplicationLeader.DEFAULT_ACK_TIMEOUT);
+        openAccount(leader);
+        for (int i = 0; i < 40; i++) {
+            deposit(leader, account, 1);
+        }
+        persistence.getSnapshotter().snapshotNow();
+
+        startFollower(new StateReplica(), 1);
+
+        assertFalse(follower.awaitSequence(42, TIMEOUT_MILLIS));
+        assertNotNull(follower.getFailure());
+        assertEquals(1L, follower.getAppliedSequence());
+    }
+
+    @Test
+    @DisplayName("Debe aplicar las operaciones del líder sobre los servicios de la réplica")
+    void testControllerReplica() throws IOException {
+        startLeader(ReplicationLeader.AckMode.SYNC, Duration.ofSeconds(5));
+        WalletController primary = new WalletController(new AccountServiceImpl(), new TransactionServiceImpl(),
+                new CurrencyConverterUtil());
+        primary.setJournal(leader);
+
+        AccountServiceImpl replicaAccounts = new AccountServiceImpl();
+        TransactionServiceImpl replicaTransactions = new TransactionServiceImpl();
+        WalletController standby = new WalletController(replicaAccounts, replicaTransactions, new CurrencyConverterUtil());
+        standby.setReadOnly(true);
+        startFollower(new ReplicationFollower.Replica() {
+            @Override
+            public User findUser(String id) {
+                return standby.getUser(id);
+            }
+
+            @Override
+            public Account findAccount(String id) {
+                return standby.findAccount(id);
+            }
+
+            @Override
+            public void install(WalletState snapshot) {
+                standby.restoreState(snapshot.getUsers(), snapshot.getAccounts(), snapshot.getTransactions());
+            }
+
+            @Override
+            public void apply(long sequence, JournalRecord record) throws IOException {
+                if (!standby.applyReplicated(record)) {
+                    throw new IOException("No aplicable");
+                }
+            }
+        }, 0);
+        awaitInSync(leader, 1);
+
+        assertTrue(primary.registerUser("Luis", "Rojas", "luis@example.com"));
+        String userId = primary.getAllUsers().iterator().next().getId();
+        assertTrue(primary.createAccountForUser(userId, Currency.USD, 100));
+        assertTrue(primary.deposit(50));
+        assertTrue(primary.withdraw(30));
+        double converted = primary.convertPartial(Currency.EUR, 20);
+        Account source = primary.getCurrentAccount();
+        assertTrue(primary.createAccountForUser(userId, Currency.USD, 5));
+        Account target = primary.getCurrentAccount();
+        primary.setCurrentAccount(source);
+        assertTrue(primary.transfer(target, 25));
+
+        Account replicated = replicaAccounts.getAccount(source.getId());
+        assertEquals(75, replicated.getBalance(), 1e-9);
+        assertEquals(converted, replicated.getBalance(Currency.EUR), 1e-9);
+        assertEquals(30, replicaAccounts.getAccount(target.getId()).getBalance(), 1e-9);
+        assertEquals(5L, (long) replicaTransactions.getTransactionCount());
+        assertEquals("Luis Rojas", standby.getUser(userId).getFullName());
+        assertEquals(primary.getNetWorth(userId), standby.getNetWorth(userId), 1e-9);
+
+        // La réplica es de solo lectura: sus propias escrituras se rechazan
+        standby.setCurrentAccount(replicated);
+        assertFalse(standby.deposit(10));
+        assertFalse(standby.registerUser("Ana", "Soto", "ana@example.com"));
+        assertThrows(IllegalStateException.class, () -> standby.registerUsers(List.of()));
+        assertEquals(75, replicated.getBalance(), 1e-9);
+        assertEquals(1L, (long) standby.getAllUsers().size());
+    }
+}
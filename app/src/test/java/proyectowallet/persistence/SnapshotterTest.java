@@ -0,0 +1,223 @@
+package proyectowallet.persistence;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import proyectowallet.model.Account;
+import proyectowallet.model.Currency;
+import proyectowallet.model.Transaction;
+import proyectowallet.model.User;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pruebas unitarias para Snapshotter y WalletPersistence.
+ * Valida que la recuperación combine el último snapshot con la cola del journal.
+ */
+@DisplayName("Pruebas de Snapshotter")
+class SnapshotterTest {
+    private Path dataDirectory;
+
+    @BeforeEach
+    void setup() throws IOException {
+        dataDirectory = Files.createTempDirectory("wallet-data");
+    }
+
+    @AfterEach
+    void cleanup() throws IOException {
+        TestFiles.deleteRecursively(dataDirectory);
+    }
+
+    private static void deposit(Journal journal, Account account, double amount) {
+        account.deposit(amount);
+        journal.append(JournalRecord.transaction(JournalRecord.Kind.DEPOSIT, new Transaction(
+                account, Transaction.TransactionType.DEPOSIT, amount, Currency.USD, Currency.USD, amount, "Depósito")));
+    }
+
+    /**
+     * Historial completo tal como lo arma la aplicación: lo persistido más la cola reaplicada.
+     */
+    private static List<Transaction> allTransactions(WalletPersistence persistence, WalletState state)
+            throws IOException {
+        List<Transaction> transactions = new ArrayList<>();
+        persistence.readHistory(state, transactions::add);
+        transactions.addAll(state.getTransactions());
+        return transactions;
+    }
+
+    @Test
+    @DisplayName("Debe recuperar el estado desde el snapshot más la cola del journal")
+    void testSnapshotPlusTail() throws IOException {
+        User user = new User("Ana", "Soto", "ana@example.com");
+        Account account = new Account(user, Currency.USD, 0);
+
+        try (WalletPersistence persistence = WalletPersistence.open(dataDirectory, 256, 1)) {
+            Journal journal = persistence.getJournal();
+            journal.append(JournalRecord.userRegistered(user));
+            journal.append(JournalRecord.accountCreated(account, 0));
+            for (int i = 0; i < 30; i++) {
+                deposit(journal, account, 1);
+            }
+            int segmentsBefore = journal.getSegmentCount();
+
+            long snapshotSequence = persistence.getSnapshotter().snapshotNow();
+            assertEquals(32, snapshotSequence);
+            assertTrue(journal.getSegmentCount() < segmentsBefore);
+
+            deposit(journal, account, 5);
+            account.convert(Currency.USD, Currency.EUR, 10, 9.2);
+            journal.append(JournalRecord.transaction(JournalRecord.Kind.PARTIAL_CONVERSION, new Transaction(
+                    account, Transaction.TransactionType.CONVERSION, 10, Currency.USD, Currency.EUR, 9.2, "Conversión", 1)));
+        }
+
+        try (WalletPersistence persistence = WalletPersistence.open(dataDirectory, 256, 1)) {
+            WalletState state = persistence.recover();
+            Account restored = state.findAccount(account.getId());
+
+            assertEquals(34, state.getSequence());
+            assertEquals(25, restored.getBalance(), 1e-9);
+            assertEquals(9.2, restored.getBalance(Currency.EUR), 1e-9);
+            // La recuperación solo trae la cola; el historial se lee aparte
+            assertEquals(2L, (long) state.getTransactions().size());
+            assertEquals(1, state.getTransactions().get(1).getRateVersion());
+            List<Transaction> all = allTransactions(persistence, state);
+            assertEquals(32L, (long) all.size());
+            assertEquals(1, all.get(31).getRateVersion());
+            assertEquals(34, persistence.getJournal().getLastSequence());
+        }
+    }
+
+    @Test
+    @DisplayName("Debe guardar el historial fuera del snapshot y recuperarlo completo")
+    void testHistoryOutsideSnapshot() throws IOException {
+        User user = new User("Ana", "Soto", "ana@example.com");
+        Account account = new Account(user, Currency.USD, 0);
+
+        try (WalletPersistence persistence = WalletPersistence.open(dataDirectory, 256, 1)) {
+            Journal journal = persistence.getJournal();
+            journal.append(JournalRecord.userRegistered(user));
+            journal.append(JournalRecord.accountCreated(account, 0));
+            for (int i = 0; i < 10; i++) {
+                deposit(journal, account, 1);
+            }
+            assertEquals(12, persistence.getSnapshotter().snapshotNow());
+            for (int i = 0; i < 5; i++) {
+                deposit(journal, account, 2);
+            }
+            assertEquals(17, persistence.getSnapshotter().snapshotNow());
+            deposit(journal, account, 3);
+
+            WalletState snapshot = persistence.getSnapshotStore().loadLatest().orElseThrow();
+            assertTrue(snapshot.getTransactions().isEmpty());
+            assertEquals(20, snapshot.findAccount(account.getId()).getBalance(), 1e-9);
+            assertEquals(17, persistence.getHistoryStore().getLastSequence());
+
+            // Historial agregado sin que llegara a escribirse el snapshot
+            List<Transaction> recovered = allTransactions(persistence, persistence.recover());
+            assertEquals(16, recovered.size());
+            persistence.getHistoryStore().append(18, recovered.subList(15, 16));
+        }
+
+        try (WalletPersistence persistence = WalletPersistence.open(dataDirectory, 256, 1)) {
+            WalletState state = persistence.recover();
+            List<Transaction> all = allTransactions(persistence, state);
+            assertEquals(16L, (long) all.size());
+            assertEquals(1, all.get(0).getAmount(), 1e-9);
+            assertEquals(3, all.get(15).getAmount(), 1e-9);
+            assertEquals(23, state.findAccount(account.getId()).getBalance(), 1e-9);
+
+            assertEquals(18, persistence.getSnapshotter().snapshotNow());
+            assertEquals(16L, (long) allTransactions(persistence, persistence.recover()).size());
+        }
+    }
+
+    @Test
+    @DisplayName("Debe recuperar sin leer el historial y validar solo su último agregado")
+    void testRecoverySkipsHistory() throws IOException {
+        User user = new User("Ana", "Soto", "ana@example.com");
+        Account account = new Account(user, Currency.USD, 0);
+        long firstEnd;
+
+        try (WalletPersistence persistence = WalletPersistence.open(dataDirectory, 256, 1)) {
+            Journal journal = persistence.getJournal();
+            journal.append(JournalRecord.userRegistered(user));
+            journal.append(JournalRecord.accountCreated(account, 0));
+            for (int i = 0; i < 20; i++) {
+                deposit(journal, account, 1);
+            }
+            persistence.getSnapshotter().snapshotNow();
+            firstEnd = Files.size(dataDirectory.resolve("history").resolve("history.bin"));
+            for (int i = 0; i < 5; i++) {
+                deposit(journal, account, 2);
+            }
+            persistence.getSnapshotter().snapshotNow();
+        }
+        Path history = dataDirectory.resolve("history").resolve("history.bin");
+        long validEnd = Files.size(history);
+        try (FileChannel channel = FileChannel.open(history, StandardOpenOption.WRITE)) {
+            // Se daña el primer agregado y se simula un agregado interrumpido al final
+            channel.write(ByteBuffer.wrap(new byte[]{1, 2, 3, 4, 5, 6, 7, 8}), firstEnd / 2);
+            channel.write(ByteBuffer.wrap(new byte[]{9, 9, 9}), validEnd);
+        }
+
+        try (WalletPersistence persistence = WalletPersistence.open(dataDirectory, 256, 1)) {
+            assertEquals(validEnd, Files.size(history));
+            assertEquals(27, persistence.getHistoryStore().getLastSequence());
+
+            // Abrir y recuperar no tocan el agregado dañado; solo leer el historial lo detecta
+            WalletState state = persistence.recover();
+            assertEquals(30, state.findAccount(account.getId()).getBalance(), 1e-9);
+            assertTrue(state.getTransactions().isEmpty());
+            assertThrows(IOException.class, () -> allTransactions(persistence, state));
+        }
+    }
+
+    @Test
+    @DisplayName("Debe leer snapshots más grandes que el buffer y descartar uno truncado")
+    void testStreamedSnapshot() throws IOException {
+        SnapshotStore store = new SnapshotStore(dataDirectory.resolve("snapshots"));
+        WalletState state = new WalletState();
+        long sequence = 0;
+        for (int i = 0; i < 3_000; i++) {
+            User user = new User("Usuario " + i, "Apellido " + "x".repeat(i % 200), "usuario" + i + "@example.com");
+            state.apply(++sequence, JournalRecord.userRegistered(user));
+            state.apply(++sequence, JournalRecord.accountCreated(new Account(user, Currency.USD, i), i));
+        }
+        Path first = store.write(state);
+        assertTrue(Files.size(first) > 256 * 1024);
+
+        WalletState loaded = store.loadLatest().orElseThrow();
+        assertEquals(sequence, loaded.getSequence());
+        assertEquals(3_000, loaded.getUsers().size());
+        assertEquals(3_000, loaded.getAccounts().size());
+
+        state.apply(++sequence, JournalRecord.userRegistered(new User("Ana", "Soto", "ana@example.com")));
+        Path second = store.write(state);
+        byte[] bytes = Files.readAllBytes(second);
+        Files.write(second, Arrays.copyOf(bytes, bytes.length / 2));
+        assertEquals(sequence - 1, store.loadLatest().orElseThrow().getSequence());
+    }
+
+    @Test
+    @DisplayName("No debe generar snapshot si no hay suficientes registros nuevos")
+    void testSnapshotIfNeeded() throws IOException {
+        try (WalletPersistence persistence = WalletPersistence.open(dataDirectory, Journal.DEFAULT_SEGMENT_BYTES, 10)) {
+            persistence.getJournal().append(JournalRecord.userRegistered(new User("Ana", "Soto", "ana@example.com")));
+
+            assertEquals(-1, persistence.getSnapshotter().snapshotIfNeeded());
+            assertEquals(1, persistence.getSnapshotter().snapshotNow());
+            assertEquals(1, persistence.recover().getUsers().size());
+        }
+    }
+}
@@ -5,8 +5,13 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import proyectowallet.model.Account;
 import proyectowallet.model.Currency;
+import proyectowallet.model.OperationResult;
 import proyectowallet.model.User;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 /**
@@ -135,4 +140,163 @@ class AccountServiceTest {
         boolean result = accountService.withdraw(account.getId(), 50);
         assertFalse(result);
     }
+
+    @Test
+    @DisplayName("Debe convertir parte del saldo a un sub-saldo de otra moneda")
+    void testConvertSubBalance() {
+        Account account = accountService.createAccount(testUser, Currency.USD, 100);
+
+        assertTrue(accountService.convert(account.getId(), Currency.USD, Currency.EUR, 50, 46));
+        assertEquals(50, accountService.getBalance(account.getId()));
+        assertEquals(46, account.getBalance(Currency.EUR));
+        assertFalse(accountService.convert("id-inexistente", Currency.USD, Currency.EUR, 1, 1));
+    }
+
+    @Test
+    @DisplayName("Debe numerar las cuentas en orden de creación y buscarlas por número")
+    void testAccountNumbers() {
+        Account first = accountService.createAccount(testUser, Currency.USD, 10);
+        Account second = accountService.createAccount(testUser, Currency.EUR, 20);
+
+        assertEquals(1, accountService.getAccountNumber(first.getId()));
+        assertEquals(2, accountService.getAccountNumber(second.getId()));
+        assertSame(second, accountService.getAccountByNumber(2));
+        assertNull(accountService.getAccountByNumber(0));
+        assertNull(accountService.getAccountByNumber(3));
+        assertEquals(0, accountService.getAccountNumber("inexistente"));
+    }
+
+    @Test
+    @DisplayName("Debe paginar las cuentas en orden de número")
+    void testAccountPages() {
+        for (int i = 0; i < 25; i++) {
+            accountService.createAccount(testUser, Currency.USD, i);
+        }
+
+        assertEquals(25, accountService.getAccountCount());
+        assertEquals(10, accountService.getAccounts(0, 10).size());
+        assertEquals(5, accountService.getAccounts(20, 10).size());
+        assertSame(accountService.getAccountByNumber(21), accountService.getAccounts(20, 10).get(0));
+        assertTrue(accountService.getAccounts(30, 10).isEmpty());
+        assertThrows(IllegalArgumentException.class, () -> accountService.getAccounts(-1, 10));
+    }
+
+    @Test
+    @DisplayName("Debe obtener las cuentas de cada usuario sin mezclar usuarios")
+    void testAccountsByUser() {
+        User other = new User("Ana", "Gómez", "ana@example.com");
+        Account mine = accountService.createAccount(testUser, Currency.USD, 10);
+        Account theirs = accountService.createAccount(other, Currency.EUR, 20);
+
+        assertEquals(1, accountService.getAccountsByUser(testUser.getId()).size());
+        assertSame(mine, accountService.getAccountsByUser(testUser.getId()).get(0));
+        assertSame(theirs, accountService.getAccountsByUser(other.getId()).get(0));
+        assertTrue(accountService.getAccountsByUser("inexistente").isEmpty());
+    }
+
+    @Test
+    @DisplayName("Debe conservar el número al restaurar una cuenta ya registrada")
+    void testRestoreKeepsNumber() {
+        Account account = accountService.createAccount(testUser, Currency.USD, 10);
+        accountService.createAccount(testUser, Currency.EUR, 20);
+
+        accountService.restoreAccount(account);
+
+        assertEquals(2, accountService.getAccountCount());
+        assertEquals(1, accountService.getAccountNumber(account.getId()));
+        assertEquals(2, accountService.getAccountsByUser(testUser.getId()).size());
+    }
+
+    @Test
+    @DisplayName("Debe informar cuenta inexistente y saldo insuficiente como resultados")
+    void testOperationResults() {
+        Account account = accountService.createAccount(testUser, Currency.USD, 50);
+
+        assertEquals(OperationResult.ACCOUNT_NOT_FOUND, accountService.tryWithdraw("inexistente", 10));
+        assertEquals(OperationResult.ACCOUNT_NOT_FOUND, accountService.tryDeposit(null, 10));
+        assertEquals(OperationResult.INSUFFICIENT_FUNDS, accountService.tryWithdraw(account.getId(), 60));
+        assertEquals(OperationResult.OK, accountService.tryWithdraw(account.getId(), 50));
+        assertEquals("INSUFFICIENT_BALANCE", OperationResult.INSUFFICIENT_FUNDS.getErrorKey());
+        assertNull(OperationResult.OK.getErrorKey());
+    }
+
+    @Test
+    @DisplayName("Debe transferir entre cuentas y devolver el monto si el destino lo rechaza")
+    void testTransfer() {
+        Account from = accountService.createAccount(testUser, Currency.USD, 100);
+        Account to = accountService.createAccount(testUser, Currency.USD, 0);
+        Account euros = accountService.createAccount(testUser, Currency.EUR, 0);
+
+        assertEquals(OperationResult.OK, accountService.tryTransfer(from.getId(), to.getId(), 30));
+        assertEquals(70, from.getBalance());
+        assertEquals(30, to.getBalance());
+        assertEquals(OperationResult.INSUFFICIENT_FUNDS, accountService.tryTransfer(from.getId(), to.getId(), 500));
+        // La moneda se verifica antes de reservar: el origen no se toca
+        LocalDateTime modified = from.getLastModifiedAt();
+        assertEquals(OperationResult.INVALID_OPERATION, accountService.tryTransfer(from.getId(), euros.getId(), 10));
+        assertEquals(70, from.getBalance());
+        assertEquals(modified, from.getLastModifiedAt());
+        assertEquals(OperationResult.ACCOUNT_NOT_FOUND, accountService.tryTransfer(from.getId(), "inexistente", 10));
+    }
+
+    @Test
+    @DisplayName("Debe quitar una cuenta y recuperar su número al restaurarla")
+    void testRemoveAccount() {
+        AccountServiceImpl impl = (AccountServiceImpl) accountService;
+        Account first = impl.createAccount(testUser, Currency.USD, 10);
+        Account second = impl.createAccount(testUser, Currency.USD, 20);
+
+        assertSame(first, impl.removeAccount(first.getId()));
+        assertNull(impl.removeAccount(first.getId()));
+        assertNull(impl.getAccount(first.getId()));
+        assertNull(impl.getAccountByNumber(1));
+        assertEquals(0, impl.getAccountNumber(first.getId()));
+        assertEquals(List.of(second), impl.getAllAccounts());
+        assertEquals(List.of(second), impl.getAccountsByUser(testUser.getId()));
+        assertEquals(OperationResult.ACCOUNT_NOT_FOUND, impl.tryDeposit(first.getId(), 1));
+
+        impl.restoreAccount(first);
+        assertEquals(1, impl.getAccountNumber(first.getId()));
+        assertEquals(List.of(first, second), impl.getAllAccounts());
+    }
+
+    @Test
+    @DisplayName("Debe contar y paginar solo las cuentas presentes tras quitar algunas")
+    void testPagesAfterRemove() {
+        AccountServiceImpl impl = (AccountServiceImpl) accountService;
+        List<Account> created = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            created.add(impl.createAccount(testUser, Currency.USD, i + 1));
+        }
+        impl.removeAccount(created.get(0).getId());
+        impl.removeAccount(created.get(4).getId());
+        List<Account> present = new ArrayList<>(created);
+        present.remove(4);
+        present.remove(0);
+
+        assertEquals(8, impl.getAccountCount());
+        assertEquals(present.subList(0, 3), impl.getAccounts(0, 3));
+        assertEquals(present.subList(3, 6), impl.getAccounts(3, 3));
+        assertEquals(present.subList(6, 8), impl.getAccounts(6, 3));
+        assertTrue(impl.getAccounts(8, 3).isEmpty());
+
+        impl.restoreAccount(created.get(0));
+        assertEquals(9, impl.getAccountCount());
+        assertEquals(created.get(0), impl.getAccounts(0, 1).get(0));
+    }
+
+    @Test
+    @DisplayName("Debe devolver la reserva aunque el origen se haya desactivado")
+    void testReleaseAfterDeactivation() {
+        AccountServiceImpl impl = (AccountServiceImpl) accountService;
+        Account from = impl.createAccount(testUser, Currency.USD, 100);
+
+        AccountServiceImpl.Reservation reservation = impl.reserve(from.getId(), 40);
+        assertEquals(OperationResult.OK, reservation.result());
+        assertEquals(60, from.getBalance());
+        from.deactivate();
+
+        impl.release(reservation);
+        assertEquals(100, from.getBalance());
+    }
 }
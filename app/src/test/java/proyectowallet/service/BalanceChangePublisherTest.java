@@ -0,0 +1,221 @@
+package proyectowallet.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import proyectowallet.model.Account;
+import proyectowallet.model.BalanceChange;
+import proyectowallet.model.Currency;
+import proyectowallet.model.User;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Flow;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pruebas unitarias para BalanceChangePublisher.
+ * Valida el filtro por cuenta, la demanda, la combinación de cambios atrasados y el cierre.
+ * Las entregas se hacen en el mismo hilo para que las pruebas sean deterministas.
+ */
+@DisplayName("Pruebas de BalanceChangePublisher")
+class BalanceChangePublisherTest {
+    private final User user = new User("Juan", "Pérez", "juan@example.com");
+    private Account first;
+    private Account second;
+
+    /** Suscriptor que guarda todo lo recibido y pide a mano. */
+    private static class Recorder implements Flow.Subscriber<BalanceChange> {
+        private final List<BalanceChange> received = new ArrayList<>();
+        private Flow.Subscription subscription;
+        private Throwable error;
+        private boolean completed;
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            this.subscription = subscription;
+        }
+
+        @Override
+        public void onNext(BalanceChange item) {
+            received.add(item);
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            error = throwable;
+        }
+
+        @Override
+        public void onComplete() {
+            completed = true;
+        }
+
+        double lastBalance() {
+            return received.get(received.size() - 1).getBalance();
+        }
+    }
+
+    @BeforeEach
+    void setup() {
+        first = new Account(user, Currency.USD, 0);
+        second = new Account(user, Currency.USD, 0);
+    }
+
+    private static BalanceChangePublisher publisher(int bufferSize) {
+        return new BalanceChangePublisher(Runnable::run, bufferSize);
+    }
+
+    private static void deposit(BalanceChangePublisher publisher, Account account, double amount) {
+        account.deposit(amount);
+        publisher.publish(account);
+    }
+
+    @Test
+    @DisplayName("Debe entregar solo las cuentas suscritas y solo lo pedido")
+    void testFilterAndDemand() {
+        BalanceChangePublisher publisher = publisher(16);
+        Recorder recorder = new Recorder();
+        publisher.forAccounts(Set.of(first.getId())).subscribe(recorder);
+
+        deposit(publisher, first, 10);
+        deposit(publisher, second, 99);
+        deposit(publisher, first, 5);
+        assertTrue(recorder.received.isEmpty());
+
+        recorder.subscription.request(1);
+        assertEquals(1, recorder.received.size());
+        assertEquals(10, recorder.lastBalance(), 0);
+
+        recorder.subscription.request(10);
+        assertEquals(2, recorder.received.size());
+        assertEquals(first.getId(), recorder.received.get(1).getAccountId());
+        assertEquals(15, recorder.lastBalance(), 0);
+    }
+
+    @Test
+    @DisplayName("Debe combinar los cambios de un suscriptor atrasado y conservar el último saldo")
+    void testConflation() {
+        BalanceChangePublisher publisher = publisher(2);
+        Recorder recorder = new Recorder();
+        publisher.forAccounts(List.of(first.getId(), second.getId())).subscribe(recorder);
+
+        for (int i = 1; i <= 100; i++) {
+            deposit(publisher, first, 1);
+            deposit(publisher, second, 2);
+        }
+        recorder.subscription.request(Long.MAX_VALUE);
+
+        // Dos cambios en orden y luego el último de cada cuenta
+        assertEquals(4, recorder.received.size());
+        assertEquals(1, recorder.received.get(0).getBalance(), 0);
+        assertEquals(2, recorder.received.get(1).getBalance(), 0);
+        assertEquals(100, recorder.received.get(2).getBalance(), 0);
+        assertEquals(200, recorder.received.get(3).getBalance(), 0);
+        assertEquals(196L, publisher.getConflatedCount());
+
+        deposit(publisher, first, 1);
+        assertEquals(101, recorder.lastBalance(), 0);
+    }
+
+    @Test
+    @DisplayName("Debe entregar solo el último saldo con buffer cero")
+    void testLatestOnly() {
+        BalanceChangePublisher publisher = publisher(0);
+        Recorder recorder = new Recorder();
+        publisher.forAccounts(Set.of(first.getId())).subscribe(recorder);
+
+        for (int i = 0; i < 50; i++) {
+            deposit(publisher, first, 1);
+        }
+        recorder.subscription.request(5);
+
+        assertEquals(1, recorder.received.size());
+        assertEquals(50, recorder.lastBalance(), 0);
+    }
+
+    @Test
+    @DisplayName("Debe informar un error si se pide una cantidad no positiva")
+    void testInvalidRequest() {
+        BalanceChangePublisher publisher = publisher(16);
+        Recorder recorder = new Recorder();
+        publisher.forAccounts(Set.of(first.getId())).subscribe(recorder);
+
+        recorder.subscription.request(0);
+
+        assertTrue(recorder.error instanceof IllegalArgumentException);
+        assertFalse(publisher.hasSubscribers());
+    }
+
+    @Test
+    @DisplayName("Debe dejar de entregar al cancelar o si el suscriptor falla")
+    void testCancel() {
+        BalanceChangePublisher publisher = publisher(16);
+        Recorder recorder = new Recorder();
+        publisher.forAccounts(Set.of(first.getId())).subscribe(recorder);
+        recorder.subscription.request(Long.MAX_VALUE);
+        deposit(publisher, first, 1);
+        recorder.subscription.cancel();
+        deposit(publisher, first, 1);
+
+        assertEquals(1, recorder.received.size());
+        assertFalse(publisher.hasSubscribers());
+
+        Recorder failing = new Recorder() {
+            @Override
+            public void onNext(BalanceChange item) {
+                throw new IllegalStateException("falla de prueba");
+            }
+        };
+        publisher.forAccounts(Set.of(first.getId())).subscribe(failing);
+        failing.subscription.request(1);
+        deposit(publisher, first, 1);
+        assertFalse(publisher.hasSubscribers());
+    }
+
+    @Test
+    @DisplayName("Debe completar a los suscriptores al cerrar después de entregar lo pendiente")
+    void testClose() {
+        BalanceChangePublisher publisher = publisher(16);
+        Recorder recorder = new Recorder();
+        publisher.forAccounts(Set.of(first.getId())).subscribe(recorder);
+        deposit(publisher, first, 7);
+
+        publisher.close();
+        assertFalse(recorder.completed);
+        recorder.subscription.request(1);
+        assertEquals(7, recorder.lastBalance(), 0);
+        assertTrue(recorder.completed);
+
+        Recorder late = new Recorder();
+        publisher.forAccounts(Set.of(first.getId())).subscribe(late);
+        assertTrue(late.completed);
+    }
+
+    @Test
+    @DisplayName("Debe publicar los cambios de AccountService y no los rechazos")
+    void testAccountServiceChanges() {
+        BalanceChangePublisher publisher = publisher(16);
+        AccountService accounts = new AccountServiceImpl(publisher);
+        Account account = accounts.createAccount(user, Currency.USD, 100);
+        Recorder recorder = new Recorder();
+        accounts.getBalanceChanges(Set.of(account.getId())).subscribe(recorder);
+        recorder.subscription.request(Long.MAX_VALUE);
+
+        accounts.tryDeposit(account.getId(), 50);
+        accounts.tryWithdraw(account.getId(), 1_000);
+        accounts.tryWithdraw(account.getId(), 30);
+        accounts.tryConvert(account.getId(), Currency.USD, Currency.EUR, 20, 18);
+        accounts.applyConversion(account.getId(), Currency.CLP, 90_000);
+
+        assertEquals(4, recorder.received.size());
+        assertEquals(150, recorder.received.get(0).getBalance(), 0);
+        assertEquals(120, recorder.received.get(1).getBalance(), 0);
+        assertEquals(18, recorder.received.get(2).getBalance(Currency.EUR), 0);
+        assertEquals(Currency.CLP, recorder.received.get(3).getCurrency());
+        assertEquals(90_000, recorder.lastBalance(), 0);
+        assertThrows(IllegalArgumentException.class, () -> accounts.getBalanceChanges(Set.of()));
+    }
+}
@@ -66,4 +66,44 @@ class CurrencyConverterServiceTest {
         assertThrows(IllegalArgumentException.class,
                 () -> currencyConverter.convert(-100, Currency.USD, Currency.EUR));
     }
+
+    @Test
+    @DisplayName("La conversión en bloque debe coincidir con la conversión individual")
+    void testConvertAllMatchesScalar() {
+        double[] amounts = {100, 2500.5, 0, 42};
+        int[] from = {Currency.USD.ordinal(), Currency.CLP.ordinal(), Currency.EUR.ordinal(), Currency.EUR.ordinal()};
+        int[] to = {Currency.EUR.ordinal(), Currency.USD.ordinal(), Currency.CLP.ordinal(), Currency.EUR.ordinal()};
+        double[] target = new double[amounts.length];
+
+        long version = currencyConverter.convertAll(amounts, from, to, target);
+
+        assertEquals(currencyConverter.getRateSnapshot().getVersion(), version);
+        Currency[] currencies = Currency.values();
+        for (int i = 0; i < amounts.length; i++) {
+            assertEquals(currencyConverter.convert(amounts[i], currencies[from[i]], currencies[to[i]]), target[i], 1e-9);
+        }
+    }
+
+    @Test
+    @DisplayName("Debe convertir en bloque un mismo par de monedas sobre el mismo arreglo")
+    void testConvertAllSamePairInPlace() {
+        double[] amounts = {1, 10, 100};
+        currencyConverter.convertAll(amounts, Currency.USD, Currency.EUR, amounts);
+
+        double rate = currencyConverter.getExchangeRate(Currency.USD, Currency.EUR);
+        assertEquals(rate, amounts[0], 1e-12);
+        assertEquals(100 * rate, amounts[2], 1e-9);
+    }
+
+    @Test
+    @DisplayName("No debe convertir en bloque con montos u ordinales inválidos")
+    void testConvertAllInvalidInput() {
+        double[] target = new double[2];
+        assertThrows(IllegalArgumentException.class,
+                () -> currencyConverter.convertAll(new double[]{1, -1}, new int[]{0, 0}, new int[]{1, 1}, target));
+        assertThrows(IllegalArgumentException.class,
+                () -> currencyConverter.convertAll(new double[]{1, 1}, new int[]{0, 9}, new int[]{1, 1}, target));
+        assertThrows(IllegalArgumentException.class,
+                () -> currencyConverter.convertAll(new double[]{1, 1}, new int[]{0}, new int[]{1, 1}, target));
+    }
 }
@@ -0,0 +1,82 @@
+package proyectowallet.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import proyectowallet.model.Currency;
+import proyectowallet.model.RateSnapshot;
+import proyectowallet.util.CurrencyConverterUtil;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pruebas unitarias para ExchangeRateProvider.
+ * Valida la publicación de snapshots de tasas y la matriz de tasas cruzadas.
+ */
+@DisplayName("Pruebas de ExchangeRateProvider")
+class ExchangeRateProviderTest {
+    private ExchangeRateProvider rateProvider;
+
+    @BeforeEach
+    void setup() {
+        rateProvider = new ExchangeRateProviderImpl();
+    }
+
+    private Map<Currency, Double> rates(double clp, double usd, double eur) {
+        Map<Currency, Double> rates = new EnumMap<>(Currency.class);
+        rates.put(Currency.CLP, clp);
+        rates.put(Currency.USD, usd);
+        rates.put(Currency.EUR, eur);
+        return rates;
+    }
+
+    @Test
+    @DisplayName("El snapshot inicial debe usar las tasas de referencia")
+    void testDefaultSnapshot() {
+        RateSnapshot snapshot = rateProvider.getSnapshot();
+
+        assertEquals(1, snapshot.getVersion());
+        assertEquals(1.0, snapshot.getRate(Currency.EUR, Currency.EUR));
+        assertEquals(Currency.EUR.getExchangeRateToUSD(), snapshot.getRateToUSD(Currency.EUR), 1e-12);
+        assertEquals(Currency.CLP.getExchangeRateToUSD() / Currency.EUR.getExchangeRateToUSD(),
+                snapshot.getRate(Currency.CLP, Currency.EUR), 1e-12);
+    }
+
+    @Test
+    @DisplayName("Actualizar tasas debe publicar un nuevo snapshot con versión mayor")
+    void testUpdateRates() {
+        RateSnapshot before = rateProvider.getSnapshot();
+        RateSnapshot after = rateProvider.updateRates(rates(0.001, 1.0, 1.1));
+
+        assertEquals(before.getVersion() + 1, after.getVersion());
+        assertSame(after, rateProvider.getSnapshot());
+        assertEquals(110.0, after.convert(100, Currency.EUR, Currency.USD), 1e-9);
+        assertEquals(0.92, before.getRateToUSD(Currency.EUR), 1e-12);
+    }
+
+    @Test
+    @DisplayName("No debe aceptar tasas inválidas ni incompletas")
+    void testInvalidRates() {
+        assertThrows(IllegalArgumentException.class,
+                () -> rateProvider.updateRates(rates(0.001, 1.0, -1)));
+
+        Map<Currency, Double> incomplete = rates(0.001, 1.0, 1.1);
+        incomplete.remove(Currency.CLP);
+        assertThrows(IllegalArgumentException.class, () -> rateProvider.updateRates(incomplete));
+
+        assertEquals(1, rateProvider.getSnapshot().getVersion());
+    }
+
+    @Test
+    @DisplayName("El conversor debe usar el snapshot vigente del proveedor")
+    void testConverterUsesProvider() {
+        CurrencyConverterService converter = new CurrencyConverterUtil(rateProvider);
+        rateProvider.updateRates(rates(0.001, 1.0, 2.0));
+
+        assertEquals(200.0, converter.convert(100, Currency.EUR, Currency.USD), 1e-9);
+        assertEquals(0.5, converter.getExchangeRate(Currency.USD, Currency.EUR), 1e-12);
+    }
+}
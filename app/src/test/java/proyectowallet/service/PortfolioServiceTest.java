@@ -0,0 +1,115 @@
+package proyectowallet.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import proyectowallet.model.Account;
+import proyectowallet.model.BalanceChange;
+import proyectowallet.model.Currency;
+import proyectowallet.model.OperationResult;
+import proyectowallet.model.User;
+import proyectowallet.util.CurrencyConverterUtil;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pruebas unitarias para PortfolioService.
+ * Valida el mantenimiento incremental del patrimonio y su revalorización.
+ */
+@DisplayName("Pruebas de PortfolioService")
+class PortfolioServiceTest {
+    private ExchangeRateProvider rateProvider;
+    private PortfolioService portfolioService;
+    private User user;
+
+    @BeforeEach
+    void setup() {
+        rateProvider = new ExchangeRateProviderImpl();
+        portfolioService = new PortfolioServiceImpl(new CurrencyConverterUtil(rateProvider), Currency.USD);
+        user = new User("Juan", "Pérez", "juan@example.com");
+    }
+
+    private void publish(Account account) {
+        portfolioService.applyBalance(BalanceChange.of(account));
+    }
+
+    @Test
+    @DisplayName("Debe acumular tenencias por moneda y patrimonio en USD")
+    void testIncrementalNetWorth() {
+        Account dollars = new Account(user, Currency.USD, 100);
+        Account euros = new Account(user, Currency.EUR, 50);
+        publish(dollars);
+        publish(euros);
+        assertTrue(dollars.withdraw(30));
+        publish(dollars);
+
+        assertEquals(70, portfolioService.getHolding(user.getId(), Currency.USD), 1e-9);
+        assertEquals(50, portfolioService.getHolding(user.getId(), Currency.EUR), 1e-9);
+        assertEquals(70 + 50 * 0.92, portfolioService.getNetWorth(user.getId()), 1e-9);
+    }
+
+    @Test
+    @DisplayName("Debe seguir los saldos publicados por el servicio de cuentas")
+    void testFollowsBalanceChanges() {
+        AccountService accounts = new AccountServiceImpl();
+        accounts.addBalanceListener(portfolioService::applyBalance);
+        User ana = new User("Ana", "Soto", "ana@example.com");
+        User luis = new User("Luis", "Rojas", "luis@example.com");
+        Account from = accounts.createAccount(ana, Currency.USD, 100);
+        Account to = accounts.createAccount(luis, Currency.USD, 10);
+
+        // Operaciones directas sobre el servicio, sin pasar por el controlador
+        assertTrue(accounts.deposit(from.getId(), 50));
+        assertEquals(OperationResult.OK, accounts.tryTransfer(from.getId(), to.getId(), 30));
+        assertTrue(accounts.convert(from.getId(), Currency.USD, Currency.EUR, 20, 18.4));
+        accounts.restoreAccount(from);
+
+        assertEquals(100, portfolioService.getHolding(ana.getId(), Currency.USD), 1e-9);
+        assertEquals(18.4, portfolioService.getHolding(ana.getId(), Currency.EUR), 1e-9);
+        assertEquals(40, portfolioService.getHolding(luis.getId(), Currency.USD), 1e-9);
+        assertEquals(100 + 18.4 * 0.92, portfolioService.getNetWorth(ana.getId()), 1e-9);
+    }
+
+    @Test
+    @DisplayName("Debe mover tenencias entre monedas al convertir")
+    void testConversion() {
+        Account account = new Account(user, Currency.USD, 100);
+        publish(account);
+        assertTrue(account.convert(Currency.USD, Currency.EUR, 100, 100 / 0.92));
+        publish(account);
+
+        assertEquals(0, portfolioService.getHolding(user.getId(), Currency.USD), 1e-9);
+        assertEquals(100 / 0.92, portfolioService.getHolding(user.getId(), Currency.EUR), 1e-9);
+        assertEquals(100, portfolioService.getNetWorth(user.getId()), 1e-9);
+    }
+
+    @Test
+    @DisplayName("Debe revalorizar al publicarse nuevas tasas")
+    void testRevalueOnRateChange() {
+        Account account = new Account(user, Currency.EUR, 100);
+        publish(account);
+        assertEquals(92, portfolioService.getNetWorth(user.getId()), 1e-9);
+
+        Map<Currency, Double> rates = new EnumMap<>(Currency.class);
+        rates.put(Currency.CLP, 0.001);
+        rates.put(Currency.USD, 1.0);
+        rates.put(Currency.EUR, 1.5);
+        rateProvider.updateRates(rates);
+
+        assertEquals(150, portfolioService.getNetWorth(user.getId()), 1e-9);
+        assertTrue(account.deposit(10));
+        publish(account);
+        assertEquals(165, portfolioService.getNetWorth(user.getId()), 1e-9);
+    }
+
+    @Test
+    @DisplayName("Un usuario sin movimientos debe tener patrimonio cero")
+    void testUnknownUser() {
+        assertEquals(0, portfolioService.getNetWorth("desconocido"));
+        assertEquals(0, portfolioService.getHolding("desconocido", Currency.CLP));
+        assertEquals(Currency.USD, portfolioService.getReportingCurrency());
+    }
+}
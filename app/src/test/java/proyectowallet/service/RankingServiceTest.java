@@ -0,0 +1,102 @@
+package proyectowallet.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import proyectowallet.model.Account;
+import proyectowallet.model.Currency;
+import proyectowallet.model.Transaction;
+import proyectowallet.model.User;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pruebas unitarias para RankingService.
+ * Valida los rankings de transacciones y cuentas valorizados en la moneda de reporte.
+ */
+@DisplayName("Pruebas de RankingService")
+class RankingServiceTest {
+    private AccountService accountService;
+    private TransactionService transactionService;
+    private RankingService rankingService;
+    private ForkJoinPool pool;
+    private User user;
+
+    @BeforeEach
+    void setup() {
+        accountService = new AccountServiceImpl();
+        transactionService = new TransactionServiceImpl();
+        ExchangeRateProvider rateProvider = new ExchangeRateProviderImpl();
+        // 1 EUR = 2 USD y 1 CLP = 0,001 USD
+        rateProvider.updateRates(Map.of(Currency.USD, 1.0, Currency.EUR, 2.0, Currency.CLP, 0.001));
+        pool = new ForkJoinPool(4);
+        rankingService = new RankingServiceImpl(accountService, transactionService, rateProvider, Currency.USD, pool);
+        user = new User("Juan", "Pérez", "juan@example.com");
+    }
+
+    @AfterEach
+    void cleanup() {
+        pool.shutdown();
+    }
+
+    private void record(Account account, double amount, Currency currency) {
+        transactionService.recordTransaction(new Transaction(account, Transaction.TransactionType.DEPOSIT, amount,
+                currency, currency, amount, "Depósito"));
+    }
+
+    @Test
+    @DisplayName("Debe obtener las transacciones de mayor monto valorizado entre todas las particiones")
+    void testTopTransactions() {
+        Account usd = accountService.createAccount(user, Currency.USD, 0);
+        Account eur = accountService.createAccount(user, Currency.EUR, 0);
+        for (int i = 0; i < 100_000; i++) {
+            record(usd, i % 50_000, Currency.USD);
+        }
+        record(eur, 30_000, Currency.EUR);
+
+        List<RankingService.Ranked<Transaction>> top = rankingService.getTopTransactions(3);
+
+        assertEquals(3, top.size());
+        assertEquals(Currency.EUR, top.get(0).item().getCurrencyFrom());
+        assertEquals(60_000, top.get(0).value(), 0.001);
+        assertEquals(49_999, top.get(1).value(), 0.001);
+        assertEquals(49_999, top.get(2).value(), 0.001);
+    }
+
+    @Test
+    @DisplayName("Debe obtener las cuentas de mayor saldo total sumando todas sus monedas")
+    void testTopAccounts() {
+        Account small = accountService.createAccount(user, Currency.USD, 100);
+        Account mixed = accountService.createAccount(user, Currency.USD, 100);
+        mixed.deposit(Currency.EUR, 100);
+        Account clp = accountService.createAccount(user, Currency.CLP, 250_000);
+        for (int i = 0; i < 3_000; i++) {
+            accountService.createAccount(user, Currency.USD, i % 50);
+        }
+
+        List<RankingService.Ranked<Account>> top = rankingService.getTopAccountsByBalance(3);
+
+        assertEquals(3, top.size());
+        assertSame(mixed, top.get(0).item());
+        assertEquals(300, top.get(0).value(), 0.001);
+        assertSame(clp, top.get(1).item());
+        assertEquals(250, top.get(1).value(), 0.001);
+        assertSame(small, top.get(2).item());
+    }
+
+    @Test
+    @DisplayName("Debe devolver menos resultados si no hay suficientes y rechazar límites inválidos")
+    void testLimits() {
+        Account account = accountService.createAccount(user, Currency.USD, 10);
+        record(account, 5, Currency.USD);
+
+        assertEquals(1, rankingService.getTopTransactions(10).size());
+        assertEquals(1, rankingService.getTopAccountsByBalance(10).size());
+        assertThrows(IllegalArgumentException.class, () -> rankingService.getTopTransactions(0));
+    }
+}
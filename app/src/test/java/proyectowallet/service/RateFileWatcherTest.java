@@ -0,0 +1,104 @@
+package proyectowallet.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import proyectowallet.model.Currency;
+import proyectowallet.model.RateSnapshot;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pruebas unitarias para RateFileWatcher.
+ * Valida el parseo de archivos de tasas y la recarga en caliente.
+ */
+@DisplayName("Pruebas de RateFileWatcher")
+class RateFileWatcherTest {
+    private Path directory;
+    private ExchangeRateProvider rateProvider;
+    private RateFileWatcher watcher;
+
+    @BeforeEach
+    void setup() throws IOException {
+        directory = Files.createTempDirectory("rates");
+        rateProvider = new ExchangeRateProviderImpl();
+        watcher = new RateFileWatcher(directory, rateProvider);
+    }
+
+    @AfterEach
+    void cleanup() throws IOException {
+        watcher.close();
+        try (var files = Files.list(directory)) {
+            for (Path file : files.toList()) {
+                Files.deleteIfExists(file);
+            }
+        }
+        Files.deleteIfExists(directory);
+    }
+
+    private Path writeRates(String name, String content) throws IOException {
+        // Se escribe en un temporal y se renombra, como haría el proceso que deja los archivos
+        Path tmp = Files.writeString(directory.resolve(name + ".tmp"), content);
+        return Files.move(tmp, directory.resolve(name), StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    @Test
+    @DisplayName("Debe parsear un archivo de tasas válido")
+    void testParseValidFile() {
+        Map<Currency, Double> rates = RateFileWatcher.parse(List.of(
+                "# tasas del día", "CLP=0.0011", "USD=1.0", "", "eur = 0.95"));
+
+        assertEquals(0.0011, rates.get(Currency.CLP), 1e-12);
+        assertEquals(0.95, rates.get(Currency.EUR), 1e-12);
+    }
+
+    @Test
+    @DisplayName("Debe rechazar archivos incompletos o inválidos")
+    void testParseInvalidFile() {
+        assertThrows(IllegalArgumentException.class,
+                () -> RateFileWatcher.parse(List.of("CLP=0.0011", "USD=1.0")));
+        assertThrows(IllegalArgumentException.class,
+                () -> RateFileWatcher.parse(List.of("CLP=abc", "USD=1.0", "EUR=0.9")));
+        assertThrows(IllegalArgumentException.class,
+                () -> RateFileWatcher.parse(List.of("CLP=0.001", "USD=2.0", "EUR=0.9")));
+        assertThrows(IllegalArgumentException.class,
+                () -> RateFileWatcher.parse(List.of("CLP=0.001", "USD=1.0", "EUR=0.9", "EUR=0.8")));
+    }
+
+    @Test
+    @DisplayName("Un archivo inválido no debe reemplazar el snapshot vigente")
+    void testInvalidFileKeepsSnapshot() throws IOException {
+        Path file = writeRates("bad.rates", "CLP=0.001\nUSD=1.0\n");
+
+        assertNull(watcher.load(file));
+        assertNotNull(watcher.getLastError());
+        assertEquals(1, rateProvider.getSnapshot().getVersion());
+    }
+
+    @Test
+    @DisplayName("Debe recargar tasas al detectar un archivo nuevo")
+    void testHotReload() throws Exception {
+        writeRates("initial.rates", "CLP=0.001\nUSD=1.0\nEUR=0.9\n");
+        watcher.start();
+        RateSnapshot loaded = rateProvider.getSnapshot();
+        assertEquals(2, loaded.getVersion());
+        assertEquals(0.9, loaded.getRateToUSD(Currency.EUR), 1e-12);
+
+        writeRates("update.rates", "CLP=0.001\nUSD=1.0\nEUR=1.25\n");
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (rateProvider.getSnapshot().getVersion() < 3 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+        }
+
+        assertEquals(3, rateProvider.getSnapshot().getVersion());
+        assertEquals(1.25, rateProvider.getSnapshot().getRateToUSD(Currency.EUR), 1e-12);
+    }
+}
@@ -0,0 +1,190 @@
+package proyectowallet.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import proyectowallet.controller.WalletController;
+import proyectowallet.event.EventBus;
+import proyectowallet.event.WalletEvent;
+import proyectowallet.model.Account;
+import proyectowallet.model.AccountSummary;
+import proyectowallet.model.Currency;
+import proyectowallet.model.Transaction;
+import proyectowallet.model.TransactionView;
+import proyectowallet.model.User;
+import proyectowallet.util.CurrencyConverterUtil;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pruebas unitarias para ReadModelService.
+ * Valida que el modelo de lectura refleje los eventos, la restauración y la medición del retraso.
+ */
+@DisplayName("Pruebas de ReadModelService")
+class ReadModelServiceTest {
+    private EventBus bus;
+    private ReadModelServiceImpl readModel;
+    private User user;
+    private Account account;
+
+    @BeforeEach
+    void setup() {
+        bus = new EventBus(64);
+        readModel = new ReadModelServiceImpl(bus);
+        user = new User("Juan", "Pérez", "juan@example.com");
+        account = new Account(user, Currency.USD, 100);
+    }
+
+    @AfterEach
+    void tearDown() {
+        bus.close();
+    }
+
+    private void publish(WalletEvent.Type type, Currency currency, double amount, Currency target, double converted) {
+        bus.publish(type, user, account, currency, amount, target, converted);
+    }
+
+    @Test
+    @DisplayName("Debe reflejar creación, movimientos y conversiones de una cuenta")
+    void testAppliesEvents() throws InterruptedException {
+        bus.subscribe("read-model", readModel);
+        AccountServiceImpl accounts = new AccountServiceImpl();
+        WalletController controller = new WalletController(accounts, new TransactionServiceImpl(),
+                new CurrencyConverterUtil());
+        controller.setEventPublisher(bus);
+        assertTrue(controller.registerUser("Juan", "Pérez", "juan@example.com"));
+        String userId = controller.getAllUsers().iterator().next().getId();
+        assertTrue(controller.createAccountForUser(userId, Currency.USD, 100));
+        assertTrue(controller.deposit(50));
+        assertTrue(controller.withdraw(30));
+        double euros = controller.convertPartial(Currency.EUR, 20);
+        double pesos = controller.convertBalance(Currency.CLP);
+        Account created = controller.getCurrentAccount();
+
+        assertTrue(readModel.awaitSequence(controller.getLastEventSequence(), 5_000));
+        AccountSummary summary = readModel.getAccountSummary(created.getId());
+        assertEquals(Currency.CLP, summary.getCurrency());
+        assertEquals(pesos, summary.getBalance(), 1e-9);
+        assertEquals(0, summary.getBalance(Currency.USD), 0);
+        assertEquals(euros, summary.getBalance(Currency.EUR), 1e-9);
+        assertEquals(4, summary.getTransactionCount());
+        assertEquals(50, summary.getTotalDeposits(), 0);
+        assertEquals(30, summary.getTotalWithdrawals(), 0);
+        assertEquals("Juan Pérez", summary.getOwnerName());
+        assertEquals(controller.getLastEventSequence(), summary.getSequence());
+
+        List<TransactionView> recent = readModel.getRecentActivity(created.getId(), 2);
+        assertEquals(2, recent.size());
+        assertEquals(Currency.CLP, recent.get(0).getCurrencyTo());
+        assertEquals(Currency.EUR, recent.get(1).getCurrencyTo());
+        assertEquals(4, readModel.getRecentActivity(created.getId(), 10).size());
+        assertTrue(readModel.getRecentActivity("inexistente", 10).isEmpty());
+        assertEquals(1, readModel.getAccountSummaries().size());
+
+        // Un cambio de saldo sin evento propio también se refleja, aunque no sume un movimiento
+        assertTrue(accounts.deposit(created.getId(), 1_000));
+        assertTrue(awaitBalance(readModel, created.getId(), pesos + 1_000));
+        assertEquals(4, readModel.getAccountSummary(created.getId()).getTransactionCount());
+    }
+
+    @Test
+    @DisplayName("Un consumidor detenido con el bus lleno no debe frenar los depósitos")
+    void testStalledConsumerDoesNotBlockDeposits() throws InterruptedException {
+        EventBus small = new EventBus(4);
+        ReadModelServiceImpl stalled = new ReadModelServiceImpl(small);
+        small.subscribe("read-model", stalled);
+        AccountServiceImpl accounts = new AccountServiceImpl();
+        WalletController controller = new WalletController(accounts, new TransactionServiceImpl(),
+                new CurrencyConverterUtil());
+        controller.setEventPublisher(small);
+        try {
+            assertTrue(controller.registerUser("Juan", "Pérez", "juan@example.com"));
+            String userId = controller.getAllUsers().iterator().next().getId();
+            assertTrue(controller.createAccountForUser(userId, Currency.USD, 100));
+            String accountId = controller.getCurrentAccount().getId();
+
+            // Tomar el monitor del modelo lo detiene, como un restore en curso; el bus se llena enseguida
+            synchronized (stalled) {
+                Thread depositor = new Thread(() -> {
+                    for (int i = 0; i < 1_000; i++) {
+                        accounts.deposit(accountId, 1);
+                    }
+                });
+                depositor.start();
+                depositor.join(5_000);
+                assertFalse(depositor.isAlive());
+                assertEquals(1_100, accounts.getBalance(accountId), 1e-9);
+            }
+
+            assertTrue(awaitBalance(stalled, accountId, 1_100));
+        } finally {
+            small.close();
+        }
+    }
+
+    @Test
+    @DisplayName("Debe informar el retraso y no esperar más del tiempo indicado")
+    void testLag() {
+        // Sin suscribir, el modelo no aplica nada y queda atrasado
+        publish(WalletEvent.Type.DEPOSIT, Currency.USD, 1, null, 0);
+        publish(WalletEvent.Type.DEPOSIT, Currency.USD, 1, null, 0);
+
+        assertEquals(2L, readModel.getLag());
+        assertEquals(-1L, readModel.getAppliedSequence());
+        assertTrue(readModel.getLagMillis() >= 0);
+        assertFalse(readModel.awaitSequence(1, 20));
+        assertNull(readModel.getAccountSummary(account.getId()));
+    }
+
+    @Test
+    @DisplayName("Debe quedar al día y sin retraso después de aplicar los eventos")
+    void testCaughtUp() {
+        bus.subscribe("read-model", readModel);
+        for (int i = 0; i < 500; i++) {
+            publish(WalletEvent.Type.DEPOSIT, Currency.USD, 1, null, 0);
+        }
+
+        assertTrue(readModel.awaitSequence(499, 5_000));
+        assertEquals(0L, readModel.getLag());
+        assertEquals(0L, readModel.getLagMillis());
+        // La cuenta no tuvo evento de creación ni se restauró: sus movimientos se ignoran
+        assertNull(readModel.getAccountSummary(account.getId()));
+        assertTrue(readModel.getRecentActivity(account.getId(), 10).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Debe cargar cuentas y transacciones restauradas")
+    void testRestore() {
+        account.deposit(40);
+        Transaction deposit = new Transaction(account, Transaction.TransactionType.DEPOSIT, 40,
+                Currency.USD, Currency.USD, 40, "Depósito");
+
+        readModel.restore(List.of(account), List.of(deposit));
+
+        AccountSummary summary = readModel.getAccountSummary(account.getId());
+        assertEquals(140, summary.getBalance(), 0);
+        assertEquals(1, summary.getTransactionCount());
+        assertEquals(40, summary.getTotalDeposits(), 0);
+        assertEquals(-1L, summary.getSequence());
+        assertEquals(40, readModel.getRecentActivity(account.getId(), 1).get(0).getAmount(), 0);
+    }
+
+    /**
+     * Espera a que el modelo refleje un saldo; los cambios de saldo llegan al bus después de la operación.
+     */
+    private static boolean awaitBalance(ReadModelService model, String accountId, double expected)
+            throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (System.currentTimeMillis() < deadline) {
+            AccountSummary summary = model.getAccountSummary(accountId);
+            if (summary != null && Math.abs(summary.getBalance() - expected) < 1e-9) {
+                return true;
+            }
+            Thread.sleep(1);
+        }
+        return false;
+    }
+}
@@ -0,0 +1,197 @@
+package proyectowallet.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import proyectowallet.model.Account;
+import proyectowallet.model.Currency;
+import proyectowallet.model.OperationResult;
+import proyectowallet.model.User;
+import proyectowallet.util.ConsistentHashRing;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pruebas unitarias para RoutedAccountService.
+ * Valida el ruteo por anillo, la migración incremental y las transferencias entre nodos.
+ */
+@DisplayName("Pruebas de RoutedAccountService")
+class RoutedAccountServiceTest {
+    private RoutedAccountService service;
+    private User user;
+
+    @BeforeEach
+    void setup() {
+        service = new RoutedAccountService(new BalanceChangePublisher(), ConsistentHashRing.DEFAULT_VIRTUAL_NODES);
+        service.addNode("nodo-1");
+        service.addNode("nodo-2");
+        service.addNode("nodo-3");
+        user = new User("Juan", "Pérez", "juan@example.com");
+    }
+
+    private List<Account> createAccounts(int count) {
+        List<Account> created = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            created.add(service.createAccount(user, Currency.USD, 10));
+        }
+        return created;
+    }
+
+    private int totalStored() {
+        int total = 0;
+        for (String node : List.of("nodo-1", "nodo-2", "nodo-3", "nodo-4")) {
+            total += service.getNodeAccountCount(node);
+        }
+        return total;
+    }
+
+    @Test
+    @DisplayName("Debe guardar cada cuenta en el nodo dueño y numerarlas globalmente")
+    void testRouting() {
+        List<Account> accounts = createAccounts(300);
+        for (String node : service.getNodes()) {
+            assertTrue(service.getNodeAccountCount(node) > 0);
+        }
+        assertEquals(300L, (long) totalStored());
+        for (int i = 0; i < accounts.size(); i++) {
+            Account account = accounts.get(i);
+            assertSame(account, service.getAccount(account.getId()));
+            assertEquals((long) i + 1, (long) service.getAccountNumber(account.getId()));
+            assertSame(account, service.getAccountByNumber(i + 1));
+        }
+        assertEquals(300L, (long) service.getAccountCount());
+        assertEquals(accounts, service.getAccountsByUser(user.getId()));
+        assertEquals(accounts.subList(10, 20), service.getAccounts(10, 10));
+    }
+
+    @Test
+    @DisplayName("Debe trasladar solo las cuentas que gana el nodo nuevo")
+    void testAddNodeMigratesFraction() {
+        List<Account> accounts = createAccounts(2_000);
+        int pending = service.addNode("nodo-4");
+
+        // En promedio 1/4 de las cuentas
+        assertTrue(pending > 300 && pending < 700, "Cuentas a trasladar: " + pending);
+        assertEquals((long) pending, (long) service.getPendingMigrations());
+        assertEquals(0L, (long) service.getNodeAccountCount("nodo-4"));
+
+        // Mientras tanto se siguen atendiendo en el nodo anterior
+        for (Account account : accounts) {
+            assertTrue(service.deposit(account.getId(), 1));
+        }
+        assertEquals((long) pending, (long) service.migrate(pending + 10));
+        assertEquals(0L, (long) service.getPendingMigrations());
+        assertEquals((long) pending, (long) service.getNodeAccountCount("nodo-4"));
+        assertEquals(2_000L, (long) totalStored());
+        for (Account account : accounts) {
+            assertEquals(11, service.getBalance(account.getId()), 1e-9);
+        }
+    }
+
+    @Test
+    @DisplayName("Debe vaciar el nodo quitado y luego eliminarlo")
+    void testRemoveNode() {
+        List<Account> accounts = createAccounts(600);
+        int stored = service.getNodeAccountCount("nodo-2");
+        assertEquals((long) stored, (long) service.removeNode("nodo-2"));
+        assertEquals(List.of("nodo-1", "nodo-3"), service.getNodes());
+
+        int moved = service.migrate(stored / 2);
+        assertEquals((long) stored / 2, (long) moved);
+        assertEquals((long) stored - moved, (long) service.getNodeAccountCount("nodo-2"));
+        assertThrows(IllegalStateException.class, () -> service.addNode("nodo-4"));
+
+        while (service.migrate(50) > 0) {
+            // se traslada por lotes
+        }
+        assertEquals(0L, (long) service.getNodeAccountCount("nodo-2"));
+        assertEquals(600L, (long) totalStored());
+        for (Account account : accounts) {
+            assertNotEquals("nodo-2", service.ownerOf(account.getId()));
+            assertSame(account, service.getAccount(account.getId()));
+        }
+        assertEquals(accounts, service.getAccountsByUser(user.getId()));
+    }
+
+    @Test
+    @DisplayName("Debe devolver las cuentas a su nodo anterior sin duplicarlas")
+    void testAddThenRemoveNode() {
+        List<Account> accounts = createAccounts(500);
+        int before = service.getNodeAccountCount("nodo-1");
+        int pending = service.addNode("nodo-4");
+        service.migrate(pending);
+        assertEquals((long) pending, (long) service.removeNode("nodo-4"));
+        service.migrate(pending);
+
+        assertEquals((long) before, (long) service.getNodeAccountCount("nodo-1"));
+        assertEquals(0L, (long) service.getNodeAccountCount("nodo-4"));
+        assertEquals(500L, (long) totalStored());
+        assertEquals(accounts, service.getAllAccounts());
+    }
+
+    @Test
+    @DisplayName("Debe transferir entre cuentas de nodos distintos y devolver la reserva si falla")
+    void testCrossNodeTransfer() {
+        Account from = service.createAccount(user, Currency.USD, 100);
+        Account to;
+        do {
+            to = service.createAccount(user, Currency.USD, 0);
+        } while (service.ownerOf(to.getId()).equals(service.ownerOf(from.getId())));
+
+        assertEquals(OperationResult.OK, service.tryTransfer(from.getId(), to.getId(), 40));
+        assertEquals(60, from.getBalance(), 1e-9);
+        assertEquals(40, to.getBalance(), 1e-9);
+
+        assertEquals(OperationResult.INSUFFICIENT_FUNDS, service.tryTransfer(from.getId(), to.getId(), 500));
+        assertEquals(OperationResult.ACCOUNT_NOT_FOUND, service.tryTransfer(from.getId(), "no-existe", 1));
+        assertEquals(OperationResult.INVALID_OPERATION, service.tryTransfer(from.getId(), from.getId(), 1));
+        assertEquals(60, from.getBalance(), 1e-9);
+    }
+
+    @Test
+    @DisplayName("Debe conservar el dinero con operaciones concurrentes durante la migración")
+    void testConcurrentMigration() {
+        List<Account> accounts = createAccounts(400);
+        service.addNode("nodo-4");
+        CompletableFuture<?>[] workers = new CompletableFuture<?>[2];
+        for (int w = 0; w < workers.length; w++) {
+            int offset = w;
+            workers[w] = CompletableFuture.runAsync(() -> {
+                for (int i = 0; i < 2_000; i++) {
+                    Account from = accounts.get((i + offset) % accounts.size());
+                    Account to = accounts.get((i * 7 + offset + 1) % accounts.size());
+                    service.tryTransfer(from.getId(), to.getId(), 1);
+                }
+            });
+        }
+        while (service.migrate(5) > 0) {
+            Thread.yield();
+        }
+        CompletableFuture.allOf(workers).join();
+
+        double total = 0;
+        for (Account account : service.getAllAccounts()) {
+            total += account.getBalance();
+        }
+        assertEquals(4_000, total, 1e-6);
+        assertEquals(400L, (long) totalStored());
+    }
+
+    @Test
+    @DisplayName("Debe rechazar cambios de nodos inválidos")
+    void testNodeErrors() {
+        assertThrows(IllegalArgumentException.class, () -> service.addNode("nodo-1"));
+        assertThrows(IllegalArgumentException.class, () -> service.removeNode("nodo-9"));
+        assertThrows(IllegalArgumentException.class, () -> service.migrate(0));
+        assertEquals(OperationResult.ACCOUNT_NOT_FOUND, service.tryDeposit(null, 1));
+
+        RoutedAccountService single = new RoutedAccountService();
+        single.addNode("solo");
+        single.createAccount(user, Currency.USD, 1);
+        assertThrows(IllegalStateException.class, () -> single.removeNode("solo"));
+    }
+}
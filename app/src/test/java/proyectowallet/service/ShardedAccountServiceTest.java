@@ -0,0 +1,171 @@
+package proyectowallet.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import proyectowallet.model.Account;
+import proyectowallet.model.Currency;
+import proyectowallet.model.OperationResult;
+import proyectowallet.model.User;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pruebas unitarias para ShardedAccountService.
+ * Valida el reparto por shard, las operaciones concurrentes y el protocolo de transferencia.
+ */
+@DisplayName("Pruebas de ShardedAccountService")
+class ShardedAccountServiceTest {
+    private ShardedAccountService service;
+    private User user;
+
+    @BeforeEach
+    void setup() {
+        service = new ShardedAccountService(new AccountServiceImpl(), 4);
+        user = new User("Juan", "Pérez", "juan@example.com");
+    }
+
+    @AfterEach
+    void tearDown() {
+        service.close();
+    }
+
+    /**
+     * Crea dos cuentas que caen en shards distintos (o en el mismo, según se pida).
+     */
+    private Account[] pair(boolean sameShard) {
+        Account first = service.createAccount(user, Currency.USD, 100);
+        while (true) {
+            Account second = service.createAccount(user, Currency.USD, 0);
+            if ((service.shardOf(first.getId()) == service.shardOf(second.getId())) == sameShard) {
+                return new Account[]{first, second};
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Debe repartir las cuentas entre los shards de forma estable")
+    void testShardOf() {
+        Set<Integer> used = new HashSet<>();
+        for (int i = 0; i < 200; i++) {
+            Account account = service.createAccount(user, Currency.USD, 0);
+            int shard = service.shardOf(account.getId());
+            assertTrue(shard >= 0 && shard < service.getShardCount());
+            assertEquals(shard, service.shardOf(account.getId()));
+            used.add(shard);
+        }
+        assertEquals(4, used.size());
+    }
+
+    @Test
+    @DisplayName("Debe aplicar sin pérdidas los depósitos concurrentes de varios hilos")
+    void testConcurrentDeposits() throws InterruptedException {
+        List<Account> accounts = new ArrayList<>();
+        for (int i = 0; i < 16; i++) {
+            accounts.add(service.createAccount(user, Currency.USD, 0));
+        }
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            Thread thread = new Thread(() -> {
+                List<CompletableFuture<OperationResult>> pending = new ArrayList<>();
+                for (int i = 0; i < 1_000; i++) {
+                    pending.add(service.depositAsync(accounts.get(i % accounts.size()).getId(), 1));
+                }
+                pending.forEach(CompletableFuture::join);
+            });
+            threads.add(thread);
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        double total = 0;
+        for (Account account : accounts) {
+            total += service.getBalance(account.getId());
+        }
+        assertEquals(4_000, total, 0);
+    }
+
+    @Test
+    @DisplayName("Debe informar el motivo de los rechazos igual que el servicio sin shards")
+    void testRejections() {
+        Account account = service.createAccount(user, Currency.USD, 10);
+
+        assertEquals(OperationResult.INSUFFICIENT_FUNDS, service.tryWithdraw(account.getId(), 50));
+        assertEquals(OperationResult.INVALID_AMOUNT, service.tryDeposit(account.getId(), -1));
+        assertEquals(OperationResult.ACCOUNT_NOT_FOUND, service.tryDeposit("inexistente", 1));
+        assertEquals(OperationResult.OK, service.tryConvert(account.getId(), Currency.USD, Currency.EUR, 5, 4.6));
+        assertEquals(5, service.getBalance(account.getId()), 0);
+        assertThrows(IllegalArgumentException.class, () -> service.applyConversion("inexistente", Currency.EUR, 1));
+    }
+
+    @Test
+    @DisplayName("Debe transferir entre cuentas del mismo shard y de shards distintos")
+    void testTransfer() {
+        for (boolean sameShard : new boolean[]{true, false}) {
+            Account[] pair = pair(sameShard);
+
+            assertEquals(OperationResult.OK, service.tryTransfer(pair[0].getId(), pair[1].getId(), 40));
+            assertEquals(60, pair[0].getBalance(), 0);
+            assertEquals(40, pair[1].getBalance(), 0);
+            assertEquals(OperationResult.INSUFFICIENT_FUNDS, service.tryTransfer(pair[0].getId(), pair[1].getId(), 100));
+            assertEquals(60, pair[0].getBalance(), 0);
+        }
+    }
+
+    @Test
+    @DisplayName("Debe devolver la reserva al origen si el destino rechaza la transferencia")
+    void testTransferRelease() {
+        Account[] pair = pair(false);
+        pair[1].deactivate();
+
+        assertEquals(OperationResult.ACCOUNT_INACTIVE, service.tryTransfer(pair[0].getId(), pair[1].getId(), 30));
+        assertEquals(100, pair[0].getBalance(), 0);
+
+        Account euros = service.createAccount(user, Currency.EUR, 0);
+        assertEquals(OperationResult.INVALID_OPERATION, service.tryTransfer(pair[0].getId(), euros.getId(), 30));
+        assertEquals(100, pair[0].getBalance(), 0);
+        assertEquals(OperationResult.INVALID_OPERATION, service.tryTransfer(pair[0].getId(), pair[0].getId(), 1));
+        assertEquals(OperationResult.ACCOUNT_NOT_FOUND, service.tryTransfer(pair[0].getId(), "inexistente", 1));
+    }
+
+    @Test
+    @DisplayName("Debe conservar el dinero total con transferencias cruzadas concurrentes")
+    void testConcurrentTransfers() {
+        List<Account> accounts = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            accounts.add(service.createAccount(user, Currency.USD, 1_000));
+        }
+        List<CompletableFuture<OperationResult>> pending = new ArrayList<>();
+        for (int i = 0; i < 5_000; i++) {
+            Account from = accounts.get(i % 8);
+            Account to = accounts.get((i * 3 + 1) % 8);
+            pending.add(service.transferAsync(from.getId(), to.getId(), 7));
+        }
+        pending.forEach(CompletableFuture::join);
+
+        double total = 0;
+        for (Account account : accounts) {
+            assertTrue(account.getBalance() >= 0);
+            total += account.getBalance();
+        }
+        assertEquals(8_000, total, 1e-9);
+    }
+
+    @Test
+    @DisplayName("Debe rechazar operaciones después de cerrar")
+    void testClose() {
+        Account account = service.createAccount(user, Currency.USD, 0);
+        service.close();
+
+        assertThrows(IllegalStateException.class, () -> service.tryDeposit(account.getId(), 1));
+    }
+}
@@ -0,0 +1,146 @@
+package proyectowallet.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import proyectowallet.model.Account;
+import proyectowallet.model.Currency;
+import proyectowallet.model.Statement;
+import proyectowallet.model.Transaction;
+import proyectowallet.model.User;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.Comparator;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pruebas unitarias para StatementService.
+ * Valida el cálculo de saldos inicial y final, los totales por tipo y la generación masiva.
+ */
+@DisplayName("Pruebas de StatementService")
+class StatementServiceTest {
+    private static final YearMonth MARCH = YearMonth.of(2026, 3);
+
+    private AccountService accountService;
+    private TransactionService transactionService;
+    private StatementService statementService;
+    private ForkJoinPool pool;
+    private User user;
+    private Path directory;
+
+    @BeforeEach
+    void setup() throws IOException {
+        accountService = new AccountServiceImpl();
+        transactionService = new TransactionServiceImpl();
+        pool = new ForkJoinPool(2);
+        statementService = new StatementServiceImpl(accountService, transactionService, pool);
+        user = new User("Juan", "Pérez", "juan@example.com");
+        directory = Files.createTempDirectory("statements");
+    }
+
+    @AfterEach
+    void cleanup() throws IOException {
+        pool.shutdown();
+        try (var paths = Files.walk(directory)) {
+            for (Path path : paths.sorted(Comparator.reverseOrder()).toList()) {
+                Files.deleteIfExists(path);
+            }
+        }
+    }
+
+    private void record(Account account, Transaction.TransactionType type, double amount, Currency from,
+                        Currency to, double amountInTarget, LocalDateTime timestamp) {
+        transactionService.recordTransaction(new Transaction(java.util.UUID.randomUUID().toString(), account, type,
+                amount, from, to, amountInTarget, timestamp, type.getDescription(), 0));
+    }
+
+    /**
+     * Cuenta con 100 USD iniciales y movimientos en febrero, marzo y abril.
+     */
+    private Account accountWithHistory() {
+        Account account = accountService.createAccount(user, Currency.USD, 100);
+        account.deposit(50);
+        record(account, Transaction.TransactionType.DEPOSIT, 50, Currency.USD, Currency.USD, 50,
+                LocalDateTime.of(2026, 2, 10, 9, 0));
+        account.withdraw(30);
+        record(account, Transaction.TransactionType.WITHDRAWAL, 30, Currency.USD, Currency.USD, 30,
+                LocalDateTime.of(2026, 3, 5, 12, 0));
+        account.convert(Currency.USD, Currency.EUR, 20, 18);
+        record(account, Transaction.TransactionType.CONVERSION, 20, Currency.USD, Currency.EUR, 18,
+                LocalDateTime.of(2026, 3, 20, 18, 30));
+        account.deposit(10);
+        record(account, Transaction.TransactionType.DEPOSIT, 10, Currency.USD, Currency.USD, 10,
+                LocalDateTime.of(2026, 4, 2, 8, 0));
+        return account;
+    }
+
+    @Test
+    @DisplayName("Debe calcular saldos inicial y final descontando movimientos del mes y posteriores")
+    void testBalances() {
+        Account account = accountWithHistory();
+
+        Statement statement = statementService.buildStatement(account, MARCH);
+
+        assertEquals(150, statement.getOpeningBalance(Currency.USD), 0.001);
+        assertEquals(0, statement.getOpeningBalance(Currency.EUR), 0.001);
+        assertEquals(100, statement.getClosingBalance(Currency.USD), 0.001);
+        assertEquals(18, statement.getClosingBalance(Currency.EUR), 0.001);
+    }
+
+    @Test
+    @DisplayName("Debe incluir solo los movimientos del mes y totalizarlos por tipo")
+    void testMovementsAndTotals() {
+        Account account = accountWithHistory();
+
+        Statement statement = statementService.buildStatement(account, MARCH);
+
+        assertEquals(2, statement.getMovements().size());
+        assertEquals(0, statement.getCount(Transaction.TransactionType.DEPOSIT));
+        assertEquals(1, statement.getCount(Transaction.TransactionType.WITHDRAWAL));
+        assertEquals(30, statement.getTotal(Transaction.TransactionType.WITHDRAWAL), 0.001);
+        assertEquals(1, statement.getCount(Transaction.TransactionType.CONVERSION));
+        assertEquals(20, statement.getTotal(Transaction.TransactionType.CONVERSION), 0.001);
+    }
+
+    @Test
+    @DisplayName("Debe generar un archivo por cuenta e informar el avance")
+    void testGenerateMonthlyStatements() throws IOException {
+        int accounts = 300;
+        for (int i = 0; i < accounts; i++) {
+            accountWithHistory();
+        }
+        AtomicInteger lastCompleted = new AtomicInteger();
+
+        StatementService.RunSummary summary = statementService.generateMonthlyStatements(MARCH, directory,
+                (completed, total, rate) -> lastCompleted.accumulateAndGet(completed, Math::max));
+
+        assertEquals(accounts, summary.accounts());
+        assertEquals(2L * accounts, summary.movements());
+        assertEquals(accounts, lastCompleted.get());
+        assertTrue(summary.accountsPerSecond() > 0);
+        try (var files = Files.list(directory)) {
+            assertEquals((long) accounts, files.count());
+        }
+
+        Account sample = accountService.getAllAccounts().get(0);
+        String content = Files.readString(StatementServiceImpl.statementFile(directory, MARCH, sample),
+                StandardCharsets.UTF_8);
+        assertTrue(content.contains("Período: 2026-03"));
+        assertTrue(content.contains("SALDO INICIAL\n" + balanceLine("USD", 150) + "\n"));
+        assertTrue(content.contains("2026-03-05 12:00:00  Retiro"));
+        assertTrue(content.contains("SALDO FINAL\n" + balanceLine("USD", 100) + "\n" + balanceLine("EUR", 18) + "\n"));
+    }
+
+    private static String balanceLine(String currency, double amount) {
+        return String.format(java.util.Locale.ROOT, "  %-4s %12.2f", currency, amount);
+    }
+}
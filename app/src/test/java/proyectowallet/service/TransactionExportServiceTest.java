@@ -0,0 +1,161 @@
+package proyectowallet.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import proyectowallet.model.Account;
+import proyectowallet.model.Currency;
+import proyectowallet.model.Transaction;
+import proyectowallet.model.User;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pruebas unitarias para TransactionExportService.
+ * Valida los formatos CSV y JSONL, el escape de campos y los filtros por cuenta y fechas.
+ */
+@DisplayName("Pruebas de TransactionExportService")
+class TransactionExportServiceTest {
+    private static final LocalDateTime BASE = LocalDateTime.of(2026, 3, 1, 10, 30, 15, 250_000_000);
+
+    private TransactionService transactionService;
+    private TransactionExportService exportService;
+    private Account usdAccount;
+    private Account eurAccount;
+    private Path file;
+
+    @BeforeEach
+    void setup() throws IOException {
+        transactionService = new TransactionServiceImpl();
+        exportService = new TransactionExportServiceImpl(transactionService);
+        User user = new User("Juan", "Pérez", "juan@example.com");
+        usdAccount = new Account(user, Currency.USD, 0);
+        eurAccount = new Account(user, Currency.EUR, 0);
+        file = Files.createTempFile("export", ".out");
+    }
+
+    @AfterEach
+    void cleanup() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    private Transaction record(Account account, String id, double amount, LocalDateTime timestamp, String description) {
+        Transaction tx = new Transaction(id, account, Transaction.TransactionType.DEPOSIT, amount,
+                account.getCurrency(), account.getCurrency(), amount, timestamp, description, 0);
+        transactionService.recordTransaction(tx);
+        return tx;
+    }
+
+    @Test
+    @DisplayName("Debe exportar CSV con encabezado y campos escapados")
+    void testCsv() throws IOException {
+        record(usdAccount, "tx-1", 100.5, BASE, "Depósito");
+        record(usdAccount, "tx-2", 20, BASE.plusMinutes(1).withSecond(0).withNano(0), "Pago, \"cuota\"");
+
+        long exported = exportService.exportAll(file, TransactionExportService.Format.CSV);
+
+        List<String> lines = Files.readAllLines(file, StandardCharsets.UTF_8);
+        assertEquals(2L, exported);
+        assertEquals(3, lines.size());
+        assertEquals("id,accountId,type,amount,currencyFrom,currencyTo,amountInTargetCurrency,timestamp,description,rateVersion",
+                lines.get(0));
+        assertEquals("tx-1," + usdAccount.getId() + ",DEPOSIT,100.5,USD,USD,100.5,2026-03-01T10:30:15.250,Depósito,0",
+                lines.get(1));
+        assertEquals("tx-2," + usdAccount.getId() + ",DEPOSIT,20.0,USD,USD,20.0,2026-03-01T10:31,\"Pago, \"\"cuota\"\"\",0",
+                lines.get(2));
+    }
+
+    @Test
+    @DisplayName("Debe exportar JSONL con un objeto por línea")
+    void testJsonl() throws IOException {
+        record(eurAccount, "tx-1", 7.25, BASE, "Línea \"1\"\n\\fin");
+
+        exportService.exportAll(file, TransactionExportService.Format.JSONL);
+
+        List<String> lines = Files.readAllLines(file, StandardCharsets.UTF_8);
+        assertEquals(1, lines.size());
+        assertEquals("{\"id\":\"tx-1\",\"accountId\":\"" + eurAccount.getId() + "\",\"type\":\"DEPOSIT\","
+                + "\"amount\":7.25,\"currencyFrom\":\"EUR\",\"currencyTo\":\"EUR\",\"amountInTargetCurrency\":7.25,"
+                + "\"timestamp\":\"" + BASE + "\",\"description\":\"Línea \\\"1\\\"\\n\\\\fin\",\"rateVersion\":0}",
+                lines.get(0));
+    }
+
+    @Test
+    @DisplayName("Debe exportar solo las transacciones de la cuenta indicada")
+    void testByAccount() throws IOException {
+        record(usdAccount, "tx-1", 1, BASE, "Depósito");
+        record(eurAccount, "tx-2", 2, BASE, "Depósito");
+        record(usdAccount, "tx-3", 3, BASE, "Depósito");
+
+        long exported = exportService.exportByAccount(file, TransactionExportService.Format.JSONL, usdAccount);
+
+        List<String> lines = Files.readAllLines(file, StandardCharsets.UTF_8);
+        assertEquals(2L, exported);
+        assertTrue(lines.get(0).startsWith("{\"id\":\"tx-1\""));
+        assertTrue(lines.get(1).startsWith("{\"id\":\"tx-3\""));
+    }
+
+    @Test
+    @DisplayName("Debe exportar el rango de fechas con inicio inclusivo y fin exclusivo")
+    void testByRange() throws IOException {
+        for (int i = 0; i < 5; i++) {
+            record(usdAccount, "tx-" + i, i, BASE.plusDays(i), "Depósito");
+        }
+
+        long exported = exportService.exportByRange(file, TransactionExportService.Format.CSV,
+                BASE.plusDays(1), BASE.plusDays(3));
+
+        List<String> lines = Files.readAllLines(file, StandardCharsets.UTF_8);
+        assertEquals(2L, exported);
+        assertTrue(lines.get(1).startsWith("tx-1,"));
+        assertTrue(lines.get(2).startsWith("tx-2,"));
+    }
+
+    @Test
+    @DisplayName("Debe exportar historiales mayores que el buffer de escritura")
+    void testLargeExport() throws IOException {
+        int count = 20_000;
+        for (int i = 0; i < count; i++) {
+            record(usdAccount, "tx-" + i, i, BASE, "Depósito número " + i);
+        }
+
+        long exported = exportService.exportAll(file, TransactionExportService.Format.CSV);
+
+        List<String> lines = Files.readAllLines(file, StandardCharsets.UTF_8);
+        assertEquals((long) count, exported);
+        assertEquals(count + 1, lines.size());
+        assertTrue(lines.get(count).startsWith("tx-" + (count - 1) + ","));
+        assertTrue(lines.get(count).endsWith(",Depósito número " + (count - 1) + ",0"));
+    }
+
+    @Test
+    @DisplayName("Debe escribir los montos con el mismo texto que Double.toString")
+    void testAmountFormatting() throws IOException {
+        double[] amounts = {0.05, 0.1, 1.1, 10, 1234567.89, 9999999.99, 1e7, 0.001, 1.0 / 3, 0.0};
+        for (int i = 0; i < amounts.length; i++) {
+            record(usdAccount, "tx-" + i, amounts[i], BASE, "Depósito");
+        }
+
+        exportService.exportAll(file, TransactionExportService.Format.CSV);
+
+        List<String> lines = Files.readAllLines(file, StandardCharsets.UTF_8);
+        for (int i = 0; i < amounts.length; i++) {
+            assertEquals(Double.toString(amounts[i]), lines.get(i + 1).split(",")[3]);
+        }
+    }
+
+    @Test
+    @DisplayName("Debe rechazar un rango de fechas invertido")
+    void testInvalidRange() {
+        assertThrows(IllegalArgumentException.class, () -> exportService.exportByRange(file,
+                TransactionExportService.Format.CSV, BASE, BASE.minusDays(1)));
+    }
+}
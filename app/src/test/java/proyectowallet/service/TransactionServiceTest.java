@@ -5,14 +5,23 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import proyectowallet.model.Account;
 import proyectowallet.model.Currency;
+import proyectowallet.model.Rollup;
 import proyectowallet.model.Transaction;
 import proyectowallet.model.User;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 /**
  * Pruebas unitarias para TransactionService.
- * Valida el registro y consulta de transacciones.
+ * Valida el registro y consulta de transacciones, los rangos por fecha y los agregados por hora y por día.
  */
 @DisplayName("Pruebas de TransactionService")
 class TransactionServiceTest {
@@ -106,4 +115,199 @@ class TransactionServiceTest {
         double totalWithdrawals = transactionService.getTotalWithdrawals(testAccount);
         assertEquals(150, totalWithdrawals);
     }
+
+    private void recordAt(Transaction.TransactionType type, double amount, LocalDateTime timestamp) {
+        transactionService.recordTransaction(new Transaction(java.util.UUID.randomUUID().toString(), testAccount,
+                type, amount, Currency.USD, Currency.USD, amount, timestamp, type.getDescription(), 0));
+    }
+
+    @Test
+    @DisplayName("Debe agregar depósitos por día con cantidad, suma, mínimo y máximo")
+    void testDailyRollups() {
+        LocalDateTime day = LocalDateTime.of(2026, 3, 10, 0, 0);
+        recordAt(Transaction.TransactionType.DEPOSIT, 10, day.plusHours(9));
+        recordAt(Transaction.TransactionType.DEPOSIT, 30, day.plusHours(18));
+        recordAt(Transaction.TransactionType.WITHDRAWAL, 5, day.plusHours(19));
+        recordAt(Transaction.TransactionType.DEPOSIT, 7, day.plusDays(2).plusHours(1));
+
+        List<Rollup> rollups = transactionService.getRollups(testAccount, Transaction.TransactionType.DEPOSIT, Currency.USD,
+                Rollup.Granularity.DAY, day, day.plusDays(3));
+
+        assertEquals(3, rollups.size());
+        assertEquals(day, rollups.get(0).getStart());
+        assertEquals(2L, rollups.get(0).getCount());
+        assertEquals(40, rollups.get(0).getSum(), 0.001);
+        assertEquals(10, rollups.get(0).getMin(), 0.001);
+        assertEquals(30, rollups.get(0).getMax(), 0.001);
+        assertEquals(0L, rollups.get(1).getCount());
+        assertEquals(7, rollups.get(2).getSum(), 0.001);
+    }
+
+    @Test
+    @DisplayName("Debe agregar por hora y totalizar la ventana")
+    void testHourlyRollupTotal() {
+        LocalDateTime start = LocalDateTime.of(2026, 3, 10, 8, 0);
+        for (int i = 0; i < 48; i++) {
+            recordAt(Transaction.TransactionType.WITHDRAWAL, i + 1, start.plusMinutes(30L * i));
+        }
+
+        Rollup total = transactionService.getRollupTotal(testAccount, Transaction.TransactionType.WITHDRAWAL, Currency.USD,
+                Rollup.Granularity.HOUR, start.plusHours(2).plusMinutes(59), start.plusHours(4));
+        List<Rollup> hours = transactionService.getRollups(testAccount, Transaction.TransactionType.WITHDRAWAL, Currency.USD,
+                Rollup.Granularity.HOUR, start, start.plusHours(24));
+
+        // 10:59 se trunca a 10:00: entran las horas 10 y 11
+        assertEquals(4L, total.getCount());
+        assertEquals(5 + 6 + 7 + 8, total.getSum(), 0.001);
+        assertEquals(24, hours.size());
+        assertEquals(2L, hours.get(23).getCount());
+        assertEquals(47 + 48, hours.get(23).getSum(), 0.001);
+    }
+
+    @Test
+    @DisplayName("No debe mezclar montos de distintas monedas en un agregado")
+    void testRollupsByCurrency() {
+        LocalDateTime day = LocalDateTime.of(2026, 3, 10, 0, 0);
+        recordAt(Transaction.TransactionType.DEPOSIT, 10, day.plusHours(9));
+        transactionService.recordTransaction(new Transaction(java.util.UUID.randomUUID().toString(), testAccount,
+                Transaction.TransactionType.DEPOSIT, 9000, Currency.CLP, Currency.CLP, 9000, day.plusHours(10),
+                "Depósito", 0));
+
+        Rollup dollars = transactionService.getRollupTotal(testAccount, Transaction.TransactionType.DEPOSIT, Currency.USD,
+                Rollup.Granularity.DAY, day, day.plusDays(1));
+        Rollup pesos = transactionService.getRollupTotal(testAccount, Transaction.TransactionType.DEPOSIT, Currency.CLP,
+                Rollup.Granularity.DAY, day, day.plusDays(1));
+
+        assertEquals(1L, dollars.getCount());
+        assertEquals(10, dollars.getSum(), 0.001);
+        assertEquals(1L, pesos.getCount());
+        assertEquals(9000, pesos.getSum(), 0.001);
+    }
+
+    @Test
+    @DisplayName("Debe recalcular desde el historial las ventanas fuera de la retención")
+    void testRollupsBeyondRetention() {
+        LocalDateTime start = LocalDateTime.of(2025, 1, 1, 12, 0);
+        for (int i = 0; i < 400; i++) {
+            recordAt(Transaction.TransactionType.DEPOSIT, 1, start.plusDays(i));
+        }
+
+        Rollup year = transactionService.getRollupTotal(testAccount, Transaction.TransactionType.DEPOSIT, Currency.USD,
+                Rollup.Granularity.DAY, start, start.plusDays(365));
+        Rollup recent = transactionService.getRollupTotal(testAccount, Transaction.TransactionType.DEPOSIT, Currency.USD,
+                Rollup.Granularity.DAY, start.plusDays(310), start.plusDays(400));
+
+        assertEquals(365L, year.getCount());
+        assertEquals(90L, recent.getCount());
+    }
+
+    @Test
+    @DisplayName("Debe rechazar una ventana invertida")
+    void testInvalidRollupWindow() {
+        LocalDateTime now = LocalDateTime.of(2026, 3, 10, 8, 0);
+        assertThrows(IllegalArgumentException.class, () -> transactionService.getRollups(testAccount,
+                Transaction.TransactionType.DEPOSIT, Currency.USD, Rollup.Granularity.DAY, now, now.minusDays(1)));
+    }
+
+    private List<Double> amountsBetween(LocalDateTime from, LocalDateTime to, TransactionService.SortOrder order) {
+        return transactionService.streamTransactions(testAccount, from, to, order)
+                .map(Transaction::getAmount)
+                .collect(Collectors.toList());
+    }
+
+    @Test
+    @DisplayName("Debe devolver el rango de fechas en ambos sentidos con inicio inclusivo y fin exclusivo")
+    void testStreamRange() {
+        LocalDateTime start = LocalDateTime.of(2026, 3, 1, 0, 0);
+        for (int i = 0; i < 10; i++) {
+            recordAt(Transaction.TransactionType.DEPOSIT, i, start.plusHours(i));
+        }
+
+        assertEquals(List.of(3.0, 4.0, 5.0), amountsBetween(start.plusHours(3), start.plusHours(6),
+                TransactionService.SortOrder.OLDEST_FIRST));
+        assertEquals(List.of(5.0, 4.0, 3.0), amountsBetween(start.plusHours(3), start.plusHours(6),
+                TransactionService.SortOrder.NEWEST_FIRST));
+        assertEquals(List.of(9.0, 8.0), transactionService.streamTransactions(testAccount, start, start.plusDays(1),
+                TransactionService.SortOrder.NEWEST_FIRST).limit(2).map(Transaction::getAmount)
+                .collect(Collectors.toList()));
+        assertTrue(amountsBetween(start.plusDays(1), start.plusDays(2),
+                TransactionService.SortOrder.OLDEST_FIRST).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Debe ordenar por fecha aunque las transacciones se registren desordenadas")
+    void testStreamRangeOutOfOrder() {
+        LocalDateTime start = LocalDateTime.of(2026, 3, 1, 0, 0);
+        recordAt(Transaction.TransactionType.DEPOSIT, 1, start.plusHours(1));
+        recordAt(Transaction.TransactionType.DEPOSIT, 3, start.plusHours(3));
+        recordAt(Transaction.TransactionType.DEPOSIT, 2, start.plusHours(2));
+        recordAt(Transaction.TransactionType.DEPOSIT, 22, start.plusHours(2));
+        recordAt(Transaction.TransactionType.DEPOSIT, 4, start.plusHours(4));
+
+        assertEquals(List.of(1.0, 2.0, 22.0, 3.0, 4.0), amountsBetween(start, start.plusDays(1),
+                TransactionService.SortOrder.OLDEST_FIRST));
+        assertEquals(List.of(3.0, 22.0, 2.0), amountsBetween(start.plusHours(2), start.plusHours(4),
+                TransactionService.SortOrder.NEWEST_FIRST));
+    }
+
+    @Test
+    @DisplayName("Debe saltar tramos de transacciones atrasadas en la búsqueda binaria")
+    void testStreamRangeManyLate() {
+        LocalDateTime start = LocalDateTime.of(2026, 3, 1, 0, 0);
+        List<Integer> minutes = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            minutes.add(i);
+        }
+        // Tramos de atrasadas entre las que llegan en orden
+        Collections.shuffle(minutes.subList(100, 300), new Random(42));
+        for (int minute : minutes) {
+            recordAt(Transaction.TransactionType.DEPOSIT, minute, start.plusMinutes(minute));
+        }
+
+        List<Double> expected = new ArrayList<>();
+        for (int minute = 150; minute < 420; minute++) {
+            expected.add((double) minute);
+        }
+        assertEquals(expected, amountsBetween(start.plusMinutes(150), start.plusMinutes(420),
+                TransactionService.SortOrder.OLDEST_FIRST));
+        Collections.reverse(expected);
+        assertEquals(expected, amountsBetween(start.plusMinutes(150), start.plusMinutes(420),
+                TransactionService.SortOrder.NEWEST_FIRST));
+    }
+
+    @Test
+    @DisplayName("Debe consultar rangos mientras otro hilo registra transacciones")
+    void testStreamRangeDuringAppends() throws InterruptedException {
+        LocalDateTime start = LocalDateTime.of(2026, 3, 1, 0, 0);
+        int count = 20_000;
+        Thread writer = new Thread(() -> {
+            for (int i = 0; i < count; i++) {
+                recordAt(Transaction.TransactionType.DEPOSIT, i, start.plusSeconds(i));
+            }
+        });
+        AtomicReference<String> failure = new AtomicReference<>();
+        writer.start();
+        while (writer.isAlive()) {
+            List<Double> amounts = amountsBetween(start.plusSeconds(100), start.plusSeconds(200),
+                    TransactionService.SortOrder.OLDEST_FIRST);
+            for (int i = 0; i < amounts.size(); i++) {
+                if (amounts.get(i) != 100 + i) {
+                    failure.set("Posición " + i + ": " + amounts.get(i));
+                }
+            }
+        }
+        writer.join();
+
+        assertNull(failure.get());
+        assertEquals(100, amountsBetween(start.plusSeconds(100), start.plusSeconds(200),
+                TransactionService.SortOrder.NEWEST_FIRST).size());
+    }
+
+    @Test
+    @DisplayName("Debe rechazar un rango de fechas invertido")
+    void testInvalidStreamRange() {
+        LocalDateTime now = LocalDateTime.of(2026, 3, 10, 8, 0);
+        assertThrows(IllegalArgumentException.class, () -> transactionService.streamTransactions(testAccount,
+                now, now.minusDays(1), TransactionService.SortOrder.OLDEST_FIRST));
+    }
 }
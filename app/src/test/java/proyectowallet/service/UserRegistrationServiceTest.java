@@ -0,0 +1,84 @@
+package proyectowallet.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import proyectowallet.service.UserRegistrationService.Registration;
+import proyectowallet.service.UserRegistrationService.Result;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pruebas unitarias para UserRegistrationService.
+ * Valida los resultados por fila de un lote de registros.
+ */
+@DisplayName("Pruebas de UserRegistrationService")
+class UserRegistrationServiceTest {
+    private final UserRegistrationService service = new UserRegistrationServiceImpl();
+
+    @Test
+    @DisplayName("Debe informar un resultado por fila, en orden")
+    void testMixedBatch() {
+        List<Result> results = service.validateAll(Arrays.asList(
+                new Registration("Juan", "Pérez", "juan@example.com"),
+                new Registration("J", "Pérez", "j@example.com"),
+                new Registration("Ana", "Gómez", "ana-at-example.com"),
+                null));
+
+        assertEquals(4, results.size());
+        assertTrue(results.get(0).isRegistered());
+        assertEquals("juan@example.com", results.get(0).user().getEmail());
+        assertNull(results.get(0).getMessage());
+        assertEquals("INVALID_NAME", results.get(1).errorKey());
+        assertEquals("INVALID_EMAIL", results.get(2).errorKey());
+        assertEquals("El email ingresado no es válido", results.get(2).getMessage());
+        assertEquals("INVALID_NAME", results.get(3).errorKey());
+        for (int i = 0; i < results.size(); i++) {
+            assertEquals(i, results.get(i).row());
+        }
+    }
+
+    @Test
+    @DisplayName("Debe validar lotes grandes en paralelo sin perder filas")
+    void testLargeBatch() {
+        List<Registration> rows = new ArrayList<>();
+        for (int i = 0; i < 20_000; i++) {
+            String email = i % 10 == 0 ? "invalido" + i : "user" + i + "@example.com";
+            rows.add(new Registration("Nombre" + i, "Apellido" + i, email));
+        }
+
+        ForkJoinPool pool = new ForkJoinPool(4);
+        List<Result> results;
+        try {
+            results = new UserRegistrationServiceImpl(pool).validateAll(rows);
+        } finally {
+            pool.shutdown();
+        }
+
+        assertEquals(rows.size(), results.size());
+        long registered = results.stream().filter(Result::isRegistered).count();
+        assertEquals(18_000L, registered);
+        for (int i = 0; i < results.size(); i++) {
+            Result result = results.get(i);
+            assertEquals(i, result.row());
+            if (result.isRegistered()) {
+                assertEquals(rows.get(i).email(), result.user().getEmail());
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Debe aceptar listas sin acceso aleatorio y rechazar un lote nulo")
+    void testInputLists() {
+        List<Registration> rows = new LinkedList<>();
+        rows.add(new Registration("Juan", "Pérez", "juan@example.com"));
+        assertTrue(service.validateAll(rows).get(0).isRegistered());
+        assertTrue(service.validateAll(List.of()).isEmpty());
+        assertThrows(IllegalArgumentException.class, () -> service.validateAll(null));
+    }
+}
@@ -0,0 +1,82 @@
+package proyectowallet.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pruebas unitarias para ChunkedLog.
+ * Valida el agregado en varios bloques, el acceso por posición y el recorrido concurrente.
+ */
+@DisplayName("Pruebas de ChunkedLog")
+class ChunkedLogTest {
+
+    @Test
+    @DisplayName("Debe conservar el orden de agregado a través de varios bloques")
+    void testAppendAcrossChunks() {
+        ChunkedLog<Integer> log = new ChunkedLog<>();
+        for (int i = 0; i < 10_000; i++) {
+            assertEquals(i, log.append(i));
+        }
+
+        List<Integer> seen = new ArrayList<>();
+        log.forEach(seen::add);
+
+        assertEquals(10_000, log.size());
+        assertEquals(10_000, seen.size());
+        assertEquals(Integer.valueOf(4_321), log.get(4_321));
+        assertEquals(Integer.valueOf(9_999), seen.get(9_999));
+    }
+
+    @Test
+    @DisplayName("Debe rechazar posiciones fuera de rango y elementos nulos")
+    void testInvalidAccess() {
+        ChunkedLog<String> log = new ChunkedLog<>();
+        log.append("a");
+
+        assertThrows(IndexOutOfBoundsException.class, () -> log.get(1));
+        assertThrows(IllegalArgumentException.class, () -> log.append(null));
+    }
+
+    @Test
+    @DisplayName("Debe recorrer un prefijo consistente mientras otro hilo agrega")
+    void testConcurrentReaders() throws InterruptedException {
+        ChunkedLog<Integer> log = new ChunkedLog<>();
+        Thread writer = new Thread(() -> {
+            for (int i = 0; i < 200_000; i++) {
+                log.append(i);
+            }
+        });
+        writer.start();
+        while (writer.isAlive()) {
+            int[] expected = {0};
+            log.forEach(value -> {
+                assertEquals(expected[0], value.intValue());
+                expected[0]++;
+            });
+        }
+        writer.join();
+        assertEquals(200_000, log.size());
+    }
+
+    @Test
+    @DisplayName("Debe recorrer un rango de posiciones que cruza bloques")
+    void testForEachRange() {
+        ChunkedLog<Integer> log = new ChunkedLog<>();
+        for (int i = 0; i < 5_000; i++) {
+            log.append(i);
+        }
+
+        List<Integer> seen = new ArrayList<>();
+        log.forEach(1_000, 3_100, seen::add);
+
+        assertEquals(2_100, seen.size());
+        assertEquals(Integer.valueOf(1_000), seen.get(0));
+        assertEquals(Integer.valueOf(3_099), seen.get(2_099));
+        assertThrows(IndexOutOfBoundsException.class, () -> log.forEach(10, 5_001, seen::add));
+    }
+}
@@ -0,0 +1,111 @@
+package proyectowallet.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pruebas unitarias para ConsistentHashRing.
+ * Valida el reparto de claves y cuántas cambian de dueño al agregar o quitar nodos.
+ */
+@DisplayName("Pruebas de ConsistentHashRing")
+class ConsistentHashRingTest {
+    private static final int KEYS = 20_000;
+
+    private static ConsistentHashRing ringOf(String... nodes) {
+        ConsistentHashRing ring = new ConsistentHashRing();
+        for (String node : nodes) {
+            ring = ring.withNode(node);
+        }
+        return ring;
+    }
+
+    private static int moved(ConsistentHashRing before, ConsistentHashRing after) {
+        int moved = 0;
+        for (int i = 0; i < KEYS; i++) {
+            String key = "cuenta-" + i;
+            if (!before.ownerOf(key).equals(after.ownerOf(key))) {
+                moved++;
+            }
+        }
+        return moved;
+    }
+
+    @Test
+    @DisplayName("Debe asignar el mismo dueño sin importar el orden de alta de los nodos")
+    void testStableOwner() {
+        ConsistentHashRing ring = ringOf("a", "b", "c");
+        ConsistentHashRing reordered = ringOf("c", "a", "b");
+        assertEquals(0L, (long) moved(ring, reordered));
+        assertEquals(List.of("a", "b", "c"), ring.getNodes());
+        assertEquals(ring.ownerOf("cuenta-1"), ring.ownerOf("cuenta-1"));
+    }
+
+    @Test
+    @DisplayName("Debe repartir las claves de forma pareja entre los nodos")
+    void testBalance() {
+        ConsistentHashRing ring = ringOf("a", "b", "c", "d");
+        Map<String, Integer> load = new HashMap<>();
+        for (int i = 0; i < KEYS; i++) {
+            load.merge(ring.ownerOf("cuenta-" + i), 1, Integer::sum);
+        }
+        assertEquals(4L, (long) load.size());
+        for (int count : load.values()) {
+            // 128 nodos virtuales: cada nodo queda cerca del 25%
+            assertTrue(count > KEYS / 4 * 0.8 && count < KEYS / 4 * 1.2, "Carga despareja: " + load);
+        }
+    }
+
+    @Test
+    @DisplayName("Debe mover solo las claves que gana el nodo nuevo")
+    void testAddNodeMovesFraction() {
+        ConsistentHashRing before = ringOf("a", "b", "c", "d");
+        ConsistentHashRing after = before.withNode("e");
+        int moved = 0;
+        for (int i = 0; i < KEYS; i++) {
+            String key = "cuenta-" + i;
+            String owner = after.ownerOf(key);
+            if (!before.ownerOf(key).equals(owner)) {
+                assertEquals("e", owner);
+                moved++;
+            }
+        }
+        // En promedio 1/5 de las claves
+        assertTrue(moved > KEYS / 5 * 0.8 && moved < KEYS / 5 * 1.2, "Claves movidas: " + moved);
+    }
+
+    @Test
+    @DisplayName("Debe mover solo las claves del nodo quitado")
+    void testRemoveNodeMovesOnlyItsKeys() {
+        ConsistentHashRing before = ringOf("a", "b", "c", "d");
+        ConsistentHashRing after = before.withoutNode("b");
+        for (int i = 0; i < KEYS; i++) {
+            String key = "cuenta-" + i;
+            if (!before.ownerOf(key).equals("b")) {
+                assertEquals(before.ownerOf(key), after.ownerOf(key));
+            } else {
+                assertNotEquals("b", after.ownerOf(key));
+            }
+        }
+        assertFalse(after.contains("b"));
+        assertTrue(before.contains("b"));
+    }
+
+    @Test
+    @DisplayName("Debe rechazar nodos repetidos, inexistentes y consultas sin nodos")
+    void testErrors() {
+        ConsistentHashRing ring = ringOf("a");
+        assertThrows(IllegalArgumentException.class, () -> ring.withNode("a"));
+        assertThrows(IllegalArgumentException.class, () -> ring.withNode(" "));
+        assertThrows(IllegalArgumentException.class, () -> ring.withoutNode("z"));
+        assertThrows(IllegalArgumentException.class, () -> ring.ownerOf(null));
+        assertThrows(IllegalArgumentException.class, () -> new ConsistentHashRing(0));
+        assertThrows(IllegalStateException.class, () -> new ConsistentHashRing().ownerOf("cuenta"));
+        assertEquals("a", ring.ownerOf("cuenta"));
+    }
+}
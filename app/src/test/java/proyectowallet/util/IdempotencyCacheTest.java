@@ -0,0 +1,80 @@
+package proyectowallet.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pruebas unitarias para IdempotencyCache.
+ * Valida que los reintentos devuelvan el resultado original y los límites de tamaño y TTL.
+ */
+@DisplayName("Pruebas de IdempotencyCache")
+class IdempotencyCacheTest {
+    private final AtomicLong now = new AtomicLong();
+
+    @Test
+    @DisplayName("Un reintento con la misma clave no debe ejecutar la operación otra vez")
+    void testRetryReturnsOriginalResult() {
+        IdempotencyCache<String> cache = new IdempotencyCache<>(10, Duration.ofMinutes(1), now::get);
+        AtomicInteger executions = new AtomicInteger();
+
+        String first = cache.execute("k1", () -> "resultado-" + executions.incrementAndGet());
+        String retry = cache.execute("k1", () -> "resultado-" + executions.incrementAndGet());
+
+        assertEquals("resultado-1", first);
+        assertEquals("resultado-1", retry);
+        assertEquals(1, executions.get());
+    }
+
+    @Test
+    @DisplayName("Las claves deben expirar tras el TTL")
+    void testTtlExpiration() {
+        IdempotencyCache<Integer> cache = new IdempotencyCache<>(10, Duration.ofSeconds(5), now::get);
+        cache.execute("k1", () -> 1);
+
+        now.addAndGet(Duration.ofSeconds(4).toNanos());
+        assertEquals(Integer.valueOf(1), cache.get("k1"));
+
+        now.addAndGet(Duration.ofSeconds(2).toNanos());
+        assertNull(cache.get("k1"));
+        assertEquals(Integer.valueOf(2), cache.execute("k1", () -> 2));
+    }
+
+    @Test
+    @DisplayName("La caché no debe superar el tamaño máximo")
+    void testSizeBound() {
+        IdempotencyCache<Integer> cache = new IdempotencyCache<>(3, Duration.ofMinutes(1), now::get);
+        for (int i = 0; i < 10; i++) {
+            int value = i;
+            cache.execute("k" + i, () -> value);
+        }
+
+        assertEquals(3, cache.size());
+        assertNull(cache.get("k0"));
+        assertEquals(Integer.valueOf(9), cache.get("k9"));
+    }
+
+    @Test
+    @DisplayName("Una operación que falla no debe quedar guardada")
+    void testFailureIsNotCached() {
+        IdempotencyCache<Integer> cache = new IdempotencyCache<>(10, Duration.ofMinutes(1), now::get);
+        assertThrows(IllegalStateException.class, () -> cache.execute("k1", () -> {
+            throw new IllegalStateException("falla");
+        }));
+
+        assertNull(cache.get("k1"));
+        assertEquals(Integer.valueOf(2), cache.execute("k1", () -> 2));
+    }
+
+    @Test
+    @DisplayName("Debe rechazar claves vacías")
+    void testInvalidKey() {
+        IdempotencyCache<Integer> cache = new IdempotencyCache<>(3, Duration.ofMinutes(1));
+        assertThrows(IllegalArgumentException.class, () -> cache.execute(" ", () -> 1));
+    }
+}
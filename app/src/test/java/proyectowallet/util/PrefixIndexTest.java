@@ -0,0 +1,53 @@
+package proyectowallet.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pruebas unitarias para PrefixIndex.
+ * Valida la normalización, la búsqueda por prefijo en varios términos y el límite de resultados.
+ */
+@DisplayName("Pruebas de PrefixIndex")
+class PrefixIndexTest {
+
+    @Test
+    @DisplayName("Debe normalizar tildes, mayúsculas y espacios")
+    void testNormalize() {
+        assertEquals("jose alvarez", PrefixIndex.normalize("  José   ÁLVAREZ "));
+        assertEquals("nunez", PrefixIndex.normalize("Núñez"));
+        assertEquals("", PrefixIndex.normalize(null));
+    }
+
+    @Test
+    @DisplayName("Debe encontrar por cualquier término sin repetir elementos")
+    void testSearchByAnyTerm() {
+        PrefixIndex<String> index = new PrefixIndex<>();
+        index.add("1", "José Álvarez", "José Álvarez", "Álvarez", "jose@example.com");
+        index.add("2", "Ana Pérez", "Ana Pérez", "Pérez", "ana.alvarez@example.com");
+        index.add("3", "Pedro Soto", "Pedro Soto", "Soto", "pedro@example.com");
+
+        assertEquals(List.of("José Álvarez"), index.search("alv", 10));
+        assertEquals(List.of("Ana Pérez"), index.search("ANA", 10));
+        assertEquals(List.of("Pedro Soto", "Ana Pérez"), index.search("pe", 10));
+        assertEquals(List.of("José Álvarez"), index.search("jose@", 10));
+        assertTrue(index.search("zz", 10).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Debe devolver solo los primeros resultados en orden alfabético")
+    void testLimit() {
+        PrefixIndex<Integer> index = new PrefixIndex<>();
+        for (int i = 0; i < 1_000; i++) {
+            index.add("id-" + i, i, String.format("usuario %04d", i));
+        }
+
+        assertEquals(List.of(0, 1, 2), index.search("usuario", 3));
+        assertEquals(List.of(120, 121), index.search("usuario 012", 2));
+        assertEquals(List.of(0), index.search("", 1));
+        assertThrows(IllegalArgumentException.class, () -> index.search("u", 0));
+    }
+}
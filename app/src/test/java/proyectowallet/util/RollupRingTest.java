@@ -0,0 +1,87 @@
+package proyectowallet.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pruebas unitarias para RollupRing.
+ * Valida la agregación por bucket, el crecimiento, el desplazamiento de buckets antiguos y la cobertura.
+ */
+@DisplayName("Pruebas de RollupRing")
+class RollupRingTest {
+
+    private static double[] filled(int length, double value) {
+        double[] values = new double[length];
+        Arrays.fill(values, value);
+        return values;
+    }
+
+    @Test
+    @DisplayName("Debe agregar cantidad, suma, mínimo y máximo por bucket y categoría")
+    void testAggregates() {
+        RollupRing ring = new RollupRing(2, 16);
+        ring.add(100, 0, 5);
+        ring.add(100, 0, 2);
+        ring.add(100, 1, 50);
+        ring.add(102, 0, 9);
+
+        int[] counts = new int[3];
+        double[] sums = new double[3];
+        double[] mins = filled(3, Double.POSITIVE_INFINITY);
+        double[] maxs = filled(3, Double.NEGATIVE_INFINITY);
+        ring.read(100, 103, 0, counts, sums, mins, maxs);
+
+        assertArrayEquals(new int[]{2, 0, 1}, counts);
+        assertArrayEquals(new double[]{7, 0, 9}, sums, 0.001);
+        assertEquals(2, mins[0], 0.001);
+        assertEquals(5, maxs[0], 0.001);
+        assertTrue(ring.covers(0));
+    }
+
+    @Test
+    @DisplayName("Debe crecer hasta la capacidad conservando buckets fuera de orden")
+    void testGrowth() {
+        RollupRing ring = new RollupRing(1, 100);
+        for (long bucket = 1000; bucket > 1000 - 128; bucket -= 3) {
+            ring.add(bucket, 0, 1);
+        }
+
+        int[] counts = new int[128];
+        ring.read(1000 - 127, 1001, 0, counts, new double[128], filled(128, Double.POSITIVE_INFINITY),
+                filled(128, Double.NEGATIVE_INFINITY));
+
+        assertEquals(128, ring.capacity());
+        assertEquals(43, Arrays.stream(counts).sum());
+        assertTrue(ring.covers(Long.MIN_VALUE + 1));
+    }
+
+    @Test
+    @DisplayName("Debe desplazar buckets antiguos y dejar de cubrirlos")
+    void testEviction() {
+        RollupRing ring = new RollupRing(1, 4);
+        for (long bucket = 0; bucket < 10; bucket++) {
+            ring.add(bucket, 0, bucket);
+        }
+        ring.add(2, 0, 1);
+
+        int[] counts = new int[10];
+        ring.read(0, 10, 0, counts, new double[10], filled(10, Double.POSITIVE_INFINITY),
+                filled(10, Double.NEGATIVE_INFINITY));
+
+        assertArrayEquals(new int[]{0, 0, 0, 0, 0, 0, 1, 1, 1, 1}, counts);
+        assertFalse(ring.covers(5));
+        assertTrue(ring.covers(6));
+    }
+
+    @Test
+    @DisplayName("Debe rechazar categorías y parámetros inválidos")
+    void testInvalidArguments() {
+        assertThrows(IllegalArgumentException.class, () -> new RollupRing(0, 10));
+        RollupRing ring = new RollupRing(2, 10);
+        assertThrows(IllegalArgumentException.class, () -> ring.add(1, 2, 1));
+    }
+}
@@ -0,0 +1,80 @@
+package proyectowallet.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pruebas unitarias para TopN.
+ * Valida que conserve los mayores puntajes, la combinación de tops y el orden final.
+ */
+@DisplayName("Pruebas de TopN")
+class TopNTest {
+
+    @Test
+    @DisplayName("Debe conservar los mayores puntajes en orden descendente")
+    void testKeepsLargest() {
+        Random random = new Random(42);
+        double[] values = new double[10_000];
+        TopN<Integer> top = new TopN<>(25);
+        for (int i = 0; i < values.length; i++) {
+            values[i] = random.nextDouble() * 1_000;
+            top.offer(i, values[i]);
+        }
+        top.sortDescending();
+
+        double[] expected = Arrays.stream(values).boxed().sorted((a, b) -> Double.compare(b, a))
+                .limit(25).mapToDouble(Double::doubleValue).toArray();
+        assertEquals(25, top.size());
+        for (int rank = 0; rank < 25; rank++) {
+            assertEquals(expected[rank], top.score(rank), 0.0);
+            assertEquals(values[top.item(rank)], top.score(rank), 0.0);
+        }
+    }
+
+    @Test
+    @DisplayName("Debe combinar tops parciales como si fueran uno solo")
+    void testMerge() {
+        TopN<String> left = new TopN<>(3);
+        TopN<String> right = new TopN<>(3);
+        left.offer("a", 5);
+        left.offer("b", 1);
+        left.offer("c", 9);
+        right.offer("d", 7);
+        right.offer("e", 2);
+
+        left.merge(right);
+        left.sortDescending();
+
+        assertEquals(3, left.size());
+        assertEquals("c", left.item(0));
+        assertEquals("d", left.item(1));
+        assertEquals("a", left.item(2));
+    }
+
+    @Test
+    @DisplayName("Debe conservar menos elementos que el límite")
+    void testPartial() {
+        TopN<String> partial = new TopN<>(10);
+        partial.offer("x", 1);
+        partial.sortDescending();
+        assertEquals(1, partial.size());
+        assertEquals("x", partial.item(0));
+    }
+
+    @Test
+    @DisplayName("Debe rechazar límites inválidos y operaciones fuera de estado")
+    void testInvalidUsage() {
+        assertThrows(IllegalArgumentException.class, () -> new TopN<String>(0));
+        TopN<String> top = new TopN<>(2);
+        top.offer("a", 1);
+        assertThrows(IllegalStateException.class, () -> top.item(0));
+        top.sortDescending();
+        assertThrows(IllegalStateException.class, () -> top.offer("b", 2));
+        assertThrows(IndexOutOfBoundsException.class, () -> top.item(1));
+    }
+}
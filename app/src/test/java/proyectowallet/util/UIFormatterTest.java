@@ -0,0 +1,92 @@
+package proyectowallet.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import proyectowallet.model.Currency;
+
+import java.text.DecimalFormat;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pruebas unitarias para UIFormatter.
+ * Valida que los montos se formateen igual que DecimalFormat("0.00").
+ */
+@DisplayName("Pruebas de UIFormatter")
+class UIFormatterTest {
+    private final DecimalFormat reference = new DecimalFormat("0.00");
+
+    @Test
+    @DisplayName("Debe formatear casos límite igual que DecimalFormat")
+    void testEdgeCases() {
+        double[] amounts = {0, -0.0, 0.001, -0.001, 0.005, -0.005, 0.015, 0.125, 0.135, 1.005, 2.675, 0.045,
+                4.35, 1_000_000.5, 9_999_999_999_999.99, 1e13, 1e15, 1e20, -1e20, Double.MIN_VALUE,
+                -Double.MIN_VALUE, Double.MAX_VALUE, Double.NaN, Double.POSITIVE_INFINITY, Double.NEGATIVE_INFINITY};
+        for (double amount : amounts) {
+            assertEquals(reference.format(amount), UIFormatter.formatAmount(amount));
+        }
+    }
+
+    @Test
+    @DisplayName("Debe redondear empates de medio centavo igual que DecimalFormat")
+    void testHalfCentTies() {
+        for (long halfCents = 0; halfCents < 200_000; halfCents++) {
+            double amount = (halfCents * 0.5 + 0.25) / 100;
+            assertEquals(reference.format(amount), UIFormatter.formatAmount(amount));
+            double tie = halfCents / 200.0;
+            assertEquals(reference.format(tie), UIFormatter.formatAmount(tie));
+        }
+    }
+
+    @Test
+    @DisplayName("Debe formatear montos aleatorios de cualquier magnitud igual que DecimalFormat")
+    void testRandomAmounts() {
+        Random random = new Random(42);
+        for (int i = 0; i < 200_000; i++) {
+            double amount = (random.nextDouble() - 0.3) * Math.pow(10, random.nextInt(16));
+            assertEquals(reference.format(amount), UIFormatter.formatAmount(amount));
+        }
+    }
+
+    @Test
+    @DisplayName("Debe escribir símbolo y monto en el builder recibido")
+    void testAppendMoney() {
+        StringBuilder out = new StringBuilder("Saldo: ");
+        UIFormatter.appendMoney(out, 1234.5, Currency.USD);
+        assertEquals("Saldo: " + Currency.USD.getSymbol() + " " + reference.format(1234.5), out.toString());
+        assertEquals(Currency.EUR.getSymbol() + " " + reference.format(-3.333), UIFormatter.formatMoney(-3.333, Currency.EUR));
+    }
+
+    @Test
+    @DisplayName("Debe formatear correctamente desde varios hilos a la vez")
+    void testConcurrentFormatting() throws InterruptedException {
+        AtomicInteger mismatches = new AtomicInteger();
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            int seed = t;
+            threads.add(new Thread(() -> {
+                DecimalFormat own = new DecimalFormat("0.00");
+                Random random = new Random(seed);
+                StringBuilder out = new StringBuilder();
+                for (int i = 0; i < 50_000; i++) {
+                    double amount = random.nextDouble() * 1e6;
+                    out.setLength(0);
+                    if (!own.format(amount).contentEquals(UIFormatter.appendAmount(out, amount))) {
+                        mismatches.incrementAndGet();
+                    }
+                }
+            }));
+        }
+        for (Thread thread : threads) {
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertEquals(0, mismatches.get());
+    }
+}
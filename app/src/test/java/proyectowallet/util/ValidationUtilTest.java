@@ -3,6 +3,9 @@ package proyectowallet.util;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
+import java.util.Random;
+import java.util.regex.Pattern;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 /**
@@ -38,4 +41,33 @@ class ValidationUtilTest {
         assertFalse(ValidationUtil.isValidName(""));
         assertFalse(ValidationUtil.isValidName(null));
     }
+
+    @Test
+    @DisplayName("Debe aceptar los mismos emails que la expresión regular original")
+    void testEmailValidationMatchesRegex() {
+        Pattern regex = Pattern.compile("^[A-Za-z0-9+_.-]+@[A-Za-z0-9.-]+\\.[A-Za-z]{2,}$");
+        String[] samples = {"a@b.cl", "a@b.c", "@b.cl", "a@.cl", "a@b..cl", "a.b+c_d-e@x-y.z.com", "a@b@c.cl",
+                "a@b_c.cl", "a+b@c+d.cl", "a@b.c1", "a@b.cl.", "ñ@b.cl", "a @b.cl", "a@b.CL", ".@..cl", "a@-.cl"};
+        for (String sample : samples) {
+            assertEquals(regex.matcher(sample).matches(), ValidationUtil.isValidEmail(sample), sample);
+        }
+        String alphabet = "ab1@.-+_ Zñ";
+        Random random = new Random(7);
+        for (int i = 0; i < 100_000; i++) {
+            char[] chars = new char[1 + random.nextInt(9)];
+            for (int j = 0; j < chars.length; j++) {
+                chars[j] = alphabet.charAt(random.nextInt(alphabet.length()));
+            }
+            String sample = new String(chars);
+            assertEquals(regex.matcher(sample).matches(), ValidationUtil.isValidEmail(sample), sample);
+        }
+    }
+
+    @Test
+    @DisplayName("Debe devolver la clave del primer error de registro")
+    void testValidateUser() {
+        assertNull(ValidationUtil.validateUser("Juan", "Pérez", "juan@example.com"));
+        assertEquals("INVALID_NAME", ValidationUtil.validateUser("J", "Pérez", "mal"));
+        assertEquals("INVALID_EMAIL", ValidationUtil.validateUser("Juan", "Pérez", "mal"));
+    }
 }